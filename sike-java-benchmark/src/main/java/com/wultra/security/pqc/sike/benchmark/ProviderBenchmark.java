@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.benchmark;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.EncryptedMessage;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamRegistry;
+import com.wultra.security.pqc.sike.provider.SikeDecapsulationSpec;
+import com.wultra.security.pqc.sike.provider.SikeEncapsulationSpec;
+import com.wultra.security.pqc.sike.provider.SikeProvider;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Provider;
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparison of SIKE key encapsulation using the JCA provider and using the library API directly.
+ *
+ * Run using: java -jar sike-java-benchmark/target/benchmarks.jar ProviderBenchmark
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProviderBenchmark {
+
+    @Param({"SIKEp434", "SIKEp751"})
+    private String algorithm;
+
+    private Provider provider;
+    private Sike sike;
+    private KeyPair keyPair;
+    private EncryptedMessage encryptedMessage;
+    private byte[] encapsulation;
+    private javax.crypto.KeyGenerator kem;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        Security.addProvider(new BouncyCastleProvider());
+        SikeParam sikeParam = SikeParamRegistry.getInstance(algorithm, ImplementationType.OPTIMIZED);
+        provider = new SikeProvider();
+        sike = new Sike(sikeParam);
+        keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+        encryptedMessage = encapsulationResult.getEncryptedMessage();
+        encapsulation = encryptedMessage.getEncoded();
+        kem = javax.crypto.KeyGenerator.getInstance(algorithm, provider);
+    }
+
+    @Benchmark
+    public EncapsulationResult encapsulateDirect() throws GeneralSecurityException {
+        return sike.encapsulate(keyPair.getPublic());
+    }
+
+    @Benchmark
+    public SecretKey encapsulateProvider() throws GeneralSecurityException {
+        kem.init(new SikeEncapsulationSpec(keyPair.getPublic()));
+        return kem.generateKey();
+    }
+
+    @Benchmark
+    public SecretKey encapsulateProviderNewInstance() throws GeneralSecurityException {
+        // Frameworks often look up a new engine for each operation
+        javax.crypto.KeyGenerator newKem = javax.crypto.KeyGenerator.getInstance(algorithm, provider);
+        newKem.init(new SikeEncapsulationSpec(keyPair.getPublic()));
+        return newKem.generateKey();
+    }
+
+    @Benchmark
+    public byte[] decapsulateDirect() throws GeneralSecurityException {
+        return sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encryptedMessage);
+    }
+
+    @Benchmark
+    public SecretKey decapsulateProvider() throws GeneralSecurityException {
+        kem.init(new SikeDecapsulationSpec(keyPair.getPrivate(), keyPair.getPublic(), encapsulation));
+        return kem.generateKey();
+    }
+
+}
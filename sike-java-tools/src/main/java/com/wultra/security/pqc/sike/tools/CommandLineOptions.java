@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.tools;
+
+import java.security.InvalidParameterException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of tools in format {@code --name value} or {@code --name}.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class CommandLineOptions {
+
+    private final Map<String, String> options = new HashMap<>();
+
+    /**
+     * Parse command line options.
+     * @param args Command line arguments.
+     */
+    CommandLineOptions(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new InvalidParameterException("Invalid argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(name, args[++i]);
+            } else {
+                options.put(name, "true");
+            }
+        }
+    }
+
+    /**
+     * Check whether an option is present.
+     * @param name Option name.
+     * @return Whether the option is present.
+     */
+    boolean has(String name) {
+        return options.containsKey(name);
+    }
+
+    /**
+     * Get option value.
+     * @param name Option name.
+     * @return Option value or null.
+     */
+    String get(String name) {
+        return options.get(name);
+    }
+
+    /**
+     * Get option value.
+     * @param name Option name.
+     * @param defaultValue Default value.
+     * @return Option value or the default value.
+     */
+    String get(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Get numeric option value.
+     * @param name Option name.
+     * @param defaultValue Default value.
+     * @return Option value or the default value.
+     */
+    int getInt(String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+}
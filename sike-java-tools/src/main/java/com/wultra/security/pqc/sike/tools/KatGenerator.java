@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.tools;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.RandomGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.kat.util.CrtDrbgRandom;
+import com.wultra.security.pqc.sike.model.*;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.OctetEncoding;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.*;
+
+/**
+ * Generator of KAT response files in the format of the NIST PQCgenKAT_kem tool.
+ *
+ * Record seeds are drawn sequentially from a master CTR DRBG instantiated with entropy input 0, 1, ..., 47,
+ * so the output for the standard parameters matches the published KAT files. Records are generated in parallel,
+ * each one using its own CTR DRBG instantiated from the record seed, and they are written in record order.
+ * The number of generated records which wait for writing is bounded, so arbitrarily large files can be produced.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class KatGenerator {
+
+    private static final int SEED_SIZE = 48;
+    private static final int RECORDS_IN_FLIGHT_PER_THREAD = 16;
+
+    private final SikeParam sikeParam;
+    private final int threads;
+
+    /**
+     * KAT generator constructor.
+     * @param sikeParam SIKE parameters, including parameters with custom isogeny strategies or engines.
+     * @param threads Number of generator threads.
+     */
+    public KatGenerator(SikeParam sikeParam, int threads) {
+        if (sikeParam == null) {
+            throw new InvalidParameterException("Invalid SIKE parameters");
+        }
+        if (threads < 1) {
+            throw new InvalidParameterException("Invalid number of threads");
+        }
+        this.sikeParam = sikeParam;
+        this.threads = threads;
+    }
+
+    /**
+     * Generate a KAT response file.
+     * @param path Output file.
+     * @param records Number of generated records.
+     * @throws IOException Thrown when file cannot be written.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public void generate(Path path, int records) throws IOException, GeneralSecurityException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            generate(writer, records);
+        }
+    }
+
+    /**
+     * Generate KAT records into a writer.
+     * @param writer Output writer.
+     * @param records Number of generated records.
+     * @throws IOException Thrown when writing fails.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public void generate(Writer writer, int records) throws IOException, GeneralSecurityException {
+        if (records < 0) {
+            throw new InvalidParameterException("Invalid number of records");
+        }
+        byte[] entropyInput = new byte[SEED_SIZE];
+        for (int i = 0; i < SEED_SIZE; i++) {
+            entropyInput[i] = (byte) i;
+        }
+        CrtDrbgRandom masterRandom = new CrtDrbgRandom(entropyInput);
+        writer.write("# " + sikeParam.getName() + "\n\n");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        try {
+            for (int count = 0; count < records; count++) {
+                byte[] seed = new byte[SEED_SIZE];
+                masterRandom.nextBytes(seed);
+                int recordCount = count;
+                pending.add(executor.submit(() -> generateRecord(recordCount, seed)));
+                if (pending.size() >= threads * RECORDS_IN_FLIGHT_PER_THREAD) {
+                    writer.write(pending.poll().get());
+                }
+            }
+            while (!pending.isEmpty()) {
+                writer.write(pending.poll().get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("KAT generation was interrupted", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            }
+            throw new IllegalStateException("KAT generation failed", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generate a single KAT record.
+     * @param count Record number.
+     * @param seed Record seed.
+     * @return Formatted KAT record.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    private String generateRecord(int count, byte[] seed) throws GeneralSecurityException {
+        CrtDrbgRandom drbgRandom = new CrtDrbgRandom(seed);
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam, new RandomGenerator(drbgRandom));
+        KeyPair keyPair = keyGenerator.generateKeyPair(Party.BOB);
+        SidhPrivateKey priv = (SidhPrivateKey) keyPair.getPrivate();
+        SidhPublicKey pub = (SidhPublicKey) keyPair.getPublic();
+
+        Sike sike = new Sike(sikeParam, drbgRandom);
+        EncapsulationResult encapsulationResult = sike.encapsulate(pub);
+        EncryptedMessage encrypted = encapsulationResult.getEncryptedMessage();
+        SidhPublicKey c0 = (SidhPublicKey) encrypted.getC0();
+        byte[] secretDecaps = sike.decapsulate(priv, pub, encrypted);
+        if (!Arrays.equals(encapsulationResult.getSecret(), secretDecaps)) {
+            throw new IllegalStateException("Decapsulation failed for record " + count);
+        }
+
+        int cryptoBytes = sikeParam.getCryptoBytes();
+        return "count = " + count + "\n"
+                + "seed = " + Hex.toHexString(seed).toUpperCase() + "\n"
+                + "pk = " + pub.toOctetString() + "\n"
+                + "sk = " + priv.toOctetString() + pub.toOctetString() + "\n"
+                + "ct = " + c0.toOctetString() + OctetEncoding.toOctetString(encrypted.getC1(), sikeParam.getMessageBytes()) + "\n"
+                + "ss = " + OctetEncoding.toOctetString(encapsulationResult.getSecret(), cryptoBytes) + "\n\n";
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.tools;
+
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.param.*;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.InvalidParameterException;
+import java.security.Security;
+
+/**
+ * Command line tool for generation of KAT response files.
+ *
+ * Usage: {@code KatGeneratorTool [--param SIKEp434|SIKEp503|SIKEp610|SIKEp751|all] [--engine OPTIMIZED|REFERENCE]
+ * [--records N] [--threads N] [--output DIR] [--strategy-a S] [--strategy-b S] [--calibrate]}
+ *
+ * Strategies are comma separated lists of integers in the format of {@link StrategyGenerator}, option
+ * {@code --calibrate} generates strategies using operation costs measured on the running JVM. Output files
+ * are named {@code PQCkemKAT_<secret key size>.rsp} as in the NIST submission.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class KatGeneratorTool {
+
+    private KatGeneratorTool() {
+
+    }
+
+    /**
+     * Run the KAT generator.
+     * @param args Command line arguments.
+     * @throws Exception Thrown in case generation fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Security.addProvider(new BouncyCastleProvider());
+        CommandLineOptions options = new CommandLineOptions(args);
+        String paramName = options.get("param", "all");
+        ImplementationType engine = ImplementationType.valueOf(options.get("engine", ImplementationType.OPTIMIZED.name()));
+        int records = options.getInt("records", 100);
+        int threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        Path outputDir = Paths.get(options.get("output", "."));
+
+        for (String name : SikeParamRegistry.getNames()) {
+            if (!"all".equals(paramName) && !name.equals(paramName)) {
+                continue;
+            }
+            SikeParam sikeParam = createSikeParam(name, engine, options);
+            int primeSize = (sikeParam.getPrime().bitLength() + 7) / 8;
+            int secretKeySize = sikeParam.getMessageBytes() + (sikeParam.getBitsB() - 1 + 7) / 8 + 6 * primeSize;
+            Path path = outputDir.resolve("PQCkemKAT_" + secretKeySize + ".rsp");
+            long startTime = System.nanoTime();
+            new KatGenerator(sikeParam, threads).generate(path, records);
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            System.out.printf("%s: %d records written to %s in %.2f s, %.2f records/s%n", name, records, path, seconds, records / seconds);
+        }
+    }
+
+    /**
+     * Create SIKE parameters with optional custom isogeny strategies.
+     * @param name Name of SIKE parameters.
+     * @param engine Implementation type.
+     * @param options Command line options.
+     * @return SIKE parameters.
+     */
+    private static SikeParam createSikeParam(String name, ImplementationType engine, CommandLineOptions options) {
+        SikeParam sikeParam = SikeParamRegistry.getInstance(name, engine);
+        int[] strategyA = parseStrategy(options.get("strategy-a"));
+        int[] strategyB = parseStrategy(options.get("strategy-b"));
+        if (options.has("calibrate")) {
+            StrategyCosts costs = StrategyGenerator.calibrate(sikeParam);
+            strategyA = StrategyGenerator.generateStrategyA(sikeParam, costs);
+            strategyB = StrategyGenerator.generateStrategyB(sikeParam, costs);
+        }
+        if (strategyA == null && strategyB == null) {
+            return sikeParam;
+        }
+        if (strategyA == null) {
+            strategyA = sikeParam.getStrategyA();
+        }
+        if (strategyB == null) {
+            strategyB = sikeParam.getStrategyB();
+        }
+        switch (name) {
+            case "SIKEp434":
+                return new SikeParamP434(engine, strategyA, strategyB);
+            case "SIKEp503":
+                return new SikeParamP503(engine, strategyA, strategyB);
+            case "SIKEp610":
+                return new SikeParamP610(engine, strategyA, strategyB);
+            case "SIKEp751":
+                return new SikeParamP751(engine, strategyA, strategyB);
+            default:
+                throw new InvalidParameterException("Unsupported SIKE parameters: " + name);
+        }
+    }
+
+    /**
+     * Parse an isogeny strategy.
+     * @param value Comma separated strategy or null.
+     * @return Parsed strategy or null.
+     */
+    private static int[] parseStrategy(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split(",");
+        int[] strategy = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            strategy[i] = Integer.parseInt(parts[i].trim());
+        }
+        return strategy;
+    }
+
+}
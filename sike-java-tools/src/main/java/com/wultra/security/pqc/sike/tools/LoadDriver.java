@@ -0,0 +1,276 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.tools;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sidh;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.metrics.LatencyHistogram;
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.model.EncryptedMessage;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Closed-loop load driver. Each thread executes the operation repeatedly without pauses, first for the warm-up
+ * period and then for the measurement period. Latency of every measured operation is recorded into a per-thread
+ * histogram, allocation is measured per thread using the HotSpot thread allocation counters.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class LoadDriver {
+
+    private final SikeParam sikeParam;
+    private final MetricsOperation operation;
+    private final boolean virtualThreads;
+    private final boolean sharedInstance;
+
+    private final KeyPair keyPairA;
+    private final KeyPair keyPairB;
+    private final EncryptedMessage encrypted;
+
+    // Results of executed operations, stored to prevent their elimination by the JIT compiler
+    private volatile int sink;
+
+    /**
+     * Load driver constructor.
+     * @param sikeParam SIKE parameters.
+     * @param operation Operation to execute: encapsulation, decapsulation or SIDH shared secret generation.
+     * @param virtualThreads Whether to use virtual threads, requires Java 21 or newer.
+     * @param sharedInstance Whether all threads share a single Sike and Sidh instance.
+     * @throws GeneralSecurityException Thrown in case preparation of keys fails.
+     */
+    public LoadDriver(SikeParam sikeParam, MetricsOperation operation, boolean virtualThreads, boolean sharedInstance) throws GeneralSecurityException {
+        if (operation != MetricsOperation.ENCAPSULATION && operation != MetricsOperation.DECAPSULATION
+                && operation != MetricsOperation.SHARED_SECRET_GENERATION) {
+            throw new InvalidParameterException("Unsupported operation: " + operation);
+        }
+        this.sikeParam = sikeParam;
+        this.operation = operation;
+        this.virtualThreads = virtualThreads;
+        this.sharedInstance = sharedInstance;
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        keyPairA = keyGenerator.generateKeyPair(Party.ALICE);
+        keyPairB = keyGenerator.generateKeyPair(Party.BOB);
+        encrypted = new Sike(sikeParam).encapsulate(keyPairB.getPublic()).getEncryptedMessage();
+    }
+
+    /**
+     * Run the load.
+     * @param threads Number of load threads.
+     * @param warmupMillis Length of the warm-up period in milliseconds.
+     * @param durationMillis Length of the measurement period in milliseconds.
+     * @return Load result.
+     * @throws GeneralSecurityException Thrown in case an operation fails.
+     */
+    public LoadResult run(int threads, long warmupMillis, long durationMillis) throws GeneralSecurityException {
+        if (threads < 1) {
+            throw new InvalidParameterException("Invalid number of threads");
+        }
+        if (warmupMillis < 0 || durationMillis <= 0) {
+            throw new InvalidParameterException("Invalid duration");
+        }
+        ThreadFactory threadFactory = virtualThreads ? virtualThreadFactory() : Thread::new;
+        Workload sharedWorkload = sharedInstance ? createWorkload() : null;
+        LatencyHistogram[] histograms = new LatencyHistogram[threads];
+        long[] allocatedBytes = new long[threads];
+        long[] finishTimes = new long[threads];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        long startTime = System.nanoTime() + 50_000_000L;
+        long measurementStart = startTime + warmupMillis * 1_000_000L;
+        long measurementEnd = measurementStart + durationMillis * 1_000_000L;
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            Workload workload = sharedInstance ? sharedWorkload : createWorkload();
+            Thread worker = threadFactory.newThread(() -> {
+                try {
+                    startLatch.await();
+                    histograms[index] = runWorker(workload, measurementStart, measurementEnd, allocatedBytes, index);
+                    finishTimes[index] = System.nanoTime();
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            worker.setName("sike-load-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        startLatch.countDown();
+        long gcStart;
+        long gcEnd;
+        try {
+            sleepUntil(measurementStart);
+            gcStart = getGcNanos();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            gcEnd = getGcNanos();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load run was interrupted", ex);
+        }
+        Throwable t = failure.get();
+        if (t instanceof GeneralSecurityException) {
+            throw (GeneralSecurityException) t;
+        }
+        if (t != null) {
+            throw new IllegalStateException("Load run failed", t);
+        }
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        long allocated = 0;
+        long lastFinish = measurementEnd;
+        for (int i = 0; i < threads; i++) {
+            histogram.merge(histograms[i]);
+            allocated = allocated < 0 || allocatedBytes[i] < 0 ? -1 : allocated + allocatedBytes[i];
+            lastFinish = Math.max(lastFinish, finishTimes[i]);
+        }
+        return new LoadResult(threads, histogram, lastFinish - measurementStart, allocated, gcEnd - gcStart);
+    }
+
+    /**
+     * Execute the load loop of a single thread.
+     * @param workload Executed workload.
+     * @param measurementStart Start of the measurement period.
+     * @param measurementEnd End of the measurement period.
+     * @param allocatedBytes Array for storing allocated bytes.
+     * @param index Index of the thread.
+     * @return Latency histogram of the thread.
+     * @throws GeneralSecurityException Thrown in case an operation fails.
+     */
+    private LatencyHistogram runWorker(Workload workload, long measurementStart, long measurementEnd, long[] allocatedBytes, int index) throws GeneralSecurityException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int result = 0;
+        while (System.nanoTime() < measurementStart) {
+            result += workload.execute();
+        }
+        long allocationStart = getAllocatedBytes();
+        long now = System.nanoTime();
+        while (now < measurementEnd) {
+            result += workload.execute();
+            long end = System.nanoTime();
+            histogram.record(end - now);
+            now = end;
+        }
+        long allocationEnd = getAllocatedBytes();
+        allocatedBytes[index] = allocationStart < 0 || allocationEnd < 0 ? -1 : allocationEnd - allocationStart;
+        sink += result;
+        return histogram;
+    }
+
+    /**
+     * Create a workload with its own Sike and Sidh instances.
+     * @return Workload.
+     */
+    private Workload createWorkload() {
+        Sike sike = new Sike(sikeParam);
+        Sidh sidh = new Sidh(sikeParam);
+        switch (operation) {
+            case ENCAPSULATION:
+                return () -> sike.encapsulate(keyPairB.getPublic()).getSecret()[0];
+            case DECAPSULATION:
+                return () -> sike.decapsulate(keyPairB.getPrivate(), keyPairB.getPublic(), encrypted)[0];
+            default:
+                return () -> sidh.generateSharedSecret(Party.ALICE, keyPairA.getPrivate(), keyPairB.getPublic()).hashCode();
+        }
+    }
+
+    /**
+     * Get bytes allocated by the current thread.
+     * @return Allocated bytes or a negative value if allocation measurement is not supported.
+     */
+    private static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        if (!threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Get total time spent in garbage collection.
+     * @return Garbage collection time in nanoseconds.
+     */
+    private static long getGcNanos() {
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, bean.getCollectionTime());
+        }
+        return millis * 1_000_000L;
+    }
+
+    /**
+     * Sleep until given time.
+     * @param deadline Time in nanoseconds.
+     * @throws InterruptedException Thrown when sleep is interrupted.
+     */
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            Thread.sleep(remaining / 1_000_000L, (int) (remaining % 1_000_000L));
+        }
+    }
+
+    /**
+     * Create a factory of virtual threads, the factory is obtained reflectively to keep Java 8 compatibility.
+     * @return Thread factory.
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer", ex);
+        }
+    }
+
+    /**
+     * Operation executed by the load driver.
+     */
+    private interface Workload {
+
+        /**
+         * Execute the operation.
+         * @return Value derived from the result.
+         * @throws GeneralSecurityException Thrown in case the operation fails.
+         */
+        int execute() throws GeneralSecurityException;
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.tools;
+
+import com.wultra.security.pqc.sike.metrics.LatencyHistogram;
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamRegistry;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Command line tool for closed-loop load tests with a core scaling report.
+ *
+ * Usage: {@code LoadDriverTool [--param SIKEp434|SIKEp503|SIKEp610|SIKEp751|all] [--engine OPTIMIZED|REFERENCE]
+ * [--operation ENCAPSULATION|DECAPSULATION|SHARED_SECRET_GENERATION|all] [--threads N] [--warmup SECONDS]
+ * [--duration SECONDS] [--virtual] [--shared]}
+ *
+ * The load is executed with 1, 2, 4, ... threads up to the maximum number of threads. For each parameter set
+ * and operation a table with throughput, scaling efficiency relative to a single thread, latency percentiles,
+ * allocation rate and garbage collection overhead is printed. Option {@code --shared} makes all threads use
+ * a single {@code Sike} instance including its random generator, option {@code --virtual} uses virtual threads.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class LoadDriverTool {
+
+    private static final List<MetricsOperation> OPERATIONS = Arrays.asList(MetricsOperation.ENCAPSULATION,
+            MetricsOperation.DECAPSULATION, MetricsOperation.SHARED_SECRET_GENERATION);
+
+    private LoadDriverTool() {
+
+    }
+
+    /**
+     * Run the load driver.
+     * @param args Command line arguments.
+     * @throws Exception Thrown in case load test fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Security.addProvider(new BouncyCastleProvider());
+        CommandLineOptions options = new CommandLineOptions(args);
+        String paramName = options.get("param", "all");
+        String operationName = options.get("operation", "all");
+        ImplementationType engine = ImplementationType.valueOf(options.get("engine", ImplementationType.OPTIMIZED.name()));
+        int maxThreads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        long warmupMillis = options.getInt("warmup", 5) * 1000L;
+        long durationMillis = options.getInt("duration", 10) * 1000L;
+        boolean virtualThreads = options.has("virtual");
+        boolean sharedInstance = options.has("shared");
+
+        for (String name : SikeParamRegistry.getNames()) {
+            if (!"all".equals(paramName) && !name.equals(paramName)) {
+                continue;
+            }
+            SikeParam sikeParam = SikeParamRegistry.getInstance(name, engine);
+            for (MetricsOperation operation : OPERATIONS) {
+                if (!"all".equals(operationName) && !operation.name().equals(operationName)) {
+                    continue;
+                }
+                LoadDriver driver = new LoadDriver(sikeParam, operation, virtualThreads, sharedInstance);
+                List<LoadResult> results = new ArrayList<>();
+                for (int threads : getThreadCounts(maxThreads)) {
+                    results.add(driver.run(threads, warmupMillis, durationMillis));
+                }
+                System.out.printf("%s %s (%s threads, %s instance)%n", name, operation,
+                        virtualThreads ? "virtual" : "platform", sharedInstance ? "shared" : "per-thread");
+                printScalingTable(results);
+                System.out.println();
+            }
+        }
+    }
+
+    /**
+     * Get thread counts used for scaling measurement.
+     * @param maxThreads Maximum number of threads.
+     * @return Powers of two below the maximum number of threads followed by the maximum.
+     */
+    static List<Integer> getThreadCounts(int maxThreads) {
+        TreeSet<Integer> counts = new TreeSet<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(Math.max(1, maxThreads));
+        return new ArrayList<>(counts);
+    }
+
+    /**
+     * Print a scaling table, scaling is computed relative to the first result.
+     * @param results Load results of a single operation.
+     */
+    static void printScalingTable(List<LoadResult> results) {
+        System.out.printf("%7s %10s %8s %10s %9s %9s %9s %9s %10s %9s %6s%n", "threads", "ops/s", "speedup",
+                "efficiency", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "alloc MB/s", "KB/op", "GC %");
+        for (LoadResult result : results) {
+            LatencyHistogram histogram = result.getHistogram();
+            double speedup = getSpeedup(results, result);
+            System.out.printf("%7d %10.1f %8.2f %9.1f%% %9.3f %9.3f %9.3f %9.3f %10s %9s %5.1f%%%n",
+                    result.getThreads(), result.getThroughput(), speedup, speedup / result.getThreads() * 100,
+                    histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(99) / 1e6,
+                    histogram.getValueAtPercentile(99.9) / 1e6, histogram.getMax() / 1e6,
+                    result.isAllocationMeasured() ? String.format("%.1f", result.getAllocationRate() / 1e6) : "n/a",
+                    result.isAllocationMeasured() ? String.format("%.1f", result.getAllocationPerOperation() / 1024) : "n/a",
+                    result.getGcRatio() * 100);
+        }
+    }
+
+    /**
+     * Get speedup of a result relative to the per-thread throughput of the first result.
+     * @param results Load results of a single operation.
+     * @param result Load result.
+     * @return Speedup, zero in case the baseline throughput is zero.
+     */
+    static double getSpeedup(List<LoadResult> results, LoadResult result) {
+        LoadResult first = results.get(0);
+        double baseline = first.getThroughput() / first.getThreads();
+        return baseline == 0 ? 0 : result.getThroughput() / baseline;
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.tools;
+
+import com.wultra.security.pqc.sike.metrics.LatencyHistogram;
+
+/**
+ * Result of a closed-loop load run with a fixed number of threads.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class LoadResult {
+
+    private final int threads;
+    private final LatencyHistogram histogram;
+    private final long measuredNanos;
+    private final long allocatedBytes;
+    private final long gcNanos;
+
+    /**
+     * Load result constructor.
+     * @param threads Number of load threads.
+     * @param histogram Merged latency histogram of all threads.
+     * @param measuredNanos Length of the measurement window in nanoseconds.
+     * @param allocatedBytes Bytes allocated by load threads during measurement, negative value if not available.
+     * @param gcNanos Time spent in garbage collection during measurement in nanoseconds.
+     */
+    public LoadResult(int threads, LatencyHistogram histogram, long measuredNanos, long allocatedBytes, long gcNanos) {
+        this.threads = threads;
+        this.histogram = histogram;
+        this.measuredNanos = measuredNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcNanos = gcNanos;
+    }
+
+    /**
+     * Get number of load threads.
+     * @return Number of load threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Get merged latency histogram.
+     * @return Latency histogram.
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Get number of completed operations.
+     * @return Number of completed operations.
+     */
+    public long getOperations() {
+        return histogram.getCount();
+    }
+
+    /**
+     * Get length of the measurement window.
+     * @return Length of the measurement window in nanoseconds.
+     */
+    public long getMeasuredNanos() {
+        return measuredNanos;
+    }
+
+    /**
+     * Get throughput.
+     * @return Completed operations per second.
+     */
+    public double getThroughput() {
+        return measuredNanos == 0 ? 0 : histogram.getCount() * 1e9 / measuredNanos;
+    }
+
+    /**
+     * Check whether allocation was measured, allocation is not available for virtual threads.
+     * @return Whether allocation was measured.
+     */
+    public boolean isAllocationMeasured() {
+        return allocatedBytes >= 0;
+    }
+
+    /**
+     * Get allocation rate.
+     * @return Allocated bytes per second or a negative value if not available.
+     */
+    public double getAllocationRate() {
+        if (!isAllocationMeasured()) {
+            return -1;
+        }
+        return measuredNanos == 0 ? 0 : allocatedBytes * 1e9 / measuredNanos;
+    }
+
+    /**
+     * Get allocation per operation.
+     * @return Allocated bytes per operation or a negative value if not available.
+     */
+    public double getAllocationPerOperation() {
+        if (!isAllocationMeasured()) {
+            return -1;
+        }
+        return histogram.getCount() == 0 ? 0 : (double) allocatedBytes / histogram.getCount();
+    }
+
+    /**
+     * Get fraction of the measurement window spent in garbage collection.
+     * @return Garbage collection time ratio.
+     */
+    public double getGcRatio() {
+        return measuredNanos == 0 ? 0 : (double) gcNanos / measuredNanos;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.tools;
+
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import com.wultra.security.pqc.sike.param.SikeParamP503;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.Security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of KAT generator against the published KAT response files.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class KatGeneratorTest {
+
+    private static final Path KAT_DIR = Paths.get("..", "sike-java", "src", "test", "resources", "kat");
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testGeneratedRecordsMatchKatP434() throws IOException, GeneralSecurityException {
+        verifyPrefix(new SikeParamP434(ImplementationType.OPTIMIZED), "PQCkemKAT_374.rsp", 8);
+    }
+
+    @Test
+    void testGeneratedRecordsMatchKatP503() throws IOException, GeneralSecurityException {
+        verifyPrefix(new SikeParamP503(ImplementationType.OPTIMIZED), "PQCkemKAT_434.rsp", 3);
+    }
+
+    @Test
+    void testGeneratedFileMatchesReference() throws IOException, GeneralSecurityException {
+        Path optimized = Files.createTempFile("kat-optimized", ".rsp");
+        Path reference = Files.createTempFile("kat-reference", ".rsp");
+        try {
+            new KatGenerator(new SikeParamP434(ImplementationType.OPTIMIZED), 2).generate(optimized, 3);
+            new KatGenerator(new SikeParamP434(ImplementationType.REFERENCE), 2).generate(reference, 3);
+            assertEquals(new String(Files.readAllBytes(reference), StandardCharsets.US_ASCII),
+                    new String(Files.readAllBytes(optimized), StandardCharsets.US_ASCII));
+        } finally {
+            Files.delete(optimized);
+            Files.delete(reference);
+        }
+    }
+
+    private void verifyPrefix(SikeParam sikeParam, String katFileName, int records) throws IOException, GeneralSecurityException {
+        System.out.println("----------------------------------------");
+        StringWriter writer = new StringWriter();
+        new KatGenerator(sikeParam, 4).generate(writer, records);
+        String generated = writer.toString();
+        String expected = new String(Files.readAllBytes(KAT_DIR.resolve(katFileName)), StandardCharsets.US_ASCII);
+        assertTrue(expected.startsWith(generated), "Generated records differ from " + katFileName);
+        System.out.println(sikeParam.getName() + ": " + records + " generated records match " + katFileName);
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.tools;
+
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamRegistry;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test of the closed-loop load driver.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class LoadDriverTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testLoadRun() throws GeneralSecurityException {
+        System.out.println("----------------------------------------");
+        SikeParam sikeParam = SikeParamRegistry.getInstance("SIKEp434", ImplementationType.OPTIMIZED);
+        for (MetricsOperation operation : Arrays.asList(MetricsOperation.ENCAPSULATION, MetricsOperation.SHARED_SECRET_GENERATION)) {
+            LoadDriver driver = new LoadDriver(sikeParam, operation, false, operation == MetricsOperation.ENCAPSULATION);
+            List<LoadResult> results = new ArrayList<>();
+            for (int threads = 1; threads <= 2; threads++) {
+                LoadResult result = driver.run(threads, 100, 500);
+                assertEquals(threads, result.getThreads());
+                assertTrue(result.getOperations() > 0, "No operations completed");
+                assertTrue(result.getMeasuredNanos() >= 500_000_000L, "Invalid measurement window");
+                assertTrue(result.getThroughput() > 0, "Invalid throughput");
+                results.add(result);
+            }
+            System.out.println(operation);
+            LoadDriverTool.printScalingTable(results);
+            assertEquals(1.0, LoadDriverTool.getSpeedup(results, results.get(0)), 1e-9);
+        }
+        assertEquals(Arrays.asList(1, 2, 4, 6), LoadDriverTool.getThreadCounts(6));
+        assertEquals(Arrays.asList(1, 2, 4), LoadDriverTool.getThreadCounts(4));
+        assertEquals(Arrays.asList(1), LoadDriverTool.getThreadCounts(1));
+    }
+
+}
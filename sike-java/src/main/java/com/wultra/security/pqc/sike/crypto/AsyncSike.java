@@ -0,0 +1,264 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.EncryptedMessage;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous SIKE key encapsulation and SIDH key exchange executed on a bounded executor.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class AsyncSike implements AutoCloseable {
+
+    /**
+     * Policy applied when the executor queue is full.
+     */
+    public enum RejectionPolicy {
+
+        /**
+         * The returned future is completed with a RejectedExecutionException.
+         */
+        ABORT,
+
+        /**
+         * The operation is executed in the calling thread.
+         */
+        CALLER_RUNS
+
+    }
+
+    private final Sike sike;
+    private final Sidh sidh;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timeoutScheduler;
+    private final long timeoutMillis;
+    private final RejectionPolicy rejectionPolicy;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /**
+     * Asynchronous SIKE constructor.
+     * @param sikeParam SIKE parameters.
+     * @param threads Number of executor threads.
+     * @param queueCapacity Maximum number of operations waiting for execution.
+     * @param timeoutMillis Operation timeout in milliseconds, use 0 to disable timeouts.
+     */
+    public AsyncSike(SikeParam sikeParam, int threads, int queueCapacity, long timeoutMillis) {
+        this(new Sike(sikeParam), new Sidh(sikeParam), threads, queueCapacity, timeoutMillis, RejectionPolicy.ABORT);
+    }
+
+    /**
+     * Asynchronous SIKE constructor with provided SIKE and SIDH instances.
+     * @param sike SIKE key encapsulation.
+     * @param sidh SIDH key exchange.
+     * @param threads Number of executor threads.
+     * @param queueCapacity Maximum number of operations waiting for execution.
+     * @param timeoutMillis Operation timeout in milliseconds, use 0 to disable timeouts.
+     * @param rejectionPolicy Policy applied when the executor queue is full.
+     */
+    public AsyncSike(Sike sike, Sidh sidh, int threads, int queueCapacity, long timeoutMillis, RejectionPolicy rejectionPolicy) {
+        if (threads < 1) {
+            throw new InvalidParameterException("Invalid number of threads");
+        }
+        if (queueCapacity < 1) {
+            throw new InvalidParameterException("Invalid queue capacity");
+        }
+        if (timeoutMillis < 0) {
+            throw new InvalidParameterException("Invalid timeout");
+        }
+        if (rejectionPolicy == null) {
+            throw new InvalidParameterException("Invalid rejection policy");
+        }
+        this.sike = sike;
+        this.sidh = sidh;
+        this.timeoutMillis = timeoutMillis;
+        this.rejectionPolicy = rejectionPolicy;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new DaemonThreadFactory("sike-async"), new ThreadPoolExecutor.AbortPolicy());
+        if (timeoutMillis > 0) {
+            this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("sike-async-timeout"));
+        } else {
+            this.timeoutScheduler = null;
+        }
+    }
+
+    /**
+     * Asynchronous SIKE encapsulation.
+     * @param pk3 Bob's public key.
+     * @return Future with encapsulation result.
+     */
+    public CompletableFuture<EncapsulationResult> encapsulate(PublicKey pk3) {
+        return submit(() -> sike.encapsulate(pk3));
+    }
+
+    /**
+     * Asynchronous SIKE decapsulation.
+     * @param sk3 Bob's private key.
+     * @param pk3 Bob's public key.
+     * @param encrypted Encrypted message received from Alice.
+     * @return Future with shared secret.
+     */
+    public CompletableFuture<byte[]> decapsulate(PrivateKey sk3, PublicKey pk3, EncryptedMessage encrypted) {
+        return submit(() -> sike.decapsulate(sk3, pk3, encrypted));
+    }
+
+    /**
+     * Asynchronous generation of SIDH shared secret.
+     * @param party Alice or Bob.
+     * @param privateKey Private key.
+     * @param publicKey Public key.
+     * @return Future with shared secret isogeny j-invariant.
+     */
+    public CompletableFuture<Fp2Element> generateSharedSecret(Party party, PrivateKey privateKey, PublicKey publicKey) {
+        return submit(() -> sidh.generateSharedSecret(party, privateKey, publicKey));
+    }
+
+    /**
+     * Submit an operation for asynchronous execution.
+     * @param operation Operation to execute.
+     * @param <T> Type of operation result.
+     * @return Future with operation result.
+     */
+    private <T> CompletableFuture<T> submit(Operation<T> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        OperationTask<T> task = new OperationTask<>(operation, future);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            rejectedCount.incrementAndGet();
+            if (rejectionPolicy == RejectionPolicy.CALLER_RUNS && !executor.isShutdown()) {
+                task.run();
+            } else {
+                future.completeExceptionally(ex);
+            }
+            return future;
+        }
+        if (timeoutScheduler != null) {
+            ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> {
+                if (future.completeExceptionally(new TimeoutException("Operation timed out"))) {
+                    timeoutCount.incrementAndGet();
+                    // Release the queue slot in case the operation has not started yet
+                    executor.remove(task);
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            future.whenComplete((result, throwable) -> timeout.cancel(false));
+        }
+        return future;
+    }
+
+    /**
+     * Get number of operations waiting for execution.
+     * @return Number of queued operations.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Get number of operations which were rejected due to full queue.
+     * @return Number of rejected operations.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Get number of operations which timed out.
+     * @return Number of timed out operations.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Shut down the executor, operations which have not started yet are cancelled.
+     */
+    @Override
+    public void close() {
+        List<Runnable> pending = executor.shutdownNow();
+        for (Runnable runnable : pending) {
+            if (runnable instanceof OperationTask) {
+                ((OperationTask<?>) runnable).cancel();
+            }
+        }
+        if (timeoutScheduler != null) {
+            timeoutScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Operation executed asynchronously.
+     * @param <T> Type of operation result.
+     */
+    private interface Operation<T> {
+
+        /**
+         * Execute the operation.
+         * @return Operation result.
+         * @throws GeneralSecurityException Thrown in case cryptography fails.
+         */
+        T execute() throws GeneralSecurityException;
+
+    }
+
+    /**
+     * Task which completes a future with the result of an operation.
+     * @param <T> Type of operation result.
+     */
+    private static class OperationTask<T> implements Runnable {
+
+        private final Operation<T> operation;
+        private final CompletableFuture<T> future;
+
+        OperationTask(Operation<T> operation, CompletableFuture<T> future) {
+            this.operation = operation;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                // The operation timed out while waiting in the queue
+                return;
+            }
+            try {
+                future.complete(operation.execute());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        void cancel() {
+            future.cancel(false);
+        }
+    }
+
+}
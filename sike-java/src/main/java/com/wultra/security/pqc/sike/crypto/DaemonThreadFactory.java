@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factory for named daemon threads used for background computations.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class DaemonThreadFactory implements ThreadFactory {
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final String prefix;
+
+    /**
+     * Daemon thread factory constructor.
+     * @param name Name of the thread pool used as thread name prefix.
+     */
+    DaemonThreadFactory(String name) {
+        this.prefix = name + "-" + POOL_COUNTER.incrementAndGet() + "-";
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, prefix + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+}
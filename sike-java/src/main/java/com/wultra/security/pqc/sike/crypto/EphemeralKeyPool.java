@@ -0,0 +1,247 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import javax.security.auth.DestroyFailedException;
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of ephemeral SIDH key pairs precomputed on background threads.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class EphemeralKeyPool implements AutoCloseable {
+
+    private final KeyGenerator keyGenerator;
+    private final Party party;
+    private final int highWaterMark;
+    private final ExecutorService executor;
+
+    private final ConcurrentLinkedQueue<KeyPair> keyPairs = new ConcurrentLinkedQueue<>();
+    // Number of pooled key pairs including key pairs which are being generated
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong generatedCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * Ephemeral key pool constructor.
+     * @param sikeParam SIKE parameters.
+     * @param party Alice or Bob.
+     * @param highWaterMark Number of key pairs to keep precomputed.
+     */
+    public EphemeralKeyPool(SikeParam sikeParam, Party party, int highWaterMark) {
+        this(new KeyGenerator(sikeParam), party, highWaterMark, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * Ephemeral key pool constructor with alternative key generator.
+     * @param keyGenerator Key generator used for precomputation of key pairs.
+     * @param party Alice or Bob.
+     * @param highWaterMark Number of key pairs to keep precomputed.
+     * @param threads Number of background threads used for precomputation.
+     */
+    public EphemeralKeyPool(KeyGenerator keyGenerator, Party party, int highWaterMark, int threads) {
+        if (party != Party.ALICE && party != Party.BOB) {
+            throw new InvalidParameterException("Invalid party");
+        }
+        if (highWaterMark < 1) {
+            throw new InvalidParameterException("Invalid high-water mark");
+        }
+        if (threads < 1) {
+            throw new InvalidParameterException("Invalid number of threads");
+        }
+        this.keyGenerator = keyGenerator;
+        this.party = party;
+        this.highWaterMark = highWaterMark;
+        this.executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("sike-key-pool"));
+        refill();
+    }
+
+    /**
+     * Acquire an ephemeral key pair. The key pair is taken from the pool, in case the pool is depleted
+     * the key pair is generated in the calling thread and generation of missing key pairs is scheduled.
+     * @return Ephemeral key pair.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public KeyPair acquire() throws GeneralSecurityException {
+        if (closed) {
+            throw new IllegalStateException("Key pool is closed");
+        }
+        KeyPair keyPair = keyPairs.poll();
+        if (keyPair == null) {
+            missCount.incrementAndGet();
+            // Background generation may have failed, schedule the missing key pairs again
+            refill();
+            return keyGenerator.generateKeyPair(party);
+        }
+        size.decrementAndGet();
+        reserved.decrementAndGet();
+        hitCount.incrementAndGet();
+        refill();
+        return keyPair;
+    }
+
+    /**
+     * Schedule generation of key pairs until the high-water mark is reached.
+     */
+    private void refill() {
+        while (!closed) {
+            int current = reserved.get();
+            if (current >= highWaterMark) {
+                return;
+            }
+            if (reserved.compareAndSet(current, current + 1)) {
+                try {
+                    executor.execute(this::generateKeyPair);
+                } catch (RejectedExecutionException ex) {
+                    // Pool is being closed
+                    reserved.decrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Generate a key pair and add it to the pool.
+     */
+    private void generateKeyPair() {
+        if (closed) {
+            return;
+        }
+        KeyPair keyPair;
+        try {
+            keyPair = keyGenerator.generateKeyPair(party);
+        } catch (GeneralSecurityException | RuntimeException ex) {
+            reserved.decrementAndGet();
+            failureCount.incrementAndGet();
+            return;
+        }
+        generatedCount.incrementAndGet();
+        keyPairs.offer(keyPair);
+        size.incrementAndGet();
+        if (closed) {
+            // The pool was closed while the key pair was being generated
+            destroyKeyPairs();
+        }
+    }
+
+    /**
+     * Remove all key pairs from the pool and destroy their private keys.
+     */
+    private void destroyKeyPairs() {
+        KeyPair keyPair;
+        while ((keyPair = keyPairs.poll()) != null) {
+            size.decrementAndGet();
+            destroy(keyPair.getPrivate());
+        }
+    }
+
+    /**
+     * Destroy a private key.
+     * @param privateKey Private key.
+     */
+    private void destroy(PrivateKey privateKey) {
+        try {
+            privateKey.destroy();
+        } catch (DestroyFailedException ex) {
+            // Private key implementation does not support destruction
+        }
+    }
+
+    /**
+     * Get number of key pairs available in the pool.
+     * @return Number of available key pairs.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * Get the high-water mark of the pool.
+     * @return High-water mark.
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Get number of key pairs served from the pool.
+     * @return Number of key pairs served from the pool.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get number of key pairs generated in the calling thread due to pool depletion.
+     * @return Number of pool depletions.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get number of key pairs generated on background threads.
+     * @return Number of key pairs generated on background threads.
+     */
+    public long getGeneratedCount() {
+        return generatedCount.get();
+    }
+
+    /**
+     * Get number of failed key pair generations on background threads.
+     * @return Number of failed key pair generations.
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Check whether the pool is closed.
+     * @return Whether the pool is closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Close the pool, stop background threads and destroy all unused private keys.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+        destroyKeyPairs();
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.model.*;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.Sha3;
+import org.bouncycastle.crypto.agreement.X25519Agreement;
+import org.bouncycastle.crypto.params.X25519PrivateKeyParameters;
+import org.bouncycastle.crypto.params.X25519PublicKeyParameters;
+
+import java.security.*;
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+/**
+ * Hybrid key encapsulation combining SIKE with X25519 key agreement. The combined shared secret is derived
+ * using SHAKE256 from both shared secrets, the encrypted message and the X25519 public keys, so that it stays
+ * secure as long as one of the schemes is not broken.
+ *
+ * Both halves are computed concurrently, the X25519 half is executed on the provided executor while the SIKE
+ * half is computed in the calling thread, so the latency is close to the latency of SIKE alone.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class HybridKem {
+
+    private final SikeParam sikeParam;
+    private final Sike sike;
+    private final KeyGenerator keyGenerator;
+    private final RandomGenerator randomGenerator;
+    private final Executor executor;
+
+    /**
+     * Hybrid key encapsulation constructor.
+     * @param sikeParam SIKE parameters.
+     */
+    public HybridKem(SikeParam sikeParam) {
+        this(sikeParam, null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Hybrid key encapsulation constructor with specified SecureRandom and executor.
+     * @param sikeParam SIKE parameters.
+     * @param secureRandom SecureRandom to use, use null for the default Bouncy Castle SecureRandom.
+     * @param executor Executor used for the X25519 half of operations.
+     */
+    public HybridKem(SikeParam sikeParam, SecureRandom secureRandom, Executor executor) {
+        if (sikeParam == null) {
+            throw new InvalidParameterException("Invalid SIKE parameters");
+        }
+        if (executor == null) {
+            throw new InvalidParameterException("Invalid executor");
+        }
+        this.sikeParam = sikeParam;
+        this.randomGenerator = new RandomGenerator(secureRandom);
+        this.sike = new Sike(sikeParam, secureRandom);
+        this.keyGenerator = new KeyGenerator(sikeParam, randomGenerator);
+        this.executor = executor;
+    }
+
+    /**
+     * Generate a hybrid key pair for Bob.
+     * @return Key pair with hybrid public and private keys.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPair sikeKeyPair = keyGenerator.generateKeyPair(Party.BOB);
+        byte[] x25519PrivateKey = randomGenerator.generateRandomBytes(HybridPrivateKey.X25519_KEY_SIZE);
+        byte[] x25519PublicKey = new X25519PrivateKeyParameters(x25519PrivateKey, 0).generatePublicKey().getEncoded();
+        HybridPrivateKey privateKey = new HybridPrivateKey(sikeKeyPair.getPrivate(), x25519PrivateKey);
+        Arrays.fill(x25519PrivateKey, (byte) 0);
+        return new KeyPair(new HybridPublicKey(sikeKeyPair.getPublic(), x25519PublicKey), privateKey);
+    }
+
+    /**
+     * Hybrid encapsulation.
+     * @param publicKey Bob's hybrid public key.
+     * @return Encapsulation result with combined shared secret and encrypted message.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public HybridEncapsulationResult encapsulate(PublicKey publicKey) throws GeneralSecurityException {
+        if (!(publicKey instanceof HybridPublicKey)) {
+            throw new InvalidKeyException("Invalid public key");
+        }
+        HybridPublicKey pub = (HybridPublicKey) publicKey;
+        byte[] x25519PublicKey = pub.getX25519PublicKey();
+        byte[] ephemeralPrivateKey = randomGenerator.generateRandomBytes(HybridPrivateKey.X25519_KEY_SIZE);
+        StartGuardedTask<byte[]> x25519Secret = submit(() -> agree(ephemeralPrivateKey, x25519PublicKey));
+        try {
+            EncapsulationResult sikeResult = sike.encapsulate(pub.getSikePublicKey());
+            byte[] ephemeralPublicKey = new X25519PrivateKeyParameters(ephemeralPrivateKey, 0).generatePublicKey().getEncoded();
+            HybridEncryptedMessage encrypted = new HybridEncryptedMessage(sikeResult.getEncryptedMessage(), ephemeralPublicKey);
+            byte[] secret = combine(sikeResult.getSecret(), await(x25519Secret), encrypted, x25519PublicKey);
+            return new HybridEncapsulationResult(secret, encrypted);
+        } finally {
+            // The private key must not be zeroed while the X25519 half may still be reading it
+            x25519Secret.cancelOrAwait();
+            Arrays.fill(ephemeralPrivateKey, (byte) 0);
+        }
+    }
+
+    /**
+     * Hybrid decapsulation.
+     * @param privateKey Bob's hybrid private key.
+     * @param publicKey Bob's hybrid public key.
+     * @param encrypted Encrypted message received from Alice.
+     * @return Combined shared secret.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public byte[] decapsulate(PrivateKey privateKey, PublicKey publicKey, HybridEncryptedMessage encrypted) throws GeneralSecurityException {
+        if (!(privateKey instanceof HybridPrivateKey)) {
+            throw new InvalidKeyException("Invalid private key");
+        }
+        if (!(publicKey instanceof HybridPublicKey)) {
+            throw new InvalidKeyException("Invalid public key");
+        }
+        if (encrypted == null) {
+            throw new InvalidParameterException("Encrypted message is null");
+        }
+        HybridPrivateKey priv = (HybridPrivateKey) privateKey;
+        HybridPublicKey pub = (HybridPublicKey) publicKey;
+        byte[] x25519PrivateKey = priv.getX25519PrivateKey();
+        byte[] ephemeralPublicKey = encrypted.getX25519PublicKey();
+        StartGuardedTask<byte[]> x25519Secret = submit(() -> agree(x25519PrivateKey, ephemeralPublicKey));
+        try {
+            byte[] sikeSecret = sike.decapsulate(priv.getSikePrivateKey(), pub.getSikePublicKey(), encrypted.getSikeMessage());
+            return combine(sikeSecret, await(x25519Secret), encrypted, pub.getX25519PublicKey());
+        } finally {
+            // The private key must not be zeroed while the X25519 half may still be reading it
+            x25519Secret.cancelOrAwait();
+            Arrays.fill(x25519PrivateKey, (byte) 0);
+        }
+    }
+
+    /**
+     * Compute X25519 shared secret.
+     * @param privateKey X25519 private key.
+     * @param publicKey X25519 public key.
+     * @return X25519 shared secret.
+     * @throws InvalidKeyException Thrown in case the public key is invalid.
+     */
+    private static byte[] agree(byte[] privateKey, byte[] publicKey) throws InvalidKeyException {
+        X25519Agreement agreement = new X25519Agreement();
+        agreement.init(new X25519PrivateKeyParameters(privateKey, 0));
+        byte[] secret = new byte[agreement.getAgreementSize()];
+        try {
+            agreement.calculateAgreement(new X25519PublicKeyParameters(publicKey, 0), secret, 0);
+        } catch (IllegalStateException ex) {
+            // Agreement fails for small order public keys which result in an all zero shared secret
+            throw new InvalidKeyException("Invalid X25519 public key");
+        }
+        return secret;
+    }
+
+    /**
+     * Derive combined shared secret.
+     * @param sikeSecret SIKE shared secret.
+     * @param x25519Secret X25519 shared secret.
+     * @param encrypted Hybrid encrypted message.
+     * @param x25519PublicKey Bob's X25519 public key.
+     * @return Combined shared secret.
+     */
+    private byte[] combine(byte[] sikeSecret, byte[] x25519Secret, HybridEncryptedMessage encrypted, byte[] x25519PublicKey) {
+        byte[] encryptedEncoded = encrypted.getEncoded();
+        byte[] data = new byte[sikeSecret.length + x25519Secret.length + encryptedEncoded.length + x25519PublicKey.length];
+        int offset = 0;
+        System.arraycopy(sikeSecret, 0, data, offset, sikeSecret.length);
+        offset += sikeSecret.length;
+        System.arraycopy(x25519Secret, 0, data, offset, x25519Secret.length);
+        offset += x25519Secret.length;
+        System.arraycopy(encryptedEncoded, 0, data, offset, encryptedEncoded.length);
+        offset += encryptedEncoded.length;
+        System.arraycopy(x25519PublicKey, 0, data, offset, x25519PublicKey.length);
+        byte[] secret = Sha3.shake256(data, sikeParam.getCryptoBytes());
+        Arrays.fill(data, (byte) 0);
+        Arrays.fill(sikeSecret, (byte) 0);
+        Arrays.fill(x25519Secret, (byte) 0);
+        return secret;
+    }
+
+    /**
+     * Submit the X25519 half of an operation to the executor, the half is executed in the calling thread
+     * in case the executor rejects it.
+     * @param operation X25519 operation.
+     * @return Task with operation result.
+     */
+    private StartGuardedTask<byte[]> submit(Callable<byte[]> operation) {
+        StartGuardedTask<byte[]> task = new StartGuardedTask<>(operation);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            task.run();
+        }
+        return task;
+    }
+
+    /**
+     * Wait for the X25519 half of an operation.
+     * @param future Future with operation result.
+     * @return Operation result.
+     * @throws GeneralSecurityException Thrown in case the operation fails or the thread is interrupted.
+     */
+    private static byte[] await(Future<byte[]> future) throws GeneralSecurityException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new GeneralSecurityException("Interrupted while waiting for X25519 key agreement", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            }
+            throw new GeneralSecurityException("X25519 key agreement failed", cause);
+        }
+    }
+
+}
@@ -16,15 +16,25 @@
  */
 package com.wultra.security.pqc.sike.crypto;
 
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.metrics.OperationOutcome;
+import com.wultra.security.pqc.sike.metrics.SikeMetrics;
 import com.wultra.security.pqc.sike.model.ImplementationType;
 import com.wultra.security.pqc.sike.model.MontgomeryCurve;
 import com.wultra.security.pqc.sike.model.Party;
 import com.wultra.security.pqc.sike.model.SidhPrivateKey;
 import com.wultra.security.pqc.sike.param.SikeParam;
 import com.wultra.security.pqc.sike.util.ByteEncoding;
+import com.wultra.security.pqc.sike.util.OperationCounter;
 
 import java.math.BigInteger;
 import java.security.*;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * SIDH and SIKE key generator.
@@ -35,14 +45,14 @@ public class KeyGenerator {
 
     private final SikeParam sikeParam;
     private final RandomGenerator randomGenerator;
+    private final SikeMetrics metrics;
 
     /**
      * Key generator constructor.
      * @param sikeParam SIKE parameters.
      */
     public KeyGenerator(SikeParam sikeParam) {
-        this.sikeParam = sikeParam;
-        this.randomGenerator = new RandomGenerator();
+        this(sikeParam, new RandomGenerator(), SikeMetrics.NO_OP);
     }
 
     /**
@@ -51,8 +61,30 @@ public class KeyGenerator {
      * @param randomGenerator Alternative random generator.
      */
     public KeyGenerator(SikeParam sikeParam, RandomGenerator randomGenerator) {
+        this(sikeParam, randomGenerator, SikeMetrics.NO_OP);
+    }
+
+    /**
+     * Constructor for key generator with alternative random generator and metrics listener.
+     * @param sikeParam SIKE parameters.
+     * @param randomGenerator Alternative random generator.
+     * @param metrics Metrics listener.
+     */
+    public KeyGenerator(SikeParam sikeParam, RandomGenerator randomGenerator, SikeMetrics metrics) {
+        if (metrics == null) {
+            throw new InvalidParameterException("Invalid metrics listener");
+        }
         this.sikeParam = sikeParam;
         this.randomGenerator = randomGenerator;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get SIKE parameters.
+     * @return SIKE parameters.
+     */
+    SikeParam getSikeParam() {
+        return sikeParam;
     }
 
     /**
@@ -62,9 +94,51 @@ public class KeyGenerator {
      * @throws GeneralSecurityException Thrown in case cryptography fails.
      */
     public KeyPair generateKeyPair(Party party) throws GeneralSecurityException {
-        PrivateKey privateKey = generatePrivateKey(party);
-        PublicKey publicKey = derivePublicKey(party, privateKey);
-        return new KeyPair(publicKey, privateKey);
+        long startTime = System.nanoTime();
+        OperationOutcome outcome = OperationOutcome.FAILURE;
+        OperationCounter.begin();
+        try {
+            PrivateKey privateKey = generatePrivateKey(party);
+            PublicKey publicKey = derive(party, privateKey);
+            outcome = OperationOutcome.SUCCESS;
+            return new KeyPair(publicKey, privateKey);
+        } finally {
+            OperationCounter.end(sikeParam, "generateKeyPair");
+            metrics.record(MetricsOperation.KEY_PAIR_GENERATION, sikeParam, System.nanoTime() - startTime, outcome);
+        }
+    }
+
+    /**
+     * Generate key pairs in parallel on the common fork-join pool.
+     * @param party Alice or Bob.
+     * @param count Number of key pairs to generate.
+     * @return Generated key pairs.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public List<KeyPair> generateKeyPairs(Party party, int count) throws GeneralSecurityException {
+        try {
+            return generateKeyPairStream(party, count).collect(Collectors.toList());
+        } catch (KeyGenerationFailure failure) {
+            throw failure.getCause();
+        }
+    }
+
+    /**
+     * Create a parallel stream of generated key pairs. The stream splits work across the common fork-join pool,
+     * each split uses its own random generator seeded from the random generator of this key generator.
+     * Failures of key pair generation are reported as IllegalStateException with the original cause.
+     * @param party Alice or Bob.
+     * @param count Number of key pairs to generate.
+     * @return Parallel stream of generated key pairs.
+     */
+    public Stream<KeyPair> generateKeyPairStream(Party party, long count) {
+        if (party != Party.ALICE && party != Party.BOB) {
+            throw new InvalidParameterException("Invalid party");
+        }
+        if (count < 0) {
+            throw new InvalidParameterException("Invalid number of key pairs");
+        }
+        return StreamSupport.stream(new KeyPairSpliterator(party, count), true);
     }
 
     /**
@@ -87,6 +161,27 @@ public class KeyGenerator {
      * @throws InvalidKeyException Thrown in case key derivation fails.
      */
     public PublicKey derivePublicKey(Party party, PrivateKey privateKey) throws InvalidKeyException {
+        long startTime = System.nanoTime();
+        OperationOutcome outcome = OperationOutcome.FAILURE;
+        OperationCounter.begin();
+        try {
+            PublicKey publicKey = derive(party, privateKey);
+            outcome = OperationOutcome.SUCCESS;
+            return publicKey;
+        } finally {
+            OperationCounter.end(sikeParam, "derivePublicKey");
+            metrics.record(MetricsOperation.PUBLIC_KEY_DERIVATION, sikeParam, System.nanoTime() - startTime, outcome);
+        }
+    }
+
+    /**
+     * Derive public key from a private key without reporting the operation to metrics.
+     * @param party Alice or Bob.
+     * @param privateKey Private key.
+     * @return Derived public key.
+     * @throws InvalidKeyException Thrown in case key derivation fails.
+     */
+    private PublicKey derive(Party party, PrivateKey privateKey) throws InvalidKeyException {
         if (!(privateKey instanceof SidhPrivateKey)) {
             throw new InvalidKeyException("Invalid private key");
         }
@@ -131,4 +226,87 @@ public class KeyGenerator {
         throw new InvalidParameterException("Invalid party");
     }
 
+    /**
+     * Spliterator generating key pairs, each split generates key pairs using its own key generator.
+     */
+    private class KeyPairSpliterator implements Spliterator<KeyPair> {
+
+        private final Party party;
+        private long remaining;
+        private KeyGenerator worker;
+
+        /**
+         * Key pair spliterator constructor.
+         * @param party Alice or Bob.
+         * @param remaining Number of key pairs to generate.
+         */
+        KeyPairSpliterator(Party party, long remaining) {
+            this.party = party;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super KeyPair> action) {
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                if (worker == null) {
+                    // Created lazily so that the random generator is seeded in the worker thread
+                    worker = new KeyGenerator(sikeParam, randomGenerator.createWorker(), metrics);
+                }
+                KeyPair keyPair = worker.generateKeyPair(party);
+                remaining--;
+                action.accept(keyPair);
+                return true;
+            } catch (GeneralSecurityException ex) {
+                throw new KeyGenerationFailure(ex);
+            }
+        }
+
+        @Override
+        public Spliterator<KeyPair> trySplit() {
+            if (remaining < 2) {
+                return null;
+            }
+            long split = remaining / 2;
+            remaining -= split;
+            return new KeyPairSpliterator(party, split);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+    }
+
+    /**
+     * Unchecked wrapper of a key pair generation failure inside a parallel stream. The constructor is not public,
+     * so that fork-join tasks rethrow the wrapper itself instead of wrapping it into a new exception.
+     */
+    private static class KeyGenerationFailure extends IllegalStateException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Key generation failure constructor.
+         * @param cause Cause of the failure.
+         */
+        KeyGenerationFailure(GeneralSecurityException cause) {
+            super("Key pair generation failed", cause);
+        }
+
+        @Override
+        public synchronized GeneralSecurityException getCause() {
+            return (GeneralSecurityException) super.getCause();
+        }
+
+    }
+
 }
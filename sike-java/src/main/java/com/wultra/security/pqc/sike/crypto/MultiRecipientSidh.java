@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.model.MultiRecipientResult;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+
+import java.security.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * SIDH key exchange of one ephemeral key pair with many recipients. The ephemeral key pair is generated once
+ * and the shared secrets with recipients are computed in parallel on a fork-join pool.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class MultiRecipientSidh {
+
+    private final KeyGenerator keyGenerator;
+    private final Sidh sidh;
+    private final ForkJoinPool pool;
+
+    /**
+     * Multi-recipient SIDH constructor using the common fork-join pool.
+     * @param keyGenerator Key generator used for ephemeral key pairs.
+     * @param sidh SIDH key exchange.
+     */
+    public MultiRecipientSidh(KeyGenerator keyGenerator, Sidh sidh) {
+        this(keyGenerator, sidh, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Multi-recipient SIDH constructor.
+     * @param keyGenerator Key generator used for ephemeral key pairs.
+     * @param sidh SIDH key exchange.
+     * @param pool Fork-join pool used for computation of shared secrets.
+     */
+    public MultiRecipientSidh(KeyGenerator keyGenerator, Sidh sidh, ForkJoinPool pool) {
+        if (keyGenerator == null) {
+            throw new InvalidParameterException("Invalid key generator");
+        }
+        if (sidh == null) {
+            throw new InvalidParameterException("Invalid SIDH key exchange");
+        }
+        if (pool == null) {
+            throw new InvalidParameterException("Invalid fork-join pool");
+        }
+        if (!keyGenerator.getSikeParam().equals(sidh.getSikeParam())) {
+            throw new InvalidParameterException("SIKE parameters do not match");
+        }
+        this.keyGenerator = keyGenerator;
+        this.sidh = sidh;
+        this.pool = pool;
+    }
+
+    /**
+     * Generate an ephemeral key pair and compute shared secrets with all recipients.
+     * @param party Party of the ephemeral key pair, recipients use the other party.
+     * @param recipients Public keys of recipients.
+     * @return Ephemeral public key and shared secrets in the order of recipients.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public MultiRecipientResult generateSharedSecrets(Party party, List<PublicKey> recipients) throws GeneralSecurityException {
+        if (recipients == null) {
+            throw new InvalidParameterException("Invalid recipients");
+        }
+        KeyPair ephemeralKeyPair = keyGenerator.generateKeyPair(party);
+        try {
+            return generateSharedSecrets(party, ephemeralKeyPair, recipients);
+        } finally {
+            ((SidhPrivateKey) ephemeralKeyPair.getPrivate()).destroy();
+        }
+    }
+
+    /**
+     * Compute shared secrets of a key pair with all recipients.
+     * @param party Party of the key pair, recipients use the other party.
+     * @param keyPair Key pair.
+     * @param recipients Public keys of recipients.
+     * @return Public key of the key pair and shared secrets in the order of recipients.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public MultiRecipientResult generateSharedSecrets(Party party, KeyPair keyPair, List<PublicKey> recipients) throws GeneralSecurityException {
+        if (party != Party.ALICE && party != Party.BOB) {
+            throw new InvalidParameterException("Invalid party");
+        }
+        if (keyPair == null || !(keyPair.getPrivate() instanceof SidhPrivateKey)) {
+            throw new InvalidKeyException("Invalid private key");
+        }
+        if (recipients == null) {
+            throw new InvalidParameterException("Invalid recipients");
+        }
+        PublicKey[] publicKeys = recipients.toArray(new PublicKey[0]);
+        for (PublicKey publicKey : publicKeys) {
+            if (!Sidh.isSupported(publicKey)) {
+                throw new InvalidKeyException("Invalid public key");
+            }
+        }
+        Fp2Element[] sharedSecrets = new Fp2Element[publicKeys.length];
+        try {
+            pool.invoke(new SharedSecretTask(party, keyPair.getPrivate(), publicKeys, sharedSecrets, 0, publicKeys.length));
+        } catch (TaskFailure failure) {
+            throw failure.getCause();
+        }
+        return new MultiRecipientResult(keyPair.getPublic(), Arrays.asList(sharedSecrets));
+    }
+
+    /**
+     * Task computing shared secrets for a range of recipients, ranges are split until a single recipient remains.
+     */
+    private class SharedSecretTask extends RecursiveAction {
+
+        private final Party party;
+        private final PrivateKey privateKey;
+        private final PublicKey[] publicKeys;
+        private final Fp2Element[] sharedSecrets;
+        private final int from;
+        private final int to;
+
+        /**
+         * Shared secret task constructor.
+         * @param party Party of the private key.
+         * @param privateKey Private key.
+         * @param publicKeys Public keys of recipients.
+         * @param sharedSecrets Array for computed shared secrets.
+         * @param from First recipient index, inclusive.
+         * @param to Last recipient index, exclusive.
+         */
+        SharedSecretTask(Party party, PrivateKey privateKey, PublicKey[] publicKeys, Fp2Element[] sharedSecrets, int from, int to) {
+            this.party = party;
+            this.privateKey = privateKey;
+            this.publicKeys = publicKeys;
+            this.sharedSecrets = sharedSecrets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SharedSecretTask(party, privateKey, publicKeys, sharedSecrets, from, middle),
+                        new SharedSecretTask(party, privateKey, publicKeys, sharedSecrets, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                try {
+                    sharedSecrets[i] = sidh.generateSharedSecret(party, privateKey, publicKeys[i]);
+                } catch (GeneralSecurityException ex) {
+                    throw new TaskFailure(ex);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Unchecked wrapper of a failure inside a fork-join task.
+     */
+    private static class TaskFailure extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Task failure constructor.
+         * @param cause Cause of the failure.
+         */
+        TaskFailure(GeneralSecurityException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized GeneralSecurityException getCause() {
+            return (GeneralSecurityException) super.getCause();
+        }
+
+    }
+
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.model.CompactSidhPublicKey;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+import com.wultra.security.pqc.sike.model.SidhPublicKey;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import org.bouncycastle.crypto.digests.SHAKEDigest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.InvalidParameterException;
+import java.security.PublicKey;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of prepared keys. Public keys are cached in decoded form with F(p^2) elements in Montgomery
+ * representation, private keys are cached in validated form, so that hot keys are not parsed on every
+ * operation. Keys are identified by a SHAKE256 fingerprint of the parameter set name and key encoding.
+ *
+ * The cache is split into segments with independent locks. Each segment evicts least recently used entries
+ * once its share of the maximum number of entries or of the maximum weight is exceeded, the weight of an
+ * entry is the length of the key encoding in bytes.
+ *
+ * Private keys are returned as copies of the cached key, so that callers can destroy their keys without
+ * affecting other holders of the same key. Cached private keys are destroyed once they are evicted, replaced
+ * or removed from the cache.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class PreparedKeyCache {
+
+    private static final int FINGERPRINT_LENGTH = 32;
+    private static final byte TYPE_PUBLIC_KEY = 0x01;
+    private static final byte TYPE_PRIVATE_KEY = 0x02;
+
+    private final Segment[] segments;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Prepared key cache constructor.
+     * @param maximumSize Maximum number of cached keys.
+     * @param maximumWeight Maximum total length of encodings of cached keys in bytes.
+     */
+    public PreparedKeyCache(int maximumSize, long maximumWeight) {
+        this(maximumSize, maximumWeight, Math.min(16, Math.max(1, maximumSize / 64)));
+    }
+
+    /**
+     * Prepared key cache constructor with a custom number of segments.
+     * @param maximumSize Maximum number of cached keys.
+     * @param maximumWeight Maximum total length of encodings of cached keys in bytes.
+     * @param segmentCount Number of independently locked segments.
+     */
+    public PreparedKeyCache(int maximumSize, long maximumWeight, int segmentCount) {
+        if (maximumSize < 1) {
+            throw new InvalidParameterException("Invalid maximum size");
+        }
+        if (maximumWeight < 1) {
+            throw new InvalidParameterException("Invalid maximum weight");
+        }
+        if (segmentCount < 1 || segmentCount > maximumSize) {
+            throw new InvalidParameterException("Invalid number of segments");
+        }
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Distribute the remainder so that the segment limits add up to the configured limits
+            int size = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+            long weight = maximumWeight / segmentCount + (i < maximumWeight % segmentCount ? 1 : 0);
+            segments[i] = new Segment(size, weight);
+        }
+    }
+
+    /**
+     * Get a prepared public key. Decoded public keys are returned unchanged, compact public keys are looked
+     * up in the cache and decoded in case of a cache miss.
+     * @param publicKey Public key.
+     * @return Prepared public key.
+     * @throws InvalidKeyException Thrown in case public key type is not supported.
+     */
+    public SidhPublicKey getPublicKey(PublicKey publicKey) throws InvalidKeyException {
+        if (publicKey instanceof SidhPublicKey) {
+            return (SidhPublicKey) publicKey;
+        }
+        if (publicKey instanceof CompactSidhPublicKey) {
+            CompactSidhPublicKey compactKey = (CompactSidhPublicKey) publicKey;
+            return getPublicKey(compactKey.getSikeParam(), compactKey.getEncoded());
+        }
+        throw new InvalidKeyException("Invalid public key");
+    }
+
+    /**
+     * Get a prepared public key from its byte encoding.
+     * @param sikeParam SIKE parameters.
+     * @param encoded Public key encoding.
+     * @return Prepared public key.
+     */
+    public SidhPublicKey getPublicKey(SikeParam sikeParam, byte[] encoded) {
+        if (sikeParam == null) {
+            throw new InvalidParameterException("Invalid SIKE parameters");
+        }
+        if (encoded == null) {
+            throw new InvalidParameterException("Invalid public key");
+        }
+        ByteBuffer fingerprint = fingerprint(TYPE_PUBLIC_KEY, sikeParam, null, encoded);
+        Segment segment = segmentFor(fingerprint);
+        Object cached = segment.get(fingerprint);
+        if (cached instanceof SidhPublicKey) {
+            hitCount.incrementAndGet();
+            return (SidhPublicKey) cached;
+        }
+        missCount.incrementAndGet();
+        SidhPublicKey publicKey = new SidhPublicKey(sikeParam, encoded);
+        evictionCount.addAndGet(segment.put(fingerprint, publicKey, encoded.length));
+        return publicKey;
+    }
+
+    /**
+     * Get a prepared private key from its byte encoding.
+     * @param sikeParam SIKE parameters.
+     * @param party Alice or Bob.
+     * @param encoded Private key encoding.
+     * @return Copy of the prepared private key owned by the caller.
+     */
+    public SidhPrivateKey getPrivateKey(SikeParam sikeParam, Party party, byte[] encoded) {
+        if (sikeParam == null) {
+            throw new InvalidParameterException("Invalid SIKE parameters");
+        }
+        if (party != Party.ALICE && party != Party.BOB) {
+            throw new InvalidParameterException("Invalid party");
+        }
+        if (encoded == null) {
+            throw new InvalidParameterException("Invalid private key");
+        }
+        ByteBuffer fingerprint = fingerprint(TYPE_PRIVATE_KEY, sikeParam, party, encoded);
+        Segment segment = segmentFor(fingerprint);
+        SidhPrivateKey cached = segment.getPrivateKey(fingerprint);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return cached;
+        }
+        missCount.incrementAndGet();
+        SidhPrivateKey privateKey = new SidhPrivateKey(sikeParam, party, encoded);
+        // The copy is created before the key is stored, stored keys can be destroyed by concurrent eviction
+        SidhPrivateKey copy = new SidhPrivateKey(privateKey);
+        evictionCount.addAndGet(segment.put(fingerprint, privateKey, encoded.length));
+        return copy;
+    }
+
+    /**
+     * Get number of cache hits.
+     * @return Number of cache hits.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get number of cache misses.
+     * @return Number of cache misses.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get number of evicted keys.
+     * @return Number of evicted keys.
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Get number of cached keys.
+     * @return Number of cached keys.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Get total weight of cached keys.
+     * @return Total length of encodings of cached keys in bytes.
+     */
+    public long getWeight() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            weight += segment.getWeight();
+        }
+        return weight;
+    }
+
+    /**
+     * Remove all cached keys.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Compute fingerprint of a key encoding.
+     * @param type Key type.
+     * @param sikeParam SIKE parameters.
+     * @param party Party for private keys, null for public keys.
+     * @param encoded Key encoding.
+     * @return Key fingerprint.
+     */
+    private static ByteBuffer fingerprint(byte type, SikeParam sikeParam, Party party, byte[] encoded) {
+        SHAKEDigest shake256 = new SHAKEDigest(256);
+        byte[] name = sikeParam.getName().getBytes(StandardCharsets.US_ASCII);
+        shake256.update(type);
+        shake256.update((byte) (party == null ? 0 : party.ordinal() + 1));
+        shake256.update((byte) name.length);
+        shake256.update(name, 0, name.length);
+        shake256.update(encoded, 0, encoded.length);
+        byte[] fingerprint = new byte[FINGERPRINT_LENGTH];
+        shake256.doFinal(fingerprint, 0, FINGERPRINT_LENGTH);
+        return ByteBuffer.wrap(fingerprint);
+    }
+
+    /**
+     * Destroy a cached value which is no longer stored in the cache.
+     * @param value Cached value.
+     */
+    private static void destroy(Object value) {
+        if (value instanceof SidhPrivateKey) {
+            ((SidhPrivateKey) value).destroy();
+        }
+    }
+
+    /**
+     * Get segment for a fingerprint.
+     * @param fingerprint Key fingerprint.
+     * @return Cache segment.
+     */
+    private Segment segmentFor(ByteBuffer fingerprint) {
+        return segments[(fingerprint.getInt(0) & Integer.MAX_VALUE) % segments.length];
+    }
+
+    /**
+     * Cache segment with least recently used eviction.
+     */
+    private static class Segment {
+
+        private final int maximumSize;
+        private final long maximumWeight;
+        private final LinkedHashMap<ByteBuffer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+
+        /**
+         * Segment constructor.
+         * @param maximumSize Maximum number of entries.
+         * @param maximumWeight Maximum weight of entries.
+         */
+        Segment(int maximumSize, long maximumWeight) {
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+        }
+
+        /**
+         * Get a cached value.
+         * @param fingerprint Key fingerprint.
+         * @return Cached value or null in case of a cache miss.
+         */
+        synchronized Object get(ByteBuffer fingerprint) {
+            Entry entry = entries.get(fingerprint);
+            return entry == null ? null : entry.value;
+        }
+
+        /**
+         * Get a copy of a cached private key, the copy is created while holding the lock so that the cached
+         * key cannot be destroyed by eviction in the meantime.
+         * @param fingerprint Key fingerprint.
+         * @return Copy of the cached private key or null in case of a cache miss.
+         */
+        synchronized SidhPrivateKey getPrivateKey(ByteBuffer fingerprint) {
+            Entry entry = entries.get(fingerprint);
+            if (entry == null || !(entry.value instanceof SidhPrivateKey)) {
+                return null;
+            }
+            return new SidhPrivateKey((SidhPrivateKey) entry.value);
+        }
+
+        /**
+         * Store a value and evict least recently used entries exceeding the limits. Values which are not
+         * stored, replaced or evicted are destroyed.
+         * @param fingerprint Key fingerprint.
+         * @param value Value to store.
+         * @param entryWeight Weight of the value.
+         * @return Number of evicted entries.
+         */
+        synchronized int put(ByteBuffer fingerprint, Object value, int entryWeight) {
+            if (entryWeight > maximumWeight) {
+                destroy(value);
+                return 0;
+            }
+            Entry previous = entries.put(fingerprint, new Entry(value, entryWeight));
+            if (previous != null) {
+                weight -= previous.weight;
+                destroy(previous.value);
+            }
+            weight += entryWeight;
+            int evicted = 0;
+            Iterator<Map.Entry<ByteBuffer, Entry>> iterator = entries.entrySet().iterator();
+            while ((entries.size() > maximumSize || weight > maximumWeight) && iterator.hasNext()) {
+                Entry eldest = iterator.next().getValue();
+                iterator.remove();
+                weight -= eldest.weight;
+                destroy(eldest.value);
+                evicted++;
+            }
+            return evicted;
+        }
+
+        /**
+         * Get number of entries.
+         * @return Number of entries.
+         */
+        synchronized int size() {
+            return entries.size();
+        }
+
+        /**
+         * Get weight of entries.
+         * @return Weight of entries.
+         */
+        synchronized long getWeight() {
+            return weight;
+        }
+
+        /**
+         * Remove all entries.
+         */
+        synchronized void clear() {
+            for (Entry entry : entries.values()) {
+                destroy(entry.value);
+            }
+            entries.clear();
+            weight = 0;
+        }
+
+    }
+
+    /**
+     * Cached value with its weight.
+     */
+    private static class Entry {
+
+        private final Object value;
+        private final int weight;
+
+        /**
+         * Entry constructor.
+         * @param value Cached value.
+         * @param weight Weight of the value.
+         */
+        Entry(Object value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+
+    }
+
+}
@@ -16,6 +16,9 @@
  */
 package com.wultra.security.pqc.sike.crypto;
 
+import org.bouncycastle.crypto.digests.SHA512Digest;
+import org.bouncycastle.crypto.prng.SP800SecureRandomBuilder;
+
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.SecureRandom;
@@ -27,6 +30,8 @@ import java.security.SecureRandom;
  */
 public class RandomGenerator {
 
+    private static volatile SecureRandom defaultSecureRandom;
+
     private volatile SecureRandom secureRandom;
 
     /**
@@ -51,6 +56,32 @@ public class RandomGenerator {
      * @throws NoSuchAlgorithmException Thrown in case random generator algorithm is not available.
      */
     public byte[] generateRandomBytes(int length) throws NoSuchProviderException, NoSuchAlgorithmException {
+        byte[] randomBytes = new byte[length];
+        getSecureRandom().nextBytes(randomBytes);
+        return randomBytes;
+    }
+
+    /**
+     * Create an independent random generator for a worker thread. The worker uses its own SP 800-90A hash DRBG
+     * seeded from this random generator, so that workers do not contend on a shared SecureRandom.
+     * @return Random generator for a worker thread.
+     * @throws NoSuchProviderException Thrown in case Bouncy Castle provider is not available.
+     * @throws NoSuchAlgorithmException Thrown in case random generator algorithm is not available.
+     */
+    RandomGenerator createWorker() throws NoSuchProviderException, NoSuchAlgorithmException {
+        SecureRandom entropySource = getSecureRandom();
+        byte[] nonce = generateRandomBytes(32);
+        SecureRandom drbg = new SP800SecureRandomBuilder(entropySource, false).buildHash(new SHA512Digest(), nonce, false);
+        return new RandomGenerator(drbg);
+    }
+
+    /**
+     * Get the SecureRandom used by this random generator, the default SecureRandom is resolved on first use.
+     * @return SecureRandom.
+     * @throws NoSuchProviderException Thrown in case Bouncy Castle provider is not available.
+     * @throws NoSuchAlgorithmException Thrown in case random generator algorithm is not available.
+     */
+    private SecureRandom getSecureRandom() throws NoSuchProviderException, NoSuchAlgorithmException {
         // Double-check locking, see: https://rules.sonarsource.com/java/tag/multi-threading/RSPEC-2168
         SecureRandom localSecureRandom = secureRandom;
 
@@ -58,17 +89,33 @@ public class RandomGenerator {
             synchronized (this) {
                 localSecureRandom = secureRandom;
                 if (localSecureRandom == null)
-                    // Use SecureRandom implementation from Bouncy Castle library, it is slower,
-                    // however it reseeds periodically and it is quantum safe. The initialization is lazy
-                    // to allow dynamic Bouncy Castle provider initialization and to allow instantiation
-                    // of this class in fields.
-                    secureRandom = localSecureRandom = SecureRandom.getInstance("DEFAULT", "BC");
+                    secureRandom = localSecureRandom = getDefaultSecureRandom();
             }
         }
+        return localSecureRandom;
+    }
 
-        byte[] randomBytes = new byte[length];
-        localSecureRandom.nextBytes(randomBytes);
-        return randomBytes;
+    /**
+     * Get the shared default SecureRandom. Use SecureRandom implementation from Bouncy Castle library, it is slower,
+     * however it reseeds periodically and it is quantum safe. The provider lookup is performed only once per process,
+     * Bouncy Castle shares a single DRBG between all instances of its default SecureRandom anyway. The initialization
+     * is lazy to allow dynamic Bouncy Castle provider initialization, to allow instantiation of this class in fields
+     * and to avoid seeding the generator during native image build.
+     * @return Default SecureRandom.
+     * @throws NoSuchProviderException Thrown in case Bouncy Castle provider is not available.
+     * @throws NoSuchAlgorithmException Thrown in case random generator algorithm is not available.
+     */
+    private static SecureRandom getDefaultSecureRandom() throws NoSuchProviderException, NoSuchAlgorithmException {
+        SecureRandom localSecureRandom = defaultSecureRandom;
+        if (localSecureRandom == null) {
+            synchronized (RandomGenerator.class) {
+                localSecureRandom = defaultSecureRandom;
+                if (localSecureRandom == null) {
+                    defaultSecureRandom = localSecureRandom = SecureRandom.getInstance("DEFAULT", "BC");
+                }
+            }
+        }
+        return localSecureRandom;
     }
 
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.OctetEncoding;
+import com.wultra.security.pqc.sike.util.Sha3;
+
+/**
+ * Mismatch between results of the optimized and reference implementations detected by shadow verification.
+ * Raw values are kept only for public components, secret components such as shared secrets are represented
+ * by short SHAKE256 fingerprints which are sufficient to tell the values apart without revealing them.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class ShadowMismatch {
+
+    private static final int FINGERPRINT_SIZE = 8;
+
+    private final MetricsOperation operation;
+    private final SikeParam sikeParam;
+    private final String component;
+    private final boolean secret;
+    private final byte[] optimizedValue;
+    private final byte[] referenceValue;
+    private final byte[] optimizedFingerprint;
+    private final byte[] referenceFingerprint;
+    private final Throwable referenceError;
+
+    /**
+     * Shadow mismatch constructor.
+     * @param operation Verified operation.
+     * @param sikeParam SIKE parameters used by the optimized implementation.
+     * @param component Name of the result component which differs.
+     * @param optimizedValue Value computed by the optimized implementation.
+     * @param referenceValue Value computed by the reference implementation, null in case the computation failed.
+     * @param referenceError Error thrown by the reference implementation, null in case the computation succeeded.
+     */
+    public ShadowMismatch(MetricsOperation operation, SikeParam sikeParam, String component, byte[] optimizedValue, byte[] referenceValue, Throwable referenceError) {
+        this(operation, sikeParam, component, false, optimizedValue, referenceValue, referenceError);
+    }
+
+    /**
+     * Shadow mismatch constructor, values of secret components are not stored, only their fingerprints are kept.
+     * @param operation Verified operation.
+     * @param sikeParam SIKE parameters used by the optimized implementation.
+     * @param component Name of the result component which differs.
+     * @param secret Whether the component contains secret values.
+     * @param optimizedValue Value computed by the optimized implementation.
+     * @param referenceValue Value computed by the reference implementation, null in case the computation failed.
+     * @param referenceError Error thrown by the reference implementation, null in case the computation succeeded.
+     */
+    public ShadowMismatch(MetricsOperation operation, SikeParam sikeParam, String component, boolean secret, byte[] optimizedValue, byte[] referenceValue, Throwable referenceError) {
+        this.operation = operation;
+        this.sikeParam = sikeParam;
+        this.component = component;
+        this.secret = secret;
+        this.optimizedValue = secret || optimizedValue == null ? null : optimizedValue.clone();
+        this.referenceValue = secret || referenceValue == null ? null : referenceValue.clone();
+        this.optimizedFingerprint = fingerprint(optimizedValue);
+        this.referenceFingerprint = fingerprint(referenceValue);
+        this.referenceError = referenceError;
+    }
+
+    /**
+     * Get verified operation.
+     * @return Verified operation.
+     */
+    public MetricsOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Get SIKE parameters used by the optimized implementation.
+     * @return SIKE parameters.
+     */
+    public SikeParam getSikeParam() {
+        return sikeParam;
+    }
+
+    /**
+     * Get name of the result component which differs.
+     * @return Result component name.
+     */
+    public String getComponent() {
+        return component;
+    }
+
+    /**
+     * Get whether the component contains secret values.
+     * @return Whether the component contains secret values.
+     */
+    public boolean isSecret() {
+        return secret;
+    }
+
+    /**
+     * Get value computed by the optimized implementation.
+     * @return Optimized value, null for secret components.
+     */
+    public byte[] getOptimizedValue() {
+        return optimizedValue == null ? null : optimizedValue.clone();
+    }
+
+    /**
+     * Get value computed by the reference implementation.
+     * @return Reference value, null for secret components or in case the computation failed.
+     */
+    public byte[] getReferenceValue() {
+        return referenceValue == null ? null : referenceValue.clone();
+    }
+
+    /**
+     * Get fingerprint of the value computed by the optimized implementation.
+     * @return Truncated SHAKE256 hash of the optimized value.
+     */
+    public byte[] getOptimizedFingerprint() {
+        return optimizedFingerprint == null ? null : optimizedFingerprint.clone();
+    }
+
+    /**
+     * Get fingerprint of the value computed by the reference implementation.
+     * @return Truncated SHAKE256 hash of the reference value, null in case the computation failed.
+     */
+    public byte[] getReferenceFingerprint() {
+        return referenceFingerprint == null ? null : referenceFingerprint.clone();
+    }
+
+    /**
+     * Get error thrown by the reference implementation.
+     * @return Reference error, null in case the computation succeeded.
+     */
+    public Throwable getReferenceError() {
+        return referenceError;
+    }
+
+    @Override
+    public String toString() {
+        return "ShadowMismatch{" +
+                "operation=" + operation +
+                ", parameterSet=" + sikeParam.getName() +
+                ", component=" + component +
+                (secret ? "" : ", optimizedValue=" + toOctets(optimizedValue)) +
+                (secret ? "" : ", referenceValue=" + toOctets(referenceValue)) +
+                ", optimizedFingerprint=" + toOctets(optimizedFingerprint) +
+                ", referenceFingerprint=" + toOctets(referenceFingerprint) +
+                ", referenceError=" + referenceError +
+                '}';
+    }
+
+    private static byte[] fingerprint(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        return Sha3.shake256(value, FINGERPRINT_SIZE);
+    }
+
+    private static String toOctets(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        return OctetEncoding.toOctetString(value, value.length);
+    }
+}
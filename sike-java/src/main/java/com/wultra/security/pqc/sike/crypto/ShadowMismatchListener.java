@@ -0,0 +1,32 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+/**
+ * Listener for mismatches detected by shadow verification. The listener is called from a background thread.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public interface ShadowMismatchListener {
+
+    /**
+     * Handle a detected mismatch.
+     * @param mismatch Detected mismatch.
+     */
+    void onMismatch(ShadowMismatch mismatch);
+
+}
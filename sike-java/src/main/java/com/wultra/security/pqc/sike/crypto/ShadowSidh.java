@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+import com.wultra.security.pqc.sike.model.SidhPublicKey;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.security.*;
+import java.util.Arrays;
+
+/**
+ * SIDH key exchange with shadow verification. Results of sampled operations are asynchronously
+ * compared with results of the reference implementation, see {@link ShadowVerifier}.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class ShadowSidh {
+
+    private final Sidh sidh;
+    private final KeyGenerator keyGenerator;
+    private final SikeParam sikeParam;
+    private final ShadowVerifier verifier;
+
+    /**
+     * Shadow SIDH constructor.
+     * @param sikeParam SIKE parameters.
+     * @param verifier Shadow verifier.
+     */
+    public ShadowSidh(SikeParam sikeParam, ShadowVerifier verifier) {
+        this(new Sidh(sikeParam), new KeyGenerator(sikeParam), verifier);
+    }
+
+    /**
+     * Shadow SIDH constructor with provided SIDH and key generator instances.
+     * @param sidh Verified SIDH key exchange.
+     * @param keyGenerator Verified key generator.
+     * @param verifier Shadow verifier.
+     */
+    public ShadowSidh(Sidh sidh, KeyGenerator keyGenerator, ShadowVerifier verifier) {
+        if (sidh == null || keyGenerator == null || sidh.getSikeParam() != keyGenerator.getSikeParam()) {
+            throw new InvalidParameterException("Invalid SIDH or key generator instance");
+        }
+        if (verifier == null) {
+            throw new InvalidParameterException("Invalid shadow verifier");
+        }
+        this.sidh = sidh;
+        this.keyGenerator = keyGenerator;
+        this.sikeParam = sidh.getSikeParam();
+        this.verifier = verifier;
+    }
+
+    /**
+     * Generate a shared secret isogeny j-invariant.
+     * @param party Alice or Bob.
+     * @param privateKey Private key.
+     * @param publicKey Public key.
+     * @return Shared secret isogeny j-invariant.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public Fp2Element generateSharedSecret(Party party, PrivateKey privateKey, PublicKey publicKey) throws GeneralSecurityException {
+        Fp2Element secret = sidh.generateSharedSecret(party, privateKey, publicKey);
+        if (verifier.sample()) {
+            // Encode the inputs in the calling thread, the private key may be destroyed after the call
+            byte[] privateKeyEncoded = privateKey.getEncoded();
+            byte[] publicKeyEncoded = publicKey.getEncoded();
+            byte[] secretEncoded = secret.getEncoded();
+            verifier.submit(MetricsOperation.SHARED_SECRET_GENERATION, sikeParam, (referenceParam, comparator) -> {
+                try {
+                    PrivateKey privateKeyRef = new SidhPrivateKey(referenceParam, party, privateKeyEncoded);
+                    PublicKey publicKeyRef = new SidhPublicKey(referenceParam, publicKeyEncoded);
+                    Fp2Element secretRef = new Sidh(referenceParam).generateSharedSecret(party, privateKeyRef, publicKeyRef);
+                    comparator.compareSecret("secret", secretEncoded, secretRef.getEncoded());
+                } finally {
+                    Arrays.fill(privateKeyEncoded, (byte) 0);
+                    Arrays.fill(secretEncoded, (byte) 0);
+                }
+            });
+        }
+        return secret;
+    }
+
+    /**
+     * Derive public key from a private key.
+     * @param party Alice or Bob.
+     * @param privateKey Private key.
+     * @return Derived public key.
+     * @throws InvalidKeyException Thrown in case key derivation fails.
+     */
+    public PublicKey derivePublicKey(Party party, PrivateKey privateKey) throws InvalidKeyException {
+        PublicKey publicKey = keyGenerator.derivePublicKey(party, privateKey);
+        if (verifier.sample()) {
+            byte[] privateKeyEncoded = privateKey.getEncoded();
+            byte[] publicKeyEncoded = publicKey.getEncoded();
+            verifier.submit(MetricsOperation.PUBLIC_KEY_DERIVATION, sikeParam, (referenceParam, comparator) -> {
+                try {
+                    PrivateKey privateKeyRef = new SidhPrivateKey(referenceParam, party, privateKeyEncoded);
+                    PublicKey publicKeyRef = new KeyGenerator(referenceParam).derivePublicKey(party, privateKeyRef);
+                    comparator.compare("publicKey", publicKeyEncoded, publicKeyRef.getEncoded());
+                } finally {
+                    Arrays.fill(privateKeyEncoded, (byte) 0);
+                }
+            });
+        }
+        return publicKey;
+    }
+
+}
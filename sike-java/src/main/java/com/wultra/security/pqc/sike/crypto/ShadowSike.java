@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.model.*;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+
+/**
+ * SIKE key encapsulation with shadow verification. Results of sampled operations are asynchronously
+ * compared with results of the reference implementation, see {@link ShadowVerifier}.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class ShadowSike {
+
+    private final Sike sike;
+    private final SikeParam sikeParam;
+    private final ShadowVerifier verifier;
+
+    /**
+     * Shadow SIKE constructor.
+     * @param sikeParam SIKE parameters.
+     * @param verifier Shadow verifier.
+     */
+    public ShadowSike(SikeParam sikeParam, ShadowVerifier verifier) {
+        this(new Sike(sikeParam), verifier);
+    }
+
+    /**
+     * Shadow SIKE constructor with provided SIKE instance.
+     * @param sike Verified SIKE key encapsulation.
+     * @param verifier Shadow verifier.
+     */
+    public ShadowSike(Sike sike, ShadowVerifier verifier) {
+        if (sike == null) {
+            throw new InvalidParameterException("Invalid SIKE instance");
+        }
+        if (verifier == null) {
+            throw new InvalidParameterException("Invalid shadow verifier");
+        }
+        this.sike = sike;
+        this.sikeParam = sike.getSikeParam();
+        this.verifier = verifier;
+    }
+
+    /**
+     * SIKE encapsulation.
+     * @param pk3 Bob's public key.
+     * @return Encapsulation result with shared secret and encrypted message.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public EncapsulationResult encapsulate(PublicKey pk3) throws GeneralSecurityException {
+        byte[] m = sike.generateMessage();
+        EncapsulationResult result = sike.encapsulate(pk3, m);
+        if (verifier.sample()) {
+            byte[] pk3Encoded = pk3.getEncoded();
+            // Copy the secret in the calling thread, the copy is overwritten with zeros after comparison
+            byte[] secretCopy = result.getSecret().clone();
+            verifier.submit(MetricsOperation.ENCAPSULATION, sikeParam, (referenceParam, comparator) -> {
+                try {
+                    PublicKey pk3Ref = new SidhPublicKey(referenceParam, pk3Encoded);
+                    EncapsulationResult resultRef = new Sike(referenceParam).encapsulate(pk3Ref, m);
+                    EncryptedMessage encrypted = result.getEncryptedMessage();
+                    EncryptedMessage encryptedRef = resultRef.getEncryptedMessage();
+                    comparator.compare("c0", encrypted.getC0().getEncoded(), encryptedRef.getC0().getEncoded());
+                    comparator.compare("c1", encrypted.getC1(), encryptedRef.getC1());
+                    comparator.compareSecret("secret", secretCopy, resultRef.getSecret());
+                } finally {
+                    Arrays.fill(m, (byte) 0);
+                    Arrays.fill(secretCopy, (byte) 0);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * SIKE decapsulation.
+     * @param sk3 Bob's private key.
+     * @param pk3 Bob's public key.
+     * @param encrypted Encrypted message received from Alice.
+     * @return Shared secret.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public byte[] decapsulate(PrivateKey sk3, PublicKey pk3, EncryptedMessage encrypted) throws GeneralSecurityException {
+        byte[] secret = sike.decapsulate(sk3, pk3, encrypted);
+        if (verifier.sample()) {
+            // Encode the inputs in the calling thread, the private key may be destroyed after the call
+            byte[] sk3Encoded = sk3.getEncoded();
+            byte[] pk3Encoded = pk3.getEncoded();
+            byte[] encryptedEncoded = encrypted.getEncoded();
+            byte[] secretCopy = secret.clone();
+            verifier.submit(MetricsOperation.DECAPSULATION, sikeParam, (referenceParam, comparator) -> {
+                try {
+                    PrivateKey sk3Ref = new SidhPrivateKey(referenceParam, Party.BOB, sk3Encoded);
+                    PublicKey pk3Ref = new SidhPublicKey(referenceParam, pk3Encoded);
+                    EncryptedMessage encryptedRef = new EncryptedMessage(referenceParam, encryptedEncoded);
+                    byte[] secretRef = new Sike(referenceParam).decapsulate(sk3Ref, pk3Ref, encryptedRef);
+                    comparator.compareSecret("secret", secretCopy, secretRef);
+                } finally {
+                    Arrays.fill(sk3Encoded, (byte) 0);
+                    Arrays.fill(secretCopy, (byte) 0);
+                }
+            });
+        }
+        return secret;
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamRegistry;
+import com.wultra.security.pqc.sike.util.SideChannelUtil;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shadow verification of optimized SIKE and SIDH operations. A sampled fraction of operations is replayed
+ * using the reference implementation on a background executor and the results are compared. Mismatches are
+ * reported to a listener. Verification never blocks the caller, checks which do not fit into the executor
+ * queue are skipped.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class ShadowVerifier implements AutoCloseable {
+
+    private final double samplingRate;
+    private final ShadowMismatchListener listener;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong checkedCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong mismatchCount = new AtomicLong();
+
+    /**
+     * Shadow verifier constructor.
+     * @param samplingRate Fraction of operations which are verified, in range [0, 1].
+     * @param threads Number of verification threads.
+     * @param queueCapacity Maximum number of verifications waiting for execution.
+     * @param listener Listener for detected mismatches.
+     */
+    public ShadowVerifier(double samplingRate, int threads, int queueCapacity, ShadowMismatchListener listener) {
+        if (samplingRate < 0 || samplingRate > 1) {
+            throw new InvalidParameterException("Invalid sampling rate");
+        }
+        if (threads < 1) {
+            throw new InvalidParameterException("Invalid number of threads");
+        }
+        if (queueCapacity < 1) {
+            throw new InvalidParameterException("Invalid queue capacity");
+        }
+        if (listener == null) {
+            throw new InvalidParameterException("Invalid mismatch listener");
+        }
+        this.samplingRate = samplingRate;
+        this.listener = listener;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new DaemonThreadFactory("sike-shadow"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Get number of completed verifications.
+     * @return Number of completed verifications.
+     */
+    public long getCheckedCount() {
+        return checkedCount.get();
+    }
+
+    /**
+     * Get number of sampled verifications which were skipped due to full queue.
+     * @return Number of skipped verifications.
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * Get number of detected mismatches.
+     * @return Number of detected mismatches.
+     */
+    public long getMismatchCount() {
+        return mismatchCount.get();
+    }
+
+    /**
+     * Get number of verifications waiting for execution.
+     * @return Number of queued verifications.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Shut down the verification executor, pending verifications are discarded.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Decide whether an operation should be verified.
+     * @return Whether the operation should be verified.
+     */
+    boolean sample() {
+        return samplingRate > 0 && (samplingRate >= 1 || ThreadLocalRandom.current().nextDouble() < samplingRate);
+    }
+
+    /**
+     * Submit a verification for asynchronous execution.
+     * @param operation Verified operation.
+     * @param sikeParam SIKE parameters used by the optimized implementation.
+     * @param check Verification to execute.
+     */
+    void submit(MetricsOperation operation, SikeParam sikeParam, Check check) {
+        try {
+            executor.execute(() -> verify(operation, sikeParam, check));
+        } catch (RejectedExecutionException ex) {
+            skippedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Execute a verification and report mismatches.
+     * @param operation Verified operation.
+     * @param sikeParam SIKE parameters used by the optimized implementation.
+     * @param check Verification to execute.
+     */
+    private void verify(MetricsOperation operation, SikeParam sikeParam, Check check) {
+        try {
+            check.execute(getReferenceParam(sikeParam), new Comparator() {
+                @Override
+                public void compare(String component, byte[] optimizedValue, byte[] referenceValue) {
+                    if (!SideChannelUtil.constantTimeAreEqual(optimizedValue, referenceValue)) {
+                        report(new ShadowMismatch(operation, sikeParam, component, false, optimizedValue, referenceValue, null));
+                    }
+                }
+
+                @Override
+                public void compareSecret(String component, byte[] optimizedValue, byte[] referenceValue) {
+                    try {
+                        if (!SideChannelUtil.constantTimeAreEqual(optimizedValue, referenceValue)) {
+                            report(new ShadowMismatch(operation, sikeParam, component, true, optimizedValue, referenceValue, null));
+                        }
+                    } finally {
+                        Arrays.fill(optimizedValue, (byte) 0);
+                        Arrays.fill(referenceValue, (byte) 0);
+                    }
+                }
+            });
+        } catch (Exception ex) {
+            report(new ShadowMismatch(operation, sikeParam, "error", null, null, ex));
+        }
+        checkedCount.incrementAndGet();
+    }
+
+    /**
+     * Report a mismatch to the listener.
+     * @param mismatch Detected mismatch.
+     */
+    private void report(ShadowMismatch mismatch) {
+        mismatchCount.incrementAndGet();
+        try {
+            listener.onMismatch(mismatch);
+        } catch (RuntimeException ex) {
+            // Listener failures must not stop the verification thread
+        }
+    }
+
+    /**
+     * Get reference SIKE parameters corresponding to given SIKE parameters.
+     * @param sikeParam SIKE parameters.
+     * @return Reference SIKE parameters.
+     */
+    private SikeParam getReferenceParam(SikeParam sikeParam) {
+        return SikeParamRegistry.getInstance(sikeParam, ImplementationType.REFERENCE);
+    }
+
+    /**
+     * Verification replayed using the reference implementation.
+     */
+    interface Check {
+
+        /**
+         * Execute the verification.
+         * @param referenceParam Reference SIKE parameters.
+         * @param comparator Comparator of computed values.
+         * @throws Exception Thrown in case the reference computation fails.
+         */
+        void execute(SikeParam referenceParam, Comparator comparator) throws Exception;
+
+    }
+
+    /**
+     * Comparator of values computed by the optimized and reference implementations.
+     */
+    interface Comparator {
+
+        /**
+         * Compare computed values.
+         * @param component Name of the compared result component.
+         * @param optimizedValue Value computed by the optimized implementation.
+         * @param referenceValue Value computed by the reference implementation.
+         */
+        void compare(String component, byte[] optimizedValue, byte[] referenceValue);
+
+        /**
+         * Compare computed secret values. Only fingerprints of differing values are reported, both arrays
+         * are overwritten with zeros after the comparison.
+         * @param component Name of the compared result component.
+         * @param optimizedValue Copy of the value computed by the optimized implementation.
+         * @param referenceValue Value computed by the reference implementation.
+         */
+        void compareSecret(String component, byte[] optimizedValue, byte[] referenceValue);
+
+    }
+
+}
@@ -17,10 +17,15 @@
 package com.wultra.security.pqc.sike.crypto;
 
 import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.metrics.OperationOutcome;
+import com.wultra.security.pqc.sike.metrics.SikeMetrics;
+import com.wultra.security.pqc.sike.model.CompactSidhPublicKey;
 import com.wultra.security.pqc.sike.model.Party;
 import com.wultra.security.pqc.sike.model.SidhPrivateKey;
 import com.wultra.security.pqc.sike.model.SidhPublicKey;
 import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.OperationCounter;
 
 import java.security.*;
 
@@ -32,13 +37,35 @@ import java.security.*;
 public class Sidh {
 
     private final SikeParam sikeParam;
+    private final SikeMetrics metrics;
 
     /**
      * SIDH key exchange constructor.
      * @param sikeParam SIKE parameters.
      */
     public Sidh(SikeParam sikeParam) {
+        this(sikeParam, SikeMetrics.NO_OP);
+    }
+
+    /**
+     * SIDH key exchange constructor with metrics listener.
+     * @param sikeParam SIKE parameters.
+     * @param metrics Metrics listener.
+     */
+    public Sidh(SikeParam sikeParam, SikeMetrics metrics) {
+        if (metrics == null) {
+            throw new InvalidParameterException("Invalid metrics listener");
+        }
         this.sikeParam = sikeParam;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get SIKE parameters.
+     * @return SIKE parameters.
+     */
+    SikeParam getSikeParam() {
+        return sikeParam;
     }
 
     /**
@@ -50,20 +77,54 @@ public class Sidh {
      * @throws GeneralSecurityException Thrown in case cryptography fails.
      */
     public Fp2Element generateSharedSecret(Party party, PrivateKey privateKey, PublicKey publicKey) throws GeneralSecurityException {
-        if (!(privateKey instanceof SidhPrivateKey)) {
-            throw new InvalidKeyException("Invalid private key");
-        }
-        if (!(publicKey instanceof SidhPublicKey)) {
-            throw new InvalidKeyException("Invalid public key");
+        long startTime = System.nanoTime();
+        OperationOutcome outcome = OperationOutcome.FAILURE;
+        OperationCounter.begin();
+        try {
+            if (!(privateKey instanceof SidhPrivateKey)) {
+                throw new InvalidKeyException("Invalid private key");
+            }
+            SidhPrivateKey priv = (SidhPrivateKey) privateKey;
+            SidhPublicKey pub = toSidhPublicKey(publicKey);
+            Fp2Element j;
+            if (party == Party.ALICE) {
+                j = sikeParam.getIsogeny().isoEx2(sikeParam, priv.getKey(), pub.getPx(), pub.getQx(), pub.getRx());
+            } else if (party == Party.BOB) {
+                j = sikeParam.getIsogeny().isoEx3(sikeParam, priv.getKey(), pub.getPx(), pub.getQx(), pub.getRx());
+            } else {
+                throw new InvalidParameterException("Invalid party");
+            }
+            outcome = OperationOutcome.SUCCESS;
+            return j;
+        } finally {
+            OperationCounter.end(sikeParam, "generateSharedSecret");
+            metrics.record(MetricsOperation.SHARED_SECRET_GENERATION, sikeParam, System.nanoTime() - startTime, outcome);
         }
-        SidhPrivateKey priv = (SidhPrivateKey) privateKey;
-        SidhPublicKey pub = (SidhPublicKey) publicKey;
-        if (party == Party.ALICE) {
-            return sikeParam.getIsogeny().isoEx2(sikeParam, priv.getKey(), pub.getPx(), pub.getQx(), pub.getRx());
+    }
+
+    /**
+     * Check whether the public key type is supported.
+     * @param publicKey Public key.
+     * @return Whether the public key type is supported.
+     */
+    static boolean isSupported(PublicKey publicKey) {
+        return publicKey instanceof SidhPublicKey || publicKey instanceof CompactSidhPublicKey;
+    }
+
+    /**
+     * Convert a supported public key into a public key usable in computations, compact keys are decoded.
+     * @param publicKey Public key.
+     * @return Public key usable in computations.
+     * @throws InvalidKeyException Thrown in case public key type is not supported.
+     */
+    static SidhPublicKey toSidhPublicKey(PublicKey publicKey) throws InvalidKeyException {
+        if (publicKey instanceof SidhPublicKey) {
+            return (SidhPublicKey) publicKey;
         }
-        if (party == Party.BOB) {
-            return sikeParam.getIsogeny().isoEx3(sikeParam, priv.getKey(), pub.getPx(), pub.getQx(), pub.getRx());
+        if (publicKey instanceof CompactSidhPublicKey) {
+            return ((CompactSidhPublicKey) publicKey).decode();
         }
-        throw new InvalidParameterException("Invalid party");
+        throw new InvalidKeyException("Invalid public key");
     }
+
 }
@@ -16,11 +16,18 @@
  */
 package com.wultra.security.pqc.sike.crypto;
 
+import com.wultra.security.pqc.sike.jfr.Phase;
+import com.wultra.security.pqc.sike.jfr.PhaseRecorder;
 import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.metrics.OperationOutcome;
+import com.wultra.security.pqc.sike.metrics.SikeMetrics;
 import com.wultra.security.pqc.sike.model.*;
 import com.wultra.security.pqc.sike.param.SikeParam;
 import com.wultra.security.pqc.sike.util.ByteEncoding;
+import com.wultra.security.pqc.sike.util.OperationCounter;
 import com.wultra.security.pqc.sike.util.Sha3;
+import com.wultra.security.pqc.sike.util.SideChannelUtil;
 
 import java.math.BigInteger;
 import java.security.*;
@@ -36,6 +43,7 @@ public class Sike {
     private final RandomGenerator randomGenerator;
     private final KeyGenerator keyGenerator;
     private final Sidh sidh;
+    private final SikeMetrics metrics;
 
     /**
      * SIKE key encapsulation constructor.
@@ -44,6 +52,7 @@ public class Sike {
     public Sike(SikeParam sikeParam) {
         this.sikeParam = sikeParam;
         this.randomGenerator = new RandomGenerator();
+        this.metrics = SikeMetrics.NO_OP;
         keyGenerator = new KeyGenerator(sikeParam);
         sidh = new Sidh(sikeParam);
     }
@@ -54,8 +63,22 @@ public class Sike {
      * @param secureRandom SecureRandom to use.
      */
     public Sike(SikeParam sikeParam, SecureRandom secureRandom) {
+        this(sikeParam, secureRandom, SikeMetrics.NO_OP);
+    }
+
+    /**
+     * SIKE key encapsulation constructor with specified SecureRandom and metrics listener.
+     * @param sikeParam SIKE parameters.
+     * @param secureRandom SecureRandom to use, use null for the default Bouncy Castle SecureRandom.
+     * @param metrics Metrics listener.
+     */
+    public Sike(SikeParam sikeParam, SecureRandom secureRandom, SikeMetrics metrics) {
+        if (metrics == null) {
+            throw new InvalidParameterException("Invalid metrics listener");
+        }
         this.sikeParam = sikeParam;
         this.randomGenerator = new RandomGenerator(secureRandom);
+        this.metrics = metrics;
         keyGenerator = new KeyGenerator(sikeParam, randomGenerator);
         sidh = new Sidh(sikeParam);
     }
@@ -67,15 +90,52 @@ public class Sike {
      * @throws GeneralSecurityException Thrown in case cryptography fails.
      */
     public EncapsulationResult encapsulate(PublicKey pk3) throws GeneralSecurityException {
-        if (!(pk3 instanceof SidhPublicKey)) {
-            throw new InvalidKeyException("Invalid public key");
+        byte[] m = generateMessage();
+        return encapsulate(pk3, m);
+    }
+
+    /**
+     * SIKE encapsulation with given random message.
+     * @param pk3 Bob's public key.
+     * @param m Random message.
+     * @return Encapsulation result with shared secret and encrypted message.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    EncapsulationResult encapsulate(PublicKey pk3, byte[] m) throws GeneralSecurityException {
+        long startTime = System.nanoTime();
+        OperationOutcome outcome = OperationOutcome.FAILURE;
+        OperationCounter.begin();
+        try {
+            if (!Sidh.isSupported(pk3)) {
+                throw new InvalidKeyException("Invalid public key");
+            }
+            byte[] r = generateR(m, pk3.getEncoded());
+            EncryptedMessage encrypted = encrypt(pk3, m, r);
+            SidhPublicKey c0Key = (SidhPublicKey) encrypted.getC0();
+            byte[] k = generateK(m, c0Key.getEncoded(), encrypted.getC1());
+            outcome = OperationOutcome.SUCCESS;
+            return new EncapsulationResult(k, encrypted);
+        } finally {
+            OperationCounter.end(sikeParam, "encapsulate");
+            metrics.record(MetricsOperation.ENCAPSULATION, sikeParam, System.nanoTime() - startTime, outcome);
         }
-        byte[] m = randomGenerator.generateRandomBytes(sikeParam.getMessageBytes());
-        byte[] r = generateR(m, pk3.getEncoded());
-        EncryptedMessage encrypted = encrypt(pk3, m, r);
-        SidhPublicKey c0Key = (SidhPublicKey) encrypted.getC0();
-        byte[] k = generateK(m, c0Key.getEncoded(), encrypted.getC1());
-        return new EncapsulationResult(k, encrypted);
+    }
+
+    /**
+     * Generate a random message for SIKE encapsulation.
+     * @return Random message.
+     * @throws GeneralSecurityException Thrown in case random generator fails.
+     */
+    byte[] generateMessage() throws GeneralSecurityException {
+        return randomGenerator.generateRandomBytes(sikeParam.getMessageBytes());
+    }
+
+    /**
+     * Get SIKE parameters.
+     * @return SIKE parameters.
+     */
+    SikeParam getSikeParam() {
+        return sikeParam;
     }
 
     /**
@@ -87,39 +147,52 @@ public class Sike {
      * @throws GeneralSecurityException Thrown in case cryptography fails.
      */
     public byte[] decapsulate(PrivateKey sk3, PublicKey pk3, EncryptedMessage encrypted) throws GeneralSecurityException {
-        if (!(sk3 instanceof SidhPrivateKey)) {
-            throw new InvalidKeyException("Invalid private key");
-        }
-        if (!(pk3 instanceof SidhPublicKey)) {
-            throw new InvalidKeyException("Invalid public key");
-        }
-        if (encrypted == null) {
-            throw new InvalidParameterException("Encrypted message is null");
-        }
-        if (encrypted.getC0() == null) {
-            throw new InvalidParameterException("Invalid parameter c0");
-        }
-        if (encrypted.getC1() == null) {
-            throw new InvalidParameterException("Invalid parameter c1");
-        }
-        SidhPrivateKey priv3 = (SidhPrivateKey) sk3;
-        if (priv3.getS() == null) {
-            throw new InvalidParameterException("Private key cannot be used for decapsulation");
-        }
-        byte[] m = decrypt(sk3, encrypted);
-        byte[] r = generateR(m, pk3.getEncoded());
-        BigInteger modulo = new BigInteger("2").pow(sikeParam.getEA());
-        BigInteger key = ByteEncoding.fromByteArray(r).mod(modulo);
-        PrivateKey rKey = new SidhPrivateKey(sikeParam, Party.ALICE, key);
-        PublicKey c0Key = keyGenerator.derivePublicKey(Party.ALICE, rKey);
-        byte[] k;
-        // The public key equals method runs in constant time
-        if (c0Key.equals(encrypted.getC0())) {
-            k = generateK(m, c0Key.getEncoded(), encrypted.getC1());
-        } else {
-            k = generateK(priv3.getS(), c0Key.getEncoded(), encrypted.getC1());
+        long startTime = System.nanoTime();
+        OperationOutcome outcome = OperationOutcome.FAILURE;
+        OperationCounter.begin();
+        try {
+            if (!(sk3 instanceof SidhPrivateKey)) {
+                throw new InvalidKeyException("Invalid private key");
+            }
+            if (!Sidh.isSupported(pk3)) {
+                throw new InvalidKeyException("Invalid public key");
+            }
+            if (encrypted == null) {
+                throw new InvalidParameterException("Encrypted message is null");
+            }
+            if (encrypted.getC0() == null) {
+                throw new InvalidParameterException("Invalid parameter c0");
+            }
+            if (encrypted.getC1() == null) {
+                throw new InvalidParameterException("Invalid parameter c1");
+            }
+            SidhPrivateKey priv3 = (SidhPrivateKey) sk3;
+            if (priv3.getS() == null) {
+                throw new InvalidParameterException("Private key cannot be used for decapsulation");
+            }
+            byte[] m = decryptMessage(sk3, encrypted);
+            byte[] r = generateR(m, pk3.getEncoded());
+            BigInteger modulo = new BigInteger("2").pow(sikeParam.getEA());
+            BigInteger key = ByteEncoding.fromByteArray(r).mod(modulo);
+            byte[] k;
+            PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.FO_REENCRYPTION, sikeParam);
+            PrivateKey rKey = new SidhPrivateKey(sikeParam, Party.ALICE, key);
+            PublicKey c0Key = keyGenerator.derivePublicKey(Party.ALICE, rKey);
+            // Compare the encodings in constant time, the received encoding is hashed directly
+            byte[] c0Encoded = encrypted.getC0Encoded();
+            if (SideChannelUtil.constantTimeAreEqual(c0Key.getEncoded(), c0Encoded)) {
+                k = generateK(m, c0Encoded, encrypted.getC1());
+                outcome = OperationOutcome.SUCCESS;
+            } else {
+                k = generateK(priv3.getS(), c0Encoded, encrypted.getC1());
+                outcome = OperationOutcome.IMPLICIT_REJECTION;
+            }
+            PhaseRecorder.end(scope);
+            return k;
+        } finally {
+            OperationCounter.end(sikeParam, "decapsulate");
+            metrics.record(MetricsOperation.DECAPSULATION, sikeParam, System.nanoTime() - startTime, outcome);
         }
-        return k;
     }
 
     /**
@@ -130,7 +203,17 @@ public class Sike {
      * @throws GeneralSecurityException Thrown in case cryptography fails.
      */
     public EncryptedMessage encrypt(PublicKey pk3, byte[] m) throws GeneralSecurityException {
-        return encrypt(pk3, m, null);
+        long startTime = System.nanoTime();
+        OperationOutcome outcome = OperationOutcome.FAILURE;
+        OperationCounter.begin();
+        try {
+            EncryptedMessage encrypted = encrypt(pk3, m, null);
+            outcome = OperationOutcome.SUCCESS;
+            return encrypted;
+        } finally {
+            OperationCounter.end(sikeParam, "encrypt");
+            metrics.record(MetricsOperation.ENCRYPTION, sikeParam, System.nanoTime() - startTime, outcome);
+        }
     }
 
     /**
@@ -142,7 +225,7 @@ public class Sike {
      * @throws GeneralSecurityException Thrown in case cryptography fails.
      */
     private EncryptedMessage encrypt(PublicKey pk3, byte[] m, byte[] r) throws GeneralSecurityException {
-        if (!(pk3 instanceof SidhPublicKey)) {
+        if (!Sidh.isSupported(pk3)) {
             throw new InvalidKeyException("Invalid public key");
         }
         if (m == null || m.length != sikeParam.getMessageBytes()) {
@@ -160,7 +243,7 @@ public class Sike {
         }
         PublicKey c0 = keyGenerator.derivePublicKey(Party.ALICE, sk2);
         Fp2Element j = sidh.generateSharedSecret(Party.ALICE, sk2, pk3);
-        byte[] h = Sha3.shake256(j.getEncoded(), sikeParam.getMessageBytes());
+        byte[] h = shake256(j.getEncoded(), sikeParam.getMessageBytes());
         byte[] c1 = new byte[sikeParam.getMessageBytes()];
         for (int i = 0; i < sikeParam.getMessageBytes(); i++) {
             c1[i] = (byte) (h[i] ^ m[i]);
@@ -176,6 +259,27 @@ public class Sike {
      * @throws GeneralSecurityException Thrown in case cryptography fails.
      */
     public byte[] decrypt(PrivateKey sk3, EncryptedMessage encrypted) throws GeneralSecurityException {
+        long startTime = System.nanoTime();
+        OperationOutcome outcome = OperationOutcome.FAILURE;
+        OperationCounter.begin();
+        try {
+            byte[] m = decryptMessage(sk3, encrypted);
+            outcome = OperationOutcome.SUCCESS;
+            return m;
+        } finally {
+            OperationCounter.end(sikeParam, "decrypt");
+            metrics.record(MetricsOperation.DECRYPTION, sikeParam, System.nanoTime() - startTime, outcome);
+        }
+    }
+
+    /**
+     * Decrypt a message without reporting the operation to metrics.
+     * @param sk3 Bob's private key.
+     * @param encrypted Encrypted message received from Alice.
+     * @return Decrypted message.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    private byte[] decryptMessage(PrivateKey sk3, EncryptedMessage encrypted) throws GeneralSecurityException {
         if (!(sk3 instanceof SidhPrivateKey)) {
             throw new InvalidKeyException("Invalid private key");
         }
@@ -191,7 +295,7 @@ public class Sike {
             throw new InvalidParameterException("Invalid parameter c1");
         }
         Fp2Element j = sidh.generateSharedSecret(Party.BOB, sk3, c0);
-        byte[] h = Sha3.shake256(j.getEncoded(), sikeParam.getMessageBytes());
+        byte[] h = shake256(j.getEncoded(), sikeParam.getMessageBytes());
         byte[] m = new byte[sikeParam.getMessageBytes()];
         for (int i = 0; i < sikeParam.getMessageBytes(); i++) {
             m[i] = (byte) (h[i] ^ c1[i]);
@@ -209,7 +313,7 @@ public class Sike {
         byte[] dataR = new byte[(m.length + pk3Enc.length)];
         System.arraycopy(m, 0, dataR, 0, m.length);
         System.arraycopy(pk3Enc, 0, dataR, m.length, pk3Enc.length);
-        return Sha3.shake256(dataR, (sikeParam.getBitsA() + 7) / 8);
+        return shake256(dataR, (sikeParam.getBitsA() + 7) / 8);
     }
 
     /**
@@ -224,7 +328,20 @@ public class Sike {
         System.arraycopy(m, 0, dataK, 0, m.length);
         System.arraycopy(c0, 0, dataK, m.length, c0.length);
         System.arraycopy(c1, 0, dataK, m.length + c0.length, c1.length);
-        return Sha3.shake256(dataK, sikeParam.getCryptoBytes());
+        return shake256(dataK, sikeParam.getCryptoBytes());
+    }
+
+    /**
+     * Hash data using SHAKE256.
+     * @param data Data to hash.
+     * @param outputLen Output length.
+     * @return Hashed data.
+     */
+    private byte[] shake256(byte[] data, int outputLen) {
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.HASHING, sikeParam);
+        byte[] result = Sha3.shake256(data, outputLen);
+        PhaseRecorder.end(scope);
+        return result;
     }
 
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Task which can be cancelled only before it starts, a started task is always completed. Tasks which use
+ * key material of the caller are stopped using {@link #cancelOrAwait()}, so that the caller can safely zero
+ * the key material once the method returns.
+ *
+ * @param <V> Result type.
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class StartGuardedTask<V> extends FutureTask<V> {
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * Task constructor.
+     * @param operation Operation executed by the task.
+     */
+    StartGuardedTask(Callable<V> operation) {
+        super(operation);
+    }
+
+    @Override
+    public void run() {
+        if (started.compareAndSet(false, true)) {
+            super.run();
+        }
+    }
+
+    /**
+     * Cancel the task in case it has not started yet, otherwise wait until the task completes.
+     */
+    void cancelOrAwait() {
+        if (started.compareAndSet(false, true)) {
+            cancel(false);
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                get();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            } catch (ExecutionException | CancellationException ex) {
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.crypto;
+
+import com.wultra.security.pqc.sike.model.DemAlgorithm;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.EncryptedMessage;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.Sha3;
+import org.bouncycastle.crypto.DataLengthException;
+import org.bouncycastle.crypto.InvalidCipherTextException;
+import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.modes.AEADCipher;
+import org.bouncycastle.crypto.modes.ChaCha20Poly1305;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
+import org.bouncycastle.crypto.params.AEADParameters;
+import org.bouncycastle.crypto.params.KeyParameter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Public key encryption of arbitrarily large data. A key is encapsulated using SIKE and the data is encrypted
+ * in fixed-size chunks using an authenticated encryption algorithm, each chunk is authenticated separately.
+ *
+ * <pre>
+ * Header:
+ *   magic (8 bytes), algorithm (1 byte), chunk size (4 bytes), SIKE encrypted message length (4 bytes),
+ *   SIKE encrypted message
+ * Chunks:
+ *   encrypted chunk data followed by 16 byte authentication tag
+ * </pre>
+ *
+ * All chunks except the last one contain chunk size bytes of data, the last chunk is shorter and it may be
+ * empty. The encryption key is derived using SHAKE256 from the shared secret and the header. The nonce of each
+ * chunk contains the chunk index and a flag marking the last chunk, so that reordered, duplicated and truncated
+ * chunks are detected.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class StreamEncryption {
+
+    /**
+     * Default chunk size in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Maximum chunk size in bytes. The chunk size is read from the unauthenticated header and chunk buffers
+     * are allocated before any authentication tag is verified, so the chunk size is limited.
+     */
+    public static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private static final byte[] MAGIC = "SIKEDEM1".getBytes(StandardCharsets.US_ASCII);
+    private static final int KEY_SIZE = 32;
+    private static final int NONCE_SIZE = 12;
+    private static final int TAG_SIZE = 16;
+    private static final int FIXED_HEADER_SIZE = MAGIC.length + 1 + 4 + 4;
+
+    private final SikeParam sikeParam;
+    private final Sike sike;
+    private final DemAlgorithm algorithm;
+    private final int chunkSize;
+
+    /**
+     * Stream encryption constructor with AES-256-GCM and default chunk size.
+     * @param sikeParam SIKE parameters.
+     */
+    public StreamEncryption(SikeParam sikeParam) {
+        this(new Sike(sikeParam), DemAlgorithm.AES_256_GCM, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Stream encryption constructor.
+     * @param sike SIKE key encapsulation.
+     * @param algorithm Authenticated encryption algorithm used for encryption.
+     * @param chunkSize Chunk size in bytes used for encryption, at most {@link #MAX_CHUNK_SIZE}.
+     */
+    public StreamEncryption(Sike sike, DemAlgorithm algorithm, int chunkSize) {
+        if (sike == null) {
+            throw new InvalidParameterException("Invalid SIKE key encapsulation");
+        }
+        if (algorithm == null) {
+            throw new InvalidParameterException("Invalid algorithm");
+        }
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new InvalidParameterException("Invalid chunk size");
+        }
+        this.sikeParam = sike.getSikeParam();
+        this.sike = sike;
+        this.algorithm = algorithm;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Encrypt data read from a channel and write the encrypted data into a channel.
+     * @param pk3 Bob's public key.
+     * @param in Channel with data to encrypt.
+     * @param out Channel for encrypted data.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     * @throws IOException Thrown in case reading or writing fails.
+     */
+    public void encrypt(PublicKey pk3, ReadableByteChannel in, WritableByteChannel out) throws GeneralSecurityException, IOException {
+        EncapsulationResult encapsulationResult = sike.encapsulate(pk3);
+        byte[] header = createHeader(encapsulationResult.getEncryptedMessage().getEncoded());
+        byte[] key = deriveKey(encapsulationResult.getSecret(), header);
+        try {
+            writeFully(out, ByteBuffer.wrap(header));
+            AEADCipher cipher = createCipher();
+            byte[] input = new byte[chunkSize];
+            byte[] output = new byte[chunkSize + TAG_SIZE];
+            ByteBuffer inputBuffer = ByteBuffer.wrap(input);
+            long chunkIndex = 0;
+            boolean last = false;
+            while (!last) {
+                inputBuffer.clear();
+                last = !readFully(in, inputBuffer);
+                int length = processChunk(cipher, true, key, chunkIndex, last, input, inputBuffer.position(), output);
+                writeFully(out, ByteBuffer.wrap(output, 0, length));
+                chunkIndex++;
+            }
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * Decrypt data read from a channel and write the decrypted data into a channel. Each chunk is written only
+     * after it is authenticated, however in case of an authentication failure the chunks preceding the failed
+     * chunk have already been written.
+     * @param sk3 Bob's private key.
+     * @param pk3 Bob's public key.
+     * @param in Channel with encrypted data.
+     * @param out Channel for decrypted data.
+     * @throws GeneralSecurityException Thrown in case cryptography fails or the data is not authentic.
+     * @throws IOException Thrown in case reading or writing fails.
+     */
+    public void decrypt(PrivateKey sk3, PublicKey pk3, ReadableByteChannel in, WritableByteChannel out) throws GeneralSecurityException, IOException {
+        Header header = readHeader(in);
+        byte[] key = decapsulateKey(sk3, pk3, header);
+        try {
+            AEADCipher cipher = createCipher(header.algorithm);
+            byte[] input = new byte[header.chunkSize + TAG_SIZE];
+            byte[] output = new byte[header.chunkSize];
+            ByteBuffer inputBuffer = ByteBuffer.wrap(input);
+            long chunkIndex = 0;
+            boolean last = false;
+            while (!last) {
+                inputBuffer.clear();
+                last = !readFully(in, inputBuffer);
+                int length = processChunk(cipher, false, key, chunkIndex, last, input, inputBuffer.position(), output);
+                writeFully(out, ByteBuffer.wrap(output, 0, length));
+                chunkIndex++;
+            }
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * Decrypt a file in parallel. Chunks are decrypted on the common fork-join pool using positional reads and
+     * writes. The output is truncated to zero length in case any chunk is not authentic.
+     * @param sk3 Bob's private key.
+     * @param pk3 Bob's public key.
+     * @param in File channel with encrypted data.
+     * @param out File channel for decrypted data.
+     * @throws GeneralSecurityException Thrown in case cryptography fails or the data is not authentic.
+     * @throws IOException Thrown in case reading or writing fails.
+     */
+    public void decryptParallel(PrivateKey sk3, PublicKey pk3, FileChannel in, FileChannel out) throws GeneralSecurityException, IOException {
+        in.position(0);
+        Header header = readHeader(in);
+        byte[] key = decapsulateKey(sk3, pk3, header);
+        try {
+            long dataOffset = in.position();
+            long encryptedChunkSize = (long) header.chunkSize + TAG_SIZE;
+            long dataSize = in.size() - dataOffset;
+            // The last chunk is always shorter than a full encrypted chunk
+            long chunkCount = dataSize / encryptedChunkSize + 1;
+            int workers = (int) Math.min(chunkCount, ForkJoinPool.commonPool().getParallelism());
+            long chunksPerWorker = (chunkCount + workers - 1) / workers;
+            out.truncate(0);
+            List<StartGuardedTask<Void>> tasks = new ArrayList<>();
+            for (long first = 0; first < chunkCount; first += chunksPerWorker) {
+                long from = first;
+                long to = Math.min(chunkCount, first + chunksPerWorker);
+                StartGuardedTask<Void> task = new StartGuardedTask<>(() -> {
+                    decryptChunks(header, key, in, dataOffset, dataSize, chunkCount, from, to, out);
+                    return null;
+                });
+                tasks.add(task);
+                ForkJoinPool.commonPool().execute(task);
+            }
+            awaitAll(tasks, out);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * Decrypt a range of chunks using positional reads and writes.
+     * @param header Stream header.
+     * @param key Encryption key.
+     * @param in File channel with encrypted data.
+     * @param dataOffset Offset of the first chunk.
+     * @param dataSize Total size of chunks.
+     * @param chunkCount Number of chunks.
+     * @param from First chunk index, inclusive.
+     * @param to Last chunk index, exclusive.
+     * @param out File channel for decrypted data.
+     * @throws GeneralSecurityException Thrown in case a chunk is not authentic.
+     * @throws IOException Thrown in case reading or writing fails.
+     */
+    private void decryptChunks(Header header, byte[] key, FileChannel in, long dataOffset, long dataSize, long chunkCount,
+                               long from, long to, FileChannel out) throws GeneralSecurityException, IOException {
+        AEADCipher cipher = createCipher(header.algorithm);
+        long encryptedChunkSize = (long) header.chunkSize + TAG_SIZE;
+        byte[] input = new byte[header.chunkSize + TAG_SIZE];
+        byte[] output = new byte[header.chunkSize];
+        for (long chunkIndex = from; chunkIndex < to; chunkIndex++) {
+            boolean last = chunkIndex == chunkCount - 1;
+            long chunkOffset = chunkIndex * encryptedChunkSize;
+            int inputLength = (int) (last ? dataSize - chunkOffset : encryptedChunkSize);
+            ByteBuffer inputBuffer = ByteBuffer.wrap(input, 0, inputLength);
+            while (inputBuffer.hasRemaining()) {
+                if (in.read(inputBuffer, dataOffset + chunkOffset + inputBuffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of encrypted data");
+                }
+            }
+            int length = processChunk(cipher, false, key, chunkIndex, last, input, inputLength, output);
+            ByteBuffer outputBuffer = ByteBuffer.wrap(output, 0, length);
+            long outputOffset = chunkIndex * header.chunkSize;
+            while (outputBuffer.hasRemaining()) {
+                out.write(outputBuffer, outputOffset + outputBuffer.position());
+            }
+        }
+    }
+
+    /**
+     * Wait for all decryption tasks, the output is truncated in case any task fails. In case a task fails or
+     * the thread is interrupted, tasks which have not started yet are cancelled and running tasks are awaited,
+     * so that no task uses the key or writes the output once this method returns.
+     * @param tasks Decryption tasks.
+     * @param out File channel for decrypted data.
+     * @throws GeneralSecurityException Thrown in case a chunk is not authentic.
+     * @throws IOException Thrown in case reading or writing fails.
+     */
+    private static void awaitAll(List<StartGuardedTask<Void>> tasks, FileChannel out) throws GeneralSecurityException, IOException {
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (StartGuardedTask<Void> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+                failure = ex;
+            } catch (ExecutionException ex) {
+                failure = ex.getCause();
+            }
+            if (failure != null) {
+                break;
+            }
+        }
+        if (failure == null) {
+            return;
+        }
+        for (StartGuardedTask<Void> task : tasks) {
+            task.cancelOrAwait();
+        }
+        interrupted |= Thread.interrupted();
+        // Do not release plaintext of a message which is not authentic, the interrupt status is restored after
+        // truncation because interrupted file channel operations close the channel
+        try {
+            out.truncate(0);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure instanceof GeneralSecurityException) {
+            throw (GeneralSecurityException) failure;
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        throw new GeneralSecurityException("Decryption failed", failure);
+    }
+
+    /**
+     * Encrypt or decrypt a chunk.
+     * @param cipher Authenticated encryption cipher.
+     * @param forEncryption Whether the chunk is encrypted.
+     * @param key Encryption key.
+     * @param chunkIndex Chunk index.
+     * @param last Whether the chunk is the last one.
+     * @param input Input data.
+     * @param inputLength Length of input data.
+     * @param output Output buffer.
+     * @return Length of output data.
+     * @throws GeneralSecurityException Thrown in case the chunk is not authentic.
+     */
+    private static int processChunk(AEADCipher cipher, boolean forEncryption, byte[] key, long chunkIndex, boolean last,
+                                    byte[] input, int inputLength, byte[] output) throws GeneralSecurityException {
+        if (chunkIndex > 0xFFFFFFFFL) {
+            throw new GeneralSecurityException("Too many chunks");
+        }
+        byte[] nonce = new byte[NONCE_SIZE];
+        nonce[7] = (byte) (chunkIndex >>> 24);
+        nonce[8] = (byte) (chunkIndex >>> 16);
+        nonce[9] = (byte) (chunkIndex >>> 8);
+        nonce[10] = (byte) chunkIndex;
+        nonce[11] = (byte) (last ? 1 : 0);
+        cipher.init(forEncryption, new AEADParameters(new KeyParameter(key), TAG_SIZE * 8, nonce));
+        try {
+            int length = cipher.processBytes(input, 0, inputLength, output, 0);
+            return length + cipher.doFinal(output, length);
+        } catch (InvalidCipherTextException | IllegalStateException | DataLengthException ex) {
+            throw new GeneralSecurityException("Encrypted data is not authentic", ex);
+        }
+    }
+
+    /**
+     * Create the stream header.
+     * @param encryptedMessage SIKE encrypted message.
+     * @return Stream header.
+     */
+    private byte[] createHeader(byte[] encryptedMessage) {
+        ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_SIZE + encryptedMessage.length);
+        header.put(MAGIC);
+        header.put((byte) algorithm.ordinal());
+        header.putInt(chunkSize);
+        header.putInt(encryptedMessage.length);
+        header.put(encryptedMessage);
+        return header.array();
+    }
+
+    /**
+     * Read and validate the stream header.
+     * @param in Channel with encrypted data.
+     * @return Stream header.
+     * @throws GeneralSecurityException Thrown in case the header is invalid.
+     * @throws IOException Thrown in case reading fails.
+     */
+    private Header readHeader(ReadableByteChannel in) throws GeneralSecurityException, IOException {
+        ByteBuffer fixedHeader = ByteBuffer.allocate(FIXED_HEADER_SIZE);
+        if (!readFully(in, fixedHeader)) {
+            throw new EOFException("Unexpected end of encrypted data");
+        }
+        fixedHeader.flip();
+        byte[] magic = new byte[MAGIC.length];
+        fixedHeader.get(magic);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new GeneralSecurityException("Invalid encrypted data format");
+        }
+        int algorithmId = fixedHeader.get();
+        if (algorithmId < 0 || algorithmId >= DemAlgorithm.values().length) {
+            throw new GeneralSecurityException("Unsupported algorithm");
+        }
+        int headerChunkSize = fixedHeader.getInt();
+        int messageLength = fixedHeader.getInt();
+        int expectedMessageLength = 6 * ((sikeParam.getPrime().bitLength() + 7) / 8) + sikeParam.getMessageBytes();
+        if (headerChunkSize < 1 || headerChunkSize > MAX_CHUNK_SIZE || messageLength != expectedMessageLength) {
+            throw new GeneralSecurityException("Invalid encrypted data header");
+        }
+        ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_SIZE + messageLength);
+        fixedHeader.flip();
+        header.put(fixedHeader);
+        if (!readFully(in, header)) {
+            throw new EOFException("Unexpected end of encrypted data");
+        }
+        byte[] headerBytes = header.array();
+        byte[] encryptedMessage = Arrays.copyOfRange(headerBytes, FIXED_HEADER_SIZE, headerBytes.length);
+        return new Header(headerBytes, DemAlgorithm.values()[algorithmId], headerChunkSize, new EncryptedMessage(sikeParam, encryptedMessage));
+    }
+
+    /**
+     * Decapsulate the encryption key.
+     * @param sk3 Bob's private key.
+     * @param pk3 Bob's public key.
+     * @param header Stream header.
+     * @return Encryption key.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    private byte[] decapsulateKey(PrivateKey sk3, PublicKey pk3, Header header) throws GeneralSecurityException {
+        byte[] secret = sike.decapsulate(sk3, pk3, header.encryptedMessage);
+        return deriveKey(secret, header.bytes);
+    }
+
+    /**
+     * Derive the encryption key from the shared secret and the stream header.
+     * @param secret Shared secret.
+     * @param header Stream header.
+     * @return Encryption key.
+     */
+    private static byte[] deriveKey(byte[] secret, byte[] header) {
+        byte[] data = new byte[secret.length + header.length];
+        System.arraycopy(secret, 0, data, 0, secret.length);
+        System.arraycopy(header, 0, data, secret.length, header.length);
+        byte[] key = Sha3.shake256(data, KEY_SIZE);
+        Arrays.fill(data, (byte) 0);
+        Arrays.fill(secret, (byte) 0);
+        return key;
+    }
+
+    /**
+     * Create a cipher for the configured algorithm.
+     * @return Authenticated encryption cipher.
+     */
+    private AEADCipher createCipher() {
+        return createCipher(algorithm);
+    }
+
+    /**
+     * Create a cipher for an algorithm.
+     * @param algorithm Authenticated encryption algorithm.
+     * @return Authenticated encryption cipher.
+     */
+    private static AEADCipher createCipher(DemAlgorithm algorithm) {
+        switch (algorithm) {
+            case AES_256_GCM:
+                return new GCMBlockCipher(new AESEngine());
+            case CHACHA20_POLY1305:
+                return new ChaCha20Poly1305();
+            default:
+                throw new InvalidParameterException("Unsupported algorithm");
+        }
+    }
+
+    /**
+     * Read from a channel until the buffer is full or the end of stream is reached.
+     * @param in Input channel.
+     * @param buffer Buffer to fill.
+     * @return Whether the buffer was filled.
+     * @throws IOException Thrown in case reading fails.
+     */
+    private static boolean readFully(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write the whole buffer into a channel.
+     * @param out Output channel.
+     * @param buffer Buffer to write.
+     * @throws IOException Thrown in case writing fails.
+     */
+    private static void writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * Parsed stream header.
+     */
+    private static class Header {
+
+        private final byte[] bytes;
+        private final DemAlgorithm algorithm;
+        private final int chunkSize;
+        private final EncryptedMessage encryptedMessage;
+
+        /**
+         * Stream header constructor.
+         * @param bytes Encoded header.
+         * @param algorithm Authenticated encryption algorithm.
+         * @param chunkSize Chunk size.
+         * @param encryptedMessage SIKE encrypted message.
+         */
+        Header(byte[] bytes, DemAlgorithm algorithm, int chunkSize, EncryptedMessage encryptedMessage) {
+            this.bytes = bytes;
+            this.algorithm = algorithm;
+            this.chunkSize = chunkSize;
+            this.encryptedMessage = encryptedMessage;
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.jfr;
+
+/**
+ * Phases of SIKE operations recorded as Java Flight Recorder events.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public enum Phase {
+
+    /**
+     * Three point Montgomery ladder or double and add scalar multiplication.
+     */
+    LADDER,
+
+    /**
+     * Traversal of the isogeny tree.
+     */
+    ISOGENY_TREE,
+
+    /**
+     * Computation of the j-invariant.
+     */
+    J_INVARIANT,
+
+    /**
+     * Hashing using SHAKE256.
+     */
+    HASHING,
+
+    /**
+     * Encoding of a public key.
+     */
+    PUBLIC_KEY_ENCODING,
+
+    /**
+     * Decoding of a public key.
+     */
+    PUBLIC_KEY_DECODING,
+
+    /**
+     * Encoding of an encrypted message.
+     */
+    MESSAGE_ENCODING,
+
+    /**
+     * Decoding of an encrypted message.
+     */
+    MESSAGE_DECODING,
+
+    /**
+     * Re-encryption of the message during decapsulation (Fujisaki-Okamoto transform).
+     */
+    FO_REENCRYPTION
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event with duration of a SIKE operation phase. The event class is only loaded
+ * when Java Flight Recorder is available, use {@link PhaseRecorder} to record events.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Name(PhaseEvent.NAME)
+@Label("SIKE Phase")
+@Category({"Security", "SIKE"})
+@Description("Duration of a phase of a SIKE operation")
+@StackTrace(false)
+public class PhaseEvent extends Event {
+
+    /**
+     * Event name.
+     */
+    public static final String NAME = "com.wultra.security.pqc.sike.Phase";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Parameter Set")
+    String parameterSet;
+
+    @Label("Implementation Type")
+    String implementationType;
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.jfr;
+
+import com.wultra.security.pqc.sike.param.SikeParam;
+import jdk.jfr.EventType;
+
+/**
+ * Recorder of SIKE operation phases as Java Flight Recorder events. In case Java Flight Recorder
+ * is not available in the runtime or the event is not enabled, the recording is a no-op. A phase is
+ * recorded by calling {@link #begin(Phase, SikeParam)} and {@link #end(Scope)}, phases which fail with
+ * an exception are not recorded.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class PhaseRecorder {
+
+    private static final Scope NO_OP_SCOPE = () -> {
+    };
+
+    private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+    private PhaseRecorder() {
+
+    }
+
+    /**
+     * Begin recording of a phase.
+     * @param phase Recorded phase.
+     * @param sikeParam SIKE parameters.
+     * @return Scope of the recorded phase.
+     */
+    public static Scope begin(Phase phase, SikeParam sikeParam) {
+        if (!JFR_AVAILABLE || !JfrScope.isEnabled()) {
+            return NO_OP_SCOPE;
+        }
+        return new JfrScope(phase, sikeParam);
+    }
+
+    /**
+     * End recording of a phase.
+     * @param scope Scope of the recorded phase.
+     */
+    public static void end(Scope scope) {
+        scope.end();
+    }
+
+    /**
+     * Check whether Java Flight Recorder API is available in the runtime.
+     * @return Whether Java Flight Recorder API is available.
+     */
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            // Initialize the event type to detect missing JFR classes early
+            JfrScope.isEnabled();
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Recording scope of a phase.
+     */
+    public interface Scope {
+
+        /**
+         * Finish recording of the phase.
+         */
+        void end();
+
+    }
+
+    /**
+     * Recording scope backed by a Java Flight Recorder event.
+     */
+    private static class JfrScope implements Scope {
+
+        private static final EventType EVENT_TYPE = EventType.getEventType(PhaseEvent.class);
+
+        private final PhaseEvent event;
+
+        JfrScope(Phase phase, SikeParam sikeParam) {
+            event = new PhaseEvent();
+            event.phase = phase.name();
+            event.parameterSet = sikeParam.getName();
+            event.implementationType = sikeParam.getImplementationType().name();
+            event.begin();
+        }
+
+        static boolean isEnabled() {
+            return EVENT_TYPE.isEnabled();
+        }
+
+        @Override
+        public void end() {
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.keystore;
+
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of the SIKE keystore file. All numbers are stored in big-endian byte order.
+ *
+ * <pre>
+ * Header (48 bytes):
+ *   magic (8 bytes), format version (4 bytes), parameter set name (16 bytes, US-ASCII, zero padded),
+ *   party (1 byte), reserved (3 bytes), record count (4 bytes), index slot count (4 bytes),
+ *   record size (4 bytes), reserved (4 bytes)
+ * Index (index slot count * 4 bytes):
+ *   open addressing hash table with linear probing, slot value is record number + 1, 0 for empty slot
+ * Records (record count * record size):
+ *   key id (8 bytes), private key encoding, public key encoding
+ * </pre>
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class KeyStoreFormat {
+
+    static final byte[] MAGIC = "SIKEKEYS".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int NAME_LENGTH = 16;
+    static final int HEADER_SIZE = 48;
+    static final int INDEX_ENTRY_SIZE = 4;
+    static final int KEY_ID_SIZE = 8;
+
+    private KeyStoreFormat() {
+
+    }
+
+    /**
+     * Get size of encoded private key.
+     * @param sikeParam SIKE parameters.
+     * @return Size of encoded private key.
+     */
+    static int getPrivateKeySize(SikeParam sikeParam) {
+        return sikeParam.getMessageBytes() + getPrimeSize(sikeParam);
+    }
+
+    /**
+     * Get size of encoded public key.
+     * @param sikeParam SIKE parameters.
+     * @return Size of encoded public key.
+     */
+    static int getPublicKeySize(SikeParam sikeParam) {
+        return 6 * getPrimeSize(sikeParam);
+    }
+
+    /**
+     * Get size of a keystore record.
+     * @param sikeParam SIKE parameters.
+     * @return Size of a keystore record.
+     */
+    static int getRecordSize(SikeParam sikeParam) {
+        return KEY_ID_SIZE + getPrivateKeySize(sikeParam) + getPublicKeySize(sikeParam);
+    }
+
+    /**
+     * Get number of index slots for given number of records, the load factor is kept at or below 0.5.
+     * @param recordCount Number of records.
+     * @return Number of index slots.
+     */
+    static int getIndexSlots(int recordCount) {
+        int slots = 2;
+        while (slots < recordCount * 2) {
+            slots <<= 1;
+        }
+        return slots;
+    }
+
+    /**
+     * Get the initial index slot for a key id.
+     * @param keyId Key id.
+     * @param indexSlots Number of index slots, a power of two.
+     * @return Initial index slot.
+     */
+    static int getSlot(long keyId, int indexSlots) {
+        long hash = keyId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (indexSlots - 1);
+    }
+
+    /**
+     * Get size of encoded prime.
+     * @param sikeParam SIKE parameters.
+     * @return Size of encoded prime.
+     */
+    private static int getPrimeSize(SikeParam sikeParam) {
+        return (sikeParam.getPrime().bitLength() + 7) / 8;
+    }
+
+}
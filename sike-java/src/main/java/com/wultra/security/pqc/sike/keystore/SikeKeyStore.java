@@ -0,0 +1,291 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.keystore;
+
+import com.wultra.security.pqc.sike.model.CompactSidhPublicKey;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.util.Arrays;
+
+/**
+ * Read-only SIKE keystore backed by a memory-mapped file with fixed-size key pair records. Key pairs are
+ * looked up by key id using a hash index stored in the file, only the requested record is read. Public keys
+ * are returned in compact form, so they are not parsed into curve coordinates for decapsulation.
+ * The keystore is safe for use by multiple threads.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikeKeyStore implements AutoCloseable {
+
+    private final SikeParam sikeParam;
+    private final Party party;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+    private final int indexSlots;
+    private final int recordSize;
+    private final int recordsOffset;
+    private final int privateKeySize;
+    private final int publicKeySize;
+    private volatile boolean closed;
+
+    /**
+     * Private keystore constructor, use {@link #open(Path, SikeParam)}.
+     * @param sikeParam SIKE parameters.
+     * @param party Party of stored keys.
+     * @param channel Open file channel.
+     * @param buffer Mapped keystore file.
+     * @param recordCount Number of records.
+     * @param indexSlots Number of index slots.
+     */
+    private SikeKeyStore(SikeParam sikeParam, Party party, FileChannel channel, MappedByteBuffer buffer, int recordCount, int indexSlots) {
+        this.sikeParam = sikeParam;
+        this.party = party;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.recordCount = recordCount;
+        this.indexSlots = indexSlots;
+        this.recordSize = KeyStoreFormat.getRecordSize(sikeParam);
+        this.recordsOffset = KeyStoreFormat.HEADER_SIZE + indexSlots * KeyStoreFormat.INDEX_ENTRY_SIZE;
+        this.privateKeySize = KeyStoreFormat.getPrivateKeySize(sikeParam);
+        this.publicKeySize = KeyStoreFormat.getPublicKeySize(sikeParam);
+    }
+
+    /**
+     * Open a keystore file.
+     * @param path Keystore file path.
+     * @param sikeParam SIKE parameters of stored keys.
+     * @return Opened keystore.
+     * @throws IOException Thrown in case the file cannot be read or it is not a valid keystore.
+     */
+    public static SikeKeyStore open(Path path, SikeParam sikeParam) throws IOException {
+        if (sikeParam == null) {
+            throw new InvalidParameterException("Invalid SIKE parameters");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < KeyStoreFormat.HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Invalid keystore size");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            byte[] magic = new byte[KeyStoreFormat.MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(KeyStoreFormat.MAGIC, magic)) {
+                throw new IOException("Invalid keystore format");
+            }
+            if (buffer.getInt() != KeyStoreFormat.VERSION) {
+                throw new IOException("Unsupported keystore version");
+            }
+            byte[] name = new byte[KeyStoreFormat.NAME_LENGTH];
+            buffer.get(name);
+            int nameLength = 0;
+            while (nameLength < name.length && name[nameLength] != 0) {
+                nameLength++;
+            }
+            String paramName = new String(name, 0, nameLength, StandardCharsets.US_ASCII);
+            if (!sikeParam.getName().equals(paramName)) {
+                throw new IOException("Keystore parameter set mismatch: " + paramName);
+            }
+            int partyOrdinal = buffer.get();
+            if (partyOrdinal < 0 || partyOrdinal >= Party.values().length) {
+                throw new IOException("Invalid keystore party");
+            }
+            buffer.position(buffer.position() + 3);
+            int recordCount = buffer.getInt();
+            int indexSlots = buffer.getInt();
+            int recordSize = buffer.getInt();
+            if (recordCount < 0 || indexSlots < 2 || Integer.bitCount(indexSlots) != 1 || indexSlots < recordCount
+                    || recordSize != KeyStoreFormat.getRecordSize(sikeParam)) {
+                throw new IOException("Invalid keystore header");
+            }
+            long expectedSize = KeyStoreFormat.HEADER_SIZE + (long) indexSlots * KeyStoreFormat.INDEX_ENTRY_SIZE + (long) recordCount * recordSize;
+            if (expectedSize != fileSize) {
+                throw new IOException("Invalid keystore size");
+            }
+            return new SikeKeyStore(sikeParam, Party.values()[partyOrdinal], channel, buffer, recordCount, indexSlots);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Get SIKE parameters of stored keys.
+     * @return SIKE parameters.
+     */
+    public SikeParam getSikeParam() {
+        return sikeParam;
+    }
+
+    /**
+     * Get party of stored keys.
+     * @return Party of stored keys.
+     */
+    public Party getParty() {
+        return party;
+    }
+
+    /**
+     * Get number of stored key pairs.
+     * @return Number of stored key pairs.
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Check whether a key pair with given key id is stored.
+     * @param keyId Key id.
+     * @return Whether the key pair is stored.
+     */
+    public boolean contains(long keyId) {
+        return findRecord(keyId) >= 0;
+    }
+
+    /**
+     * Get a stored key pair.
+     * @param keyId Key id.
+     * @return Key pair with a compact public key or null in case the key id is not stored.
+     */
+    public KeyPair getKeyPair(long keyId) {
+        int record = findRecord(keyId);
+        if (record < 0) {
+            return null;
+        }
+        return new KeyPair(readPublicKey(record), readPrivateKey(record));
+    }
+
+    /**
+     * Get a stored private key.
+     * @param keyId Key id.
+     * @return Private key or null in case the key id is not stored.
+     */
+    public SidhPrivateKey getPrivateKey(long keyId) {
+        int record = findRecord(keyId);
+        if (record < 0) {
+            return null;
+        }
+        return readPrivateKey(record);
+    }
+
+    /**
+     * Get a stored public key.
+     * @param keyId Key id.
+     * @return Compact public key or null in case the key id is not stored.
+     */
+    public CompactSidhPublicKey getPublicKey(long keyId) {
+        int record = findRecord(keyId);
+        if (record < 0) {
+            return null;
+        }
+        return readPublicKey(record);
+    }
+
+    /**
+     * Close the keystore file, lookups after closing fail. The mapping is released once the keystore is garbage collected.
+     * @throws IOException Thrown in case closing the file fails.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    /**
+     * Find record number for a key id.
+     * @param keyId Key id.
+     * @return Record number or -1 in case the key id is not stored.
+     * @throws IllegalStateException Thrown in case the keystore is closed or its index is corrupted.
+     */
+    private int findRecord(long keyId) {
+        if (closed) {
+            throw new IllegalStateException("Keystore is closed");
+        }
+        int slot = KeyStoreFormat.getSlot(keyId, indexSlots);
+        for (int i = 0; i < indexSlots; i++) {
+            int entry = buffer.getInt(KeyStoreFormat.HEADER_SIZE + slot * KeyStoreFormat.INDEX_ENTRY_SIZE);
+            if (entry == 0) {
+                return -1;
+            }
+            int record = entry - 1;
+            if (record < 0 || record >= recordCount) {
+                throw new IllegalStateException("Invalid keystore index entry");
+            }
+            if (buffer.getLong(getRecordOffset(record)) == keyId) {
+                return record;
+            }
+            slot = (slot + 1) & (indexSlots - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Read private key from a record.
+     * @param record Record number.
+     * @return Private key.
+     */
+    private SidhPrivateKey readPrivateKey(int record) {
+        byte[] encoded = read(getRecordOffset(record) + KeyStoreFormat.KEY_ID_SIZE, privateKeySize);
+        return new SidhPrivateKey(sikeParam, party, encoded);
+    }
+
+    /**
+     * Read public key from a record.
+     * @param record Record number.
+     * @return Compact public key.
+     */
+    private CompactSidhPublicKey readPublicKey(int record) {
+        byte[] encoded = read(getRecordOffset(record) + KeyStoreFormat.KEY_ID_SIZE + privateKeySize, publicKeySize);
+        return new CompactSidhPublicKey(sikeParam, encoded);
+    }
+
+    /**
+     * Get offset of a record in the file.
+     * @param record Record number.
+     * @return Record offset.
+     */
+    private int getRecordOffset(int record) {
+        return recordsOffset + record * recordSize;
+    }
+
+    /**
+     * Read bytes from the mapped file, a duplicate buffer is used so that concurrent reads do not share position.
+     * @param offset Offset in the file.
+     * @param length Number of bytes.
+     * @return Read bytes.
+     */
+    private byte[] read(int offset, int length) {
+        byte[] data = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(data);
+        return data;
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.keystore;
+
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.InvalidParameterException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writer of SIKE keystore files with fixed-size key pair records, see {@link SikeKeyStore}.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikeKeyStoreWriter {
+
+    private final SikeParam sikeParam;
+    private final Party party;
+    private final List<Long> keyIds = new ArrayList<>();
+    private final List<byte[]> records = new ArrayList<>();
+    private final Set<Long> uniqueKeyIds = new HashSet<>();
+
+    /**
+     * Keystore writer constructor.
+     * @param sikeParam SIKE parameters of stored keys.
+     * @param party Party of stored keys.
+     */
+    public SikeKeyStoreWriter(SikeParam sikeParam, Party party) {
+        if (sikeParam == null) {
+            throw new InvalidParameterException("Invalid SIKE parameters");
+        }
+        if (party != Party.ALICE && party != Party.BOB) {
+            throw new InvalidParameterException("Invalid party");
+        }
+        if (sikeParam.getName().length() > KeyStoreFormat.NAME_LENGTH) {
+            throw new InvalidParameterException("Unsupported parameter set: " + sikeParam.getName());
+        }
+        this.sikeParam = sikeParam;
+        this.party = party;
+    }
+
+    /**
+     * Add a key pair to the keystore.
+     * @param keyId Unique key id.
+     * @param privateKey Private key.
+     * @param publicKey Public key.
+     */
+    public void add(long keyId, PrivateKey privateKey, PublicKey publicKey) {
+        if (!(privateKey instanceof SidhPrivateKey)) {
+            throw new InvalidParameterException("Invalid private key");
+        }
+        if (publicKey == null) {
+            throw new InvalidParameterException("Invalid public key");
+        }
+        byte[] privateKeyEncoded = privateKey.getEncoded();
+        byte[] publicKeyEncoded = publicKey.getEncoded();
+        if (privateKeyEncoded.length != KeyStoreFormat.getPrivateKeySize(sikeParam)) {
+            throw new InvalidParameterException("Invalid private key");
+        }
+        if (publicKeyEncoded == null || publicKeyEncoded.length != KeyStoreFormat.getPublicKeySize(sikeParam)) {
+            throw new InvalidParameterException("Invalid public key");
+        }
+        if (!uniqueKeyIds.add(keyId)) {
+            throw new InvalidParameterException("Duplicate key id: " + keyId);
+        }
+        byte[] record = new byte[KeyStoreFormat.getRecordSize(sikeParam)];
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putLong(keyId);
+        buffer.put(privateKeyEncoded);
+        buffer.put(publicKeyEncoded);
+        keyIds.add(keyId);
+        records.add(record);
+    }
+
+    /**
+     * Get number of added key pairs.
+     * @return Number of added key pairs.
+     */
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Write the keystore into a file, an existing file is replaced. The keystore is written into a temporary
+     * file readable only by the owner in the target directory, which is then atomically moved to the target path.
+     * @param path Keystore file path.
+     * @throws IOException Thrown in case writing fails.
+     */
+    public void write(Path path) throws IOException {
+        int recordCount = records.size();
+        int indexSlots = KeyStoreFormat.getIndexSlots(recordCount);
+        int recordSize = KeyStoreFormat.getRecordSize(sikeParam);
+        long fileSize = KeyStoreFormat.HEADER_SIZE + (long) indexSlots * KeyStoreFormat.INDEX_ENTRY_SIZE + (long) recordCount * recordSize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new InvalidParameterException("Too many key pairs for a single keystore file");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(KeyStoreFormat.HEADER_SIZE);
+        header.put(KeyStoreFormat.MAGIC);
+        header.putInt(KeyStoreFormat.VERSION);
+        byte[] name = new byte[KeyStoreFormat.NAME_LENGTH];
+        byte[] nameBytes = sikeParam.getName().getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(nameBytes, 0, name, 0, nameBytes.length);
+        header.put(name);
+        header.put((byte) party.ordinal());
+        header.position(header.position() + 3);
+        header.putInt(recordCount);
+        header.putInt(indexSlots);
+        header.putInt(recordSize);
+        header.clear();
+
+        ByteBuffer index = ByteBuffer.allocate(indexSlots * KeyStoreFormat.INDEX_ENTRY_SIZE);
+        for (int i = 0; i < recordCount; i++) {
+            int slot = KeyStoreFormat.getSlot(keyIds.get(i), indexSlots);
+            while (index.getInt(slot * KeyStoreFormat.INDEX_ENTRY_SIZE) != 0) {
+                slot = (slot + 1) & (indexSlots - 1);
+            }
+            index.putInt(slot * KeyStoreFormat.INDEX_ENTRY_SIZE, i + 1);
+        }
+
+        Path target = path.toAbsolutePath();
+        Path tempFile = createTempFile(target);
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(channel, header);
+                writeFully(channel, index);
+                for (byte[] record : records) {
+                    writeFully(channel, ByteBuffer.wrap(record));
+                }
+                channel.force(true);
+            }
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tempFile);
+            throw ex;
+        }
+    }
+
+    /**
+     * Create a temporary file next to the target file, the file is readable and writable only by the owner
+     * in case the file system supports POSIX permissions.
+     * @param target Target file path.
+     * @return Temporary file path.
+     * @throws IOException Thrown in case the file cannot be created.
+     */
+    private static Path createTempFile(Path target) throws IOException {
+        Path directory = target.getParent();
+        String prefix = target.getFileName() + ".";
+        if (target.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return Files.createTempFile(directory, prefix, ".tmp", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        }
+        return Files.createTempFile(directory, prefix, ".tmp");
+    }
+
+    /**
+     * Write the whole buffer into a channel.
+     * @param channel File channel.
+     * @param buffer Buffer to write.
+     * @throws IOException Thrown in case writing fails.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package com.wultra.security.pqc.sike.math.optimized;
 
+import com.wultra.security.pqc.sike.jfr.Phase;
+import com.wultra.security.pqc.sike.jfr.PhaseRecorder;
 import com.wultra.security.pqc.sike.math.api.Fp2Element;
 import com.wultra.security.pqc.sike.math.api.Fp2Point;
 import com.wultra.security.pqc.sike.math.api.Isogeny;
@@ -27,6 +29,8 @@ import com.wultra.security.pqc.sike.model.SidhPrivateKey;
 import com.wultra.security.pqc.sike.model.SidhPublicKey;
 import com.wultra.security.pqc.sike.model.optimized.MontgomeryConstants;
 import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.OperationCounter;
+import com.wultra.security.pqc.sike.util.OperationCounter.Operation;
 
 import java.math.BigInteger;
 
@@ -39,6 +43,7 @@ public class IsogenyProjective implements Isogeny {
 
     @Override
     public MontgomeryCurve curve2Iso(MontgomeryCurve curve, Fp2Point p2) {
+        OperationCounter.count(Operation.CURVE_2_ISO);
         Fp2Element a24plus, c24;
         a24plus = p2.getX().square();
         c24 = p2.getZ().square();
@@ -52,6 +57,7 @@ public class IsogenyProjective implements Isogeny {
 
     @Override
     public MontgomeryCurve curve3Iso(MontgomeryCurve curve, Fp2Point p3) {
+        OperationCounter.count(Operation.CURVE_3_ISO);
         Fp2Element k1, k2, t0, t1, t2, t3, t4, a24plus, a24minus;
         k1 = p3.getX().subtract(p3.getZ());
         t0 = k1.square();
@@ -86,6 +92,7 @@ public class IsogenyProjective implements Isogeny {
 
     @Override
     public MontgomeryCurve curve4Iso(MontgomeryCurve curve, Fp2Point p4) {
+        OperationCounter.count(Operation.CURVE_4_ISO);
         Fp2Element k1, k2, k3, a24plus, c24;
         k2 = p4.getX().subtract(p4.getZ());
         k3 = p4.getX().add(p4.getZ());
@@ -108,6 +115,7 @@ public class IsogenyProjective implements Isogeny {
 
     @Override
     public Fp2Point eval2Iso(Fp2Point q, Fp2Point p2) {
+        OperationCounter.count(Operation.EVAL_2_ISO);
         Fp2Element t0, t1, t2, t3, qx, qz;
         t0 = p2.getX().add(p2.getZ());
         t1 = p2.getX().subtract(p2.getZ());
@@ -124,6 +132,7 @@ public class IsogenyProjective implements Isogeny {
 
     @Override
     public Fp2Point eval3Iso(MontgomeryCurve curve, Fp2Point q, Fp2Point p3) {
+        OperationCounter.count(Operation.EVAL_3_ISO);
         Fp2Element t0, t1, t2, qx, qz, k1, k2;
         k1 = curve.getOptimizedConstants().getK1();
         k2 = curve.getOptimizedConstants().getK2();
@@ -142,6 +151,7 @@ public class IsogenyProjective implements Isogeny {
 
     @Override
     public Fp2Point eval4Iso(MontgomeryCurve curve, Fp2Point q, Fp2Point p4) {
+        OperationCounter.count(Operation.EVAL_4_ISO);
         Fp2Element t0, t1, qx, qz, k1, k2, k3;
         k1 = curve.getOptimizedConstants().getK1();
         k2 = curve.getOptimizedConstants().getK2();
@@ -166,6 +176,7 @@ public class IsogenyProjective implements Isogeny {
 
     @Override
     public EvaluatedCurve iso2e(MontgomeryCurve curve, Fp2Point s0, Fp2Point ... points) {
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.ISOGENY_TREE, curve.getSikeParam());
         SikeParam sikeParam = curve.getSikeParam();
         Montgomery montgomery = sikeParam.getMontgomery();
         MontgomeryCurve curveAp = curve;
@@ -229,11 +240,13 @@ public class IsogenyProjective implements Isogeny {
             phiR = new Fp2PointProjective(phiR.getX().multiply(inverted[2]), inverted[2]);
         }
 
+        PhaseRecorder.end(scope);
         return new EvaluatedCurve(curveAp, phiP, phiQ, phiR);
     }
 
     @Override
     public EvaluatedCurve iso3e(MontgomeryCurve curve, Fp2Point s0, Fp2Point ... points) {
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.ISOGENY_TREE, curve.getSikeParam());
         SikeParam sikeParam = curve.getSikeParam();
         Montgomery montgomery = sikeParam.getMontgomery();
         MontgomeryCurve curveAp = curve;
@@ -285,6 +298,7 @@ public class IsogenyProjective implements Isogeny {
             phiR = new Fp2PointProjective(phiR.getX().multiply(inverted[2]), inverted[2]);
         }
 
+        PhaseRecorder.end(scope);
         return new EvaluatedCurve(curveAp, phiP, phiQ, phiR);
     }
 
@@ -16,6 +16,8 @@
  */
 package com.wultra.security.pqc.sike.math.optimized;
 
+import com.wultra.security.pqc.sike.jfr.Phase;
+import com.wultra.security.pqc.sike.jfr.PhaseRecorder;
 import com.wultra.security.pqc.sike.math.api.Fp2Element;
 import com.wultra.security.pqc.sike.math.api.Fp2Point;
 import com.wultra.security.pqc.sike.math.api.Montgomery;
@@ -23,6 +25,8 @@ import com.wultra.security.pqc.sike.math.optimized.fp.FpElementOpti;
 import com.wultra.security.pqc.sike.model.MontgomeryCurve;
 import com.wultra.security.pqc.sike.model.optimized.MontgomeryConstants;
 import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.OperationCounter;
+import com.wultra.security.pqc.sike.util.OperationCounter.Operation;
 
 /**
  * Optimized elliptic curve mathematics on Montgomery curves with projective coordinates.
@@ -33,6 +37,7 @@ public class MontgomeryProjective implements Montgomery {
 
     @Override
     public Fp2Point xDbl(MontgomeryCurve curve, Fp2Point p) {
+        OperationCounter.count(Operation.X_DBL);
         MontgomeryConstants constants = curve.getOptimizedConstants();
         Fp2Element a24plus = constants.getA24plus();
         Fp2Element c24 = constants.getC24();
@@ -52,6 +57,7 @@ public class MontgomeryProjective implements Montgomery {
 
     @Override
     public Fp2Point xTpl(MontgomeryCurve curve, Fp2Point p) {
+        OperationCounter.count(Operation.X_TPL);
         MontgomeryConstants constants = curve.getOptimizedConstants();
         Fp2Element a24plus = constants.getA24plus();
         Fp2Element a24minus = constants.getA24minus();
@@ -102,6 +108,7 @@ public class MontgomeryProjective implements Montgomery {
 
     @Override
     public Fp2Element jInv(MontgomeryCurve curve) {
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.J_INVARIANT, curve.getSikeParam());
         Fp2Element a = curve.getA();
         MontgomeryConstants constants = curve.getOptimizedConstants();
         Fp2Element c = constants.getC();
@@ -122,6 +129,7 @@ public class MontgomeryProjective implements Montgomery {
         t0 = t0.add(t0);
         j = j.inverse();
         j = t0.multiply(j);
+        PhaseRecorder.end(scope);
         return j;
     }
 
@@ -152,6 +160,7 @@ public class MontgomeryProjective implements Montgomery {
      * @return Points P2 and P + Q.
      */
     private Fp2Point[] xDblAdd(Fp2Point p, Fp2Point q, Fp2Point r, Fp2Element a24plus) {
+        OperationCounter.count(Operation.X_DBL_ADD);
         Fp2Element t0, t1, t2, p2x, p2z, pqx, pqz;
         t0 = p.getX().add(p.getZ());
         t1 = p.getX().subtract(p.getZ());
@@ -188,6 +197,7 @@ public class MontgomeryProjective implements Montgomery {
      * @return Calculated new point.
      */
     public Fp2Point ladder3Pt(MontgomeryCurve curve, byte[] m, Fp2Element px, Fp2Element qx, Fp2Element rx, int bits) {
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.LADDER, curve.getSikeParam());
         SikeParam sikeParam = curve.getSikeParam();
         Fp2Element a = curve.getA();
         Fp2Point r0 = new Fp2PointProjective(qx.copy(), sikeParam.getFp2ElementFactory().one());
@@ -213,6 +223,7 @@ public class MontgomeryProjective implements Montgomery {
             r2 = points[1].copy();
         }
         condSwap(sikeParam, r1, r2, prevBit);
+        PhaseRecorder.end(scope);
         return r1;
     }
 
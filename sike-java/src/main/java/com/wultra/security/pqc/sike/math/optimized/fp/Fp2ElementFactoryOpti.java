@@ -31,6 +31,9 @@ public class Fp2ElementFactoryOpti implements Fp2ElementFactory {
 
     private final SikeParam sikeParam;
 
+    // Element one in Montgomery domain, converted on first use, elements are copied by Fp2ElementOpti
+    private volatile FpElementOpti montgomeryOne;
+
     /**
      * Fp2Element factory constructor for optimized elements.
      * @param sikeParam SIKE parameters.
@@ -41,12 +44,19 @@ public class Fp2ElementFactoryOpti implements Fp2ElementFactory {
 
     @Override
     public Fp2Element zero() {
-        return new Fp2ElementOpti(sikeParam, BigInteger.ZERO, BigInteger.ZERO);
+        // Zero is represented by zero words also in Montgomery domain, no conversion is required
+        FpElementOpti zero = new FpElementOpti(sikeParam);
+        return new Fp2ElementOpti(sikeParam, zero, zero);
     }
 
     @Override
     public Fp2Element one() {
-        return new Fp2ElementOpti(sikeParam, BigInteger.ONE, BigInteger.ZERO);
+        FpElementOpti one = montgomeryOne;
+        if (one == null) {
+            one = new FpElementOpti(sikeParam, BigInteger.ONE);
+            montgomeryOne = one;
+        }
+        return new Fp2ElementOpti(sikeParam, one, new FpElementOpti(sikeParam));
     }
 
     @Override
@@ -19,7 +19,8 @@ package com.wultra.security.pqc.sike.math.optimized.fp;
 import com.wultra.security.pqc.sike.math.api.Fp2Element;
 import com.wultra.security.pqc.sike.math.api.FpElement;
 import com.wultra.security.pqc.sike.param.SikeParam;
-import com.wultra.security.pqc.sike.util.SideChannelUtil;
+import com.wultra.security.pqc.sike.util.OperationCounter;
+import com.wultra.security.pqc.sike.util.OperationCounter.Operation;
 
 import java.math.BigInteger;
 import java.util.Objects;
@@ -110,6 +111,7 @@ public class Fp2ElementOpti implements Fp2Element {
      * @return Calculation result.
      */
     public Fp2Element multiply(Fp2Element y) {
+        OperationCounter.count(Operation.FP2_MULTIPLICATION);
         FpElement a = x0;
         FpElement b = x1;
         FpElement c = y.getX0();
@@ -147,6 +149,7 @@ public class Fp2ElementOpti implements Fp2Element {
      * @return Calculation result.
      */
     public Fp2ElementOpti square() {
+        OperationCounter.count(Operation.FP2_SQUARING);
         FpElement a = x0;
         FpElement b = x1;
 
@@ -184,6 +187,7 @@ public class Fp2ElementOpti implements Fp2Element {
      * @return Calculation result.
      */
     public Fp2ElementOpti inverse() {
+        OperationCounter.count(Operation.FP2_INVERSION);
         FpElementOpti e1 = (FpElementOpti) x0.multiply(x0);
         FpElementOpti e2 = (FpElementOpti) x1.multiply(x1);
         e1 = (FpElementOpti) e1.addNoReduction(e2);
@@ -281,8 +285,9 @@ public class Fp2ElementOpti implements Fp2Element {
         if (o == null || getClass() != o.getClass()) return false;
         Fp2ElementOpti that = (Fp2ElementOpti) o;
         // Use constant time comparison to avoid timing attacks
+        // Both coordinates are always compared, the comparison runs in constant time
         return sikeParam.equals(that.sikeParam)
-                && SideChannelUtil.constantTimeAreEqual(getEncoded(), that.getEncoded());
+                && (x0.equals(that.x0) & x1.equals(that.x1));
     }
 
     @Override
@@ -20,7 +20,8 @@ import com.wultra.security.pqc.sike.math.api.FpElement;
 import com.wultra.security.pqc.sike.param.SikeParam;
 import com.wultra.security.pqc.sike.util.ByteEncoding;
 import com.wultra.security.pqc.sike.util.OctetEncoding;
-import com.wultra.security.pqc.sike.util.SideChannelUtil;
+import com.wultra.security.pqc.sike.util.OperationCounter;
+import com.wultra.security.pqc.sike.util.OperationCounter.Operation;
 
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -101,6 +102,7 @@ public class FpElementOpti implements FpElement {
 
     @Override
     public FpElement add(FpElement o) {
+        OperationCounter.count(Operation.FP_ADDITION);
         // Compute z = x + y (mod 2*p)
         FpElementOpti z = new FpElementOpti(sikeParam);
         long carry = 0L;
@@ -137,6 +139,7 @@ public class FpElementOpti implements FpElement {
      * @return Calculation result.
      */
     public FpElement addNoReduction(FpElement o) {
+        OperationCounter.count(Operation.FP_ADDITION);
         // Compute z = x + y, without reducing mod p.
         FpElementOpti z = new FpElementOpti(sikeParam, new long[sikeParam.getFpWords() * 2]);
         long carry = 0L;
@@ -150,6 +153,7 @@ public class FpElementOpti implements FpElement {
 
     @Override
     public FpElement subtract(FpElement o) {
+        OperationCounter.count(Operation.FP_SUBTRACTION);
         // Compute z = x - y (mod 2*p)
         FpElementOpti z = new FpElementOpti(sikeParam);
         long borrow = 0L;
@@ -178,6 +182,7 @@ public class FpElementOpti implements FpElement {
      * @return Calculation result.
      */
     public FpElementOpti subtractNoReduction(FpElement o) {
+        OperationCounter.count(Operation.FP_SUBTRACTION);
         // Compute z = x - y, without reducing mod p
         FpElementOpti z = new FpElementOpti(sikeParam, new long[sikeParam.getFpWords() * 2]);
         long borrow = 0L;
@@ -200,6 +205,16 @@ public class FpElementOpti implements FpElement {
 
     @Override
     public FpElement multiply(FpElement o) {
+        OperationCounter.count(Operation.FP_MULTIPLICATION);
+        return multiplyWords((FpElementOpti) o);
+    }
+
+    /**
+     * Multiply two elements without reduction.
+     * @param o Other element.
+     * @return Calculation result.
+     */
+    private FpElement multiplyWords(FpElementOpti o) {
         // Compute z = x * y
         FpElementOpti z = new FpElementOpti(sikeParam, new long[sikeParam.getFpWords() * 2]);
         long carry;
@@ -209,7 +224,7 @@ public class FpElementOpti implements FpElement {
 
         for (int i = 0; i < sikeParam.getFpWords(); i++) {
             for (int j = 0; j <= i; j++) {
-                long[] mulResult = UnsignedLong.mul(value[j], ((FpElementOpti) o).getValue()[i - j]);
+                long[] mulResult = UnsignedLong.mul(value[j], o.getValue()[i - j]);
                 long[] addResult1 = UnsignedLong.add(mulResult[1], v, 0L);
                 v = addResult1[0];
                 carry = addResult1[1];
@@ -226,7 +241,7 @@ public class FpElementOpti implements FpElement {
 
         for (int i = sikeParam.getFpWords(); i < (2 * sikeParam.getFpWords()) - 1; i++) {
             for (int j = i - sikeParam.getFpWords() + 1; j < sikeParam.getFpWords(); j++) {
-                long[] mulResult = UnsignedLong.mul(value[j], ((FpElementOpti) o).getValue()[i - j]);
+                long[] mulResult = UnsignedLong.mul(value[j], o.getValue()[i - j]);
                 long[] addResult1 = UnsignedLong.add(mulResult[1], v, 0L);
                 v = addResult1[0];
                 carry = addResult1[1];
@@ -256,7 +271,8 @@ public class FpElementOpti implements FpElement {
 
     @Override
     public FpElement square() {
-        return multiply(this);
+        OperationCounter.count(Operation.FP_SQUARING);
+        return multiplyWords(this);
     }
 
     @Override
@@ -271,7 +287,7 @@ public class FpElementOpti implements FpElement {
 
     @Override
     public boolean isZero() {
-        FpElement zero = new FpElementOpti(sikeParam, new long[value.length]);
+        FpElement zero = new FpElementOpti(sikeParam);
         return equals(zero);
     }
 
@@ -301,6 +317,7 @@ public class FpElementOpti implements FpElement {
      * @return Reduced value.
      */
     public FpElementOpti reduceMontgomery() {
+        OperationCounter.count(Operation.FP_REDUCTION);
         FpElementOpti z = new FpElementOpti(sikeParam, new long[sikeParam.getFpWords()]);
         long carry;
         long t = 0L;
@@ -400,7 +417,6 @@ public class FpElementOpti implements FpElement {
         System.arraycopy(value, 0, val, 0, sikeParam.getFpWords());
         FpElementOpti el = new FpElementOpti(sikeParam, val);
         FpElementOpti a = el.reduceMontgomery();
-        reduce();
         for (int i = 0; i < primeSize; i++) {
             int j = i / 8;
             int k = i % 8;
@@ -422,13 +438,33 @@ public class FpElementOpti implements FpElement {
             return false;
         }
         FpElementOpti that = (FpElementOpti) o;
-        // Use constant time comparison to avoid timing attacks
-        return SideChannelUtil.constantTimeAreEqual(getEncoded(), that.getEncoded());
+        // Compare canonical representations in constant time without allocating encodings
+        long[] x = getCanonicalValue();
+        long[] y = that.getCanonicalValue();
+        long diff = 0L;
+        for (int i = 0; i < x.length; i++) {
+            diff |= x[i] ^ y[i];
+        }
+        return (diff == 0L) & (x.length == y.length);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(value);
+        return Arrays.hashCode(getCanonicalValue());
+    }
+
+    /**
+     * Get canonical value of the element in range [0, p), computed in constant time. The Montgomery
+     * reduction maps any single-width value into range [0, p], a single conditional subtraction of p
+     * completes the reduction. The element itself is not modified.
+     * @return Canonical value of the element.
+     */
+    private long[] getCanonicalValue() {
+        long[] val = new long[sikeParam.getFpWords() * 2];
+        System.arraycopy(value, 0, val, 0, sikeParam.getFpWords());
+        FpElementOpti canonical = new FpElementOpti(sikeParam, val).reduceMontgomery();
+        canonical.reduce();
+        return canonical.getValue();
     }
 
     @Override
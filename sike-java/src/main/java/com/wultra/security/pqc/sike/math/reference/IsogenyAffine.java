@@ -16,6 +16,8 @@
  */
 package com.wultra.security.pqc.sike.math.reference;
 
+import com.wultra.security.pqc.sike.jfr.Phase;
+import com.wultra.security.pqc.sike.jfr.PhaseRecorder;
 import com.wultra.security.pqc.sike.math.api.Fp2Element;
 import com.wultra.security.pqc.sike.math.api.Fp2Point;
 import com.wultra.security.pqc.sike.math.api.Isogeny;
@@ -27,6 +29,8 @@ import com.wultra.security.pqc.sike.model.SidhPrivateKey;
 import com.wultra.security.pqc.sike.model.SidhPublicKey;
 import com.wultra.security.pqc.sike.param.SikeParam;
 import com.wultra.security.pqc.sike.util.ByteEncoding;
+import com.wultra.security.pqc.sike.util.OperationCounter;
+import com.wultra.security.pqc.sike.util.OperationCounter.Operation;
 
 import java.math.BigInteger;
 
@@ -39,6 +43,7 @@ public class IsogenyAffine implements Isogeny {
 
     @Override
     public MontgomeryCurve curve2Iso(MontgomeryCurve curve, Fp2Point p2) {
+        OperationCounter.count(Operation.CURVE_2_ISO);
         Fp2Element t1, aAp, bAp;
         Fp2Element b = curve.getB();
         SikeParam sikeParam = curve.getSikeParam();
@@ -52,6 +57,7 @@ public class IsogenyAffine implements Isogeny {
 
     @Override
     public MontgomeryCurve curve3Iso(MontgomeryCurve curve, Fp2Point p3) {
+        OperationCounter.count(Operation.CURVE_3_ISO);
         Fp2Element t1, t2, aAp, bAp;
         Fp2Element b = curve.getB();
         SikeParam sikeParam = curve.getSikeParam();
@@ -70,6 +76,7 @@ public class IsogenyAffine implements Isogeny {
 
     @Override
     public MontgomeryCurve curve4Iso(MontgomeryCurve curve, Fp2Point p4) {
+        OperationCounter.count(Operation.CURVE_4_ISO);
         Fp2Element t1, t2, aAp, bAp;
         Fp2Element b = curve.getB();
         SikeParam sikeParam = curve.getSikeParam();
@@ -90,6 +97,7 @@ public class IsogenyAffine implements Isogeny {
 
     @Override
     public Fp2Point eval2Iso(Fp2Point q, Fp2Point p2) {
+        OperationCounter.count(Operation.EVAL_2_ISO);
         Fp2Element t1, t2, t3, qxAp, qyAp;
         t1 = q.getX().multiply(p2.getX());
         t2 = q.getX().multiply(t1);
@@ -109,6 +117,7 @@ public class IsogenyAffine implements Isogeny {
 
     @Override
     public Fp2Point eval3Iso(MontgomeryCurve curve, Fp2Point q, Fp2Point p3) {
+        OperationCounter.count(Operation.EVAL_3_ISO);
         Fp2Element t1, t2, t3, t4, qxAp, qyAp;
         SikeParam sikeParam = curve.getSikeParam();
         t1 = q.getX().square();
@@ -137,6 +146,7 @@ public class IsogenyAffine implements Isogeny {
 
     @Override
     public Fp2Point eval4Iso(MontgomeryCurve curve, Fp2Point q, Fp2Point p4) {
+        OperationCounter.count(Operation.EVAL_4_ISO);
         Fp2Element t1, t2, t3, t4, t5, qxAp, qyAp;
         SikeParam sikeParam = curve.getSikeParam();
         t1 = q.getX().square();
@@ -204,62 +214,115 @@ public class IsogenyAffine implements Isogeny {
 
     @Override
     public EvaluatedCurve iso2e(MontgomeryCurve curve, Fp2Point s, Fp2Point ... points) {
-        Montgomery montgomery = curve.getSikeParam().getMontgomery();
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.ISOGENY_TREE, curve.getSikeParam());
+        SikeParam sikeParam = curve.getSikeParam();
+        Montgomery montgomery = sikeParam.getMontgomery();
         MontgomeryCurve curveAp = curve;
-        Fp2Point sAp = s, phiP = null, phiQ = null;
+        Fp2Point r = s, phiP = null, phiQ = null;
         if (points.length == 2) {
             phiP = points[0];
             phiQ = points[1];
         }
-        Fp2Point r;
-        int eAp = curve.getSikeParam().getEA();
+        int eAp = sikeParam.getEA();
         if (eAp % 2 == 1) {
-            r = montgomery.xDble(curveAp, sAp, eAp - 1);
-            curveAp = curve2Iso(curveAp, r);
-            sAp = eval2Iso(sAp, r);
+            Fp2Point r2 = montgomery.xDble(curveAp, r, eAp - 1);
+            curveAp = curve2Iso(curveAp, r2);
+            r = eval2Iso(r, r2);
             if (points.length == 2) {
-                phiP = eval2Iso(phiP, r);
-                phiQ = eval2Iso(phiQ, r);
+                phiP = eval2Iso(phiP, r2);
+                phiQ = eval2Iso(phiQ, r2);
             }
-            eAp--;
         }
-        for (int e = eAp - 2; e >= 0; e -= 2) {
-            r = montgomery.xDble(curveAp, sAp, e);
+
+        // Traverse the isogeny tree using the optimal strategy, the kernel point of the last isogeny
+        // is never evaluated, which avoids division by zero in affine coordinates
+        int m, pointCount = 0, ii = 0;
+        Fp2Point[] treePoints = new Fp2Point[sikeParam.getTreePointsA()];
+        int[] pointIndex = new int[sikeParam.getTreeRowsA()];
+        int[] strategy = sikeParam.getStrategyA();
+        int index = 0;
+        for (int row = 1; row < sikeParam.getTreeRowsA(); row++) {
+            while (index < sikeParam.getTreeRowsA() - row) {
+                treePoints[pointCount] = r.copy();
+                pointIndex[pointCount++] = index;
+                m = strategy[ii++];
+                r = montgomery.xDble(curveAp, r, 2 * m);
+                index += m;
+            }
+
             curveAp = curve4Iso(curveAp, r);
-            // Fix division by zero in reference implementation
-            if (e > 0) {
-                sAp = eval4Iso(curveAp, sAp, r);
+
+            for (int i = 0; i < pointCount; i++) {
+                treePoints[i] = eval4Iso(curveAp, treePoints[i], r);
             }
             if (points.length == 2) {
                 phiP = eval4Iso(curveAp, phiP, r);
                 phiQ = eval4Iso(curveAp, phiQ, r);
             }
+            r = treePoints[pointCount - 1].copy();
+            index = pointIndex[pointCount - 1];
+            pointCount--;
+        }
+
+        curveAp = curve4Iso(curveAp, r);
+
+        if (points.length == 2) {
+            phiP = eval4Iso(curveAp, phiP, r);
+            phiQ = eval4Iso(curveAp, phiQ, r);
         }
+        PhaseRecorder.end(scope);
         return new EvaluatedCurve(curveAp, phiP, phiQ);
     }
 
     @Override
     public EvaluatedCurve iso3e(MontgomeryCurve curve, Fp2Point s, Fp2Point ... points) {
-        Montgomery montgomery = curve.getSikeParam().getMontgomery();
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.ISOGENY_TREE, curve.getSikeParam());
+        SikeParam sikeParam = curve.getSikeParam();
+        Montgomery montgomery = sikeParam.getMontgomery();
         MontgomeryCurve curveAp = curve;
-        Fp2Point sAp = s, phiP = null, phiQ = null;
+        Fp2Point r = s, phiP = null, phiQ = null;
         if (points.length == 2) {
             phiP = points[0];
             phiQ = points[1];
         }
-        Fp2Point r;
-        for (int e = curve.getSikeParam().getEB() - 1; e >= 0; e--) {
-            r = montgomery.xTple(curveAp, sAp, e);
+
+        // Traverse the isogeny tree using the optimal strategy, the kernel point of the last isogeny
+        // is never evaluated, which avoids division by zero in affine coordinates
+        int m, pointCount = 0, ii = 0;
+        Fp2Point[] treePoints = new Fp2Point[sikeParam.getTreePointsB()];
+        int[] pointIndex = new int[sikeParam.getTreeRowsB()];
+        int[] strategy = sikeParam.getStrategyB();
+        int index = 0;
+        for (int row = 1; row < sikeParam.getTreeRowsB(); row++) {
+            while (index < sikeParam.getTreeRowsB() - row) {
+                treePoints[pointCount] = r.copy();
+                pointIndex[pointCount++] = index;
+                m = strategy[ii++];
+                r = montgomery.xTple(curveAp, r, m);
+                index += m;
+            }
+
             curveAp = curve3Iso(curveAp, r);
-            // Fix division by zero in reference implementation
-            if (e > 0) {
-                sAp = eval3Iso(curveAp, sAp, r);
+
+            for (int i = 0; i < pointCount; i++) {
+                treePoints[i] = eval3Iso(curveAp, treePoints[i], r);
             }
             if (points.length == 2) {
                 phiP = eval3Iso(curveAp, phiP, r);
                 phiQ = eval3Iso(curveAp, phiQ, r);
             }
+            r = treePoints[pointCount - 1].copy();
+            index = pointIndex[pointCount - 1];
+            pointCount--;
+        }
+
+        curveAp = curve3Iso(curveAp, r);
+
+        if (points.length == 2) {
+            phiP = eval3Iso(curveAp, phiP, r);
+            phiQ = eval3Iso(curveAp, phiQ, r);
         }
+        PhaseRecorder.end(scope);
         return new EvaluatedCurve(curveAp, phiP, phiQ);
     }
 
@@ -16,12 +16,16 @@
  */
 package com.wultra.security.pqc.sike.math.reference;
 
+import com.wultra.security.pqc.sike.jfr.Phase;
+import com.wultra.security.pqc.sike.jfr.PhaseRecorder;
 import com.wultra.security.pqc.sike.math.api.Fp2Element;
 import com.wultra.security.pqc.sike.math.api.Fp2Point;
 import com.wultra.security.pqc.sike.math.api.Montgomery;
 import com.wultra.security.pqc.sike.model.EvaluatedCurve;
 import com.wultra.security.pqc.sike.model.MontgomeryCurve;
 import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.OperationCounter;
+import com.wultra.security.pqc.sike.util.OperationCounter.Operation;
 
 import java.math.BigInteger;
 
@@ -34,6 +38,17 @@ public class MontgomeryAffine implements Montgomery {
 
     @Override
     public Fp2Point xDbl(MontgomeryCurve curve, Fp2Point p) {
+        OperationCounter.count(Operation.X_DBL);
+        return doublePoint(curve, p);
+    }
+
+    /**
+     * Point doubling without operation counting, used by composite point operations.
+     * @param curve Current curve.
+     * @param p Point on the curve.
+     * @return Calculated new point.
+     */
+    private Fp2Point doublePoint(MontgomeryCurve curve, Fp2Point p) {
         if (p.isInfinite()) {
             return p;
         }
@@ -73,8 +88,10 @@ public class MontgomeryAffine implements Montgomery {
 
     @Override
     public Fp2Point xTpl(MontgomeryCurve curve, Fp2Point p) {
-        Fp2Point p2 = xDbl(curve, p);
-        return xAdd(curve, p, p2);
+        // Only the tripling is counted, same as in the projective implementation
+        OperationCounter.count(Operation.X_TPL);
+        Fp2Point p2 = doublePoint(curve, p);
+        return addPoints(curve, p, p2);
     }
 
     @Override
@@ -97,6 +114,7 @@ public class MontgomeryAffine implements Montgomery {
 
     @Override
     public Fp2Element jInv(MontgomeryCurve curve) {
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.J_INVARIANT, curve.getSikeParam());
         Fp2Element t0, t1, j;
         Fp2Element a = curve.getA();
         SikeParam sikeParam = curve.getSikeParam();
@@ -117,6 +135,7 @@ public class MontgomeryAffine implements Montgomery {
         t0 = t0.subtract(t1);
         t0 = t0.inverse();
         j = j.multiply(t0);
+        PhaseRecorder.end(scope);
         return j;
     }
 
@@ -148,6 +167,7 @@ public class MontgomeryAffine implements Montgomery {
      * @return Calculated new point.
      */
     public Fp2Point doubleAndAdd(MontgomeryCurve curve, BigInteger m, Fp2Point p, int bits) {
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.LADDER, curve.getSikeParam());
         SikeParam sikeParam = curve.getSikeParam();
         Fp2Point q = Fp2PointAffine.infinity(sikeParam);
         for (int i = bits - 1; i >= 0; i--) {
@@ -156,6 +176,7 @@ public class MontgomeryAffine implements Montgomery {
                 q = xAdd(curve, q, p);
             }
         }
+        PhaseRecorder.end(scope);
         return q;
     }
 
@@ -167,6 +188,18 @@ public class MontgomeryAffine implements Montgomery {
      * @return Calculated new point.
      */
     public Fp2Point xAdd(MontgomeryCurve curve, Fp2Point p, Fp2Point q) {
+        OperationCounter.count(Operation.X_ADD);
+        return addPoints(curve, p, q);
+    }
+
+    /**
+     * Adding of two points without operation counting, used by composite point operations.
+     * @param curve Current curve.
+     * @param p First point on the curve.
+     * @param q Second point on the curve.
+     * @return Calculated new point.
+     */
+    private Fp2Point addPoints(MontgomeryCurve curve, Fp2Point p, Fp2Point q) {
         if (p.isInfinite()) {
             return q;
         }
@@ -174,7 +207,7 @@ public class MontgomeryAffine implements Montgomery {
             return p;
         }
         if (p.equals(q)) {
-            return xDbl(curve, p);
+            return doublePoint(curve, p);
         }
         if (p.equals(q.negate())) {
             SikeParam sikeParam = curve.getSikeParam();
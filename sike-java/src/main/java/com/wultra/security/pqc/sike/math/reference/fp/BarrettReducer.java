@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.math.reference.fp;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Barrett reduction modulo a field prime. The reducer replaces BigInteger division in reference field
+ * multiplication with two multiplications and shifts. Reducers are cached per field prime.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+final class BarrettReducer {
+
+    private static final Map<BigInteger, BarrettReducer> REDUCERS = new ConcurrentHashMap<>();
+
+    private final BigInteger prime;
+    private final BigInteger primeSquared;
+    private final BigInteger mu;
+    private final int k;
+
+    /**
+     * Barrett reducer constructor.
+     * @param prime Field prime.
+     */
+    private BarrettReducer(BigInteger prime) {
+        this.prime = prime;
+        this.primeSquared = prime.multiply(prime);
+        this.k = prime.bitLength();
+        this.mu = BigInteger.ONE.shiftLeft(2 * k).divide(prime);
+    }
+
+    /**
+     * Get cached reducer for a field prime.
+     * @param prime Field prime.
+     * @return Barrett reducer.
+     */
+    static BarrettReducer getInstance(BigInteger prime) {
+        return REDUCERS.computeIfAbsent(prime, BarrettReducer::new);
+    }
+
+    /**
+     * Get the field prime.
+     * @return Field prime.
+     */
+    BigInteger getPrime() {
+        return prime;
+    }
+
+    /**
+     * Reduce a value modulo the field prime.
+     * @param t Value in range (-2p^2, 2p^2).
+     * @return Reduced value in range [0, p).
+     */
+    BigInteger reduce(BigInteger t) {
+        while (t.signum() < 0) {
+            t = t.add(primeSquared);
+        }
+        BigInteger q = t.shiftRight(k - 1).multiply(mu).shiftRight(k + 1);
+        BigInteger r = t.subtract(q.multiply(prime));
+        // The quotient estimate is never larger than the actual quotient and only slightly smaller
+        while (r.compareTo(prime) >= 0) {
+            r = r.subtract(prime);
+        }
+        return r;
+    }
+
+    /**
+     * Add two reduced values modulo the field prime.
+     * @param a Value in range [0, p).
+     * @param b Value in range [0, p).
+     * @return Reduced sum.
+     */
+    BigInteger add(BigInteger a, BigInteger b) {
+        BigInteger r = a.add(b);
+        if (r.compareTo(prime) >= 0) {
+            r = r.subtract(prime);
+        }
+        return r;
+    }
+
+    /**
+     * Subtract two reduced values modulo the field prime.
+     * @param a Value in range [0, p).
+     * @param b Value in range [0, p).
+     * @return Reduced difference.
+     */
+    BigInteger subtract(BigInteger a, BigInteger b) {
+        BigInteger r = a.subtract(b);
+        if (r.signum() < 0) {
+            r = r.add(prime);
+        }
+        return r;
+    }
+
+}
@@ -19,6 +19,8 @@ package com.wultra.security.pqc.sike.math.reference.fp;
 import com.wultra.security.pqc.sike.math.api.Fp2Element;
 import com.wultra.security.pqc.sike.math.api.FpElement;
 import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.OperationCounter;
+import com.wultra.security.pqc.sike.util.OperationCounter.Operation;
 
 import java.math.BigInteger;
 import java.util.Objects;
@@ -109,18 +111,18 @@ public class Fp2ElementRef implements Fp2Element {
      * @return Calculation result.
      */
     public Fp2Element multiply(Fp2Element y) {
-        // y = (x0 + i*x1) * (y0 + i*y1) = x0y0 - x1y1 + i*(x0y1 + x1y0)
-        FpElement r1, r2, r, i1, i2, i;
-
-        r1 = x0.multiply(y.getX0());
-        r2 = x1.multiply(y.getX1());
-        r = r1.subtract(r2);
-
-        i1 = x0.multiply(y.getX1());
-        i2 = x1.multiply(y.getX0());
-        i = i1.add(i2);
-
-        return new Fp2ElementRef(sikeParam, r, i);
+        OperationCounter.count(Operation.FP2_MULTIPLICATION);
+        // y = (x0 + i*x1) * (y0 + i*y1) = x0y0 - x1y1 + i*((x0 + x1)(y0 + y1) - x0y0 - x1y1)
+        // The products are reduced only once for each coordinate.
+        BarrettReducer reducer = getReducer();
+        BigInteger a0 = x0.getX(), a1 = x1.getX(), b0 = y.getX0().getX(), b1 = y.getX1().getX();
+        BigInteger t0 = a0.multiply(b0);
+        BigInteger t1 = a1.multiply(b1);
+        BigInteger t2 = a0.add(a1).multiply(b0.add(b1));
+        countMultiplications(3);
+        BigInteger r = reducer.reduce(t0.subtract(t1));
+        BigInteger i = reducer.reduce(t2.subtract(t0).subtract(t1));
+        return new Fp2ElementRef(sikeParam, new FpElementRef(sikeParam, reducer, r), new FpElementRef(sikeParam, reducer, i));
     }
 
     /**
@@ -136,7 +138,39 @@ public class Fp2ElementRef implements Fp2Element {
      * @return Calculation result.
      */
     public Fp2Element square() {
-        return multiply(this);
+        OperationCounter.count(Operation.FP2_SQUARING);
+        // y = (x0 + i*x1)^2 = (x0 + x1)(x0 - x1) + i*2x0x1
+        BarrettReducer reducer = getReducer();
+        BigInteger a0 = x0.getX(), a1 = x1.getX();
+        BigInteger t0 = a0.add(a1).multiply(a0.subtract(a1));
+        BigInteger t1 = a0.multiply(a1).shiftLeft(1);
+        countMultiplications(2);
+        BigInteger r = reducer.reduce(t0);
+        BigInteger i = reducer.reduce(t1);
+        return new Fp2ElementRef(sikeParam, new FpElementRef(sikeParam, reducer, r), new FpElementRef(sikeParam, reducer, i));
+    }
+
+    /**
+     * Get the reducer for the field prime.
+     * @return Reducer for the field prime.
+     */
+    private BarrettReducer getReducer() {
+        if (x0 instanceof FpElementRef) {
+            return ((FpElementRef) x0).getReducer();
+        }
+        return BarrettReducer.getInstance(sikeParam.getPrime());
+    }
+
+    /**
+     * Count F(p) multiplications performed directly on BigInteger values.
+     * @param count Number of multiplications.
+     */
+    private void countMultiplications(int count) {
+        if (OperationCounter.isEnabled()) {
+            for (int j = 0; j < count; j++) {
+                OperationCounter.count(Operation.FP_MULTIPLICATION);
+            }
+        }
     }
 
     /**
@@ -221,6 +255,7 @@ public class Fp2ElementRef implements Fp2Element {
      * @return Calculation result.
      */
     public Fp2ElementRef inverse() {
+        OperationCounter.count(Operation.FP2_INVERSION);
         FpElement t0, t1, o0, o1;
         t0 = x0.square();
         t1 = x1.square();
@@ -253,7 +288,7 @@ public class Fp2ElementRef implements Fp2Element {
      * @return Element copy.
      */
     public Fp2Element copy() {
-        return new Fp2ElementRef(sikeParam, new FpElementRef(sikeParam, x0.getX()), new FpElementRef(sikeParam, x1.getX()));
+        return new Fp2ElementRef(sikeParam, x0, x1);
     }
 
     /**
@@ -288,8 +323,7 @@ public class Fp2ElementRef implements Fp2Element {
         if (o == null || getClass() != o.getClass()) return false;
         Fp2ElementRef that = (Fp2ElementRef) o;
         return sikeParam.getPrime().equals(that.sikeParam.getPrime())
-                && x0.equals(that.x0)
-                && x1.equals(that.x1);
+                && (x0.equals(that.x0) & x1.equals(that.x1));
     }
 
     @Override
@@ -20,6 +20,9 @@ import com.wultra.security.pqc.sike.math.api.FpElement;
 import com.wultra.security.pqc.sike.param.SikeParam;
 import com.wultra.security.pqc.sike.util.ByteEncoding;
 import com.wultra.security.pqc.sike.util.OctetEncoding;
+import com.wultra.security.pqc.sike.util.OperationCounter;
+import com.wultra.security.pqc.sike.util.OperationCounter.Operation;
+import com.wultra.security.pqc.sike.util.SideChannelUtil;
 
 import java.math.BigInteger;
 import java.util.Objects;
@@ -34,6 +37,7 @@ public class FpElementRef implements FpElement {
     private final BigInteger x;
 
     private final SikeParam sikeParam;
+    private final BarrettReducer reducer;
 
     /**
      * The F(p^) field element constructor for given BigInteger value.
@@ -42,7 +46,20 @@ public class FpElementRef implements FpElement {
      */
     public FpElementRef(SikeParam sikeParam, BigInteger x) {
         this.sikeParam = sikeParam;
-        this.x = x.mod(sikeParam.getPrime());
+        this.reducer = BarrettReducer.getInstance(sikeParam.getPrime());
+        this.x = x.mod(reducer.getPrime());
+    }
+
+    /**
+     * The F(p^) field element constructor for a value which is already reduced.
+     * @param sikeParam Field prime.
+     * @param reducer Reducer for the field prime.
+     * @param x BigInteger value in range [0, p).
+     */
+    FpElementRef(SikeParam sikeParam, BarrettReducer reducer, BigInteger x) {
+        this.sikeParam = sikeParam;
+        this.reducer = reducer;
+        this.x = x;
     }
 
     /**
@@ -58,7 +75,15 @@ public class FpElementRef implements FpElement {
      * @return Field prime.
      */
     public BigInteger getPrime() {
-        return sikeParam.getPrime();
+        return reducer.getPrime();
+    }
+
+    /**
+     * Get the reducer for the field prime.
+     * @return Reducer for the field prime.
+     */
+    BarrettReducer getReducer() {
+        return reducer;
     }
 
     /**
@@ -67,7 +92,8 @@ public class FpElementRef implements FpElement {
      * @return Calculation result.
      */
     public FpElement add(FpElement o) {
-        return new FpElementRef(sikeParam, x.add(o.getX()).mod(getPrime()));
+        OperationCounter.count(Operation.FP_ADDITION);
+        return new FpElementRef(sikeParam, reducer, reducer.add(x, o.getX()));
     }
 
     /**
@@ -76,7 +102,8 @@ public class FpElementRef implements FpElement {
      * @return Calculation result.
      */
     public FpElement subtract(FpElement o) {
-        return new FpElementRef(sikeParam, x.subtract(o.getX()).mod(getPrime()));
+        OperationCounter.count(Operation.FP_SUBTRACTION);
+        return new FpElementRef(sikeParam, reducer, reducer.subtract(x, o.getX()));
     }
 
     /**
@@ -85,7 +112,8 @@ public class FpElementRef implements FpElement {
      * @return Calculation result.
      */
     public FpElement multiply(FpElement o) {
-        return new FpElementRef(sikeParam, x.multiply(o.getX()).mod(getPrime()));
+        OperationCounter.count(Operation.FP_MULTIPLICATION);
+        return new FpElementRef(sikeParam, reducer, reducer.reduce(x.multiply(o.getX())));
     }
 
     /**
@@ -93,7 +121,8 @@ public class FpElementRef implements FpElement {
      * @return Calculation result.
      */
     public FpElement square() {
-        return multiply(this);
+        OperationCounter.count(Operation.FP_SQUARING);
+        return new FpElementRef(sikeParam, reducer, reducer.reduce(x.multiply(x)));
     }
 
     /**
@@ -101,7 +130,8 @@ public class FpElementRef implements FpElement {
      * @return Calculation result.
      */
     public FpElement inverse() {
-        return new FpElementRef(sikeParam, x.modInverse(getPrime()));
+        OperationCounter.count(Operation.FP_INVERSION);
+        return new FpElementRef(sikeParam, reducer, x.modInverse(getPrime()));
     }
 
     /**
@@ -109,7 +139,7 @@ public class FpElementRef implements FpElement {
      * @return Calculation result.
      */
     public FpElement negate() {
-        return new FpElementRef(sikeParam, getPrime().subtract(x));
+        return new FpElementRef(sikeParam, reducer, reducer.subtract(BigInteger.ZERO, x));
     }
 
     /**
@@ -125,7 +155,7 @@ public class FpElementRef implements FpElement {
      * @return Element copy.
      */
     public FpElement copy() {
-        return new FpElementRef(sikeParam, x);
+        return new FpElementRef(sikeParam, reducer, x);
     }
 
     /**
@@ -156,8 +186,9 @@ public class FpElementRef implements FpElement {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         FpElementRef fpElement = (FpElementRef) o;
+        // Use constant time comparison to avoid timing attacks
         return getPrime().equals(fpElement.getPrime())
-                && x.equals(fpElement.x);
+                && SideChannelUtil.constantTimeAreEqual(getEncoded(), fpElement.getEncoded());
     }
 
     @Override
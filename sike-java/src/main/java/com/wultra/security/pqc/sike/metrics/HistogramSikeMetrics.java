@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.metrics;
+
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default SIKE metrics implementation which collects latency histograms and outcome counters
+ * per parameter set, implementation type and operation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class HistogramSikeMetrics implements SikeMetrics {
+
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(MetricsOperation operation, SikeParam sikeParam, long durationNanos, OperationOutcome outcome) {
+        statistics.computeIfAbsent(key(sikeParam, operation), k -> new Statistics()).record(durationNanos, outcome);
+    }
+
+    /**
+     * Get collected statistics.
+     * @return Map of statistics, the key has the format parameter/implementation/operation.
+     */
+    public Map<String, Statistics> getStatistics() {
+        return new TreeMap<>(statistics);
+    }
+
+    /**
+     * Get collected statistics for given SIKE parameters and operation.
+     * @param sikeParam SIKE parameters.
+     * @param operation Operation type.
+     * @return Statistics or null in case the operation was not recorded.
+     */
+    public Statistics getStatistics(SikeParam sikeParam, MetricsOperation operation) {
+        return statistics.get(key(sikeParam, operation));
+    }
+
+    /**
+     * Reset all collected statistics.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Get key for statistics map.
+     * @param sikeParam SIKE parameters.
+     * @param operation Operation type.
+     * @return Statistics key.
+     */
+    private static String key(SikeParam sikeParam, MetricsOperation operation) {
+        return sikeParam.getName() + "/" + sikeParam.getImplementationType() + "/" + operation;
+    }
+
+    /**
+     * Latency histogram and outcome counters of a single operation.
+     */
+    public static class Statistics {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder implicitRejectionCount = new LongAdder();
+        private final long startNanos = System.nanoTime();
+
+        private void record(long durationNanos, OperationOutcome outcome) {
+            histogram.record(durationNanos);
+            switch (outcome) {
+                case SUCCESS:
+                    successCount.increment();
+                    break;
+                case FAILURE:
+                    failureCount.increment();
+                    break;
+                case IMPLICIT_REJECTION:
+                    implicitRejectionCount.increment();
+                    break;
+            }
+        }
+
+        /**
+         * Get latency histogram of all recorded operations.
+         * @return Latency histogram.
+         */
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        /**
+         * Get number of successful operations.
+         * @return Number of successful operations.
+         */
+        public long getSuccessCount() {
+            return successCount.sum();
+        }
+
+        /**
+         * Get number of failed operations.
+         * @return Number of failed operations.
+         */
+        public long getFailureCount() {
+            return failureCount.sum();
+        }
+
+        /**
+         * Get number of implicitly rejected decapsulations.
+         * @return Number of implicit rejections.
+         */
+        public long getImplicitRejectionCount() {
+            return implicitRejectionCount.sum();
+        }
+
+        /**
+         * Get average throughput since the first recorded operation.
+         * @return Number of operations per second.
+         */
+        public double getThroughput() {
+            long elapsed = System.nanoTime() - startNanos;
+            if (elapsed <= 0) {
+                return 0;
+            }
+            return histogram.getCount() * 1e9 / elapsed;
+        }
+
+        @Override
+        public String toString() {
+            return "success=" + getSuccessCount()
+                    + ", failure=" + getFailureCount()
+                    + ", implicitRejection=" + getImplicitRejectionCount()
+                    + ", latency=[" + histogram + "]";
+        }
+    }
+
+}
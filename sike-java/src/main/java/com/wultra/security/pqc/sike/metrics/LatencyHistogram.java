@@ -0,0 +1,220 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.metrics;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets. Values below 32 ns are recorded exactly, larger values
+ * are recorded into 32 linear sub-buckets per power of two, which limits the relative error of reported
+ * percentiles to about 3 %.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalDuration = new AtomicLong();
+    private final AtomicLong minDuration = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxDuration = new AtomicLong();
+
+    /**
+     * Record a duration.
+     * @param durationNanos Duration in nanoseconds.
+     */
+    public void record(long durationNanos) {
+        long value = Math.max(durationNanos, 0L);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalDuration.addAndGet(value);
+        updateMin(value);
+        updateMax(value);
+    }
+
+    /**
+     * Add all durations recorded in another histogram. Durations recorded concurrently into the other histogram
+     * may be partially merged.
+     * @param other Other histogram.
+     */
+    public void merge(LatencyHistogram other) {
+        if (other == null) {
+            throw new InvalidParameterException("Histogram is null");
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalDuration.addAndGet(other.totalDuration.get());
+        updateMin(other.minDuration.get());
+        updateMax(other.maxDuration.get());
+    }
+
+    /**
+     * Get number of recorded durations.
+     * @return Number of recorded durations.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Get minimum recorded duration.
+     * @return Minimum duration in nanoseconds.
+     */
+    public long getMin() {
+        long min = minDuration.get();
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /**
+     * Get maximum recorded duration.
+     * @return Maximum duration in nanoseconds.
+     */
+    public long getMax() {
+        return maxDuration.get();
+    }
+
+    /**
+     * Get mean of recorded durations.
+     * @return Mean duration in nanoseconds.
+     */
+    public double getMean() {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) totalDuration.get() / count;
+    }
+
+    /**
+     * Get duration at given percentile. The value is the upper bound of the bucket which contains the percentile,
+     * limited by the maximum recorded duration.
+     * @param percentile Percentile in range [0, 100].
+     * @return Duration at given percentile in nanoseconds.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new InvalidParameterException("Invalid percentile");
+        }
+        // Use a snapshot of bucket counts, concurrent updates may be in progress
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Reset the histogram. Durations recorded concurrently with the reset may be partially lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0L);
+        }
+        totalCount.set(0L);
+        totalDuration.set(0L);
+        minDuration.set(Long.MAX_VALUE);
+        maxDuration.set(0L);
+    }
+
+    /**
+     * Lower the minimum duration to given value.
+     * @param value Duration in nanoseconds.
+     */
+    private void updateMin(long value) {
+        long min = minDuration.get();
+        while (value < min && !minDuration.compareAndSet(min, value)) {
+            min = minDuration.get();
+        }
+    }
+
+    /**
+     * Raise the maximum duration to given value.
+     * @param value Duration in nanoseconds.
+     */
+    private void updateMax(long value) {
+        long max = maxDuration.get();
+        while (value > max && !maxDuration.compareAndSet(max, value)) {
+            max = maxDuration.get();
+        }
+    }
+
+    /**
+     * Get index of bucket for given value.
+     * @param value Non-negative value.
+     * @return Bucket index.
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Get the highest value which is recorded into given bucket.
+     * @param index Bucket index.
+     * @return Bucket upper bound.
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long lowerBound = (1L << (shift + SUB_BUCKET_BITS)) | ((long) subBucket << shift);
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount()
+                + ", min=" + getMin()
+                + ", mean=" + (long) getMean()
+                + ", p50=" + getValueAtPercentile(50)
+                + ", p99=" + getValueAtPercentile(99)
+                + ", p999=" + getValueAtPercentile(99.9)
+                + ", max=" + getMax();
+    }
+
+}
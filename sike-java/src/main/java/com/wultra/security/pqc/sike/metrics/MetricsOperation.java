@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.metrics;
+
+/**
+ * Operations reported to SIKE metrics.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public enum MetricsOperation {
+
+    /**
+     * Key pair generation.
+     */
+    KEY_PAIR_GENERATION,
+
+    /**
+     * Derivation of a public key from a private key.
+     */
+    PUBLIC_KEY_DERIVATION,
+
+    /**
+     * SIDH shared secret generation.
+     */
+    SHARED_SECRET_GENERATION,
+
+    /**
+     * SIKE encapsulation.
+     */
+    ENCAPSULATION,
+
+    /**
+     * SIKE decapsulation.
+     */
+    DECAPSULATION,
+
+    /**
+     * SIKE message encryption.
+     */
+    ENCRYPTION,
+
+    /**
+     * SIKE message decryption.
+     */
+    DECRYPTION
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.metrics;
+
+/**
+ * Outcome of an operation reported to SIKE metrics.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public enum OperationOutcome {
+
+    /**
+     * Operation succeeded.
+     */
+    SUCCESS,
+
+    /**
+     * Operation failed with an exception.
+     */
+    FAILURE,
+
+    /**
+     * Decapsulation succeeded, however the ciphertext was rejected implicitly and a pseudo-random
+     * shared secret was derived.
+     */
+    IMPLICIT_REJECTION
+
+}
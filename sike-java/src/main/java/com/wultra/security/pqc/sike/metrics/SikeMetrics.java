@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.metrics;
+
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+/**
+ * Listener for metrics of SIKE and SIDH operations. Implementations must be thread-safe and should
+ * not block, the listener is called synchronously at the end of each operation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public interface SikeMetrics {
+
+    /**
+     * Metrics listener which ignores all operations.
+     */
+    SikeMetrics NO_OP = (operation, sikeParam, durationNanos, outcome) -> {
+    };
+
+    /**
+     * Record a finished operation.
+     * @param operation Operation type.
+     * @param sikeParam SIKE parameters.
+     * @param durationNanos Operation duration in nanoseconds.
+     * @param outcome Operation outcome.
+     */
+    void record(MetricsOperation operation, SikeParam sikeParam, long durationNanos, OperationOutcome outcome);
+
+}
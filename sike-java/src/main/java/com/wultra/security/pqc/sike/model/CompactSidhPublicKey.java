@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.model;
+
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.SideChannelUtil;
+
+import java.security.InvalidParameterException;
+import java.security.PublicKey;
+import java.util.Arrays;
+
+/**
+ * Compact SIDH or SIKE public key backed by its byte encoding. The key is decoded into F(p^2) elements
+ * only when it is used in a computation and the decoded form is not retained, which makes the key
+ * suitable for caching large numbers of public keys.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class CompactSidhPublicKey implements PublicKey {
+
+    private final SikeParam sikeParam;
+    private final byte[] encoded;
+
+    /**
+     * Compact public key constructor from byte array representation.
+     * @param sikeParam SIKE parameters.
+     * @param bytes The x coordinates of public points P, Q and R.
+     */
+    public CompactSidhPublicKey(SikeParam sikeParam, byte[] bytes) {
+        if (sikeParam == null) {
+            throw new InvalidParameterException("Invalid SIKE parameters");
+        }
+        int primeSize = (sikeParam.getPrime().bitLength() + 7) / 8;
+        if (bytes == null || bytes.length != 6 * primeSize) {
+            throw new IllegalStateException("Invalid public key");
+        }
+        this.sikeParam = sikeParam;
+        this.encoded = bytes.clone();
+    }
+
+    /**
+     * Compact public key constructor from a decoded public key.
+     * @param publicKey Public key.
+     */
+    public CompactSidhPublicKey(SidhPublicKey publicKey) {
+        if (publicKey == null) {
+            throw new InvalidParameterException("Invalid public key");
+        }
+        this.sikeParam = publicKey.getSikeParam();
+        this.encoded = publicKey.getEncoded();
+    }
+
+    /**
+     * Get SIKE parameters.
+     * @return SIKE parameters.
+     */
+    public SikeParam getSikeParam() {
+        return sikeParam;
+    }
+
+    /**
+     * Decode the public key into F(p^2) elements usable in computations.
+     * @return Decoded public key.
+     */
+    public SidhPublicKey decode() {
+        return new SidhPublicKey(sikeParam, encoded);
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return sikeParam.getName();
+    }
+
+    @Override
+    public String getFormat() {
+        // ASN.1 encoding is not supported
+        return null;
+    }
+
+    /**
+     * Get the public key encoded as bytes.
+     * @return Public key encoded as bytes.
+     */
+    @Override
+    public byte[] getEncoded() {
+        return encoded.clone();
+    }
+
+    /**
+     * Convert public key to octet string.
+     * @return Octet string.
+     */
+    public String toOctetString() {
+        return decode().toOctetString();
+    }
+
+    @Override
+    public String toString() {
+        return decode().toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompactSidhPublicKey that = (CompactSidhPublicKey) o;
+        // Use constant time comparison to avoid timing attacks
+        return sikeParam.equals(that.sikeParam)
+                && SideChannelUtil.constantTimeAreEqual(encoded, that.encoded);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * sikeParam.hashCode() + Arrays.hashCode(encoded);
+    }
+}
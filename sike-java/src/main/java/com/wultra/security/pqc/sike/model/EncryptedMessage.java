@@ -16,13 +16,14 @@
  */
 package com.wultra.security.pqc.sike.model;
 
+import com.wultra.security.pqc.sike.jfr.Phase;
+import com.wultra.security.pqc.sike.jfr.PhaseRecorder;
 import com.wultra.security.pqc.sike.param.SikeParam;
 import com.wultra.security.pqc.sike.util.SideChannelUtil;
 
 import java.security.InvalidParameterException;
 import java.security.PublicKey;
 import java.util.Arrays;
-import java.util.Objects;
 
 /**
  * SIKE encrypted message.
@@ -31,7 +32,12 @@ import java.util.Objects;
  */
 public class EncryptedMessage {
 
-    private final PublicKey c0;
+    // Encoded message view, set only when the message was created from its encoding
+    private final SikeParam sikeParam;
+    private final byte[] bytes;
+    private final int offset;
+
+    private volatile PublicKey c0;
     private final byte[] c1;
 
     /**
@@ -40,31 +46,71 @@ public class EncryptedMessage {
      * @param c1 Encrypted data.
      */
     public EncryptedMessage(PublicKey c0, byte[] c1) {
+        this.sikeParam = null;
+        this.bytes = null;
+        this.offset = 0;
         this.c0 = c0;
         this.c1 = c1;
     }
 
     /**
-     * SIKE encrypted message constructor from message encoded into byte array.
+     * SIKE encrypted message constructor from message encoded into byte array. The public key c0 is parsed
+     * lazily on first use.
      * @param sikeParam SIKE parameters.
      * @param bytes Encrypted message encoded into byte array.
      */
     public EncryptedMessage(SikeParam sikeParam, byte[] bytes) {
+        this(sikeParam, bytes == null ? null : bytes.clone(), 0, bytes == null ? -1 : bytes.length);
+    }
+
+    /**
+     * SIKE encrypted message constructor for a view of the encoded message in a byte array.
+     * @param sikeParam SIKE parameters.
+     * @param bytes Byte array containing the encoded message.
+     * @param offset Offset of the encoded message.
+     * @param length Length of the encoded message.
+     */
+    private EncryptedMessage(SikeParam sikeParam, byte[] bytes, int offset, int length) {
         if (sikeParam == null) {
             throw new InvalidParameterException("Invalid parameter sikeParam");
         }
-        int primeSize = (sikeParam.getPrime().bitLength() + 7) / 8;
-        int pubKeySize = primeSize * 6;
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.MESSAGE_DECODING, sikeParam);
+        int pubKeySize = getPublicKeySize(sikeParam);
         int messageSize = sikeParam.getMessageBytes();
         int expectedSize = pubKeySize + messageSize;
-        if (bytes == null || bytes.length != expectedSize) {
+        if (bytes == null || length != expectedSize || offset < 0 || offset > bytes.length - expectedSize) {
             throw new InvalidParameterException("Invalid parameter bytes");
         }
-        byte[] pubKeyBytes = new byte[pubKeySize];
-        System.arraycopy(bytes, 0, pubKeyBytes, 0, pubKeySize);
-        this.c0 = new SidhPublicKey(sikeParam, pubKeyBytes);
-        this.c1 = new byte[messageSize];
-        System.arraycopy(bytes, pubKeySize, this.c1, 0, messageSize);
+        this.sikeParam = sikeParam;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.c1 = Arrays.copyOfRange(bytes, offset + pubKeySize, offset + expectedSize);
+        PhaseRecorder.end(scope);
+    }
+
+    /**
+     * Create an encrypted message as a view of the encoded message in a byte array, without copying
+     * the public key c0. The byte array must not be modified while the encrypted message is in use.
+     * @param sikeParam SIKE parameters.
+     * @param bytes Byte array containing the encoded message.
+     * @param offset Offset of the encoded message.
+     * @return Encrypted message.
+     */
+    public static EncryptedMessage wrap(SikeParam sikeParam, byte[] bytes, int offset) {
+        if (sikeParam == null) {
+            throw new InvalidParameterException("Invalid parameter sikeParam");
+        }
+        return new EncryptedMessage(sikeParam, bytes, offset, getPublicKeySize(sikeParam) + sikeParam.getMessageBytes());
+    }
+
+    /**
+     * Get size of encoded public key.
+     * @param sikeParam SIKE parameters.
+     * @return Size of encoded public key.
+     */
+    private static int getPublicKeySize(SikeParam sikeParam) {
+        int primeSize = (sikeParam.getPrime().bitLength() + 7) / 8;
+        return primeSize * 6;
     }
 
     /**
@@ -72,9 +118,26 @@ public class EncryptedMessage {
      * @return Encrypted message encoded into byte array.
      */
     public byte[] getEncoded() {
+        if (bytes != null) {
+            return Arrays.copyOfRange(bytes, offset, offset + getPublicKeySize(sikeParam) + c1.length);
+        }
         if (c0 == null || c1 == null) {
             return null;
         }
+        if (!(c0 instanceof SidhPublicKey)) {
+            return encode();
+        }
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.MESSAGE_ENCODING, ((SidhPublicKey) c0).getSikeParam());
+        byte[] result = encode();
+        PhaseRecorder.end(scope);
+        return result;
+    }
+
+    /**
+     * Encode the encrypted message into byte array.
+     * @return Encrypted message encoded into byte array.
+     */
+    private byte[] encode() {
         byte[] pubKey = c0.getEncoded();
         byte[] encoded = new byte[pubKey.length + c1.length];
         System.arraycopy(pubKey, 0, encoded, 0, pubKey.length);
@@ -83,11 +146,29 @@ public class EncryptedMessage {
     }
 
     /**
-     * Get Alice's public key.
+     * Get Alice's public key. A message created from its encoding parses the public key on first call.
      * @return Public key.
      */
     public PublicKey getC0() {
-        return c0;
+        PublicKey localC0 = c0;
+        if (localC0 == null && bytes != null) {
+            // Parsing is idempotent, concurrent callers may parse the key more than once
+            localC0 = new SidhPublicKey(sikeParam, bytes, offset);
+            c0 = localC0;
+        }
+        return localC0;
+    }
+
+    /**
+     * Get Alice's public key encoded as bytes. A message created from its encoding returns the received
+     * encoding without parsing the public key.
+     * @return Public key encoded as bytes.
+     */
+    public byte[] getC0Encoded() {
+        if (bytes != null) {
+            return Arrays.copyOfRange(bytes, offset, offset + getPublicKeySize(sikeParam));
+        }
+        return c0 == null ? null : c0.getEncoded();
     }
 
     /**
@@ -109,6 +190,6 @@ public class EncryptedMessage {
 
     @Override
     public int hashCode() {
-        return Objects.hash(c0, Arrays.hashCode(c1));
+        return Arrays.hashCode(getEncoded());
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.model;
+
+/**
+ * Hybrid SIKE and X25519 encapsulation result.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class HybridEncapsulationResult {
+
+    private final byte[] secret;
+    private final HybridEncryptedMessage encryptedMessage;
+
+    /**
+     * Hybrid encapsulation result constructor.
+     * @param secret Combined shared secret.
+     * @param encryptedMessage Encrypted message to be sent to Bob.
+     */
+    public HybridEncapsulationResult(byte[] secret, HybridEncryptedMessage encryptedMessage) {
+        this.secret = secret;
+        this.encryptedMessage = encryptedMessage;
+    }
+
+    /**
+     * Get the combined shared secret.
+     * @return Combined shared secret.
+     */
+    public byte[] getSecret() {
+        return secret;
+    }
+
+    /**
+     * Get the encrypted message.
+     * @return Encrypted message.
+     */
+    public HybridEncryptedMessage getEncryptedMessage() {
+        return encryptedMessage;
+    }
+
+}
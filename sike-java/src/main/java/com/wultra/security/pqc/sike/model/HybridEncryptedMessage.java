@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.model;
+
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.util.SideChannelUtil;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * Encrypted message of hybrid SIKE and X25519 key encapsulation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class HybridEncryptedMessage {
+
+    private final EncryptedMessage sikeMessage;
+    private final byte[] x25519PublicKey;
+
+    /**
+     * Hybrid encrypted message constructor.
+     * @param sikeMessage SIKE encrypted message.
+     * @param x25519PublicKey Ephemeral X25519 public key.
+     */
+    public HybridEncryptedMessage(EncryptedMessage sikeMessage, byte[] x25519PublicKey) {
+        if (sikeMessage == null) {
+            throw new InvalidParameterException("Invalid SIKE encrypted message");
+        }
+        if (x25519PublicKey == null || x25519PublicKey.length != HybridPublicKey.X25519_KEY_SIZE) {
+            throw new InvalidParameterException("Invalid X25519 public key");
+        }
+        this.sikeMessage = sikeMessage;
+        this.x25519PublicKey = x25519PublicKey.clone();
+    }
+
+    /**
+     * Hybrid encrypted message constructor from message encoded into byte array.
+     * @param sikeParam SIKE parameters.
+     * @param bytes Encrypted message encoded into byte array.
+     */
+    public HybridEncryptedMessage(SikeParam sikeParam, byte[] bytes) {
+        if (bytes == null || bytes.length <= HybridPublicKey.X25519_KEY_SIZE) {
+            throw new InvalidParameterException("Invalid parameter bytes");
+        }
+        int sikeLength = bytes.length - HybridPublicKey.X25519_KEY_SIZE;
+        this.sikeMessage = new EncryptedMessage(sikeParam, Arrays.copyOf(bytes, sikeLength));
+        this.x25519PublicKey = Arrays.copyOfRange(bytes, sikeLength, bytes.length);
+    }
+
+    /**
+     * Get SIKE encrypted message.
+     * @return SIKE encrypted message.
+     */
+    public EncryptedMessage getSikeMessage() {
+        return sikeMessage;
+    }
+
+    /**
+     * Get ephemeral X25519 public key.
+     * @return Ephemeral X25519 public key.
+     */
+    public byte[] getX25519PublicKey() {
+        return x25519PublicKey.clone();
+    }
+
+    /**
+     * Get encrypted message encoded into byte array, the SIKE encrypted message is followed by the ephemeral
+     * X25519 public key.
+     * @return Encrypted message encoded into byte array.
+     */
+    public byte[] getEncoded() {
+        byte[] sikeEncoded = sikeMessage.getEncoded();
+        byte[] encoded = new byte[sikeEncoded.length + x25519PublicKey.length];
+        System.arraycopy(sikeEncoded, 0, encoded, 0, sikeEncoded.length);
+        System.arraycopy(x25519PublicKey, 0, encoded, sikeEncoded.length, x25519PublicKey.length);
+        return encoded;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HybridEncryptedMessage that = (HybridEncryptedMessage) o;
+        // Use constant time comparison to avoid timing attacks
+        return SideChannelUtil.constantTimeAreEqual(getEncoded(), that.getEncoded());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(getEncoded());
+    }
+}
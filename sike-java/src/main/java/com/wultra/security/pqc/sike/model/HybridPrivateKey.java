@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.model;
+
+import com.wultra.security.pqc.sike.util.SideChannelUtil;
+
+import javax.security.auth.DestroyFailedException;
+import java.security.InvalidParameterException;
+import java.security.PrivateKey;
+import java.util.Arrays;
+
+/**
+ * Private key for hybrid SIKE and X25519 key encapsulation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class HybridPrivateKey implements PrivateKey {
+
+    /**
+     * Length of X25519 private key in bytes.
+     */
+    public static final int X25519_KEY_SIZE = 32;
+
+    private final PrivateKey sikePrivateKey;
+    private final byte[] x25519PrivateKey;
+    private boolean destroyed;
+
+    /**
+     * Hybrid private key constructor.
+     * @param sikePrivateKey SIKE private key.
+     * @param x25519PrivateKey X25519 private key.
+     */
+    public HybridPrivateKey(PrivateKey sikePrivateKey, byte[] x25519PrivateKey) {
+        if (sikePrivateKey == null) {
+            throw new InvalidParameterException("Invalid SIKE private key");
+        }
+        if (x25519PrivateKey == null || x25519PrivateKey.length != X25519_KEY_SIZE) {
+            throw new InvalidParameterException("Invalid X25519 private key");
+        }
+        this.sikePrivateKey = sikePrivateKey;
+        this.x25519PrivateKey = x25519PrivateKey.clone();
+    }
+
+    /**
+     * Get SIKE private key.
+     * @return SIKE private key.
+     */
+    public PrivateKey getSikePrivateKey() {
+        return sikePrivateKey;
+    }
+
+    /**
+     * Get X25519 private key.
+     * @return X25519 private key.
+     */
+    public byte[] getX25519PrivateKey() {
+        return x25519PrivateKey.clone();
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return sikePrivateKey.getAlgorithm() + "-X25519";
+    }
+
+    @Override
+    public String getFormat() {
+        // ASN.1 encoding is not supported
+        return null;
+    }
+
+    /**
+     * Get the private key encoded as bytes, the SIKE private key is followed by the X25519 private key.
+     * @return Private key encoded as bytes.
+     */
+    @Override
+    public byte[] getEncoded() {
+        byte[] sikeEncoded = sikePrivateKey.getEncoded();
+        byte[] encoded = new byte[sikeEncoded.length + X25519_KEY_SIZE];
+        System.arraycopy(sikeEncoded, 0, encoded, 0, sikeEncoded.length);
+        System.arraycopy(x25519PrivateKey, 0, encoded, sikeEncoded.length, X25519_KEY_SIZE);
+        return encoded;
+    }
+
+    /**
+     * Destroy the private key by overwriting the key material with zeros.
+     * @throws DestroyFailedException Thrown in case the SIKE private key cannot be destroyed.
+     */
+    @Override
+    public void destroy() throws DestroyFailedException {
+        Arrays.fill(x25519PrivateKey, (byte) 0);
+        sikePrivateKey.destroy();
+        destroyed = true;
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HybridPrivateKey that = (HybridPrivateKey) o;
+        // Use constant time comparison to avoid timing attacks
+        return SideChannelUtil.constantTimeAreEqual(getEncoded(), that.getEncoded());
+    }
+
+    @Override
+    public int hashCode() {
+        return sikePrivateKey.hashCode();
+    }
+}
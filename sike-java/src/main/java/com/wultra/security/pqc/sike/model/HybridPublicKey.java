@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.model;
+
+import com.wultra.security.pqc.sike.util.SideChannelUtil;
+
+import java.security.InvalidParameterException;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Public key for hybrid SIKE and X25519 key encapsulation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class HybridPublicKey implements PublicKey {
+
+    /**
+     * Length of X25519 public key in bytes.
+     */
+    public static final int X25519_KEY_SIZE = 32;
+
+    private final PublicKey sikePublicKey;
+    private final byte[] x25519PublicKey;
+
+    /**
+     * Hybrid public key constructor.
+     * @param sikePublicKey SIKE public key.
+     * @param x25519PublicKey X25519 public key.
+     */
+    public HybridPublicKey(PublicKey sikePublicKey, byte[] x25519PublicKey) {
+        if (sikePublicKey == null) {
+            throw new InvalidParameterException("Invalid SIKE public key");
+        }
+        if (x25519PublicKey == null || x25519PublicKey.length != X25519_KEY_SIZE) {
+            throw new InvalidParameterException("Invalid X25519 public key");
+        }
+        this.sikePublicKey = sikePublicKey;
+        this.x25519PublicKey = x25519PublicKey.clone();
+    }
+
+    /**
+     * Get SIKE public key.
+     * @return SIKE public key.
+     */
+    public PublicKey getSikePublicKey() {
+        return sikePublicKey;
+    }
+
+    /**
+     * Get X25519 public key.
+     * @return X25519 public key.
+     */
+    public byte[] getX25519PublicKey() {
+        return x25519PublicKey.clone();
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return sikePublicKey.getAlgorithm() + "-X25519";
+    }
+
+    @Override
+    public String getFormat() {
+        // ASN.1 encoding is not supported
+        return null;
+    }
+
+    /**
+     * Get the public key encoded as bytes, the SIKE public key is followed by the X25519 public key.
+     * @return Public key encoded as bytes.
+     */
+    @Override
+    public byte[] getEncoded() {
+        byte[] sikeEncoded = sikePublicKey.getEncoded();
+        byte[] encoded = new byte[sikeEncoded.length + X25519_KEY_SIZE];
+        System.arraycopy(sikeEncoded, 0, encoded, 0, sikeEncoded.length);
+        System.arraycopy(x25519PublicKey, 0, encoded, sikeEncoded.length, X25519_KEY_SIZE);
+        return encoded;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HybridPublicKey that = (HybridPublicKey) o;
+        // Use constant time comparison to avoid timing attacks
+        return SideChannelUtil.constantTimeAreEqual(getEncoded(), that.getEncoded());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sikePublicKey, Arrays.hashCode(x25519PublicKey));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.model;
+
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of SIDH key exchange with multiple recipients using a single ephemeral key pair.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class MultiRecipientResult {
+
+    private final PublicKey ephemeralPublicKey;
+    private final List<Fp2Element> sharedSecrets;
+
+    /**
+     * Multi-recipient result constructor.
+     * @param ephemeralPublicKey Ephemeral public key to be sent to recipients.
+     * @param sharedSecrets Shared secrets in the order of recipients.
+     */
+    public MultiRecipientResult(PublicKey ephemeralPublicKey, List<Fp2Element> sharedSecrets) {
+        this.ephemeralPublicKey = ephemeralPublicKey;
+        this.sharedSecrets = Collections.unmodifiableList(sharedSecrets);
+    }
+
+    /**
+     * Get the ephemeral public key.
+     * @return Ephemeral public key.
+     */
+    public PublicKey getEphemeralPublicKey() {
+        return ephemeralPublicKey;
+    }
+
+    /**
+     * Get shared secrets in the order of recipients.
+     * @return Shared secret isogeny j-invariants.
+     */
+    public List<Fp2Element> getSharedSecrets() {
+        return sharedSecrets;
+    }
+
+    /**
+     * Get shared secret for a recipient.
+     * @param index Recipient index.
+     * @return Shared secret isogeny j-invariant.
+     */
+    public Fp2Element getSharedSecret(int index) {
+        return sharedSecrets.get(index);
+    }
+
+}
@@ -40,6 +40,7 @@ public class SidhPrivateKey implements PrivateKey {
     private final Party party;
     private final byte[] key;
     private final byte[] s;
+    private volatile boolean destroyed;
 
     /**
      * Construct private key from a number.
@@ -118,6 +119,20 @@ public class SidhPrivateKey implements PrivateKey {
         System.arraycopy(s, 0, this.s, 0, s.length);
     }
 
+    /**
+     * Construct a copy of a validated private key, the copy can be destroyed independently of the original key.
+     * @param privateKey Private key to copy.
+     */
+    public SidhPrivateKey(SidhPrivateKey privateKey) {
+        if (privateKey == null || privateKey.isDestroyed()) {
+            throw new InvalidParameterException("Invalid private key");
+        }
+        this.sikeParam = privateKey.sikeParam;
+        this.party = privateKey.party;
+        this.key = privateKey.key.clone();
+        this.s = privateKey.s.clone();
+    }
+
     /**
      * Validate the BigInteger value representing the private key.
      * @param secret BigInteger value representing the private key.
@@ -154,6 +169,14 @@ public class SidhPrivateKey implements PrivateKey {
         }
     }
 
+    /**
+     * Get the party of the private key.
+     * @return Alice or Bob.
+     */
+    public Party getParty() {
+        return party;
+    }
+
     /**
      * Get the private key as byte array.
      * @return Private key as byte array.
@@ -222,6 +245,21 @@ public class SidhPrivateKey implements PrivateKey {
         return prefix + OctetEncoding.toOctetString(key, length);
     }
 
+    /**
+     * Destroy the private key by overwriting the key material with zeros.
+     */
+    @Override
+    public void destroy() {
+        Arrays.fill(key, (byte) 0);
+        Arrays.fill(s, (byte) 0);
+        destroyed = true;
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
     @Override
     public String toString() {
         return getM().toString();
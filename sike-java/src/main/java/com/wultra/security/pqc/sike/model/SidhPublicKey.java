@@ -16,11 +16,12 @@
  */
 package com.wultra.security.pqc.sike.model;
 
+import com.wultra.security.pqc.sike.jfr.Phase;
+import com.wultra.security.pqc.sike.jfr.PhaseRecorder;
 import com.wultra.security.pqc.sike.math.api.Fp2Element;
 import com.wultra.security.pqc.sike.param.SikeParam;
 import com.wultra.security.pqc.sike.util.ByteEncoding;
 import com.wultra.security.pqc.sike.util.OctetEncoding;
-import org.bouncycastle.util.Arrays;
 
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
@@ -60,21 +61,44 @@ public class SidhPublicKey implements PublicKey {
      * @param bytes The x coordinates of public points P, Q and R.
      */
     public SidhPublicKey(SikeParam sikeParam, byte[] bytes) {
+        this(sikeParam, bytes, 0, bytes == null ? -1 : bytes.length);
+    }
+
+    /**
+     * Public key constructor from byte array representation stored at given offset of a byte array.
+     * @param sikeParam SIKE parameters.
+     * @param bytes Byte array containing the x coordinates of public points P, Q and R.
+     * @param offset Offset of the public key.
+     */
+    SidhPublicKey(SikeParam sikeParam, byte[] bytes, int offset) {
+        this(sikeParam, bytes, offset, 6 * ((sikeParam.getPrime().bitLength() + 7) / 8));
+    }
+
+    /**
+     * Public key constructor from byte array representation stored at given offset of a byte array.
+     * @param sikeParam SIKE parameters.
+     * @param bytes Byte array containing the x coordinates of public points P, Q and R.
+     * @param offset Offset of the public key.
+     * @param length Length of the public key.
+     */
+    private SidhPublicKey(SikeParam sikeParam, byte[] bytes, int offset, int length) {
         this.sikeParam = sikeParam;
         BigInteger prime = sikeParam.getPrime();
         int primeSize = (prime.bitLength() + 7) / 8;
-        if (bytes == null || bytes.length != 6 * primeSize) {
+        if (bytes == null || length != 6 * primeSize || offset < 0 || offset > bytes.length - length) {
             throw new IllegalStateException("Invalid public key");
         }
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.PUBLIC_KEY_DECODING, sikeParam);
         BigInteger[] keyParts = new BigInteger[6];
         for (int i = 0; i < 6; i++) {
             byte[] keyBytes = new byte[primeSize];
-            System.arraycopy(bytes, i * primeSize, keyBytes, 0, keyBytes.length);
+            System.arraycopy(bytes, offset + i * primeSize, keyBytes, 0, keyBytes.length);
             keyParts[i] = ByteEncoding.fromByteArray(keyBytes);
         }
         this.px = sikeParam.getFp2ElementFactory().generate(keyParts[0], keyParts[1]);
         this.qx = sikeParam.getFp2ElementFactory().generate(keyParts[2], keyParts[3]);
         this.rx = sikeParam.getFp2ElementFactory().generate(keyParts[4], keyParts[5]);
+        PhaseRecorder.end(scope);
     }
 
     /**
@@ -101,6 +125,14 @@ public class SidhPublicKey implements PublicKey {
         this.rx = sikeParam.getFp2ElementFactory().generate(keyParts[4], keyParts[5]);
     }
 
+    /**
+     * Get SIKE parameters.
+     * @return SIKE parameters.
+     */
+    public SikeParam getSikeParam() {
+        return sikeParam;
+    }
+
     /**
      * Get the x coordinate of public point P.
      * @return The x coordinate of public point P.
@@ -142,6 +174,7 @@ public class SidhPublicKey implements PublicKey {
      */
     @Override
     public byte[] getEncoded() {
+        PhaseRecorder.Scope scope = PhaseRecorder.begin(Phase.PUBLIC_KEY_ENCODING, sikeParam);
         byte[] pxEncoded = px.getEncoded();
         byte[] qxEncoded = qx.getEncoded();
         byte[] rxEncoded = rx.getEncoded();
@@ -149,6 +182,7 @@ public class SidhPublicKey implements PublicKey {
         System.arraycopy(pxEncoded, 0, encoded, 0, pxEncoded.length);
         System.arraycopy(qxEncoded, 0, encoded, pxEncoded.length, qxEncoded.length);
         System.arraycopy(rxEncoded, 0, encoded, pxEncoded.length + qxEncoded.length, rxEncoded.length);
+        PhaseRecorder.end(scope);
         return encoded;
     }
 
@@ -170,9 +204,9 @@ public class SidhPublicKey implements PublicKey {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         SidhPublicKey that = (SidhPublicKey) o;
-        // Use constant time comparison to avoid timing attacks
+        // Element comparison runs in constant time, all coordinates are always compared
         return sikeParam.equals(that.sikeParam)
-                && Arrays.constantTimeAreEqual(getEncoded(), that.getEncoded());
+                && (px.equals(that.px) & qx.equals(that.qx) & rx.equals(that.rx));
     }
 
     @Override
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.param;
+
+/**
+ * Strategy for traversal of an isogeny tree together with the tree dimensions it was validated for.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+final class IsogenyStrategy {
+
+    private final int treeRows;
+    private final int treePoints;
+    private final int[] strategy;
+
+    /**
+     * Constructor of a built-in strategy, the strategy is not validated.
+     * @param treeRows Number of rows in the isogeny tree.
+     * @param treePoints Maximum number of points stored during tree traversal.
+     * @param strategy Strategy.
+     */
+    IsogenyStrategy(int treeRows, int treePoints, int[] strategy) {
+        this.treeRows = treeRows;
+        this.treePoints = treePoints;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Validate a custom strategy for the tree of a built-in strategy and compute its tree points.
+     * @param strategy Custom strategy.
+     * @param builtIn Built-in strategy for the same isogeny tree.
+     * @return Validated copy of the custom strategy.
+     */
+    static IsogenyStrategy custom(int[] strategy, IsogenyStrategy builtIn) {
+        int treePoints = StrategyGenerator.getTreePoints(strategy, builtIn.treeRows);
+        return new IsogenyStrategy(builtIn.treeRows, treePoints, strategy.clone());
+    }
+
+    /**
+     * Get number of rows in the isogeny tree.
+     * @return Number of rows in the isogeny tree.
+     */
+    int getTreeRows() {
+        return treeRows;
+    }
+
+    /**
+     * Get maximum number of points stored during tree traversal.
+     * @return Maximum number of stored points.
+     */
+    int getTreePoints() {
+        return treePoints;
+    }
+
+    /**
+     * Get the strategy.
+     * @return Strategy.
+     */
+    int[] getStrategy() {
+        return strategy;
+    }
+
+}
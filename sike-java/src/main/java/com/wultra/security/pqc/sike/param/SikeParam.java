@@ -198,13 +198,15 @@ public interface SikeParam {
     int getTreePointsB();
 
     /**
-     * Get optimization strategy for tree computations in the 2-isogeny graph.
+     * Get optimization strategy for tree computations in the 2-isogeny graph. The returned array is shared
+     * by all users of the parameters and must not be modified.
      * @return Optimization strategy for tree computations in the 2-isogeny graph.
      */
     int[] getStrategyA();
 
     /**
-     * Get optimization strategy for tree computations in the 3-isogeny graph.
+     * Get optimization strategy for tree computations in the 3-isogeny graph. The returned array is shared
+     * by all users of the parameters and must not be modified.
      * @return Optimization strategy for tree computations in the 3-isogeny graph.
      */
     int[] getStrategyB();
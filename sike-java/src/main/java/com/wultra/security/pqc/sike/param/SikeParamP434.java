@@ -42,6 +42,34 @@ import java.util.Objects;
  */
 public class SikeParamP434 implements SikeParam {
 
+    // Constants shared by all instances, parsed once when the class is loaded
+    private static final BigInteger PRIME = new BigInteger("2341F271773446CFC5FD681C520567BC65C783158AEA3FDC1767AE2FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF", 16);
+    private static final BigInteger ORD_A = new BigInteger("105312291668557186697918027683670432318895095400549111254310977536");
+    private static final BigInteger ORD_B = new BigInteger("232066203043628532565045340531182604896544238770765380550355483363");
+
+    // Curve coefficient A and public points in standard representation used by the reference implementation
+    private static final BigInteger REF_A = BigInteger.valueOf(6);
+    private static final BigInteger REF_PA_X0 = new BigInteger("3CCFC5E1F050030363E6920A0F7A4C6C71E63DE63A0E6475AF621995705F7C84500CB2BB61E950E19EAB8661D25C4A50ED279646CB48", 16);
+    private static final BigInteger REF_PA_X1 = new BigInteger("1AD1C1CAE7840EDDA6D8A924520F60E573D3B9DFAC6D189941CB22326D284A8816CC4249410FE80D68047D823C97D705246F869E3EA50", 16);
+    private static final BigInteger REF_PA_Y0 = new BigInteger("1AB066B84949582E3F66688452B9255E72A017C45B148D719D9A63CDB7BE6F48C812E33B68161D5AB3A0A36906F04A6A6957E6F4FB2E0", 16);
+    private static final BigInteger REF_PA_Y1 = new BigInteger("FD87F67EA576CE97FF65BF9F4F7688C4C752DCE9F8BD2B36AD66E04249AAF8337C01E6E4E1A844267BA1A1887B433729E1DD90C7DD2F", 16);
+    private static final BigInteger REF_QA_X0 = new BigInteger("C7461738340EFCF09CE388F666EB38F7F3AFD42DC0B664D9F461F31AA2EDC6B4AB71BD42F4D7C058E13F64B237EF7DDD2ABC0DEB0C6C", 16);
+    private static final BigInteger REF_QA_X1 = new BigInteger("25DE37157F50D75D320DD0682AB4A67E471586FBC2D31AA32E6957FA2B2614C4CD40A1E27283EAAF4272AE517847197432E2D61C85F5", 16);
+    private static final BigInteger REF_QA_Y0 = new BigInteger("1D407B70B01E4AEE172EDF491F4EF32144F03F5E054CEF9FDE5A35EFA3642A11817905ED0D4F193F31124264924A5F64EFE14B6EC97E5", 16);
+    private static final BigInteger REF_QA_Y1 = new BigInteger("E7DEC8C32F50A4E735A839DCDB89FE0763A184C525F7B7D0EBC0E84E9D83E9AC53A572A25D19E1464B509D97272AE761657B4765B3D6", 16);
+    private static final BigInteger REF_RA_X0 = new BigInteger("F37AB34BA0CEAD94F43CDC50DE06AD19C67CE4928346E829CB92580DA84D7C36506A2516696BBE3AEB523AD7172A6D239513C5FD2516", 16);
+    private static final BigInteger REF_RA_X1 = new BigInteger("196CA2ED06A657E90A73543F3902C208F410895B49CF84CD89BE9ED6E4EE7E8DF90B05F3FDB8BDFE489D1B3558E987013F9806036C5AC", 16);
+    private static final BigInteger REF_PB_X0 = new BigInteger("8664865EA7D816F03B31E223C26D406A2C6CD0C3D667466056AAE85895EC37368BFC009DFAFCB3D97E639F65E9E45F46573B0637B7A9", 16);
+    private static final BigInteger REF_PB_Y0 = new BigInteger("6AE515593E73976091978DFBD70BDA0DD6BCAEEBFDD4FB1E748DDD9ED3FDCF679726C67A3B2CC12B39805B32B612E058A4280764443B", 16);
+    private static final BigInteger REF_QB_X0 = new BigInteger("12E84D7652558E694BF84C1FBDAAF99B83B4266C32EC65B10457BCAF94C63EB063681E8B1E7398C0B241C19B9665FDB9E1406DA3D3846", 16);
+    private static final BigInteger REF_QB_Y1 = new BigInteger("EBAAA6C731271673BEECE467FD5ED9CC29AB564BDED7BDEAA86DD1E0FDDF399EDCC9B49C829EF53C7D7A35C3A0745D73C424FB4A5FD2", 16);
+    private static final BigInteger REF_RB_X0 = new BigInteger("1CD28597256D4FFE7E002E87870752A8F8A64A1CC78B5A2122074783F51B4FDE90E89C48ED91A8F4A0CCBACBFA7F51A89CE518A52B76C", 16);
+    private static final BigInteger REF_RB_X1 = new BigInteger("147073290D78DD0CC8420B1188187D1A49DBFA24F26AAD46B2D9BB547DBB6F63A760ECB0C2B20BE52FB77BD2776C3D14BCBC404736AE4", 16);
+
+    // Built-in isogeny strategies
+    private static final IsogenyStrategy STRATEGY_A = new IsogenyStrategy(108, 7, new int[]{48, 28, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 13, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 4, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1});
+    private static final IsogenyStrategy STRATEGY_B = new IsogenyStrategy(137, 8, new int[]{66, 33, 17, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 32, 16, 8, 4, 3, 1, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1});
+
     private final ImplementationType implementationType;
     private final Fp2ElementFactory fp2ElementFactory;
     private final Montgomery montgomery;
@@ -73,19 +101,38 @@ public class SikeParamP434 implements SikeParam {
     private int messageBytes;
 
     // Configuration of isogeny computation optimizations
-    private int treeRowsA;
-    private int treeRowsB;
-    private int treePointsA;
-    private int treePointsB;
-    private int[] strategyA;
-    private int[] strategyB;
+    private final IsogenyStrategy strategyA;
+    private final IsogenyStrategy strategyB;
 
     /**
      * Constructor of SIKE parameters.
      * @param implementationType Implementation type.
      */
     public SikeParamP434(ImplementationType implementationType) {
+        this(implementationType, STRATEGY_A, STRATEGY_B);
+    }
+
+    /**
+     * Constructor of SIKE parameters with custom isogeny strategies.
+     * @param implementationType Implementation type.
+     * @param strategyA Optimization strategy for tree computations in the 2-isogeny graph.
+     * @param strategyB Optimization strategy for tree computations in the 3-isogeny graph.
+     * @see StrategyGenerator
+     */
+    public SikeParamP434(ImplementationType implementationType, int[] strategyA, int[] strategyB) {
+        this(implementationType, IsogenyStrategy.custom(strategyA, STRATEGY_A), IsogenyStrategy.custom(strategyB, STRATEGY_B));
+    }
+
+    /**
+     * Constructor of SIKE parameters with validated isogeny strategies.
+     * @param implementationType Implementation type.
+     * @param strategyA Strategy for tree computations in the 2-isogeny graph.
+     * @param strategyB Strategy for tree computations in the 3-isogeny graph.
+     */
+    private SikeParamP434(ImplementationType implementationType, IsogenyStrategy strategyA, IsogenyStrategy strategyB) {
         this.implementationType = implementationType;
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
         if (implementationType == ImplementationType.REFERENCE) {
             fp2ElementFactory = new Fp2ElementFactoryRef(this);
             montgomery = new MontgomeryAffine();
@@ -222,32 +269,32 @@ public class SikeParamP434 implements SikeParam {
 
     @Override
     public int getTreeRowsA() {
-        return treeRowsA;
+        return strategyA.getTreeRows();
     }
 
     @Override
     public int getTreeRowsB() {
-        return treeRowsB;
+        return strategyB.getTreeRows();
     }
 
     @Override
     public int getTreePointsA() {
-        return treePointsA;
+        return strategyA.getTreePoints();
     }
 
     @Override
     public int getTreePointsB() {
-        return treePointsB;
+        return strategyB.getTreePoints();
     }
 
     @Override
     public int[] getStrategyA() {
-        return strategyA;
+        return strategyA.getStrategy();
     }
 
     @Override
     public int[] getStrategyB() {
-        return strategyB;
+        return strategyB.getStrategy();
     }
 
     @Override
@@ -339,52 +386,65 @@ public class SikeParamP434 implements SikeParam {
         // EA = 216, EB = 137
         int FIELD_PRIME_PARAM_EA = 216;
         int FIELD_PRIME_PARAM_EB = 137;
-        this.prime = new BigInteger("2341F271773446CFC5FD681C520567BC65C783158AEA3FDC1767AE2FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF", 16);
+        this.prime = PRIME;
 
         // A = 6, B = 1
-        Fp2Element PUBLIC_PARAM_ELEMENT_A = fp2ElementFactory.generate(new BigInteger("6"));
+        Fp2Element PUBLIC_PARAM_ELEMENT_A;
         Fp2Element PUBLIC_PARAM_ELEMENT_B = fp2ElementFactory.one();
 
         Fp2Point PUBLIC_POINT_PA, PUBLIC_POINT_QA, PUBLIC_POINT_RA;
         Fp2Point PUBLIC_POINT_PB, PUBLIC_POINT_QB, PUBLIC_POINT_RB;
 
         if (implementationType == ImplementationType.REFERENCE) {
+            PUBLIC_PARAM_ELEMENT_A = new Fp2ElementRef(this, new FpElementRef(this, REF_A), new FpElementRef(this, BigInteger.ZERO));
+
             // Public points PA and QA
-            FpElement PUBLIC_POINT_PA_X0 = new FpElementRef(this, new BigInteger("3CCFC5E1F050030363E6920A0F7A4C6C71E63DE63A0E6475AF621995705F7C84500CB2BB61E950E19EAB8661D25C4A50ED279646CB48", 16));
-            FpElement PUBLIC_POINT_PA_X1 = new FpElementRef(this, new BigInteger("1AD1C1CAE7840EDDA6D8A924520F60E573D3B9DFAC6D189941CB22326D284A8816CC4249410FE80D68047D823C97D705246F869E3EA50", 16));
-            FpElement PUBLIC_POINT_PA_Y0 = new FpElementRef(this, new BigInteger("1AB066B84949582E3F66688452B9255E72A017C45B148D719D9A63CDB7BE6F48C812E33B68161D5AB3A0A36906F04A6A6957E6F4FB2E0", 16));
-            FpElement PUBLIC_POINT_PA_Y1 = new FpElementRef(this, new BigInteger("FD87F67EA576CE97FF65BF9F4F7688C4C752DCE9F8BD2B36AD66E04249AAF8337C01E6E4E1A844267BA1A1887B433729E1DD90C7DD2F", 16));
-            FpElement PUBLIC_POINT_QA_X0 = new FpElementRef(this, new BigInteger("C7461738340EFCF09CE388F666EB38F7F3AFD42DC0B664D9F461F31AA2EDC6B4AB71BD42F4D7C058E13F64B237EF7DDD2ABC0DEB0C6C", 16));
-            FpElement PUBLIC_POINT_QA_X1 = new FpElementRef(this, new BigInteger("25DE37157F50D75D320DD0682AB4A67E471586FBC2D31AA32E6957FA2B2614C4CD40A1E27283EAAF4272AE517847197432E2D61C85F5", 16));
-            FpElement PUBLIC_POINT_QA_Y0 = new FpElementRef(this, new BigInteger("1D407B70B01E4AEE172EDF491F4EF32144F03F5E054CEF9FDE5A35EFA3642A11817905ED0D4F193F31124264924A5F64EFE14B6EC97E5", 16));
-            FpElement PUBLIC_POINT_QA_Y1 = new FpElementRef(this, new BigInteger("E7DEC8C32F50A4E735A839DCDB89FE0763A184C525F7B7D0EBC0E84E9D83E9AC53A572A25D19E1464B509D97272AE761657B4765B3D6", 16));
-            FpElement PUBLIC_POINT_RA_X0 = new FpElementRef(this, new BigInteger("F37AB34BA0CEAD94F43CDC50DE06AD19C67CE4928346E829CB92580DA84D7C36506A2516696BBE3AEB523AD7172A6D239513C5FD2516", 16));
-            FpElement PUBLIC_POINT_RA_X1 = new FpElementRef(this, new BigInteger("196CA2ED06A657E90A73543F3902C208F410895B49CF84CD89BE9ED6E4EE7E8DF90B05F3FDB8BDFE489D1B3558E987013F9806036C5AC", 16));
+            FpElement PUBLIC_POINT_PA_X0 = new FpElementRef(this, REF_PA_X0);
+            FpElement PUBLIC_POINT_PA_X1 = new FpElementRef(this, REF_PA_X1);
+            FpElement PUBLIC_POINT_PA_Y0 = new FpElementRef(this, REF_PA_Y0);
+            FpElement PUBLIC_POINT_PA_Y1 = new FpElementRef(this, REF_PA_Y1);
+            FpElement PUBLIC_POINT_QA_X0 = new FpElementRef(this, REF_QA_X0);
+            FpElement PUBLIC_POINT_QA_X1 = new FpElementRef(this, REF_QA_X1);
+            FpElement PUBLIC_POINT_QA_Y0 = new FpElementRef(this, REF_QA_Y0);
+            FpElement PUBLIC_POINT_QA_Y1 = new FpElementRef(this, REF_QA_Y1);
+            FpElement PUBLIC_POINT_RA_X0 = new FpElementRef(this, REF_RA_X0);
+            FpElement PUBLIC_POINT_RA_X1 = new FpElementRef(this, REF_RA_X1);
             // The Y points are not defined for R point, only x coordinates are used in optimized version
-            FpElement PUBLIC_POINT_RA_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElement PUBLIC_POINT_RA_Y1 = new FpElementRef(this, new BigInteger("0", 16));
+            FpElement PUBLIC_POINT_RA_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElement PUBLIC_POINT_RA_Y1 = new FpElementRef(this, BigInteger.ZERO);
             PUBLIC_POINT_PA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_PA_X0, PUBLIC_POINT_PA_X1), new Fp2ElementRef(this, PUBLIC_POINT_PA_Y0, PUBLIC_POINT_PA_Y1));
             PUBLIC_POINT_QA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_QA_X0, PUBLIC_POINT_QA_X1), new Fp2ElementRef(this, PUBLIC_POINT_QA_Y0, PUBLIC_POINT_QA_Y1));
             PUBLIC_POINT_RA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_RA_X0, PUBLIC_POINT_RA_X1), new Fp2ElementRef(this, PUBLIC_POINT_RA_Y0, PUBLIC_POINT_RA_Y1));
 
             // Public points PB, QB and RB
-            FpElement PUBLIC_POINT_PB_X0 = new FpElementRef(this, new BigInteger("8664865EA7D816F03B31E223C26D406A2C6CD0C3D667466056AAE85895EC37368BFC009DFAFCB3D97E639F65E9E45F46573B0637B7A9", 16));
-            FpElement PUBLIC_POINT_PB_X1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElement PUBLIC_POINT_PB_Y0 = new FpElementRef(this, new BigInteger("6AE515593E73976091978DFBD70BDA0DD6BCAEEBFDD4FB1E748DDD9ED3FDCF679726C67A3B2CC12B39805B32B612E058A4280764443B", 16));
-            FpElement PUBLIC_POINT_PB_Y1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElement PUBLIC_POINT_QB_X0 = new FpElementRef(this, new BigInteger("12E84D7652558E694BF84C1FBDAAF99B83B4266C32EC65B10457BCAF94C63EB063681E8B1E7398C0B241C19B9665FDB9E1406DA3D3846", 16));
-            FpElement PUBLIC_POINT_QB_X1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElement PUBLIC_POINT_QB_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElement PUBLIC_POINT_QB_Y1 = new FpElementRef(this, new BigInteger("EBAAA6C731271673BEECE467FD5ED9CC29AB564BDED7BDEAA86DD1E0FDDF399EDCC9B49C829EF53C7D7A35C3A0745D73C424FB4A5FD2", 16));
-            FpElement PUBLIC_POINT_RB_X0 = new FpElementRef(this, new BigInteger("1CD28597256D4FFE7E002E87870752A8F8A64A1CC78B5A2122074783F51B4FDE90E89C48ED91A8F4A0CCBACBFA7F51A89CE518A52B76C", 16));
-            FpElement PUBLIC_POINT_RB_X1 = new FpElementRef(this, new BigInteger("147073290D78DD0CC8420B1188187D1A49DBFA24F26AAD46B2D9BB547DBB6F63A760ECB0C2B20BE52FB77BD2776C3D14BCBC404736AE4", 16));
+            FpElement PUBLIC_POINT_PB_X0 = new FpElementRef(this, REF_PB_X0);
+            FpElement PUBLIC_POINT_PB_X1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElement PUBLIC_POINT_PB_Y0 = new FpElementRef(this, REF_PB_Y0);
+            FpElement PUBLIC_POINT_PB_Y1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElement PUBLIC_POINT_QB_X0 = new FpElementRef(this, REF_QB_X0);
+            FpElement PUBLIC_POINT_QB_X1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElement PUBLIC_POINT_QB_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElement PUBLIC_POINT_QB_Y1 = new FpElementRef(this, REF_QB_Y1);
+            FpElement PUBLIC_POINT_RB_X0 = new FpElementRef(this, REF_RB_X0);
+            FpElement PUBLIC_POINT_RB_X1 = new FpElementRef(this, REF_RB_X1);
             // The Y points are not defined for R point, only x coordinates are used in optimized version
-            FpElement PUBLIC_POINT_RB_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElement PUBLIC_POINT_RB_Y1 = new FpElementRef(this, new BigInteger("0", 16));
+            FpElement PUBLIC_POINT_RB_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElement PUBLIC_POINT_RB_Y1 = new FpElementRef(this, BigInteger.ZERO);
             PUBLIC_POINT_PB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_PB_X0, PUBLIC_POINT_PB_X1), new Fp2ElementRef(this, PUBLIC_POINT_PB_Y0, PUBLIC_POINT_PB_Y1));
             PUBLIC_POINT_QB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_QB_X0, PUBLIC_POINT_QB_X1), new Fp2ElementRef(this, PUBLIC_POINT_QB_Y0, PUBLIC_POINT_QB_Y1));
             PUBLIC_POINT_RB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_RB_X0, PUBLIC_POINT_RB_X1), new Fp2ElementRef(this, PUBLIC_POINT_RB_Y0, PUBLIC_POINT_RB_Y1));
         } else {
+            // Montgomery representation of A
+            PUBLIC_PARAM_ELEMENT_A = new Fp2ElementOpti(this, new FpElementOpti(this, new long[]{
+                    0x000000000002B90AL,
+                    0x0000000000000000L,
+                    0x0000000000000000L,
+                    0x5ADCCB2822000000L,
+                    0x187D24F39F0CAFB4L,
+                    0x9D353A4D394145A0L,
+                    0x00012559A0403298L
+            }), new FpElementOpti(this));
+
             FpElement PUBLIC_POINT_PA_X0 = new FpElementOpti(this,  new long[]{
                     0x05ADF455C5C345BFL,
                     0x91935C5CC767AC2BL,
@@ -506,8 +566,8 @@ public class SikeParamP434 implements SikeParam {
         this.b = PUBLIC_PARAM_ELEMENT_B;
         this.eA = FIELD_PRIME_PARAM_EA;
         this.eB = FIELD_PRIME_PARAM_EB;
-        this.ordA = new BigInteger("105312291668557186697918027683670432318895095400549111254310977536");
-        this.ordB = new BigInteger("232066203043628532565045340531182604896544238770765380550355483363");
+        this.ordA = ORD_A;
+        this.ordB = ORD_B;
         this.bitsA = 216;
         this.bitsB = 218;
         this.pA = PUBLIC_POINT_PA;
@@ -518,12 +578,6 @@ public class SikeParamP434 implements SikeParam {
         this.rB = PUBLIC_POINT_RB;
         this.cryptoBytes = 16;
         this.messageBytes = 16;
-        this.treeRowsA = 108;
-        this.treeRowsB = 137;
-        this.treePointsA = 7;
-        this.treePointsB = 8;
-        this.strategyA = new int[]{48, 28, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 13, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 4, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1};
-        this.strategyB = new int[]{66, 33, 17, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 32, 16, 8, 4, 3, 1, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1};
     }
 
     @Override
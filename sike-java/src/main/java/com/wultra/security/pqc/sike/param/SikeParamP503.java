@@ -42,6 +42,34 @@ import java.util.Objects;
  */
 public class SikeParamP503 implements SikeParam {
 
+    // Constants shared by all instances, parsed once when the class is loaded
+    private static final BigInteger PRIME = new BigInteger("4066F541811E1E6045C6BDDA77A4D01B9BF6C87B7E7DAF13085BDA2211E7A0ABFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF", 16);
+    private static final BigInteger ORD_A = new BigInteger("1809251394333065553493296640760748560207343510400633813116524750123642650624");
+    private static final BigInteger ORD_B = new BigInteger("7282483350946404208076885500996745047522350034970917293604274649554310785067");
+
+    // Curve coefficient A and public points in standard representation used by the reference implementation
+    private static final BigInteger REF_A = BigInteger.valueOf(6);
+    private static final BigInteger REF_PA_X0 = new BigInteger("2ED31A03825FA14BC1D92C503C061D843223E611A92D7C5FBEC0F2C915EE7EEE73374DF6A1161EA00CDCB786155E21FD38220C3772CE670BC68274B851678", 16);
+    private static final BigInteger REF_PA_X1 = new BigInteger("1EE4E4E9448FBBAB4B5BAEF280A99B7BF86A1CE05D55BD603C3BA9D7C08FD8DE7968B49A78851FFBC6D0A17CB2FA1B57F3BABEF87720DD9A489B5581F915D2", 16);
+    private static final BigInteger REF_PA_Y0 = new BigInteger("244D5F814B6253688138E317F24975E596B09BB15C6418E5295AAF73BA7F96EFED145DFAE1B21A8B7B121FEFA1B6E8B52F00478218589E604B97359B8A6E0F", 16);
+    private static final BigInteger REF_PA_Y1 = new BigInteger("181CCC9F0CBE1390CC14149E8DE88EE79992DA32230DEDB25F04FADE07F242A9057366060CB59927DB6DC8B20E6B15747156E3C5300545E9674487AB393CA7", 16);
+    private static final BigInteger REF_QA_X0 = new BigInteger("325CF6A8E2C6183A8B9932198039A7F965BA8587B67925D08D809DBF9A69DE1B621F7F134FA2DAB82FF5A2615F92CC71419FFFAAF86A290D604AB167616461", 16);
+    private static final BigInteger REF_QA_X1 = new BigInteger("3E7B0494C8E60A8B72308AE09ED34845B34EA0911E356B77A11872CF7FEEFF745D98D0624097BC1AD7CD2ADF7FFC2C1AA5BA3C6684B964FA555A0715E57DB1", 16);
+    private static final BigInteger REF_QA_Y0 = new BigInteger("3A34654000BD4CB2612017BD5A1965A9F89FE11C55D517DF91B89B94F4F9C58B9A9DD056915573FEDC09CCD4997E82378759E00A2DE225CE04589D201FD754", 16);
+    private static final BigInteger REF_QA_Y1 = new BigInteger("19DEF0E8930E5123A22E346B1FFBD35EB01451647D8708A4835473B2539BD26806ED105A29F2D3F7EAA262426A965338782C5D20FBF478E4D1C8DBFC5B8294", 16);
+    private static final BigInteger REF_RA_X0 = new BigInteger("3D24CF1F347F1DA54C1696442E6AFC192CEE5E320905E0EAB3C9D3FB595CA26C154F39427A0416A9F36337354CF1E6E5AEDD73DF80C710026D49550AC8CE9F", 16);
+    private static final BigInteger REF_RA_X1 = new BigInteger("6869EA28E4CEE05DCEE8B08ACD59775D03DAA0DC8B094C85156C212C23C72CB2AB2D2D90D46375AA6D66E58E44F8F219431D3006FDED7993F51649C029498", 16);
+    private static final BigInteger REF_PB_X0 = new BigInteger("32D03FD1E99ED0CB05C0707AF74617CBEA5AC6B75905B4B54B1B0C2D73697840155E7B1005EFB02B5D02797A8B66A5D258C76A3C9EF745CECE11E9A178BADF", 16);
+    private static final BigInteger REF_PB_Y0 = new BigInteger("2D810F828E3DC024D1BBBC7D6FA6E302CC5D458571763B7CCD0E4DBC9FA1163F0C1F8F4AE32A57F89DF8D2586D2A06E9FA30442B94A725266358C45236ADF3", 16);
+    private static final BigInteger REF_QB_X0 = new BigInteger("39014A74763076675D24CF3FA28318DAC75BCB04E54ADDC6494693F72EBB7DA7DC6A3BBCD188DAD5BECE9D6BB4ABDD05DB38C5FBE52D985DCAF74422C24D53", 16);
+    private static final BigInteger REF_QB_Y1 = new BigInteger("25512012C90A6869C4B29B9A757A03006BC7DF0BF7A2526A0713939FA48018AE3E249BD63699BEB3B8DEA215B7AE1B5A30FE371B64C5F1B0BF051A11D68E04", 16);
+    private static final BigInteger REF_RB_X0 = new BigInteger("C1465FD048FFB8BF2158ED57F0CFFF0C4D5A4397C7542D722567700FDBB8B2825CAB4B725764F5F528294B7F95C17D560E25660AD3D07AB011D95B2CB522", 16);
+    private static final BigInteger REF_RB_X1 = new BigInteger("288165466888BE1E78DB339034E2B8C7BDF0483BFA7AB943DFA05B2D1712317916690F5E713740E7C7D4838296E67357DC34E3460A95C330D5169721981758", 16);
+
+    // Built-in isogeny strategies
+    private static final IsogenyStrategy STRATEGY_A = new IsogenyStrategy(125, 7, new int[]{61, 32, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 29, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 13, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 5, 4, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1});
+    private static final IsogenyStrategy STRATEGY_B = new IsogenyStrategy(159, 8, new int[]{71, 38, 21, 13, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 5, 4, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 17, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 33, 17, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1});
+
     private final ImplementationType implementationType;
     private final Fp2ElementFactory fp2ElementFactory;
     private final Montgomery montgomery;
@@ -73,12 +101,8 @@ public class SikeParamP503 implements SikeParam {
     private int messageBytes;
 
     // Configuration of isogeny computation optimizations
-    private int treeRowsA;
-    private int treeRowsB;
-    private int treePointsA;
-    private int treePointsB;
-    private int[] strategyA;
-    private int[] strategyB;
+    private final IsogenyStrategy strategyA;
+    private final IsogenyStrategy strategyB;
 
     /**
      * Constructor of SIKE parameters.
@@ -86,7 +110,30 @@ public class SikeParamP503 implements SikeParam {
      * @param implementationType Implementation type.
      */
     public SikeParamP503(ImplementationType implementationType) {
+        this(implementationType, STRATEGY_A, STRATEGY_B);
+    }
+
+    /**
+     * Constructor of SIKE parameters with custom isogeny strategies.
+     * @param implementationType Implementation type.
+     * @param strategyA Optimization strategy for tree computations in the 2-isogeny graph.
+     * @param strategyB Optimization strategy for tree computations in the 3-isogeny graph.
+     * @see StrategyGenerator
+     */
+    public SikeParamP503(ImplementationType implementationType, int[] strategyA, int[] strategyB) {
+        this(implementationType, IsogenyStrategy.custom(strategyA, STRATEGY_A), IsogenyStrategy.custom(strategyB, STRATEGY_B));
+    }
+
+    /**
+     * Constructor of SIKE parameters with validated isogeny strategies.
+     * @param implementationType Implementation type.
+     * @param strategyA Strategy for tree computations in the 2-isogeny graph.
+     * @param strategyB Strategy for tree computations in the 3-isogeny graph.
+     */
+    private SikeParamP503(ImplementationType implementationType, IsogenyStrategy strategyA, IsogenyStrategy strategyB) {
         this.implementationType = implementationType;
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
         if (implementationType == ImplementationType.REFERENCE) {
             fp2ElementFactory = new Fp2ElementFactoryRef(this);
             montgomery = new MontgomeryAffine();
@@ -223,32 +270,32 @@ public class SikeParamP503 implements SikeParam {
 
     @Override
     public int getTreeRowsA() {
-        return treeRowsA;
+        return strategyA.getTreeRows();
     }
 
     @Override
     public int getTreeRowsB() {
-        return treeRowsB;
+        return strategyB.getTreeRows();
     }
 
     @Override
     public int getTreePointsA() {
-        return treePointsA;
+        return strategyA.getTreePoints();
     }
 
     @Override
     public int getTreePointsB() {
-        return treePointsB;
+        return strategyB.getTreePoints();
     }
 
     @Override
     public int[] getStrategyA() {
-        return strategyA;
+        return strategyA.getStrategy();
     }
 
     @Override
     public int[] getStrategyB() {
-        return strategyB;
+        return strategyB.getStrategy();
     }
 
     @Override
@@ -344,52 +391,66 @@ public class SikeParamP503 implements SikeParam {
         // EA = 250, EB = 159
         int FIELD_PRIME_PARAM_EA = 250;
         int FIELD_PRIME_PARAM_EB = 159;
-        this.prime = new BigInteger("4066F541811E1E6045C6BDDA77A4D01B9BF6C87B7E7DAF13085BDA2211E7A0ABFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF", 16);
+        this.prime = PRIME;
 
         // A = 6, B = 1
-        Fp2Element PUBLIC_PARAM_ELEMENT_A = fp2ElementFactory.generate(new BigInteger("6"));
+        Fp2Element PUBLIC_PARAM_ELEMENT_A;
         Fp2Element PUBLIC_PARAM_ELEMENT_B = fp2ElementFactory.one();
 
         Fp2Point PUBLIC_POINT_PA, PUBLIC_POINT_QA, PUBLIC_POINT_RA;
         Fp2Point PUBLIC_POINT_PB, PUBLIC_POINT_QB, PUBLIC_POINT_RB;
 
         if (implementationType == ImplementationType.REFERENCE) {
+            PUBLIC_PARAM_ELEMENT_A = new Fp2ElementRef(this, new FpElementRef(this, REF_A), new FpElementRef(this, BigInteger.ZERO));
+
             // Public points PA and QA
-            FpElementRef PUBLIC_POINT_PA_X0 = new FpElementRef(this, new BigInteger("2ED31A03825FA14BC1D92C503C061D843223E611A92D7C5FBEC0F2C915EE7EEE73374DF6A1161EA00CDCB786155E21FD38220C3772CE670BC68274B851678", 16));
-            FpElementRef PUBLIC_POINT_PA_X1 = new FpElementRef(this, new BigInteger("1EE4E4E9448FBBAB4B5BAEF280A99B7BF86A1CE05D55BD603C3BA9D7C08FD8DE7968B49A78851FFBC6D0A17CB2FA1B57F3BABEF87720DD9A489B5581F915D2", 16));
-            FpElementRef PUBLIC_POINT_PA_Y0 = new FpElementRef(this, new BigInteger("244D5F814B6253688138E317F24975E596B09BB15C6418E5295AAF73BA7F96EFED145DFAE1B21A8B7B121FEFA1B6E8B52F00478218589E604B97359B8A6E0F", 16));
-            FpElementRef PUBLIC_POINT_PA_Y1 = new FpElementRef(this, new BigInteger("181CCC9F0CBE1390CC14149E8DE88EE79992DA32230DEDB25F04FADE07F242A9057366060CB59927DB6DC8B20E6B15747156E3C5300545E9674487AB393CA7", 16));
-            FpElementRef PUBLIC_POINT_QA_X0 = new FpElementRef(this, new BigInteger("325CF6A8E2C6183A8B9932198039A7F965BA8587B67925D08D809DBF9A69DE1B621F7F134FA2DAB82FF5A2615F92CC71419FFFAAF86A290D604AB167616461", 16));
-            FpElementRef PUBLIC_POINT_QA_X1 = new FpElementRef(this, new BigInteger("3E7B0494C8E60A8B72308AE09ED34845B34EA0911E356B77A11872CF7FEEFF745D98D0624097BC1AD7CD2ADF7FFC2C1AA5BA3C6684B964FA555A0715E57DB1", 16));
-            FpElementRef PUBLIC_POINT_QA_Y0 = new FpElementRef(this, new BigInteger("3A34654000BD4CB2612017BD5A1965A9F89FE11C55D517DF91B89B94F4F9C58B9A9DD056915573FEDC09CCD4997E82378759E00A2DE225CE04589D201FD754", 16));
-            FpElementRef PUBLIC_POINT_QA_Y1 = new FpElementRef(this, new BigInteger("19DEF0E8930E5123A22E346B1FFBD35EB01451647D8708A4835473B2539BD26806ED105A29F2D3F7EAA262426A965338782C5D20FBF478E4D1C8DBFC5B8294", 16));
-            FpElementRef PUBLIC_POINT_RA_X0 = new FpElementRef(this, new BigInteger("3D24CF1F347F1DA54C1696442E6AFC192CEE5E320905E0EAB3C9D3FB595CA26C154F39427A0416A9F36337354CF1E6E5AEDD73DF80C710026D49550AC8CE9F", 16));
-            FpElementRef PUBLIC_POINT_RA_X1 = new FpElementRef(this, new BigInteger("6869EA28E4CEE05DCEE8B08ACD59775D03DAA0DC8B094C85156C212C23C72CB2AB2D2D90D46375AA6D66E58E44F8F219431D3006FDED7993F51649C029498", 16));
+            FpElementRef PUBLIC_POINT_PA_X0 = new FpElementRef(this, REF_PA_X0);
+            FpElementRef PUBLIC_POINT_PA_X1 = new FpElementRef(this, REF_PA_X1);
+            FpElementRef PUBLIC_POINT_PA_Y0 = new FpElementRef(this, REF_PA_Y0);
+            FpElementRef PUBLIC_POINT_PA_Y1 = new FpElementRef(this, REF_PA_Y1);
+            FpElementRef PUBLIC_POINT_QA_X0 = new FpElementRef(this, REF_QA_X0);
+            FpElementRef PUBLIC_POINT_QA_X1 = new FpElementRef(this, REF_QA_X1);
+            FpElementRef PUBLIC_POINT_QA_Y0 = new FpElementRef(this, REF_QA_Y0);
+            FpElementRef PUBLIC_POINT_QA_Y1 = new FpElementRef(this, REF_QA_Y1);
+            FpElementRef PUBLIC_POINT_RA_X0 = new FpElementRef(this, REF_RA_X0);
+            FpElementRef PUBLIC_POINT_RA_X1 = new FpElementRef(this, REF_RA_X1);
             // The Y points are not defined for R point, only x coordinates are used in optimized version
-            FpElementRef PUBLIC_POINT_RA_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_RA_Y1 = new FpElementRef(this, new BigInteger("0", 16));
+            FpElementRef PUBLIC_POINT_RA_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_RA_Y1 = new FpElementRef(this, BigInteger.ZERO);
             PUBLIC_POINT_PA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_PA_X0, PUBLIC_POINT_PA_X1), new Fp2ElementRef(this, PUBLIC_POINT_PA_Y0, PUBLIC_POINT_PA_Y1));
             PUBLIC_POINT_QA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_QA_X0, PUBLIC_POINT_QA_X1), new Fp2ElementRef(this, PUBLIC_POINT_QA_Y0, PUBLIC_POINT_QA_Y1));
             PUBLIC_POINT_RA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_RA_X0, PUBLIC_POINT_RA_X1), new Fp2ElementRef(this, PUBLIC_POINT_RA_Y0, PUBLIC_POINT_RA_Y1));
 
             // Public points PB, QB and RB
-            FpElementRef PUBLIC_POINT_PB_X0 = new FpElementRef(this, new BigInteger("32D03FD1E99ED0CB05C0707AF74617CBEA5AC6B75905B4B54B1B0C2D73697840155E7B1005EFB02B5D02797A8B66A5D258C76A3C9EF745CECE11E9A178BADF", 16));
-            FpElementRef PUBLIC_POINT_PB_X1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_PB_Y0 = new FpElementRef(this, new BigInteger("2D810F828E3DC024D1BBBC7D6FA6E302CC5D458571763B7CCD0E4DBC9FA1163F0C1F8F4AE32A57F89DF8D2586D2A06E9FA30442B94A725266358C45236ADF3", 16));
-            FpElementRef PUBLIC_POINT_PB_Y1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_QB_X0 = new FpElementRef(this, new BigInteger("39014A74763076675D24CF3FA28318DAC75BCB04E54ADDC6494693F72EBB7DA7DC6A3BBCD188DAD5BECE9D6BB4ABDD05DB38C5FBE52D985DCAF74422C24D53", 16));
-            FpElementRef PUBLIC_POINT_QB_X1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_QB_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_QB_Y1 = new FpElementRef(this, new BigInteger("25512012C90A6869C4B29B9A757A03006BC7DF0BF7A2526A0713939FA48018AE3E249BD63699BEB3B8DEA215B7AE1B5A30FE371B64C5F1B0BF051A11D68E04", 16));
-            FpElementRef PUBLIC_POINT_RB_X0 = new FpElementRef(this, new BigInteger("C1465FD048FFB8BF2158ED57F0CFFF0C4D5A4397C7542D722567700FDBB8B2825CAB4B725764F5F528294B7F95C17D560E25660AD3D07AB011D95B2CB522", 16));
-            FpElementRef PUBLIC_POINT_RB_X1 = new FpElementRef(this, new BigInteger("288165466888BE1E78DB339034E2B8C7BDF0483BFA7AB943DFA05B2D1712317916690F5E713740E7C7D4838296E67357DC34E3460A95C330D5169721981758", 16));
+            FpElementRef PUBLIC_POINT_PB_X0 = new FpElementRef(this, REF_PB_X0);
+            FpElementRef PUBLIC_POINT_PB_X1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_PB_Y0 = new FpElementRef(this, REF_PB_Y0);
+            FpElementRef PUBLIC_POINT_PB_Y1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_QB_X0 = new FpElementRef(this, REF_QB_X0);
+            FpElementRef PUBLIC_POINT_QB_X1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_QB_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_QB_Y1 = new FpElementRef(this, REF_QB_Y1);
+            FpElementRef PUBLIC_POINT_RB_X0 = new FpElementRef(this, REF_RB_X0);
+            FpElementRef PUBLIC_POINT_RB_X1 = new FpElementRef(this, REF_RB_X1);
             // The Y points are not defined for R point, only x coordinates are used in optimized version
-            FpElementRef PUBLIC_POINT_RB_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_RB_Y1 = new FpElementRef(this, new BigInteger("0", 16));
+            FpElementRef PUBLIC_POINT_RB_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_RB_Y1 = new FpElementRef(this, BigInteger.ZERO);
             PUBLIC_POINT_PB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_PB_X0, PUBLIC_POINT_PB_X1), new Fp2ElementRef(this, PUBLIC_POINT_PB_Y0, PUBLIC_POINT_PB_Y1));
             PUBLIC_POINT_QB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_QB_X0, PUBLIC_POINT_QB_X1), new Fp2ElementRef(this, PUBLIC_POINT_QB_Y0, PUBLIC_POINT_QB_Y1));
             PUBLIC_POINT_RB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_RB_X0, PUBLIC_POINT_RB_X1), new Fp2ElementRef(this, PUBLIC_POINT_RB_Y0, PUBLIC_POINT_RB_Y1));
         } else {
+            // Montgomery representation of A
+            PUBLIC_PARAM_ELEMENT_A = new Fp2ElementOpti(this, new FpElementOpti(this, new long[]{
+                    0x00000000000017D9L,
+                    0x0000000000000000L,
+                    0x0000000000000000L,
+                    0x3400000000000000L,
+                    0x1DA98B098303395AL,
+                    0x959FCCF6F47CBBE3L,
+                    0x1FFF7A7110C6991DL,
+                    0x0028B138DFD8BD9AL
+            }), new FpElementOpti(this));
+
             FpElement PUBLIC_POINT_PA_X0 = new FpElementOpti(this, new long[]{
                     0x5D083011589AD893L,
                     0xADFD8D2CB67D0637L,
@@ -523,8 +584,8 @@ public class SikeParamP503 implements SikeParam {
         this.b = PUBLIC_PARAM_ELEMENT_B;
         this.eA = FIELD_PRIME_PARAM_EA;
         this.eB = FIELD_PRIME_PARAM_EB;
-        this.ordA = new BigInteger("1809251394333065553493296640760748560207343510400633813116524750123642650624");
-        this.ordB = new BigInteger("7282483350946404208076885500996745047522350034970917293604274649554310785067");
+        this.ordA = ORD_A;
+        this.ordB = ORD_B;
         this.bitsA = 250;
         this.bitsB = 253;
         this.pA = PUBLIC_POINT_PA;
@@ -535,12 +596,6 @@ public class SikeParamP503 implements SikeParam {
         this.rB = PUBLIC_POINT_RB;
         this.cryptoBytes = 24;
         this.messageBytes = 24;
-        this.treeRowsA = 125;
-        this.treeRowsB = 159;
-        this.treePointsA = 7;
-        this.treePointsB = 8;
-        this.strategyA = new int[]{61, 32, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 29, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 13, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 5, 4, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1};
-        this.strategyB = new int[]{71, 38, 21, 13, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 5, 4, 2, 1, 1, 2, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 17, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 33, 17, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1};
     }
 
     @Override
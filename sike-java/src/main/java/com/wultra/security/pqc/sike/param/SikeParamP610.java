@@ -42,6 +42,34 @@ import java.util.Objects;
  */
 public class SikeParamP610 implements SikeParam {
 
+    // Constants shared by all instances, parsed once when the class is loaded
+    private static final BigInteger PRIME = new BigInteger("27BF6A768819010C251E7D88CB255B2FA10C4252A9AE7BF45048FF9ABB1784DE8AA5AB02E6E01FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF", 16);
+    private static final BigInteger ORD_A = new BigInteger("65185151242703554760590262029100101153646988597309960020356494379340201592426774597868716032");
+    private static final BigInteger ORD_B = new BigInteger("40483766022843281411184472189571654752207506882090305742200116101065766026718820758174775041");
+
+    // Curve coefficient A and public points in standard representation used by the reference implementation
+    private static final BigInteger REF_A = BigInteger.valueOf(6);
+    private static final BigInteger REF_PA_X0 = new BigInteger("1B368BC6019B46CD802129209B3E65B98BC64A92BC4DB2F9F3AC96B97A1B9C124DF549B528F18BEECB1666D27D47530435E84221272F3A97FB80527D8F8A359F8F1598D365744CA3070A5F26C", 16);
+    private static final BigInteger REF_PA_X1 = new BigInteger("1459685DCA7112D1F6030DBC98F2C9CBB41617B6AD913E6523416CCBD8ED9C7841D97DF83092B9B3F2AF00D62E08DAD8FA743CBCCCC1782BE0186A3432D3C97C37CA16873BEDE01F0637C1AA2", 16);
+    private static final BigInteger REF_PA_Y0 = new BigInteger("1CD75CF512FFA9DF878EF495001A57ABC07FC7CE9BB488BB52DDCD7272D8A4FD17DD258ED3F844C862CF48803B9AC2668C7CB79C396128763B578080C30D14CA7EB709F98E3E682A391FB35A7", 16);
+    private static final BigInteger REF_PA_Y1 = new BigInteger("2001062A6289E4082CED884029207A1ACDEC525D7BC165A6CFF8BB469A8588950A416DBB924D2D673E3D6C32D232F6E6ADA62B37608F652C0B8628827B304BF1365D8211346207B24EFF09458", 16);
+    private static final BigInteger REF_QA_X0 = new BigInteger("25DA39EC90CDFB9BC0F772CDA52CB8B5A9F478D7AF8DBBA0AEB3E52432822DD88C38F4E3AEC0746E56149F1FE89707C77F8BA4134568629724F4A8E34B06BFE5C5E66E0867EC38B283798B8A", 16);
+    private static final BigInteger REF_QA_X1 = new BigInteger("2250E1959256AE502428338CB4715399551AEC78D8935B2DC73FCDCFBDB1A0118A2D3EF03489BA6F637B1C7FEE7E5F31340A1A537B76B5B736B4CDD284918918E8C986FC02741FB8C98F0A0ED", 16);
+    private static final BigInteger REF_QA_Y0 = new BigInteger("A4FD5539025C0611E4B1CEC3C36F0D7590C035D3A25AD93022849CCEB3F67E4B1DBE988404290DD8B87B8D5E69ED3B0C5CDBCA248DC9D174CF762012CFE2D725CFD92057F2DBF8B04C7B12CC", 16);
+    private static final BigInteger REF_QA_Y1 = new BigInteger("201C807BD738624E22B87554A2E053A46A9573BA863D4A9D309533E30B27BF7DD8137F5CE0F79C263D9D050541D69817A839085A76395F879315F6999E3441FC8FB3936DEE1BEF5B4E0E25096", 16);
+    private static final BigInteger REF_RA_X0 = new BigInteger("1B36A006D05F9E370D5078CCA54A16845B2BFF737C865368707C0DBBE9F5A62A9B9C79ADF11932A9FA4806210E25C92DB019CC146706DFBC7FA2638ECC4343C1E390426FAA7F2F07FDA163FB5", 16);
+    private static final BigInteger REF_RA_X1 = new BigInteger("183C9ABF2297CA69699357F58FED92553436BBEBA2C3600D89522E7009D19EA5D6C18CFF993AA3AA33923ED93592B0637ED0B33ADF12388AE912BC4AE4749E2DF3C3292994DCF37747518A992", 16);
+    private static final BigInteger REF_PB_X0 = new BigInteger("1587822E647707ED4313D3BE6A811A694FB201561111838A0816BFB5DEC625D23772DE48A26D78C04EEB26CA4A571C67CE4DC4C620282876B2F2FC2633CA548C3AB0C45CC991417A56F7FEFEB", 16);
+    private static final BigInteger REF_PB_Y0 = new BigInteger("14F295114B69D4769AC06DD07F051AD1114BCB7FA6B6EDE19F840969AFD56FD1F728907D3320A0309462A9444D24FE754666DB2470080951B31C2AC59704ABC7670C3C3A992C3C1629791F30", 16);
+    private static final BigInteger REF_QB_X0 = new BigInteger("14E647CB19B7EAAAC640A9C26B9C26DB7DEDA8FC9399F4F8CE620D2B2200480F4338755AE16D0E090F15EA1882166836A478C6E161C938E4EB8C2DD779B45FFDD17DCDF158AF48DE126B3A047", 16);
+    private static final BigInteger REF_QB_Y1 = new BigInteger("E674067F5EA6DE85545C0A99E9E71E64FABFDC281D1E540FEDA47A56ED3ADCDDE1841083FABC7954B467C71AC6349B04974A7F9B688C5F735632FEB394146B0A080880069D8DA3324EDF795B", 16);
+    private static final BigInteger REF_RB_X0 = new BigInteger("1DB73BC2DE666D24E59AF5E23B79251BA0D189629EF87E56C38778A448FACE312D08EDFB876C3FD45ECF3746D96E2CADBBA08B1A206C47DDD93137059E34C90E2E42E10F30F6E5F52DED74222", 16);
+    private static final BigInteger REF_RB_X1 = new BigInteger("1B2C30180DAF5D91871555CE8EFEC76A4D521F877B754311228C7180A3E2318B4E7A00341FF99F34E35BF7A1053CA76FD77C0AFAE38E2091862AB4F1DD4C8D9C83DE37ACBA6646EDB4C238B48", 16);
+
+    // Built-in isogeny strategies
+    private static final IsogenyStrategy STRATEGY_A = new IsogenyStrategy(152, 8, new int[]{67, 37, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 16, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 33, 16, 8, 5, 2, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1});
+    private static final IsogenyStrategy STRATEGY_B = new IsogenyStrategy(192, 10, new int[]{86, 48, 27, 15, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 38, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 17, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1});
+
     private final ImplementationType implementationType;
     private final Fp2ElementFactory fp2ElementFactory;
     private final Montgomery montgomery;
@@ -73,19 +101,38 @@ public class SikeParamP610 implements SikeParam {
     private int messageBytes;
 
     // Configuration of isogeny computation optimizations
-    private int treeRowsA;
-    private int treeRowsB;
-    private int treePointsA;
-    private int treePointsB;
-    private int[] strategyA;
-    private int[] strategyB;
+    private final IsogenyStrategy strategyA;
+    private final IsogenyStrategy strategyB;
 
     /**
      * Constructor of SIKE parameters.
      * @param implementationType Implementation type.
      */
     public SikeParamP610(ImplementationType implementationType) {
+        this(implementationType, STRATEGY_A, STRATEGY_B);
+    }
+
+    /**
+     * Constructor of SIKE parameters with custom isogeny strategies.
+     * @param implementationType Implementation type.
+     * @param strategyA Optimization strategy for tree computations in the 2-isogeny graph.
+     * @param strategyB Optimization strategy for tree computations in the 3-isogeny graph.
+     * @see StrategyGenerator
+     */
+    public SikeParamP610(ImplementationType implementationType, int[] strategyA, int[] strategyB) {
+        this(implementationType, IsogenyStrategy.custom(strategyA, STRATEGY_A), IsogenyStrategy.custom(strategyB, STRATEGY_B));
+    }
+
+    /**
+     * Constructor of SIKE parameters with validated isogeny strategies.
+     * @param implementationType Implementation type.
+     * @param strategyA Strategy for tree computations in the 2-isogeny graph.
+     * @param strategyB Strategy for tree computations in the 3-isogeny graph.
+     */
+    private SikeParamP610(ImplementationType implementationType, IsogenyStrategy strategyA, IsogenyStrategy strategyB) {
         this.implementationType = implementationType;
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
         if (implementationType == ImplementationType.REFERENCE) {
             fp2ElementFactory = new Fp2ElementFactoryRef(this);
             montgomery = new MontgomeryAffine();
@@ -222,32 +269,32 @@ public class SikeParamP610 implements SikeParam {
 
     @Override
     public int getTreeRowsA() {
-        return treeRowsA;
+        return strategyA.getTreeRows();
     }
 
     @Override
     public int getTreeRowsB() {
-        return treeRowsB;
+        return strategyB.getTreeRows();
     }
 
     @Override
     public int getTreePointsA() {
-        return treePointsA;
+        return strategyA.getTreePoints();
     }
 
     @Override
     public int getTreePointsB() {
-        return treePointsB;
+        return strategyB.getTreePoints();
     }
 
     @Override
     public int[] getStrategyA() {
-        return strategyA;
+        return strategyA.getStrategy();
     }
 
     @Override
     public int[] getStrategyB() {
-        return strategyB;
+        return strategyB.getStrategy();
     }
 
     @Override
@@ -351,52 +398,68 @@ public class SikeParamP610 implements SikeParam {
         // EA = 305, EB = 192
         int FIELD_PRIME_PARAM_EA = 305;
         int FIELD_PRIME_PARAM_EB = 192;
-        this.prime = new BigInteger("27BF6A768819010C251E7D88CB255B2FA10C4252A9AE7BF45048FF9ABB1784DE8AA5AB02E6E01FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF", 16);
+        this.prime = PRIME;
 
         // A = 6, B = 1
-        Fp2Element PUBLIC_PARAM_ELEMENT_A = fp2ElementFactory.generate(new BigInteger("6"));
+        Fp2Element PUBLIC_PARAM_ELEMENT_A;
         Fp2Element PUBLIC_PARAM_ELEMENT_B = fp2ElementFactory.one();
 
         Fp2Point PUBLIC_POINT_PA, PUBLIC_POINT_QA, PUBLIC_POINT_RA;
         Fp2Point PUBLIC_POINT_PB, PUBLIC_POINT_QB, PUBLIC_POINT_RB;
 
         if (implementationType == ImplementationType.REFERENCE) {
+            PUBLIC_PARAM_ELEMENT_A = new Fp2ElementRef(this, new FpElementRef(this, REF_A), new FpElementRef(this, BigInteger.ZERO));
+
             // Public points PA and QA
-            FpElementRef PUBLIC_POINT_PA_X0 = new FpElementRef(this, new BigInteger("1B368BC6019B46CD802129209B3E65B98BC64A92BC4DB2F9F3AC96B97A1B9C124DF549B528F18BEECB1666D27D47530435E84221272F3A97FB80527D8F8A359F8F1598D365744CA3070A5F26C", 16));
-            FpElementRef PUBLIC_POINT_PA_X1 = new FpElementRef(this, new BigInteger("1459685DCA7112D1F6030DBC98F2C9CBB41617B6AD913E6523416CCBD8ED9C7841D97DF83092B9B3F2AF00D62E08DAD8FA743CBCCCC1782BE0186A3432D3C97C37CA16873BEDE01F0637C1AA2", 16));
-            FpElementRef PUBLIC_POINT_PA_Y0 = new FpElementRef(this, new BigInteger("1CD75CF512FFA9DF878EF495001A57ABC07FC7CE9BB488BB52DDCD7272D8A4FD17DD258ED3F844C862CF48803B9AC2668C7CB79C396128763B578080C30D14CA7EB709F98E3E682A391FB35A7", 16));
-            FpElementRef PUBLIC_POINT_PA_Y1 = new FpElementRef(this, new BigInteger("2001062A6289E4082CED884029207A1ACDEC525D7BC165A6CFF8BB469A8588950A416DBB924D2D673E3D6C32D232F6E6ADA62B37608F652C0B8628827B304BF1365D8211346207B24EFF09458", 16));
-            FpElementRef PUBLIC_POINT_QA_X0 = new FpElementRef(this, new BigInteger("25DA39EC90CDFB9BC0F772CDA52CB8B5A9F478D7AF8DBBA0AEB3E52432822DD88C38F4E3AEC0746E56149F1FE89707C77F8BA4134568629724F4A8E34B06BFE5C5E66E0867EC38B283798B8A", 16));
-            FpElementRef PUBLIC_POINT_QA_X1 = new FpElementRef(this, new BigInteger("2250E1959256AE502428338CB4715399551AEC78D8935B2DC73FCDCFBDB1A0118A2D3EF03489BA6F637B1C7FEE7E5F31340A1A537B76B5B736B4CDD284918918E8C986FC02741FB8C98F0A0ED", 16));
-            FpElementRef PUBLIC_POINT_QA_Y0 = new FpElementRef(this, new BigInteger("A4FD5539025C0611E4B1CEC3C36F0D7590C035D3A25AD93022849CCEB3F67E4B1DBE988404290DD8B87B8D5E69ED3B0C5CDBCA248DC9D174CF762012CFE2D725CFD92057F2DBF8B04C7B12CC", 16));
-            FpElementRef PUBLIC_POINT_QA_Y1 = new FpElementRef(this, new BigInteger("201C807BD738624E22B87554A2E053A46A9573BA863D4A9D309533E30B27BF7DD8137F5CE0F79C263D9D050541D69817A839085A76395F879315F6999E3441FC8FB3936DEE1BEF5B4E0E25096", 16));
-            FpElementRef PUBLIC_POINT_RA_X0 = new FpElementRef(this, new BigInteger("1B36A006D05F9E370D5078CCA54A16845B2BFF737C865368707C0DBBE9F5A62A9B9C79ADF11932A9FA4806210E25C92DB019CC146706DFBC7FA2638ECC4343C1E390426FAA7F2F07FDA163FB5", 16));
-            FpElementRef PUBLIC_POINT_RA_X1 = new FpElementRef(this, new BigInteger("183C9ABF2297CA69699357F58FED92553436BBEBA2C3600D89522E7009D19EA5D6C18CFF993AA3AA33923ED93592B0637ED0B33ADF12388AE912BC4AE4749E2DF3C3292994DCF37747518A992", 16));
+            FpElementRef PUBLIC_POINT_PA_X0 = new FpElementRef(this, REF_PA_X0);
+            FpElementRef PUBLIC_POINT_PA_X1 = new FpElementRef(this, REF_PA_X1);
+            FpElementRef PUBLIC_POINT_PA_Y0 = new FpElementRef(this, REF_PA_Y0);
+            FpElementRef PUBLIC_POINT_PA_Y1 = new FpElementRef(this, REF_PA_Y1);
+            FpElementRef PUBLIC_POINT_QA_X0 = new FpElementRef(this, REF_QA_X0);
+            FpElementRef PUBLIC_POINT_QA_X1 = new FpElementRef(this, REF_QA_X1);
+            FpElementRef PUBLIC_POINT_QA_Y0 = new FpElementRef(this, REF_QA_Y0);
+            FpElementRef PUBLIC_POINT_QA_Y1 = new FpElementRef(this, REF_QA_Y1);
+            FpElementRef PUBLIC_POINT_RA_X0 = new FpElementRef(this, REF_RA_X0);
+            FpElementRef PUBLIC_POINT_RA_X1 = new FpElementRef(this, REF_RA_X1);
             // The Y points are not defined for R point, only x coordinates are used in optimized version
-            FpElementRef PUBLIC_POINT_RA_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_RA_Y1 = new FpElementRef(this, new BigInteger("0", 16));
+            FpElementRef PUBLIC_POINT_RA_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_RA_Y1 = new FpElementRef(this, BigInteger.ZERO);
             PUBLIC_POINT_PA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_PA_X0, PUBLIC_POINT_PA_X1), new Fp2ElementRef(this, PUBLIC_POINT_PA_Y0, PUBLIC_POINT_PA_Y1));
             PUBLIC_POINT_QA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_QA_X0, PUBLIC_POINT_QA_X1), new Fp2ElementRef(this, PUBLIC_POINT_QA_Y0, PUBLIC_POINT_QA_Y1));
             PUBLIC_POINT_RA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_RA_X0, PUBLIC_POINT_RA_X1), new Fp2ElementRef(this, PUBLIC_POINT_RA_Y0, PUBLIC_POINT_RA_Y1));
 
             // Public points PB, QB and RB
-            FpElementRef PUBLIC_POINT_PB_X0 = new FpElementRef(this, new BigInteger("1587822E647707ED4313D3BE6A811A694FB201561111838A0816BFB5DEC625D23772DE48A26D78C04EEB26CA4A571C67CE4DC4C620282876B2F2FC2633CA548C3AB0C45CC991417A56F7FEFEB", 16));
-            FpElementRef PUBLIC_POINT_PB_X1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_PB_Y0 = new FpElementRef(this, new BigInteger("14F295114B69D4769AC06DD07F051AD1114BCB7FA6B6EDE19F840969AFD56FD1F728907D3320A0309462A9444D24FE754666DB2470080951B31C2AC59704ABC7670C3C3A992C3C1629791F30", 16));
-            FpElementRef PUBLIC_POINT_PB_Y1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_QB_X0 = new FpElementRef(this, new BigInteger("14E647CB19B7EAAAC640A9C26B9C26DB7DEDA8FC9399F4F8CE620D2B2200480F4338755AE16D0E090F15EA1882166836A478C6E161C938E4EB8C2DD779B45FFDD17DCDF158AF48DE126B3A047", 16));
-            FpElementRef PUBLIC_POINT_QB_X1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_QB_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_QB_Y1 = new FpElementRef(this, new BigInteger("E674067F5EA6DE85545C0A99E9E71E64FABFDC281D1E540FEDA47A56ED3ADCDDE1841083FABC7954B467C71AC6349B04974A7F9B688C5F735632FEB394146B0A080880069D8DA3324EDF795B", 16));
-            FpElementRef PUBLIC_POINT_RB_X0 = new FpElementRef(this, new BigInteger("1DB73BC2DE666D24E59AF5E23B79251BA0D189629EF87E56C38778A448FACE312D08EDFB876C3FD45ECF3746D96E2CADBBA08B1A206C47DDD93137059E34C90E2E42E10F30F6E5F52DED74222", 16));
-            FpElementRef PUBLIC_POINT_RB_X1 = new FpElementRef(this, new BigInteger("1B2C30180DAF5D91871555CE8EFEC76A4D521F877B754311228C7180A3E2318B4E7A00341FF99F34E35BF7A1053CA76FD77C0AFAE38E2091862AB4F1DD4C8D9C83DE37ACBA6646EDB4C238B48", 16));
+            FpElementRef PUBLIC_POINT_PB_X0 = new FpElementRef(this, REF_PB_X0);
+            FpElementRef PUBLIC_POINT_PB_X1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_PB_Y0 = new FpElementRef(this, REF_PB_Y0);
+            FpElementRef PUBLIC_POINT_PB_Y1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_QB_X0 = new FpElementRef(this, REF_QB_X0);
+            FpElementRef PUBLIC_POINT_QB_X1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_QB_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_QB_Y1 = new FpElementRef(this, REF_QB_Y1);
+            FpElementRef PUBLIC_POINT_RB_X0 = new FpElementRef(this, REF_RB_X0);
+            FpElementRef PUBLIC_POINT_RB_X1 = new FpElementRef(this, REF_RB_X1);
             // The Y points are not defined for R point, only x coordinates are used in optimized version
-            FpElementRef PUBLIC_POINT_RB_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_RB_Y1 = new FpElementRef(this, new BigInteger("0", 16));
+            FpElementRef PUBLIC_POINT_RB_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_RB_Y1 = new FpElementRef(this, BigInteger.ZERO);
             PUBLIC_POINT_PB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_PB_X0, PUBLIC_POINT_PB_X1), new Fp2ElementRef(this, PUBLIC_POINT_PB_Y0, PUBLIC_POINT_PB_Y1));
             PUBLIC_POINT_QB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_QB_X0, PUBLIC_POINT_QB_X1), new Fp2ElementRef(this, PUBLIC_POINT_QB_Y0, PUBLIC_POINT_QB_Y1));
             PUBLIC_POINT_RB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_RB_X0, PUBLIC_POINT_RB_X1), new Fp2ElementRef(this, PUBLIC_POINT_RB_Y0, PUBLIC_POINT_RB_Y1));
         } else {
+            // Montgomery representation of A
+            PUBLIC_PARAM_ELEMENT_A = new Fp2ElementOpti(this, new FpElementOpti(this, new long[]{
+                    0x000000026A4CB566L,
+                    0x0000000000000000L,
+                    0x0000000000000000L,
+                    0x0000000000000000L,
+                    0xC134000000000000L,
+                    0x6EA9F49D9DF37D20L,
+                    0x07ED12CFC9B70552L,
+                    0x8B99668EC0F8A0F7L,
+                    0x7155ED12813C6A59L,
+                    0x000000013B902987L
+            }), new FpElementOpti(this));
+
             FpElement PUBLIC_POINT_PA_X0 = new FpElementOpti(this,  new long[]{
                     0x5019EC96A75AC57AL,
                     0x8AEA0E717712C6F1L,
@@ -553,8 +616,8 @@ public class SikeParamP610 implements SikeParam {
         this.b = PUBLIC_PARAM_ELEMENT_B;
         this.eA = FIELD_PRIME_PARAM_EA;
         this.eB = FIELD_PRIME_PARAM_EB;
-        this.ordA = new BigInteger("65185151242703554760590262029100101153646988597309960020356494379340201592426774597868716032");
-        this.ordB = new BigInteger("40483766022843281411184472189571654752207506882090305742200116101065766026718820758174775041");
+        this.ordA = ORD_A;
+        this.ordB = ORD_B;
         this.bitsA = 305;
         this.bitsB = 305;
         this.pA = PUBLIC_POINT_PA;
@@ -565,12 +628,6 @@ public class SikeParamP610 implements SikeParam {
         this.rB = PUBLIC_POINT_RB;
         this.cryptoBytes = 24;
         this.messageBytes = 24;
-        this.treeRowsA = 152;
-        this.treeRowsB = 192;
-        this.treePointsA = 8;
-        this.treePointsB = 10;
-        this.strategyA = new int[]{67, 37, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 16, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 33, 16, 8, 5, 2, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1};
-        this.strategyB = new int[]{86, 48, 27, 15, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 38, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 17, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1};
     }
 
     @Override
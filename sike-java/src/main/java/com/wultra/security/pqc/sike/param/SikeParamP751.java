@@ -42,6 +42,34 @@ import java.util.Objects;
  */
 public class SikeParamP751 implements SikeParam {
 
+    // Constants shared by all instances, parsed once when the class is loaded
+    private static final BigInteger PRIME = new BigInteger("6FE5D541F71C0E12909F97BADC668562B5045CB25748084E9867D6EBE876DA959B1A13F7CC76E3EC968549F878A8EEAFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF", 16);
+    private static final BigInteger ORD_A = new BigInteger("9619630419041620901435312524449124464130795720328478190417063819395928166869436184427311097384012607618805661696");
+    private static final BigInteger ORD_B = new BigInteger("1076415339332851335838408278837787304900791017342367285006484190592481075231153579549080863047304729836926607724267");
+
+    // Curve coefficient A and public points in standard representation used by the reference implementation
+    private static final BigInteger REF_A = BigInteger.valueOf(6);
+    private static final BigInteger REF_PA_X0 = new BigInteger("4514F8CC94B140F24874F8B87281FA6004CA5B3637C68AC0C0BDB29838051F385FBBCC300BBB24BFBBF6710D7DC8B29ACB81E429BD1BD5629AD0ECAD7C90622F6BB801D0337EE6BC78A7F12FDCB09DECFAE8BFD643C89C3BAC1D87F8B6FA", 16);
+    private static final BigInteger REF_PA_X1 = new BigInteger("158ABF500B5914B3A96CED5FDB37D6DD925F2D6E4F7FEA3CC16E1085754077737EA6F8CC74938D971DA289DCF2435BCAC1897D2627693F9BB167DC01BE34AC494C60B8A0F65A28D7A31EA0D54640653A8099CE5A84E4F0168D818AF02041", 16);
+    private static final BigInteger REF_PA_Y0 = new BigInteger("BF6E4E7A28E9A6EF66A2F1614AE2A2B5A583C9F2DC6C83F84E2D9E6577F9E22B991D58FB2F89666DC1D40A2C0A3AB876CF8DA8878F12325BF8B0CF92E45AE00627041C891BC96FFBB874FC587E4342F78098258DF2E10A5708A70A0D5A8", 16);
+    private static final BigInteger REF_PA_Y1 = new BigInteger("1502FB44178D1DF80A53858519CBCF233FE387905BC8F9E4138703C6DB7C82302FBFB7E97153F6001FE9102D2597AC2B300A1C669D1A2803F8D05BA3B1F2ACBF27BC1A127B4A553916D62004FD21633C5AEAAB74833853B4C5C42EB71F7E", 16);
+    private static final BigInteger REF_QA_X0 = new BigInteger("1723D2BFA01A78BF4E39E3A333F8A7E0B415A17F208D3419E7591D59D8ABDB7EE6D2B2DFCB21AC29A40F837983C0F057FD041AD93237704F1597D87F074F682961A38B5489D1019924F8A0EF5E4F1B2E64A7BA536E219F5090F76276290E", 16);
+    private static final BigInteger REF_QA_X1 = new BigInteger("2569D7EAFB6C60B244EF49E05B5E23F73C4F44169A7E02405E90CEB680CB0756054AC0E3DCE95E2950334262CC973235C2F87D89500BCD465B078BD0DEBDF322A2F86AEDFDCFEE65C09377EFBA0C5384DD837BEDB710209FBC8DDB8C35C7", 16);
+    private static final BigInteger REF_QA_Y0 = new BigInteger("35B82D1BD2BA608B42794C4820C56A3D8BBAD28380B8D85A1910E2609A61F7BC0BCA8ED8EF883E7E98C744A0AC85D2893738521B62EB23D1983D2EDCF2AB437108DC048AA853FF9BC791224B121E8FDF1EA5F617E6ED5898663DDED49154", 16);
+    private static final BigInteger REF_QA_Y1 = new BigInteger("F22306A6963907F16AA38F89C672A4054DB5FD1D26598A3140EA204B10094AE64093142AEB056942494D216A74ED9F51FFC9272D1772151013334EC570B532DB0C083CF39867F63D191029033F942E977B85F69EC738B4C26D3B72E2821", 16);
+    private static final BigInteger REF_RA_X0 = new BigInteger("6066E07F3C0D964E8BC963519FAC8397DF477AEA9A067F3BE343BC53C883AF29CCF008E5A30719A29357A8C33EB3600CD078AF1C40ED5792763A4D213EBDE44CC623195C387E0201E7231C529A15AF5AB743EE9E7C9C37AF3051167525BB", 16);
+    private static final BigInteger REF_RA_X1 = new BigInteger("50E30C2C06494249BC4A144EB5F31212BD05A2AF0CB3064C322FC3604FC5F5FE3A08FB3A02B05A48557E15C992254FFC8910B72B8E1328B4893CDCFBFC003878881CE390D909E39F83C5006E0AE979587775443483D13C65B107FADA5165", 16);
+    private static final BigInteger REF_PB_X0 = new BigInteger("605D4697A245C394B98024A5554746DC12FF56D0C6F15D2F48123B6D9C498EEE98E8F7CD6E216E2F1FF7CE0C969CCA29CAA2FAA57174EF985AC0A504260018760E9FDF67467E20C13982FF5B49B8BEAB05F6023AF873F827400E453432FE", 16);
+    private static final BigInteger REF_PB_Y0 = new BigInteger("5634690BFC14C45E2FAA930D62589855E5BDD1435CFFBDF609628FD043B4BF295BB35F7B6D37836F2C59A27BB61ED0FF57FF8093FE6B712133D26502F17CB0D46CDC8CF9BA7664EA2B6C1672A8CA2FF1CE313FEEEF4199FC7F14FE720617", 16);
+    private static final BigInteger REF_QB_X0 = new BigInteger("5BF9544781803CBD7E0EA8B96D934C5CBCA970F9CC327A0A7E4DAD931EC29BAA8A854B8A9FDE5409AF96C5426FA375D99C68E9AE714172D7F04502D45307FA4839F39A28338BBAFD54A461A535408367D5132E6AA0D3DA6973360F8CD0F1", 16);
+    private static final BigInteger REF_QB_Y1 = new BigInteger("3351F421FC158472AC2DD8B4DABB5B599456748A5BCC4449398F05ED1AD1414B4EEBBB70FB91383474B712EA4B5BF096092CDDD57C0A090B041022064C3A8DD3D890E7B5AC34A24CEF507955F027CC4CECFDB67739CE89F31FDC5FE43243", 16);
+    private static final BigInteger REF_RB_X0 = new BigInteger("55E5124A05D4809585F67FE9EA1F02A06CD411F38588BB631BF789C3F98D1C3325843BB53D9B011D8BD1F682C0E4D8A5E723364364E40DAD1B7A476716AC7D1BA705CCDD680BFD4FE4739CC21A9A59ED544B82566BF633E8950186A79FE3", 16);
+    private static final BigInteger REF_RB_X1 = new BigInteger("5AC57EAFD6CC7569E8B53A148721953262C5B404C143380ADCC184B6C21F0CAFE095B7E9C79CA88791F9A72F1B2F3121829B2622515B694A16875ED637F421B539E66F2FEF1CE8DCEFC8AEA608055E9C44077266AB64611BF851BA06C821", 16);
+
+    // Built-in isogeny strategies
+    private static final IsogenyStrategy STRATEGY_A = new IsogenyStrategy(186, 8, new int[]{80, 48, 27, 15, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 33, 20, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 8, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1});
+    private static final IsogenyStrategy STRATEGY_B = new IsogenyStrategy(239, 10, new int[]{112, 63, 32, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 31, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 15, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 49, 31, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 15, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 21, 12, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1});
+
     private final ImplementationType implementationType;
     private final Fp2ElementFactory fp2ElementFactory;
     private final Montgomery montgomery;
@@ -73,19 +101,38 @@ public class SikeParamP751 implements SikeParam {
     private int messageBytes;
 
     // Configuration of isogeny computation optimizations
-    private int treeRowsA;
-    private int treeRowsB;
-    private int treePointsA;
-    private int treePointsB;
-    private int[] strategyA;
-    private int[] strategyB;
+    private final IsogenyStrategy strategyA;
+    private final IsogenyStrategy strategyB;
 
     /**
      * Constructor of SIKE parameters.
      * @param implementationType Implementation type.
      */
     public SikeParamP751(ImplementationType implementationType) {
+        this(implementationType, STRATEGY_A, STRATEGY_B);
+    }
+
+    /**
+     * Constructor of SIKE parameters with custom isogeny strategies.
+     * @param implementationType Implementation type.
+     * @param strategyA Optimization strategy for tree computations in the 2-isogeny graph.
+     * @param strategyB Optimization strategy for tree computations in the 3-isogeny graph.
+     * @see StrategyGenerator
+     */
+    public SikeParamP751(ImplementationType implementationType, int[] strategyA, int[] strategyB) {
+        this(implementationType, IsogenyStrategy.custom(strategyA, STRATEGY_A), IsogenyStrategy.custom(strategyB, STRATEGY_B));
+    }
+
+    /**
+     * Constructor of SIKE parameters with validated isogeny strategies.
+     * @param implementationType Implementation type.
+     * @param strategyA Strategy for tree computations in the 2-isogeny graph.
+     * @param strategyB Strategy for tree computations in the 3-isogeny graph.
+     */
+    private SikeParamP751(ImplementationType implementationType, IsogenyStrategy strategyA, IsogenyStrategy strategyB) {
         this.implementationType = implementationType;
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
         if (implementationType == ImplementationType.REFERENCE) {
             fp2ElementFactory = new Fp2ElementFactoryRef(this);
             montgomery = new MontgomeryAffine();
@@ -222,32 +269,32 @@ public class SikeParamP751 implements SikeParam {
 
     @Override
     public int getTreeRowsA() {
-        return treeRowsA;
+        return strategyA.getTreeRows();
     }
 
     @Override
     public int getTreeRowsB() {
-        return treeRowsB;
+        return strategyB.getTreeRows();
     }
 
     @Override
     public int getTreePointsA() {
-        return treePointsA;
+        return strategyA.getTreePoints();
     }
 
     @Override
     public int getTreePointsB() {
-        return treePointsB;
+        return strategyB.getTreePoints();
     }
 
     @Override
     public int[] getStrategyA() {
-        return strategyA;
+        return strategyA.getStrategy();
     }
 
     @Override
     public int[] getStrategyB() {
-        return strategyB;
+        return strategyB.getStrategy();
     }
 
     @Override
@@ -359,52 +406,70 @@ public class SikeParamP751 implements SikeParam {
         // EA = 372, EB = 239
         int FIELD_PRIME_PARAM_EA = 372;
         int FIELD_PRIME_PARAM_EB = 239;
-        this.prime = new BigInteger("6FE5D541F71C0E12909F97BADC668562B5045CB25748084E9867D6EBE876DA959B1A13F7CC76E3EC968549F878A8EEAFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF", 16);
+        this.prime = PRIME;
 
         // A = 6, B = 1
-        Fp2Element PUBLIC_PARAM_ELEMENT_A = fp2ElementFactory.generate(new BigInteger("6"));
+        Fp2Element PUBLIC_PARAM_ELEMENT_A;
         Fp2Element PUBLIC_PARAM_ELEMENT_B = fp2ElementFactory.one();
 
         Fp2Point PUBLIC_POINT_PA, PUBLIC_POINT_QA, PUBLIC_POINT_RA;
         Fp2Point PUBLIC_POINT_PB, PUBLIC_POINT_QB, PUBLIC_POINT_RB;
 
         if (implementationType == ImplementationType.REFERENCE) {
+            PUBLIC_PARAM_ELEMENT_A = new Fp2ElementRef(this, new FpElementRef(this, REF_A), new FpElementRef(this, BigInteger.ZERO));
+
             // Public points PA and QA
-            FpElementRef PUBLIC_POINT_PA_X0 = new FpElementRef(this, new BigInteger("4514F8CC94B140F24874F8B87281FA6004CA5B3637C68AC0C0BDB29838051F385FBBCC300BBB24BFBBF6710D7DC8B29ACB81E429BD1BD5629AD0ECAD7C90622F6BB801D0337EE6BC78A7F12FDCB09DECFAE8BFD643C89C3BAC1D87F8B6FA", 16));
-            FpElementRef PUBLIC_POINT_PA_X1 = new FpElementRef(this, new BigInteger("158ABF500B5914B3A96CED5FDB37D6DD925F2D6E4F7FEA3CC16E1085754077737EA6F8CC74938D971DA289DCF2435BCAC1897D2627693F9BB167DC01BE34AC494C60B8A0F65A28D7A31EA0D54640653A8099CE5A84E4F0168D818AF02041", 16));
-            FpElementRef PUBLIC_POINT_PA_Y0 = new FpElementRef(this, new BigInteger("BF6E4E7A28E9A6EF66A2F1614AE2A2B5A583C9F2DC6C83F84E2D9E6577F9E22B991D58FB2F89666DC1D40A2C0A3AB876CF8DA8878F12325BF8B0CF92E45AE00627041C891BC96FFBB874FC587E4342F78098258DF2E10A5708A70A0D5A8", 16));
-            FpElementRef PUBLIC_POINT_PA_Y1 = new FpElementRef(this, new BigInteger("1502FB44178D1DF80A53858519CBCF233FE387905BC8F9E4138703C6DB7C82302FBFB7E97153F6001FE9102D2597AC2B300A1C669D1A2803F8D05BA3B1F2ACBF27BC1A127B4A553916D62004FD21633C5AEAAB74833853B4C5C42EB71F7E", 16));
-            FpElementRef PUBLIC_POINT_QA_X0 = new FpElementRef(this, new BigInteger("1723D2BFA01A78BF4E39E3A333F8A7E0B415A17F208D3419E7591D59D8ABDB7EE6D2B2DFCB21AC29A40F837983C0F057FD041AD93237704F1597D87F074F682961A38B5489D1019924F8A0EF5E4F1B2E64A7BA536E219F5090F76276290E", 16));
-            FpElementRef PUBLIC_POINT_QA_X1 = new FpElementRef(this, new BigInteger("2569D7EAFB6C60B244EF49E05B5E23F73C4F44169A7E02405E90CEB680CB0756054AC0E3DCE95E2950334262CC973235C2F87D89500BCD465B078BD0DEBDF322A2F86AEDFDCFEE65C09377EFBA0C5384DD837BEDB710209FBC8DDB8C35C7", 16));
-            FpElementRef PUBLIC_POINT_QA_Y0 = new FpElementRef(this, new BigInteger("35B82D1BD2BA608B42794C4820C56A3D8BBAD28380B8D85A1910E2609A61F7BC0BCA8ED8EF883E7E98C744A0AC85D2893738521B62EB23D1983D2EDCF2AB437108DC048AA853FF9BC791224B121E8FDF1EA5F617E6ED5898663DDED49154", 16));
-            FpElementRef PUBLIC_POINT_QA_Y1 = new FpElementRef(this, new BigInteger("F22306A6963907F16AA38F89C672A4054DB5FD1D26598A3140EA204B10094AE64093142AEB056942494D216A74ED9F51FFC9272D1772151013334EC570B532DB0C083CF39867F63D191029033F942E977B85F69EC738B4C26D3B72E2821", 16));
-            FpElementRef PUBLIC_POINT_RA_X0 = new FpElementRef(this, new BigInteger("6066E07F3C0D964E8BC963519FAC8397DF477AEA9A067F3BE343BC53C883AF29CCF008E5A30719A29357A8C33EB3600CD078AF1C40ED5792763A4D213EBDE44CC623195C387E0201E7231C529A15AF5AB743EE9E7C9C37AF3051167525BB", 16));
-            FpElementRef PUBLIC_POINT_RA_X1 = new FpElementRef(this, new BigInteger("50E30C2C06494249BC4A144EB5F31212BD05A2AF0CB3064C322FC3604FC5F5FE3A08FB3A02B05A48557E15C992254FFC8910B72B8E1328B4893CDCFBFC003878881CE390D909E39F83C5006E0AE979587775443483D13C65B107FADA5165", 16));
+            FpElementRef PUBLIC_POINT_PA_X0 = new FpElementRef(this, REF_PA_X0);
+            FpElementRef PUBLIC_POINT_PA_X1 = new FpElementRef(this, REF_PA_X1);
+            FpElementRef PUBLIC_POINT_PA_Y0 = new FpElementRef(this, REF_PA_Y0);
+            FpElementRef PUBLIC_POINT_PA_Y1 = new FpElementRef(this, REF_PA_Y1);
+            FpElementRef PUBLIC_POINT_QA_X0 = new FpElementRef(this, REF_QA_X0);
+            FpElementRef PUBLIC_POINT_QA_X1 = new FpElementRef(this, REF_QA_X1);
+            FpElementRef PUBLIC_POINT_QA_Y0 = new FpElementRef(this, REF_QA_Y0);
+            FpElementRef PUBLIC_POINT_QA_Y1 = new FpElementRef(this, REF_QA_Y1);
+            FpElementRef PUBLIC_POINT_RA_X0 = new FpElementRef(this, REF_RA_X0);
+            FpElementRef PUBLIC_POINT_RA_X1 = new FpElementRef(this, REF_RA_X1);
             // The Y points are not defined for R point, only x coordinates are used in optimized version
-            FpElementRef PUBLIC_POINT_RA_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_RA_Y1 = new FpElementRef(this, new BigInteger("0", 16));
+            FpElementRef PUBLIC_POINT_RA_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_RA_Y1 = new FpElementRef(this, BigInteger.ZERO);
             PUBLIC_POINT_PA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_PA_X0, PUBLIC_POINT_PA_X1), new Fp2ElementRef(this, PUBLIC_POINT_PA_Y0, PUBLIC_POINT_PA_Y1));
             PUBLIC_POINT_QA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_QA_X0, PUBLIC_POINT_QA_X1), new Fp2ElementRef(this, PUBLIC_POINT_QA_Y0, PUBLIC_POINT_QA_Y1));
             PUBLIC_POINT_RA = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_RA_X0, PUBLIC_POINT_RA_X1), new Fp2ElementRef(this, PUBLIC_POINT_RA_Y0, PUBLIC_POINT_RA_Y1));
 
             // Public points PB, QB and RB
-            FpElementRef PUBLIC_POINT_PB_X0 = new FpElementRef(this, new BigInteger("605D4697A245C394B98024A5554746DC12FF56D0C6F15D2F48123B6D9C498EEE98E8F7CD6E216E2F1FF7CE0C969CCA29CAA2FAA57174EF985AC0A504260018760E9FDF67467E20C13982FF5B49B8BEAB05F6023AF873F827400E453432FE", 16));
-            FpElementRef PUBLIC_POINT_PB_X1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_PB_Y0 = new FpElementRef(this, new BigInteger("5634690BFC14C45E2FAA930D62589855E5BDD1435CFFBDF609628FD043B4BF295BB35F7B6D37836F2C59A27BB61ED0FF57FF8093FE6B712133D26502F17CB0D46CDC8CF9BA7664EA2B6C1672A8CA2FF1CE313FEEEF4199FC7F14FE720617", 16));
-            FpElementRef PUBLIC_POINT_PB_Y1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_QB_X0 = new FpElementRef(this, new BigInteger("5BF9544781803CBD7E0EA8B96D934C5CBCA970F9CC327A0A7E4DAD931EC29BAA8A854B8A9FDE5409AF96C5426FA375D99C68E9AE714172D7F04502D45307FA4839F39A28338BBAFD54A461A535408367D5132E6AA0D3DA6973360F8CD0F1", 16));
-            FpElementRef PUBLIC_POINT_QB_X1 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_QB_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_QB_Y1 = new FpElementRef(this, new BigInteger("3351F421FC158472AC2DD8B4DABB5B599456748A5BCC4449398F05ED1AD1414B4EEBBB70FB91383474B712EA4B5BF096092CDDD57C0A090B041022064C3A8DD3D890E7B5AC34A24CEF507955F027CC4CECFDB67739CE89F31FDC5FE43243", 16));
-            FpElementRef PUBLIC_POINT_RB_X0 = new FpElementRef(this, new BigInteger("55E5124A05D4809585F67FE9EA1F02A06CD411F38588BB631BF789C3F98D1C3325843BB53D9B011D8BD1F682C0E4D8A5E723364364E40DAD1B7A476716AC7D1BA705CCDD680BFD4FE4739CC21A9A59ED544B82566BF633E8950186A79FE3", 16));
-            FpElementRef PUBLIC_POINT_RB_X1 = new FpElementRef(this, new BigInteger("5AC57EAFD6CC7569E8B53A148721953262C5B404C143380ADCC184B6C21F0CAFE095B7E9C79CA88791F9A72F1B2F3121829B2622515B694A16875ED637F421B539E66F2FEF1CE8DCEFC8AEA608055E9C44077266AB64611BF851BA06C821", 16));
+            FpElementRef PUBLIC_POINT_PB_X0 = new FpElementRef(this, REF_PB_X0);
+            FpElementRef PUBLIC_POINT_PB_X1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_PB_Y0 = new FpElementRef(this, REF_PB_Y0);
+            FpElementRef PUBLIC_POINT_PB_Y1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_QB_X0 = new FpElementRef(this, REF_QB_X0);
+            FpElementRef PUBLIC_POINT_QB_X1 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_QB_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_QB_Y1 = new FpElementRef(this, REF_QB_Y1);
+            FpElementRef PUBLIC_POINT_RB_X0 = new FpElementRef(this, REF_RB_X0);
+            FpElementRef PUBLIC_POINT_RB_X1 = new FpElementRef(this, REF_RB_X1);
             // The Y points are not defined for R point, only x coordinates are used in optimized version
-            FpElementRef PUBLIC_POINT_RB_Y0 = new FpElementRef(this, new BigInteger("0", 16));
-            FpElementRef PUBLIC_POINT_RB_Y1 = new FpElementRef(this, new BigInteger("0", 16));
+            FpElementRef PUBLIC_POINT_RB_Y0 = new FpElementRef(this, BigInteger.ZERO);
+            FpElementRef PUBLIC_POINT_RB_Y1 = new FpElementRef(this, BigInteger.ZERO);
             PUBLIC_POINT_PB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_PB_X0, PUBLIC_POINT_PB_X1), new Fp2ElementRef(this, PUBLIC_POINT_PB_Y0, PUBLIC_POINT_PB_Y1));
             PUBLIC_POINT_QB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_QB_X0, PUBLIC_POINT_QB_X1), new Fp2ElementRef(this, PUBLIC_POINT_QB_Y0, PUBLIC_POINT_QB_Y1));
             PUBLIC_POINT_RB = new Fp2PointAffine(new Fp2ElementRef(this, PUBLIC_POINT_RB_X0, PUBLIC_POINT_RB_X1), new Fp2ElementRef(this, PUBLIC_POINT_RB_Y0, PUBLIC_POINT_RB_Y1));
         } else {
+            // Montgomery representation of A
+            PUBLIC_PARAM_ELEMENT_A = new Fp2ElementOpti(this, new FpElementOpti(this, new long[]{
+                    0x00000000000DBA10L,
+                    0x0000000000000000L,
+                    0x0000000000000000L,
+                    0x0000000000000000L,
+                    0x0000000000000000L,
+                    0x3500000000000000L,
+                    0x3714FE4EB8399915L,
+                    0xC3A2584753EB43F4L,
+                    0xA3151D605C520428L,
+                    0xC116CF5232C7C978L,
+                    0x49A84D4B8EFAF6AAL,
+                    0x0000305731E97514L
+            }), new FpElementOpti(this));
+
             FpElement PUBLIC_POINT_PA_X0 = new FpElementOpti(this,  new long[]{
                     0x884F46B74000BAA8L,
                     0xBA52630F939DEC20L,
@@ -586,8 +651,8 @@ public class SikeParamP751 implements SikeParam {
         this.b = PUBLIC_PARAM_ELEMENT_B;
         this.eA = FIELD_PRIME_PARAM_EA;
         this.eB = FIELD_PRIME_PARAM_EB;
-        this.ordA = new BigInteger("9619630419041620901435312524449124464130795720328478190417063819395928166869436184427311097384012607618805661696");
-        this.ordB = new BigInteger("1076415339332851335838408278837787304900791017342367285006484190592481075231153579549080863047304729836926607724267");
+        this.ordA = ORD_A;
+        this.ordB = ORD_B;
         this.bitsA = 372;
         this.bitsB = 379;
         this.pA = PUBLIC_POINT_PA;
@@ -598,12 +663,6 @@ public class SikeParamP751 implements SikeParam {
         this.rB = PUBLIC_POINT_RB;
         this.cryptoBytes = 32;
         this.messageBytes = 32;
-        this.treeRowsA = 186;
-        this.treeRowsB = 239;
-        this.treePointsA = 8;
-        this.treePointsB = 10;
-        this.strategyA = new int[]{80, 48, 27, 15, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 21, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1, 33, 20, 12, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 8, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1};
-        this.strategyB = new int[]{112, 63, 32, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 31, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 15, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 49, 31, 16, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 15, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 7, 4, 2, 1, 1, 2, 1, 1, 3, 2, 1, 1, 1, 1, 21, 12, 8, 4, 2, 1, 1, 2, 1, 1, 4, 2, 1, 1, 2, 1, 1, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 9, 5, 3, 2, 1, 1, 1, 1, 2, 1, 1, 1, 4, 2, 1, 1, 1, 2, 1, 1};
     }
 
     @Override
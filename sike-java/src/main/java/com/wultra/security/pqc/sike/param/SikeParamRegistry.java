@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.param;
+
+import com.wultra.security.pqc.sike.model.ImplementationType;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of shared SIKE parameter instances. Instances are created lazily on first use and shared
+ * by all callers, parameters are not modified by the implementation and are safe to use concurrently.
+ * In case system property {@code sike.paramRegistry.preload} is set to {@code true}, all instances are
+ * created when the registry is initialized, native image builds set the property so that the instances
+ * are stored in the image heap.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikeParamRegistry {
+
+    private static final List<String> NAMES = Collections.unmodifiableList(Arrays.asList("SIKEp434", "SIKEp503", "SIKEp610", "SIKEp751"));
+
+    private static final Map<String, SikeParam> INSTANCES = new ConcurrentHashMap<>();
+
+    static {
+        if (Boolean.getBoolean("sike.paramRegistry.preload")) {
+            for (String name : NAMES) {
+                for (ImplementationType implementationType : ImplementationType.values()) {
+                    getInstance(name, implementationType);
+                }
+            }
+        }
+    }
+
+    private SikeParamRegistry() {
+
+    }
+
+    /**
+     * Get names of supported parameter sets.
+     * @return Names of supported parameter sets.
+     */
+    public static List<String> getNames() {
+        return NAMES;
+    }
+
+    /**
+     * Get shared SIKE parameters for given parameter set name and implementation type.
+     * @param name Parameter set name, e.g. SIKEp434.
+     * @param implementationType Implementation type.
+     * @return Shared SIKE parameters.
+     */
+    public static SikeParam getInstance(String name, ImplementationType implementationType) {
+        if (name == null) {
+            throw new InvalidParameterException("Invalid parameter set name");
+        }
+        if (implementationType == null) {
+            throw new InvalidParameterException("Invalid implementation type");
+        }
+        return INSTANCES.computeIfAbsent(name + "/" + implementationType, key -> create(name, implementationType));
+    }
+
+    /**
+     * Get shared SIKE parameters with the same parameter set as given parameters.
+     * @param sikeParam SIKE parameters.
+     * @param implementationType Implementation type.
+     * @return Shared SIKE parameters.
+     */
+    public static SikeParam getInstance(SikeParam sikeParam, ImplementationType implementationType) {
+        if (sikeParam == null) {
+            throw new InvalidParameterException("Invalid SIKE parameters");
+        }
+        return getInstance(sikeParam.getName(), implementationType);
+    }
+
+    /**
+     * Create new SIKE parameters.
+     * @param name Parameter set name.
+     * @param implementationType Implementation type.
+     * @return New SIKE parameters.
+     */
+    private static SikeParam create(String name, ImplementationType implementationType) {
+        switch (name) {
+            case "SIKEp434":
+                return new SikeParamP434(implementationType);
+            case "SIKEp503":
+                return new SikeParamP503(implementationType);
+            case "SIKEp610":
+                return new SikeParamP610(implementationType);
+            case "SIKEp751":
+                return new SikeParamP751(implementationType);
+            default:
+                throw new InvalidParameterException("Unsupported parameter set: " + name);
+        }
+    }
+
+}
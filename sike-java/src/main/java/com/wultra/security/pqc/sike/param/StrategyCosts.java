@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.param;
+
+/**
+ * Relative costs of curve operations used for computation of optimal isogeny strategies.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class StrategyCosts {
+
+    private final double doublingCost;
+    private final double eval4IsoCost;
+    private final double triplingCost;
+    private final double eval3IsoCost;
+
+    /**
+     * Strategy costs constructor.
+     * @param doublingCost Cost of a single point doubling.
+     * @param eval4IsoCost Cost of a 4-isogeny evaluation.
+     * @param triplingCost Cost of a single point tripling.
+     * @param eval3IsoCost Cost of a 3-isogeny evaluation.
+     */
+    public StrategyCosts(double doublingCost, double eval4IsoCost, double triplingCost, double eval3IsoCost) {
+        this.doublingCost = doublingCost;
+        this.eval4IsoCost = eval4IsoCost;
+        this.triplingCost = triplingCost;
+        this.eval3IsoCost = eval3IsoCost;
+    }
+
+    /**
+     * Get cost of a single point doubling.
+     * @return Cost of a single point doubling.
+     */
+    public double getDoublingCost() {
+        return doublingCost;
+    }
+
+    /**
+     * Get cost of a 4-isogeny evaluation.
+     * @return Cost of a 4-isogeny evaluation.
+     */
+    public double getEval4IsoCost() {
+        return eval4IsoCost;
+    }
+
+    /**
+     * Get cost of a single point tripling.
+     * @return Cost of a single point tripling.
+     */
+    public double getTriplingCost() {
+        return triplingCost;
+    }
+
+    /**
+     * Get cost of a 3-isogeny evaluation.
+     * @return Cost of a 3-isogeny evaluation.
+     */
+    public double getEval3IsoCost() {
+        return eval3IsoCost;
+    }
+
+    @Override
+    public String toString() {
+        return "StrategyCosts{" +
+                "doublingCost=" + doublingCost +
+                ", eval4IsoCost=" + eval4IsoCost +
+                ", triplingCost=" + triplingCost +
+                ", eval3IsoCost=" + eval3IsoCost +
+                '}';
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.param;
+
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.math.api.Fp2Point;
+import com.wultra.security.pqc.sike.math.api.Isogeny;
+import com.wultra.security.pqc.sike.math.api.Montgomery;
+import com.wultra.security.pqc.sike.math.optimized.Fp2PointProjective;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.MontgomeryCurve;
+
+import java.security.InvalidParameterException;
+
+/**
+ * Generator of optimal strategies for traversal of isogeny trees. The strategies are computed using the dynamic
+ * programming algorithm by De Feo, Jao and Plût, the operation costs can be measured on the running JVM.
+ *
+ * A strategy for a tree with n leaves is encoded in pre-order as [b] + S(n - b) + S(b), where b is the number of
+ * point multiplication steps performed before descending into the left subtree. This is the format used by
+ * {@link SikeParam#getStrategyA()} and {@link SikeParam#getStrategyB()}.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class StrategyGenerator {
+
+    private static final int CALIBRATION_ITERATIONS = 500;
+    private static final int CALIBRATION_ROUNDS = 5;
+
+    // Result of measured computations, stored to prevent their elimination by the JIT compiler
+    private static volatile Fp2Point calibrationResult;
+
+    private StrategyGenerator() {
+
+    }
+
+    /**
+     * Generate an optimal strategy.
+     * @param leaves Number of leaves in the isogeny tree.
+     * @param multiplicationCost Cost of a single point multiplication step.
+     * @param evaluationCost Cost of a single isogeny evaluation.
+     * @return Optimal strategy.
+     */
+    public static int[] generateStrategy(int leaves, double multiplicationCost, double evaluationCost) {
+        if (leaves < 1) {
+            throw new InvalidParameterException("Invalid number of leaves");
+        }
+        if (multiplicationCost <= 0 || evaluationCost <= 0) {
+            throw new InvalidParameterException("Invalid operation cost");
+        }
+        double[] cost = new double[leaves + 1];
+        int[] split = new int[leaves + 1];
+        for (int i = 2; i <= leaves; i++) {
+            cost[i] = Double.MAX_VALUE;
+            for (int b = 1; b < i; b++) {
+                double c = cost[i - b] + cost[b] + b * multiplicationCost + (i - b) * evaluationCost;
+                if (c < cost[i]) {
+                    cost[i] = c;
+                    split[i] = b;
+                }
+            }
+        }
+        int[] strategy = new int[leaves - 1];
+        encode(split, leaves, strategy, 0);
+        return strategy;
+    }
+
+    /**
+     * Generate an optimal strategy for the 2-isogeny tree.
+     * @param sikeParam SIKE parameters.
+     * @param costs Operation costs.
+     * @return Optimal strategy for the 2-isogeny tree.
+     */
+    public static int[] generateStrategyA(SikeParam sikeParam, StrategyCosts costs) {
+        // Each step in the 4-isogeny tree requires two point doublings
+        return generateStrategy(sikeParam.getTreeRowsA(), 2 * costs.getDoublingCost(), costs.getEval4IsoCost());
+    }
+
+    /**
+     * Generate an optimal strategy for the 3-isogeny tree.
+     * @param sikeParam SIKE parameters.
+     * @param costs Operation costs.
+     * @return Optimal strategy for the 3-isogeny tree.
+     */
+    public static int[] generateStrategyB(SikeParam sikeParam, StrategyCosts costs) {
+        return generateStrategy(sikeParam.getTreeRowsB(), costs.getTriplingCost(), costs.getEval3IsoCost());
+    }
+
+    /**
+     * Compute cost of a strategy.
+     * @param strategy Strategy.
+     * @param leaves Number of leaves in the isogeny tree.
+     * @param multiplicationCost Cost of a single point multiplication step.
+     * @param evaluationCost Cost of a single isogeny evaluation.
+     * @return Cost of the strategy.
+     */
+    public static double getStrategyCost(int[] strategy, int leaves, double multiplicationCost, double evaluationCost) {
+        validateStrategy(strategy, leaves);
+        double[] cost = new double[1];
+        cost(strategy, 0, leaves, multiplicationCost, evaluationCost, cost);
+        return cost[0];
+    }
+
+    /**
+     * Compute number of points which need to be stored during traversal of the isogeny tree using a strategy.
+     * @param strategy Strategy.
+     * @param leaves Number of leaves in the isogeny tree.
+     * @return Maximum number of stored points.
+     */
+    public static int getTreePoints(int[] strategy, int leaves) {
+        validateStrategy(strategy, leaves);
+        // Simulate the traversal used in isogeny computations
+        int[] pointIndex = new int[leaves];
+        int pointCount = 0, maxPointCount = 0, index = 0, ii = 0;
+        for (int row = 1; row < leaves; row++) {
+            while (index < leaves - row) {
+                pointIndex[pointCount++] = index;
+                maxPointCount = Math.max(maxPointCount, pointCount);
+                index += strategy[ii++];
+            }
+            index = pointIndex[--pointCount];
+        }
+        return maxPointCount;
+    }
+
+    /**
+     * Validate a strategy.
+     * @param strategy Strategy.
+     * @param leaves Number of leaves in the isogeny tree.
+     */
+    public static void validateStrategy(int[] strategy, int leaves) {
+        if (strategy == null || leaves < 1 || strategy.length != leaves - 1) {
+            throw new InvalidParameterException("Invalid strategy length");
+        }
+        validate(strategy, 0, leaves);
+    }
+
+    /**
+     * Measure costs of curve operations for given SIKE parameters on the running JVM.
+     * @param sikeParam SIKE parameters.
+     * @return Measured operation costs in nanoseconds.
+     */
+    public static StrategyCosts calibrate(SikeParam sikeParam) {
+        Montgomery montgomery = sikeParam.getMontgomery();
+        Isogeny isogeny = sikeParam.getIsogeny();
+        MontgomeryCurve curve;
+        Fp2Point p, q;
+        if (sikeParam.getImplementationType() == ImplementationType.REFERENCE) {
+            curve = new MontgomeryCurve(sikeParam, sikeParam.getA(), sikeParam.getB());
+            p = sikeParam.getPA();
+            q = sikeParam.getQA();
+        } else if (sikeParam.getImplementationType() == ImplementationType.OPTIMIZED) {
+            curve = new MontgomeryCurve(sikeParam, sikeParam.getA());
+            Fp2Element one = sikeParam.getFp2ElementFactory().one();
+            p = new Fp2PointProjective(sikeParam.getPA().getX(), one);
+            q = new Fp2PointProjective(sikeParam.getQA().getX(), one);
+        } else {
+            throw new InvalidParameterException("Unsupported implementation type");
+        }
+        MontgomeryCurve curve4 = isogeny.curve4Iso(curve, p);
+        MontgomeryCurve curve3 = isogeny.curve3Iso(curve, p);
+        double doublingCost = Double.MAX_VALUE, eval4IsoCost = Double.MAX_VALUE;
+        double triplingCost = Double.MAX_VALUE, eval3IsoCost = Double.MAX_VALUE;
+        // The first rounds warm up the JIT compiler, the fastest round is used to filter out noise
+        for (int round = 0; round < CALIBRATION_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < CALIBRATION_ITERATIONS; i++) {
+                calibrationResult = montgomery.xDble(curve, p, 1);
+            }
+            doublingCost = Math.min(doublingCost, (double) (System.nanoTime() - start) / CALIBRATION_ITERATIONS);
+            start = System.nanoTime();
+            for (int i = 0; i < CALIBRATION_ITERATIONS; i++) {
+                calibrationResult = isogeny.eval4Iso(curve4, q, p);
+            }
+            eval4IsoCost = Math.min(eval4IsoCost, (double) (System.nanoTime() - start) / CALIBRATION_ITERATIONS);
+            start = System.nanoTime();
+            for (int i = 0; i < CALIBRATION_ITERATIONS; i++) {
+                calibrationResult = montgomery.xTple(curve, p, 1);
+            }
+            triplingCost = Math.min(triplingCost, (double) (System.nanoTime() - start) / CALIBRATION_ITERATIONS);
+            start = System.nanoTime();
+            for (int i = 0; i < CALIBRATION_ITERATIONS; i++) {
+                calibrationResult = isogeny.eval3Iso(curve3, q, p);
+            }
+            eval3IsoCost = Math.min(eval3IsoCost, (double) (System.nanoTime() - start) / CALIBRATION_ITERATIONS);
+        }
+        return new StrategyCosts(Math.max(doublingCost, 1), Math.max(eval4IsoCost, 1), Math.max(triplingCost, 1), Math.max(eval3IsoCost, 1));
+    }
+
+    /**
+     * Encode an optimal strategy in pre-order.
+     * @param split Optimal split for each number of leaves.
+     * @param leaves Number of leaves in the current subtree.
+     * @param strategy Encoded strategy.
+     * @param pos Current position in the encoded strategy.
+     * @return Position after the encoded subtree.
+     */
+    private static int encode(int[] split, int leaves, int[] strategy, int pos) {
+        if (leaves == 1) {
+            return pos;
+        }
+        int b = split[leaves];
+        strategy[pos++] = b;
+        pos = encode(split, leaves - b, strategy, pos);
+        return encode(split, b, strategy, pos);
+    }
+
+    /**
+     * Validate a subtree of a strategy.
+     * @param strategy Strategy.
+     * @param pos Current position in the strategy.
+     * @param leaves Number of leaves in the current subtree.
+     * @return Position after the subtree.
+     */
+    private static int validate(int[] strategy, int pos, int leaves) {
+        if (leaves == 1) {
+            return pos;
+        }
+        int b = strategy[pos];
+        if (b < 1 || b >= leaves) {
+            throw new InvalidParameterException("Invalid strategy at position: " + pos);
+        }
+        pos = validate(strategy, pos + 1, leaves - b);
+        return validate(strategy, pos, b);
+    }
+
+    /**
+     * Compute cost of a subtree of a strategy.
+     * @param strategy Strategy.
+     * @param pos Current position in the strategy.
+     * @param leaves Number of leaves in the current subtree.
+     * @param multiplicationCost Cost of a single point multiplication step.
+     * @param evaluationCost Cost of a single isogeny evaluation.
+     * @param cost Accumulated cost.
+     * @return Position after the subtree.
+     */
+    private static int cost(int[] strategy, int pos, int leaves, double multiplicationCost, double evaluationCost, double[] cost) {
+        if (leaves == 1) {
+            return pos;
+        }
+        int b = strategy[pos];
+        cost[0] += b * multiplicationCost + (leaves - b) * evaluationCost;
+        pos = cost(strategy, pos + 1, leaves - b, multiplicationCost, evaluationCost, cost);
+        return cost(strategy, pos, b, multiplicationCost, evaluationCost, cost);
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.provider;
+
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Secret key generated by SIKE key encapsulation together with the encrypted message for Bob.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SecretKeyWithEncapsulation extends SecretKeySpec {
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] encapsulation;
+
+    /**
+     * Secret key with encapsulation constructor.
+     * @param secret Shared secret.
+     * @param keyAlgorithm Algorithm name of the secret key.
+     * @param encapsulation Encrypted message to be sent to Bob.
+     */
+    public SecretKeyWithEncapsulation(byte[] secret, String keyAlgorithm, byte[] encapsulation) {
+        super(secret, keyAlgorithm);
+        this.encapsulation = encapsulation.clone();
+    }
+
+    /**
+     * Get encrypted message to be sent to Bob.
+     * @return Encrypted message.
+     */
+    public byte[] getEncapsulation() {
+        return encapsulation.clone();
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.provider;
+
+import java.security.InvalidParameterException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * Parameters of SIKE key decapsulation using the provider key generator.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikeDecapsulationSpec implements AlgorithmParameterSpec {
+
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final byte[] encapsulation;
+    private final String keyAlgorithm;
+
+    /**
+     * Decapsulation parameters constructor for AES keys.
+     * @param privateKey Bob's private key.
+     * @param publicKey Bob's public key.
+     * @param encapsulation Encrypted message received from Alice.
+     */
+    public SikeDecapsulationSpec(PrivateKey privateKey, PublicKey publicKey, byte[] encapsulation) {
+        this(privateKey, publicKey, encapsulation, "AES");
+    }
+
+    /**
+     * Decapsulation parameters constructor.
+     * @param privateKey Bob's private key.
+     * @param publicKey Bob's public key.
+     * @param encapsulation Encrypted message received from Alice.
+     * @param keyAlgorithm Algorithm name of the generated secret key.
+     */
+    public SikeDecapsulationSpec(PrivateKey privateKey, PublicKey publicKey, byte[] encapsulation, String keyAlgorithm) {
+        if (privateKey == null) {
+            throw new InvalidParameterException("Invalid private key");
+        }
+        if (publicKey == null) {
+            throw new InvalidParameterException("Invalid public key");
+        }
+        if (encapsulation == null) {
+            throw new InvalidParameterException("Invalid encapsulation");
+        }
+        if (keyAlgorithm == null) {
+            throw new InvalidParameterException("Invalid key algorithm");
+        }
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.encapsulation = encapsulation.clone();
+        this.keyAlgorithm = keyAlgorithm;
+    }
+
+    /**
+     * Get Bob's private key.
+     * @return Bob's private key.
+     */
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    /**
+     * Get Bob's public key.
+     * @return Bob's public key.
+     */
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Get encrypted message received from Alice.
+     * @return Encrypted message.
+     */
+    public byte[] getEncapsulation() {
+        return encapsulation.clone();
+    }
+
+    /**
+     * Get algorithm name of the generated secret key.
+     * @return Key algorithm name.
+     */
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+}
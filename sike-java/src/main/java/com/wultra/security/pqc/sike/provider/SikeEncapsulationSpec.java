@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.provider;
+
+import java.security.InvalidParameterException;
+import java.security.PublicKey;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * Parameters of SIKE key encapsulation using the provider key generator.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikeEncapsulationSpec implements AlgorithmParameterSpec {
+
+    private final PublicKey publicKey;
+    private final String keyAlgorithm;
+
+    /**
+     * Encapsulation parameters constructor for AES keys.
+     * @param publicKey Bob's public key.
+     */
+    public SikeEncapsulationSpec(PublicKey publicKey) {
+        this(publicKey, "AES");
+    }
+
+    /**
+     * Encapsulation parameters constructor.
+     * @param publicKey Bob's public key.
+     * @param keyAlgorithm Algorithm name of the generated secret key.
+     */
+    public SikeEncapsulationSpec(PublicKey publicKey, String keyAlgorithm) {
+        if (publicKey == null) {
+            throw new InvalidParameterException("Invalid public key");
+        }
+        if (keyAlgorithm == null) {
+            throw new InvalidParameterException("Invalid key algorithm");
+        }
+        this.publicKey = publicKey;
+        this.keyAlgorithm = keyAlgorithm;
+    }
+
+    /**
+     * Get Bob's public key.
+     * @return Bob's public key.
+     */
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Get algorithm name of the generated secret key.
+     * @return Key algorithm name.
+     */
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.provider;
+
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.EncryptedMessage;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import javax.crypto.KeyGeneratorSpi;
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidParameterException;
+import java.security.ProviderException;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+
+/**
+ * Key generator engine performing SIKE key encapsulation or decapsulation depending on the initialization
+ * parameters. The SIKE instance is reused by subsequent operations as long as the same random generator is used.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikeKemSpi extends KeyGeneratorSpi {
+
+    private final SikeParam sikeParam;
+    private SecureRandom secureRandom;
+    private Sike sike;
+    private AlgorithmParameterSpec spec;
+
+    /**
+     * Key encapsulation engine constructor.
+     * @param sikeParam SIKE parameters.
+     */
+    SikeKemSpi(SikeParam sikeParam) {
+        this.sikeParam = sikeParam;
+        this.sike = new Sike(sikeParam);
+    }
+
+    @Override
+    protected void engineInit(SecureRandom random) {
+        throw new InvalidParameterException("Initialize the key generator with SikeEncapsulationSpec or SikeDecapsulationSpec");
+    }
+
+    @Override
+    protected void engineInit(int keysize, SecureRandom random) {
+        throw new InvalidParameterException("Initialize the key generator with SikeEncapsulationSpec or SikeDecapsulationSpec");
+    }
+
+    @Override
+    protected void engineInit(AlgorithmParameterSpec params, SecureRandom random) throws InvalidAlgorithmParameterException {
+        if (params instanceof SikeEncapsulationSpec) {
+            checkAlgorithm(((SikeEncapsulationSpec) params).getPublicKey().getAlgorithm());
+        } else if (params instanceof SikeDecapsulationSpec) {
+            checkAlgorithm(((SikeDecapsulationSpec) params).getPublicKey().getAlgorithm());
+        } else {
+            throw new InvalidAlgorithmParameterException("Unsupported parameters");
+        }
+        if (random != null && random != secureRandom) {
+            secureRandom = random;
+            sike = new Sike(sikeParam, random);
+        }
+        this.spec = params;
+    }
+
+    @Override
+    protected SecretKey engineGenerateKey() {
+        if (spec == null) {
+            throw new IllegalStateException("Key generator is not initialized");
+        }
+        try {
+            if (spec instanceof SikeEncapsulationSpec) {
+                SikeEncapsulationSpec encapsulationSpec = (SikeEncapsulationSpec) spec;
+                EncapsulationResult result = sike.encapsulate(encapsulationSpec.getPublicKey());
+                byte[] secret = result.getSecret();
+                SecretKey secretKey = new SecretKeyWithEncapsulation(secret, encapsulationSpec.getKeyAlgorithm(), result.getEncryptedMessage().getEncoded());
+                Arrays.fill(secret, (byte) 0);
+                return secretKey;
+            }
+            SikeDecapsulationSpec decapsulationSpec = (SikeDecapsulationSpec) spec;
+            EncryptedMessage encryptedMessage = new EncryptedMessage(sikeParam, decapsulationSpec.getEncapsulation());
+            byte[] secret = sike.decapsulate(decapsulationSpec.getPrivateKey(), decapsulationSpec.getPublicKey(), encryptedMessage);
+            SecretKey secretKey = new SecretKeyWithEncapsulation(secret, decapsulationSpec.getKeyAlgorithm(), decapsulationSpec.getEncapsulation());
+            Arrays.fill(secret, (byte) 0);
+            return secretKey;
+        } catch (GeneralSecurityException | RuntimeException ex) {
+            throw new ProviderException("Key encapsulation failed", ex);
+        }
+    }
+
+    /**
+     * Check that the key algorithm matches the parameter set of this engine.
+     * @param algorithm Key algorithm.
+     * @throws InvalidAlgorithmParameterException Thrown in case the algorithm does not match.
+     */
+    private void checkAlgorithm(String algorithm) throws InvalidAlgorithmParameterException {
+        if (!sikeParam.getName().equals(algorithm)) {
+            throw new InvalidAlgorithmParameterException("Key parameter set mismatch: " + algorithm);
+        }
+    }
+
+}
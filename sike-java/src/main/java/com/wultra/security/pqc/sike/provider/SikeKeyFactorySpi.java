@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.provider;
+
+import com.wultra.security.pqc.sike.crypto.PreparedKeyCache;
+import com.wultra.security.pqc.sike.model.CompactSidhPublicKey;
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+import com.wultra.security.pqc.sike.model.SidhPublicKey;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.security.*;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+
+/**
+ * Key factory engine converting SIKE keys from and to their byte encoding. Decoded public keys are shared
+ * through the prepared key cache of the provider.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikeKeyFactorySpi extends KeyFactorySpi {
+
+    private final SikeParam sikeParam;
+    private final PreparedKeyCache keyCache;
+
+    /**
+     * Key factory engine constructor.
+     * @param sikeParam SIKE parameters.
+     * @param keyCache Prepared key cache.
+     */
+    SikeKeyFactorySpi(SikeParam sikeParam, PreparedKeyCache keyCache) {
+        this.sikeParam = sikeParam;
+        this.keyCache = keyCache;
+    }
+
+    @Override
+    protected PublicKey engineGeneratePublic(KeySpec keySpec) throws InvalidKeySpecException {
+        if (!(keySpec instanceof SikePublicKeySpec)) {
+            throw new InvalidKeySpecException("Unsupported key specification");
+        }
+        try {
+            return keyCache.getPublicKey(sikeParam, ((SikePublicKeySpec) keySpec).getEncoded());
+        } catch (RuntimeException ex) {
+            throw new InvalidKeySpecException("Invalid public key", ex);
+        }
+    }
+
+    @Override
+    protected PrivateKey engineGeneratePrivate(KeySpec keySpec) throws InvalidKeySpecException {
+        if (!(keySpec instanceof SikePrivateKeySpec)) {
+            throw new InvalidKeySpecException("Unsupported key specification");
+        }
+        SikePrivateKeySpec privateKeySpec = (SikePrivateKeySpec) keySpec;
+        try {
+            return new SidhPrivateKey(sikeParam, privateKeySpec.getParty(), privateKeySpec.getEncoded());
+        } catch (RuntimeException ex) {
+            throw new InvalidKeySpecException("Invalid private key", ex);
+        }
+    }
+
+    @Override
+    protected <T extends KeySpec> T engineGetKeySpec(Key key, Class<T> keySpec) throws InvalidKeySpecException {
+        if (key instanceof SidhPublicKey || key instanceof CompactSidhPublicKey) {
+            if (keySpec.isAssignableFrom(SikePublicKeySpec.class)) {
+                return keySpec.cast(new SikePublicKeySpec(key.getEncoded()));
+            }
+        } else if (key instanceof SidhPrivateKey) {
+            if (keySpec.isAssignableFrom(SikePrivateKeySpec.class)) {
+                SidhPrivateKey privateKey = (SidhPrivateKey) key;
+                return keySpec.cast(new SikePrivateKeySpec(privateKey.getEncoded(), privateKey.getParty()));
+            }
+        } else {
+            throw new InvalidKeySpecException("Unsupported key type");
+        }
+        throw new InvalidKeySpecException("Unsupported key specification");
+    }
+
+    @Override
+    protected Key engineTranslateKey(Key key) throws InvalidKeyException {
+        if (key instanceof SidhPublicKey || key instanceof CompactSidhPublicKey || key instanceof SidhPrivateKey) {
+            if (!sikeParam.getName().equals(key.getAlgorithm())) {
+                throw new InvalidKeyException("Key parameter set mismatch: " + key.getAlgorithm());
+            }
+            return key;
+        }
+        throw new InvalidKeyException("Unsupported key type");
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.provider;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.RandomGenerator;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.security.*;
+
+/**
+ * Key pair generator engine generating Bob's SIKE key pairs.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikeKeyPairGeneratorSpi extends KeyPairGeneratorSpi {
+
+    private final SikeParam sikeParam;
+    private SecureRandom secureRandom;
+    private KeyGenerator keyGenerator;
+
+    /**
+     * Key pair generator engine constructor.
+     * @param sikeParam SIKE parameters.
+     */
+    SikeKeyPairGeneratorSpi(SikeParam sikeParam) {
+        this.sikeParam = sikeParam;
+        this.keyGenerator = new KeyGenerator(sikeParam);
+    }
+
+    @Override
+    public void initialize(int keysize, SecureRandom random) {
+        if (keysize != sikeParam.getPrime().bitLength()) {
+            throw new InvalidParameterException("Invalid key size for " + sikeParam.getName() + ": " + keysize);
+        }
+        // The key generator is reused as long as the same random generator is used
+        if (random != null && random != secureRandom) {
+            secureRandom = random;
+            keyGenerator = new KeyGenerator(sikeParam, new RandomGenerator(random));
+        }
+    }
+
+    @Override
+    public KeyPair generateKeyPair() {
+        try {
+            return keyGenerator.generateKeyPair(Party.BOB);
+        } catch (GeneralSecurityException ex) {
+            throw new ProviderException("Key pair generation failed", ex);
+        }
+    }
+
+}
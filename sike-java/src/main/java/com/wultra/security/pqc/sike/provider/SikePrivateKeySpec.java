@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.provider;
+
+import com.wultra.security.pqc.sike.model.Party;
+
+import java.security.InvalidParameterException;
+import java.security.spec.KeySpec;
+
+/**
+ * Specification of SIKE private key using its byte encoding.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikePrivateKeySpec implements KeySpec {
+
+    private final byte[] encoded;
+    private final Party party;
+
+    /**
+     * Private key specification constructor for Bob's private key.
+     * @param encoded Private key encoding.
+     */
+    public SikePrivateKeySpec(byte[] encoded) {
+        this(encoded, Party.BOB);
+    }
+
+    /**
+     * Private key specification constructor.
+     * @param encoded Private key encoding.
+     * @param party Alice or Bob.
+     */
+    public SikePrivateKeySpec(byte[] encoded, Party party) {
+        if (encoded == null) {
+            throw new InvalidParameterException("Invalid private key encoding");
+        }
+        if (party != Party.ALICE && party != Party.BOB) {
+            throw new InvalidParameterException("Invalid party");
+        }
+        this.encoded = encoded.clone();
+        this.party = party;
+    }
+
+    /**
+     * Get private key encoding.
+     * @return Private key encoding.
+     */
+    public byte[] getEncoded() {
+        return encoded.clone();
+    }
+
+    /**
+     * Get party of the private key.
+     * @return Alice or Bob.
+     */
+    public Party getParty() {
+        return party;
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.provider;
+
+import com.wultra.security.pqc.sike.crypto.PreparedKeyCache;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamRegistry;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.util.Collections;
+
+/**
+ * Java Cryptography Architecture provider for SIKE. The provider registers following services for SIKEp434,
+ * SIKEp503, SIKEp610 and SIKEp751 using the optimized implementation:
+ * <ul>
+ *     <li>KeyPairGenerator - generates Bob's key pairs for key encapsulation.</li>
+ *     <li>KeyFactory - converts keys from and to {@link SikePublicKeySpec} and {@link SikePrivateKeySpec}.</li>
+ *     <li>KeyGenerator - key encapsulation initialized with {@link SikeEncapsulationSpec} and decapsulation
+ *     initialized with {@link SikeDecapsulationSpec}, generated keys are {@link SecretKeyWithEncapsulation}.</li>
+ * </ul>
+ *
+ * Public keys created by the key factory are shared through a bounded prepared key cache of the provider.
+ * JDKs which verify signatures of JCE providers require a signed JAR for the KeyGenerator service.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikeProvider extends Provider {
+
+    /**
+     * Provider name.
+     */
+    public static final String PROVIDER_NAME = "SIKE";
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient PreparedKeyCache keyCache = new PreparedKeyCache(1024, 1024 * 1024);
+
+    /**
+     * SIKE provider constructor.
+     */
+    @SuppressWarnings("deprecation")
+    public SikeProvider() {
+        super(PROVIDER_NAME, 0.1, "SIKE key encapsulation provider");
+        for (String name : SikeParamRegistry.getNames()) {
+            putService(new SikeService(this, "KeyPairGenerator", name, SikeKeyPairGeneratorSpi.class.getName()));
+            putService(new SikeService(this, "KeyFactory", name, SikeKeyFactorySpi.class.getName()));
+            putService(new SikeService(this, "KeyGenerator", name, SikeKemSpi.class.getName()));
+        }
+    }
+
+    /**
+     * Get the prepared key cache shared by engines of this provider.
+     * @return Prepared key cache.
+     */
+    PreparedKeyCache getKeyCache() {
+        return keyCache;
+    }
+
+    /**
+     * Provider service which creates engines for a SIKE parameter set.
+     */
+    private static class SikeService extends Service {
+
+        private final SikeProvider provider;
+
+        /**
+         * SIKE service constructor.
+         * @param provider SIKE provider.
+         * @param type Service type.
+         * @param algorithm Parameter set name.
+         * @param className Engine class name.
+         */
+        SikeService(SikeProvider provider, String type, String algorithm, String className) {
+            super(provider, type, algorithm, className, null, Collections.emptyMap());
+            this.provider = provider;
+        }
+
+        @Override
+        public Object newInstance(Object constructorParameter) throws NoSuchAlgorithmException {
+            SikeParam sikeParam = SikeParamRegistry.getInstance(getAlgorithm(), ImplementationType.OPTIMIZED);
+            switch (getType()) {
+                case "KeyPairGenerator":
+                    return new SikeKeyPairGeneratorSpi(sikeParam);
+                case "KeyFactory":
+                    return new SikeKeyFactorySpi(sikeParam, provider.getKeyCache());
+                case "KeyGenerator":
+                    return new SikeKemSpi(sikeParam);
+                default:
+                    throw new NoSuchAlgorithmException("Unsupported service type: " + getType());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.provider;
+
+import java.security.InvalidParameterException;
+import java.security.spec.KeySpec;
+
+/**
+ * Specification of SIKE public key using its byte encoding.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class SikePublicKeySpec implements KeySpec {
+
+    private final byte[] encoded;
+
+    /**
+     * Public key specification constructor.
+     * @param encoded Public key encoding.
+     */
+    public SikePublicKeySpec(byte[] encoded) {
+        if (encoded == null) {
+            throw new InvalidParameterException("Invalid public key encoding");
+        }
+        this.encoded = encoded.clone();
+    }
+
+    /**
+     * Get public key encoding.
+     * @return Public key encoding.
+     */
+    public byte[] getEncoded() {
+        return encoded.clone();
+    }
+
+}
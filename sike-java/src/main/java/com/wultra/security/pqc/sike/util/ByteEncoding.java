@@ -16,10 +16,9 @@
  */
 package com.wultra.security.pqc.sike.util;
 
-import org.bouncycastle.util.BigIntegers;
-
 import java.math.BigInteger;
 import java.security.InvalidParameterException;
+import java.util.Arrays;
 
 /**
  * Converter for byte encoding for compatibility with the GMP library.
@@ -39,7 +38,7 @@ public class ByteEncoding {
      * @return Converted number.
      */
     public static BigInteger fromByteArray(byte[] data) {
-        return BigIntegers.fromUnsignedByteArray(reverse(data));
+        return new BigInteger(1, reverse(data));
     }
 
     /**
@@ -49,7 +48,13 @@ public class ByteEncoding {
      * @return Byte array representing converted number.
      */
     public static byte[] toByteArray(BigInteger n, int length) {
-        byte[] encoded = reverse(BigIntegers.asUnsignedByteArray(n));
+        // Conversion uses only JDK classes so that parameter initialization does not load the signed provider JAR
+        byte[] encoded = n.toByteArray();
+        if (encoded[0] == 0 && encoded.length > 1) {
+            // Strip the sign byte
+            encoded = Arrays.copyOfRange(encoded, 1, encoded.length);
+        }
+        encoded = reverse(encoded);
         if (encoded.length > length) {
             throw new InvalidParameterException("Number is too large");
         }
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.util;
+
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Opt-in counter of field and curve operations. The counts are collected per thread and aggregated
+ * per top-level operation and SIKE parameters. Counting is disabled by default, it can be enabled
+ * using the system property sike.operationCounter=true or at runtime using {@link #setEnabled(boolean)}.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class OperationCounter {
+
+    /**
+     * Counted operations.
+     */
+    public enum Operation {
+        FP_MULTIPLICATION,
+        FP_SQUARING,
+        FP_REDUCTION,
+        FP_ADDITION,
+        FP_SUBTRACTION,
+        FP_INVERSION,
+        FP2_MULTIPLICATION,
+        FP2_SQUARING,
+        FP2_INVERSION,
+        X_DBL,
+        X_TPL,
+        X_DBL_ADD,
+        X_ADD,
+        CURVE_2_ISO,
+        CURVE_3_ISO,
+        CURVE_4_ISO,
+        EVAL_2_ISO,
+        EVAL_3_ISO,
+        EVAL_4_ISO
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private static volatile boolean enabled = Boolean.getBoolean("sike.operationCounter");
+
+    private static final ThreadLocal<ThreadCounts> THREAD_COUNTS = ThreadLocal.withInitial(ThreadCounts::new);
+
+    // Aggregated counts, the last slot contains number of top-level operation invocations
+    private static final Map<String, AtomicLongArray> AGGREGATED_COUNTS = new ConcurrentHashMap<>();
+
+    private OperationCounter() {
+
+    }
+
+    /**
+     * Get whether operation counting is enabled.
+     * @return Whether operation counting is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable operation counting. The setting should be changed while no operations are running.
+     * @param enabled Whether operation counting is enabled.
+     */
+    public static void setEnabled(boolean enabled) {
+        OperationCounter.enabled = enabled;
+    }
+
+    /**
+     * Count an operation.
+     * @param operation Counted operation.
+     */
+    public static void count(Operation operation) {
+        if (!enabled) {
+            return;
+        }
+        THREAD_COUNTS.get().counts[operation.ordinal()]++;
+    }
+
+    /**
+     * Mark beginning of a top-level operation. Nested operations are counted as part of the outermost operation.
+     */
+    public static void begin() {
+        if (!enabled) {
+            return;
+        }
+        ThreadCounts threadCounts = THREAD_COUNTS.get();
+        if (threadCounts.depth++ == 0) {
+            threadCounts.clear();
+        }
+    }
+
+    /**
+     * Mark end of a top-level operation and aggregate the counted operations.
+     * @param sikeParam SIKE parameters.
+     * @param operationName Name of the top-level operation.
+     */
+    public static void end(SikeParam sikeParam, String operationName) {
+        if (!enabled) {
+            return;
+        }
+        ThreadCounts threadCounts = THREAD_COUNTS.get();
+        if (threadCounts.depth == 0 || --threadCounts.depth > 0) {
+            return;
+        }
+        String key = sikeParam.getName() + "/" + sikeParam.getImplementationType() + "/" + operationName;
+        AtomicLongArray aggregated = AGGREGATED_COUNTS.computeIfAbsent(key, k -> new AtomicLongArray(OPERATIONS.length + 1));
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            long count = threadCounts.counts[i];
+            if (count != 0) {
+                aggregated.addAndGet(i, count);
+            }
+        }
+        aggregated.incrementAndGet(OPERATIONS.length);
+        threadCounts.clear();
+    }
+
+    /**
+     * Get aggregated operation counts.
+     * @return Map of aggregated counts, the key has the format parameter/implementation/operation.
+     */
+    public static Map<String, Counts> getCounts() {
+        Map<String, Counts> result = new TreeMap<>();
+        AGGREGATED_COUNTS.forEach((key, aggregated) -> {
+            Map<Operation, Long> totals = new EnumMap<>(Operation.class);
+            for (int i = 0; i < OPERATIONS.length; i++) {
+                totals.put(OPERATIONS[i], aggregated.get(i));
+            }
+            result.put(key, new Counts(aggregated.get(OPERATIONS.length), totals));
+        });
+        return result;
+    }
+
+    /**
+     * Get aggregated operation counts for given SIKE parameters and top-level operation.
+     * @param sikeParam SIKE parameters.
+     * @param operationName Name of the top-level operation.
+     * @return Aggregated counts or null in case the operation was not counted.
+     */
+    public static Counts getCounts(SikeParam sikeParam, String operationName) {
+        String key = sikeParam.getName() + "/" + sikeParam.getImplementationType() + "/" + operationName;
+        return getCounts().get(key);
+    }
+
+    /**
+     * Reset all aggregated counts.
+     */
+    public static void reset() {
+        AGGREGATED_COUNTS.clear();
+    }
+
+    /**
+     * Operation counts collected by a single thread.
+     */
+    private static class ThreadCounts {
+
+        private final long[] counts = new long[OPERATIONS.length];
+        private int depth;
+
+        private void clear() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = 0L;
+            }
+        }
+    }
+
+    /**
+     * Aggregated operation counts of a top-level operation.
+     */
+    public static class Counts {
+
+        private final long invocations;
+        private final Map<Operation, Long> totals;
+
+        /**
+         * Aggregated counts constructor.
+         * @param invocations Number of top-level operation invocations.
+         * @param totals Total counts of operations.
+         */
+        public Counts(long invocations, Map<Operation, Long> totals) {
+            this.invocations = invocations;
+            this.totals = Collections.unmodifiableMap(totals);
+        }
+
+        /**
+         * Get number of top-level operation invocations.
+         * @return Number of invocations.
+         */
+        public long getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * Get total count of an operation.
+         * @param operation Counted operation.
+         * @return Total count.
+         */
+        public long getTotal(Operation operation) {
+            return totals.get(operation);
+        }
+
+        /**
+         * Get average count of an operation per top-level operation invocation.
+         * @param operation Counted operation.
+         * @return Average count.
+         */
+        public double getAverage(Operation operation) {
+            if (invocations == 0) {
+                return 0;
+            }
+            return (double) totals.get(operation) / invocations;
+        }
+
+        /**
+         * Get total counts of all operations.
+         * @return Total counts.
+         */
+        public Map<Operation, Long> getTotals() {
+            return totals;
+        }
+
+        @Override
+        public String toString() {
+            return "invocations=" + invocations + ", totals=" + totals;
+        }
+    }
+
+}
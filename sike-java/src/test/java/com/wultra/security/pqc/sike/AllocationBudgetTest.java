@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.math.optimized.fp.Fp2ElementOpti;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.EncryptedMessage;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamRegistry;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budget regression test of hot paths. Bytes allocated per operation are measured using thread
+ * allocation counters after warm-up and compared with budgets from allocation-budgets.properties. A budget
+ * can be overridden using a system property, e.g. -DallocationBudget.SIKEp434.encapsulate=40000000.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class AllocationBudgetTest {
+
+    private static final String BUDGET_PREFIX = "allocationBudget.";
+    private static final int CRYPTO_WARMUP_ITERATIONS = 10;
+    private static final int CRYPTO_ITERATIONS = 10;
+    private static final int MATH_WARMUP_ITERATIONS = 20000;
+    private static final int MATH_ITERATIONS = 10000;
+
+    private static final Properties budgets = new Properties();
+    private static com.sun.management.ThreadMXBean threadBean;
+
+    // Results of measured computations, stored to prevent their elimination by the JIT compiler
+    private static volatile Object sink;
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @BeforeAll
+    static void init() throws IOException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Thread allocation counters are not available");
+        threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        try (InputStream in = AllocationBudgetTest.class.getClassLoader().getResourceAsStream("allocation-budgets.properties")) {
+            assertNotNull(in);
+            budgets.load(in);
+        }
+    }
+
+    @Test
+    void testKeyPairGeneration() throws GeneralSecurityException {
+        SikeParam sikeParam = SikeParamRegistry.getInstance("SIKEp434", ImplementationType.OPTIMIZED);
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        verifyBudget(sikeParam.getName() + ".generateKeyPair", CRYPTO_WARMUP_ITERATIONS, CRYPTO_ITERATIONS,
+                () -> sink = keyGenerator.generateKeyPair(Party.BOB));
+    }
+
+    @Test
+    void testEncapsulation() throws GeneralSecurityException {
+        SikeParam sikeParam = SikeParamRegistry.getInstance("SIKEp434", ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        Sike sike = new Sike(sikeParam);
+        verifyBudget(sikeParam.getName() + ".encapsulate", CRYPTO_WARMUP_ITERATIONS, CRYPTO_ITERATIONS,
+                () -> sink = sike.encapsulate(keyPair.getPublic()));
+    }
+
+    @Test
+    void testDecapsulation() throws GeneralSecurityException {
+        SikeParam sikeParam = SikeParamRegistry.getInstance("SIKEp434", ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        Sike sike = new Sike(sikeParam);
+        EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+        EncryptedMessage encrypted = encapsulationResult.getEncryptedMessage();
+        verifyBudget(sikeParam.getName() + ".decapsulate", CRYPTO_WARMUP_ITERATIONS, CRYPTO_ITERATIONS,
+                () -> sink = sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encrypted));
+    }
+
+    @Test
+    void testFp2Multiplication() throws GeneralSecurityException {
+        for (String name : new String[]{"SIKEp434", "SIKEp751"}) {
+            SikeParam sikeParam = SikeParamRegistry.getInstance(name, ImplementationType.OPTIMIZED);
+            Random random = new Random(1);
+            BigInteger p = sikeParam.getPrime();
+            Fp2Element a = new Fp2ElementOpti(sikeParam, new BigInteger(p.bitLength(), random).mod(p), new BigInteger(p.bitLength(), random).mod(p));
+            Fp2Element b = new Fp2ElementOpti(sikeParam, new BigInteger(p.bitLength(), random).mod(p), new BigInteger(p.bitLength(), random).mod(p));
+            verifyBudget(name + ".fp2Multiply", MATH_WARMUP_ITERATIONS, MATH_ITERATIONS, () -> sink = a.multiply(b));
+        }
+    }
+
+    /**
+     * Measure bytes allocated per operation and compare them with the configured budget.
+     * @param key Budget key.
+     * @param warmupIterations Number of warm-up iterations.
+     * @param iterations Number of measured iterations.
+     * @param operation Measured operation.
+     * @throws GeneralSecurityException Thrown in case the operation fails.
+     */
+    private void verifyBudget(String key, int warmupIterations, int iterations, Operation operation) throws GeneralSecurityException {
+        String budgetValue = System.getProperty(BUDGET_PREFIX + key, budgets.getProperty(key));
+        assertNotNull(budgetValue, "Missing allocation budget for " + key);
+        long budget = Long.parseLong(budgetValue.trim());
+        for (int i = 0; i < warmupIterations; i++) {
+            operation.execute();
+        }
+        long threadId = Thread.currentThread().getId();
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            operation.execute();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - start;
+        long perOperation = allocated / iterations;
+        System.out.println("----------------------------------------");
+        System.out.println("Allocation of " + key + ": " + perOperation + " bytes per operation, budget: " + budget + " bytes");
+        assertTrue(perOperation <= budget, "Allocation budget exceeded for " + key + ": " + perOperation + " > " + budget + " bytes");
+    }
+
+    /**
+     * Measured operation.
+     */
+    private interface Operation {
+
+        /**
+         * Execute the operation.
+         * @throws GeneralSecurityException Thrown in case the operation fails.
+         */
+        void execute() throws GeneralSecurityException;
+
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.AsyncSike;
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sidh;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of asynchronous SIKE key encapsulation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class AsyncSikeTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testAsyncEncapsulation() throws GeneralSecurityException, ExecutionException, InterruptedException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        try (AsyncSike asyncSike = new AsyncSike(sikeParam, 2, 16, 60000)) {
+            System.out.println("----------------------------------------");
+            System.out.println("Testing asynchronous SIKE encapsulation/decapsulation");
+            EncapsulationResult encapsulationResult = asyncSike.encapsulate(keyPair.getPublic()).get();
+            byte[] secretDecaps = asyncSike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encapsulationResult.getEncryptedMessage()).get();
+            boolean match = Arrays.equals(encapsulationResult.getSecret(), secretDecaps);
+            System.out.println("Shared secrets match: " + match);
+            assertTrue(match, "Decapsulation failed");
+        }
+    }
+
+    @Test
+    void testAsyncRejection() throws GeneralSecurityException, InterruptedException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        try (AsyncSike asyncSike = new AsyncSike(new Sike(sikeParam), new Sidh(sikeParam), 1, 1, 0, AsyncSike.RejectionPolicy.ABORT)) {
+            System.out.println("----------------------------------------");
+            System.out.println("Testing rejection of asynchronous SIKE operations");
+            List<CompletableFuture<EncapsulationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(asyncSike.encapsulate(keyPair.getPublic()));
+            }
+            int rejected = 0;
+            for (CompletableFuture<EncapsulationResult> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    assertTrue(ex.getCause() instanceof RejectedExecutionException, "Unexpected exception");
+                    rejected++;
+                }
+            }
+            System.out.println("Rejected operations: " + rejected);
+            assertTrue(rejected >= 3, "Operations were not rejected");
+            assertTrue(rejected == asyncSike.getRejectedCount(), "Invalid rejection count");
+        }
+    }
+
+    @Test
+    void testAsyncTimeout() throws GeneralSecurityException, InterruptedException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        try (AsyncSike asyncSike = new AsyncSike(sikeParam, 1, 16, 1)) {
+            System.out.println("----------------------------------------");
+            System.out.println("Testing timeout of asynchronous SIKE operations");
+            CompletableFuture<EncapsulationResult> future = asyncSike.encapsulate(keyPair.getPublic());
+            boolean timedOut = false;
+            try {
+                future.get();
+            } catch (ExecutionException ex) {
+                timedOut = ex.getCause() instanceof TimeoutException;
+            }
+            System.out.println("Operation timed out: " + timedOut);
+            assertTrue(timedOut, "Operation did not time out");
+        }
+    }
+
+}
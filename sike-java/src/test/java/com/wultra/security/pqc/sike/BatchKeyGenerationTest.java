@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.RandomGenerator;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.Security;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of parallel bulk key pair generation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class BatchKeyGenerationTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    private final SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+
+    @Test
+    void testGenerateKeyPairs() throws GeneralSecurityException {
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        long startTime = System.nanoTime();
+        List<KeyPair> keyPairs = keyGenerator.generateKeyPairs(Party.BOB, 16);
+        System.out.println("----------------------------------------");
+        System.out.println("Generated " + keyPairs.size() + " key pairs in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+        assertTrue(keyPairs.size() == 16, "Invalid number of key pairs");
+        Set<BigInteger> privateKeys = new HashSet<>();
+        for (KeyPair keyPair : keyPairs) {
+            privateKeys.add(new BigInteger(1, keyPair.getPrivate().getEncoded()));
+            assertTrue(keyGenerator.derivePublicKey(Party.BOB, keyPair.getPrivate()).equals(keyPair.getPublic()), "Invalid public key");
+        }
+        assertTrue(privateKeys.size() == keyPairs.size(), "Duplicate private keys were generated");
+        assertTrue(keyGenerator.generateKeyPairs(Party.ALICE, 0).isEmpty(), "Unexpected key pairs");
+    }
+
+    @Test
+    void testKeyPairStream() {
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        long count = keyGenerator.generateKeyPairStream(Party.ALICE, 5)
+                .filter(keyPair -> keyPair.getPublic() != null)
+                .count();
+        assertTrue(count == 5, "Invalid number of key pairs");
+    }
+
+    @Test
+    void testFailureInWorkerThread() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Future<Throwable> result = pool.submit(() -> {
+                Thread caller = Thread.currentThread();
+                // Random generator failing only outside of the calling thread
+                RandomGenerator randomGenerator = new RandomGenerator() {
+                    @Override
+                    public byte[] generateRandomBytes(int length) throws NoSuchProviderException, NoSuchAlgorithmException {
+                        if (Thread.currentThread() != caller) {
+                            throw new NoSuchAlgorithmException("Injected failure");
+                        }
+                        return super.generateRandomBytes(length);
+                    }
+                };
+                KeyGenerator keyGenerator = new KeyGenerator(sikeParam, randomGenerator);
+                try {
+                    keyGenerator.generateKeyPairs(Party.BOB, 16);
+                    return null;
+                } catch (Throwable t) {
+                    return t;
+                }
+            });
+            Throwable failure = result.get();
+            assertTrue(failure instanceof NoSuchAlgorithmException, "Unexpected failure: " + failure);
+            assertTrue("Injected failure".equals(failure.getMessage()), "Unexpected failure message");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sidh;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.model.CompactSidhPublicKey;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPublicKey;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import com.wultra.security.pqc.sike.param.SikeParamP751;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of compact public key representation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class CompactPublicKeyTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testCompactPublicKeyEncoding() throws GeneralSecurityException {
+        SikeParam sikeParam = new SikeParamP751(ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        SidhPublicKey publicKey = (SidhPublicKey) keyPair.getPublic();
+        CompactSidhPublicKey compactKey = new CompactSidhPublicKey(publicKey);
+        System.out.println("----------------------------------------");
+        System.out.println("Compact public key size: " + compactKey.getEncoded().length + " bytes");
+        assertTrue(Arrays.equals(publicKey.getEncoded(), compactKey.getEncoded()), "Invalid encoding");
+        assertTrue(publicKey.equals(compactKey.decode()), "Invalid decoded key");
+        assertTrue(publicKey.toOctetString().equals(compactKey.toOctetString()), "Invalid octet string");
+        CompactSidhPublicKey parsedKey = new CompactSidhPublicKey(sikeParam, publicKey.getEncoded());
+        assertTrue(compactKey.equals(parsedKey) && compactKey.hashCode() == parsedKey.hashCode(), "Keys are not equal");
+        Map<PublicKey, String> cache = new HashMap<>();
+        cache.put(compactKey, "peer");
+        assertTrue("peer".equals(cache.get(parsedKey)), "Key not found in cache");
+        assertThrows(IllegalStateException.class, () -> new CompactSidhPublicKey(sikeParam, new byte[10]));
+    }
+
+    @Test
+    void testCompactPublicKeyComputations() throws GeneralSecurityException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        KeyPair keyPairA = keyGenerator.generateKeyPair(Party.ALICE);
+        KeyPair keyPairB = keyGenerator.generateKeyPair(Party.BOB);
+        PublicKey compactA = new CompactSidhPublicKey(sikeParam, keyPairA.getPublic().getEncoded());
+        PublicKey compactB = new CompactSidhPublicKey(sikeParam, keyPairB.getPublic().getEncoded());
+        Sidh sidh = new Sidh(sikeParam);
+        Fp2Element secretA = sidh.generateSharedSecret(Party.ALICE, keyPairA.getPrivate(), compactB);
+        Fp2Element secretB = sidh.generateSharedSecret(Party.BOB, keyPairB.getPrivate(), compactA);
+        assertTrue(secretA.equals(secretB), "Shared secrets do not match");
+
+        Sike sike = new Sike(sikeParam);
+        EncapsulationResult encapsulationResult = sike.encapsulate(compactB);
+        byte[] secret = sike.decapsulate(keyPairB.getPrivate(), compactB, encapsulationResult.getEncryptedMessage());
+        assertTrue(Arrays.equals(encapsulationResult.getSecret(), secret), "Shared secrets do not match");
+        byte[] secretDecoded = sike.decapsulate(keyPairB.getPrivate(), keyPairB.getPublic(), encapsulationResult.getEncryptedMessage());
+        assertTrue(Arrays.equals(secret, secretDecoded), "Shared secrets do not match");
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.EncryptedMessage;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of encrypted messages parsed from their encoding.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class EncryptedMessageViewTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testEncryptedMessageView() throws GeneralSecurityException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        Sike sike = new Sike(sikeParam);
+        EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+        EncryptedMessage encrypted = encapsulationResult.getEncryptedMessage();
+        byte[] encoded = encrypted.getEncoded();
+
+        // Embed the encoded message into a larger buffer, e.g. a protocol frame
+        byte[] frame = new byte[encoded.length + 10];
+        System.arraycopy(encoded, 0, frame, 5, encoded.length);
+        EncryptedMessage view = EncryptedMessage.wrap(sikeParam, frame, 5);
+        assertTrue(Arrays.equals(encoded, view.getEncoded()), "Invalid encoding");
+        assertTrue(Arrays.equals(encrypted.getC0Encoded(), view.getC0Encoded()), "Invalid c0 encoding");
+        assertTrue(Arrays.equals(encrypted.getC1(), view.getC1()), "Invalid c1");
+        assertTrue(view.equals(encrypted) && view.hashCode() == encrypted.hashCode(), "Messages are not equal");
+        assertTrue(view.getC0() == view.getC0(), "Public key c0 was parsed repeatedly");
+        assertTrue(encrypted.getC0().equals(view.getC0()), "Invalid public key c0");
+
+        byte[] secret = sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), view);
+        System.out.println("----------------------------------------");
+        System.out.println("Decapsulated message view of " + encoded.length + " bytes");
+        assertTrue(Arrays.equals(encapsulationResult.getSecret(), secret), "Shared secrets do not match");
+
+        // Modified public key c0 results in implicit rejection
+        frame[5] ^= 1;
+        EncryptedMessage modified = EncryptedMessage.wrap(sikeParam, frame, 5);
+        byte[] rejected = sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), modified);
+        assertTrue(!Arrays.equals(encapsulationResult.getSecret(), rejected), "Modified message was not rejected");
+
+        assertThrows(InvalidParameterException.class, () -> EncryptedMessage.wrap(sikeParam, frame, 11));
+        assertThrows(InvalidParameterException.class, () -> EncryptedMessage.wrap(sikeParam, frame, -1));
+        assertThrows(InvalidParameterException.class, () -> new EncryptedMessage(sikeParam, new byte[1]));
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.EphemeralKeyPool;
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sidh;
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of ephemeral key pool.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class EphemeralKeyPoolTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testEphemeralKeyPool() throws GeneralSecurityException, InterruptedException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        Sidh sidh = new Sidh(sikeParam);
+        KeyPair keyPairB = keyGenerator.generateKeyPair(Party.BOB);
+        EphemeralKeyPool pool = new EphemeralKeyPool(keyGenerator, Party.ALICE, 4, 2);
+        System.out.println("----------------------------------------");
+        System.out.println("Waiting for key pool to fill up");
+        long deadline = System.currentTimeMillis() + 60000;
+        while (pool.getSize() < pool.getHighWaterMark() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        System.out.println("Pooled key pairs: " + pool.getSize());
+        assertTrue(pool.getSize() == pool.getHighWaterMark(), "Key pool is not filled up");
+
+        for (int i = 0; i < 6; i++) {
+            KeyPair keyPairA = pool.acquire();
+            Fp2Element secretA = sidh.generateSharedSecret(Party.ALICE, keyPairA.getPrivate(), keyPairB.getPublic());
+            Fp2Element secretB = sidh.generateSharedSecret(Party.BOB, keyPairB.getPrivate(), keyPairA.getPublic());
+            boolean match = Arrays.equals(secretA.getEncoded(), secretB.getEncoded());
+            assertTrue(match, "Secrets do not match");
+        }
+        System.out.println("Hits: " + pool.getHitCount() + ", misses: " + pool.getMissCount() + ", generated: " + pool.getGeneratedCount());
+        assertTrue(pool.getHitCount() + pool.getMissCount() == 6, "Invalid pool statistics");
+        assertTrue(pool.getHitCount() >= 4, "Pooled key pairs were not used");
+
+        pool.close();
+        System.out.println("Pooled key pairs after close: " + pool.getSize());
+        assertTrue(pool.getSize() == 0, "Key pool is not empty after close");
+        assertThrows(IllegalStateException.class, pool::acquire);
+    }
+
+    @Test
+    void testRefillAfterFailure() throws GeneralSecurityException, InterruptedException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        AtomicInteger failures = new AtomicInteger(1);
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam) {
+            @Override
+            public KeyPair generateKeyPair(Party party) throws GeneralSecurityException {
+                if (failures.getAndDecrement() > 0) {
+                    throw new GeneralSecurityException("Injected failure");
+                }
+                return super.generateKeyPair(party);
+            }
+        };
+        try (EphemeralKeyPool pool = new EphemeralKeyPool(keyGenerator, Party.ALICE, 1, 1)) {
+            System.out.println("----------------------------------------");
+            long deadline = System.currentTimeMillis() + 60000;
+            while (pool.getFailureCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(pool.getFailureCount() == 1, "Failure was not injected");
+            assertTrue(pool.getSize() == 0, "Failed key pair was pooled");
+            pool.acquire();
+            assertTrue(pool.getMissCount() == 1, "Depleted pool was not detected");
+            deadline = System.currentTimeMillis() + 60000;
+            while (pool.getSize() < pool.getHighWaterMark() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            System.out.println("Pooled key pairs after failure: " + pool.getSize() + ", failures: " + pool.getFailureCount());
+            assertTrue(pool.getSize() == pool.getHighWaterMark(), "Key pool was not refilled after failure");
+        }
+    }
+
+    @Test
+    void testPrivateKeyDestroy() throws GeneralSecurityException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        SidhPrivateKey privateKey = (SidhPrivateKey) keyGenerator.generatePrivateKey(Party.ALICE);
+        privateKey.destroy();
+        assertTrue(privateKey.isDestroyed(), "Private key is not destroyed");
+        boolean zeroed = Arrays.equals(new byte[privateKey.getEncoded().length], privateKey.getEncoded());
+        assertTrue(zeroed, "Private key material was not overwritten");
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.HybridKem;
+import com.wultra.security.pqc.sike.model.HybridEncapsulationResult;
+import com.wultra.security.pqc.sike.model.HybridEncryptedMessage;
+import com.wultra.security.pqc.sike.model.HybridPublicKey;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of hybrid SIKE and X25519 key encapsulation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class HybridKemTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    private final SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+
+    @Test
+    void testHybridKem() throws GeneralSecurityException {
+        HybridKem hybridKem = new HybridKem(sikeParam);
+        KeyPair keyPair = hybridKem.generateKeyPair();
+        HybridEncapsulationResult result = hybridKem.encapsulate(keyPair.getPublic());
+        HybridEncryptedMessage transported = new HybridEncryptedMessage(sikeParam, result.getEncryptedMessage().getEncoded());
+        byte[] secret = hybridKem.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), transported);
+        System.out.println("----------------------------------------");
+        System.out.println("Encrypted message size: " + transported.getEncoded().length + " bytes");
+        assertTrue(secret.length == sikeParam.getCryptoBytes(), "Invalid secret length");
+        assertTrue(Arrays.equals(result.getSecret(), secret), "Shared secrets do not match");
+
+        // Tampering with the X25519 half changes the combined secret
+        byte[] tampered = transported.getEncoded();
+        tampered[tampered.length - 1] ^= 0x01;
+        byte[] tamperedSecret = hybridKem.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), new HybridEncryptedMessage(sikeParam, tampered));
+        assertTrue(!Arrays.equals(result.getSecret(), tamperedSecret), "Tampered message produced the same secret");
+    }
+
+    @Test
+    void testSmallOrderX25519Key() throws GeneralSecurityException {
+        HybridKem hybridKem = new HybridKem(sikeParam);
+        HybridPublicKey publicKey = (HybridPublicKey) hybridKem.generateKeyPair().getPublic();
+        HybridPublicKey invalidKey = new HybridPublicKey(publicKey.getSikePublicKey(), new byte[HybridPublicKey.X25519_KEY_SIZE]);
+        assertThrows(InvalidKeyException.class, () -> hybridKem.encapsulate(invalidKey));
+    }
+
+    @Test
+    void testFailedSikeHalf() throws GeneralSecurityException {
+        // Defer the X25519 half, it must be cancelled when the SIKE half fails before the task starts
+        List<Runnable> deferred = new ArrayList<>();
+        HybridKem hybridKem = new HybridKem(sikeParam, null, deferred::add);
+        HybridPublicKey publicKey = (HybridPublicKey) hybridKem.generateKeyPair().getPublic();
+        PublicKey x25519Key = KeyPairGenerator.getInstance("X25519", "BC").generateKeyPair().getPublic();
+        HybridPublicKey invalidKey = new HybridPublicKey(x25519Key, publicKey.getX25519PublicKey());
+        assertThrows(InvalidKeyException.class, () -> hybridKem.encapsulate(invalidKey));
+        assertTrue(deferred.size() == 1 && ((Future<?>) deferred.get(0)).isCancelled(), "X25519 half was not cancelled");
+        deferred.get(0).run();
+        assertTrue(((Future<?>) deferred.get(0)).isCancelled(), "Cancelled X25519 half was executed");
+        // Started X25519 half is completed before the key material is zeroed
+        HybridKem directKem = new HybridKem(sikeParam, null, Runnable::run);
+        assertThrows(InvalidKeyException.class, () -> directKem.encapsulate(invalidKey));
+    }
+
+}
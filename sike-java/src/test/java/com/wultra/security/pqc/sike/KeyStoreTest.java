@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.keystore.SikeKeyStore;
+import com.wultra.security.pqc.sike.keystore.SikeKeyStoreWriter;
+import com.wultra.security.pqc.sike.model.CompactSidhPublicKey;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import com.wultra.security.pqc.sike.param.SikeParamP503;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of memory-mapped SIKE keystore.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class KeyStoreTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testKeyStore() throws GeneralSecurityException, IOException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        Sike sike = new Sike(sikeParam);
+        KeyPair[] keyPairs = new KeyPair[5];
+        long[] keyIds = new long[]{0L, 1L, 42L, -7L, Long.MAX_VALUE};
+        SikeKeyStoreWriter writer = new SikeKeyStoreWriter(sikeParam, Party.BOB);
+        for (int i = 0; i < keyPairs.length; i++) {
+            keyPairs[i] = keyGenerator.generateKeyPair(Party.BOB);
+            writer.add(keyIds[i], keyPairs[i].getPrivate(), keyPairs[i].getPublic());
+        }
+        assertThrows(InvalidParameterException.class, () -> writer.add(42L, keyPairs[0].getPrivate(), keyPairs[0].getPublic()));
+        Path path = Files.createTempFile("sike", ".keystore");
+        try {
+            writer.write(path);
+            System.out.println("----------------------------------------");
+            System.out.println("Keystore size: " + Files.size(path) + " bytes");
+            try (SikeKeyStore keyStore = SikeKeyStore.open(path, sikeParam)) {
+                assertTrue(keyStore.size() == keyPairs.length, "Invalid keystore size");
+                assertTrue(keyStore.getParty() == Party.BOB, "Invalid party");
+                assertTrue(!keyStore.contains(2L), "Unexpected key id");
+                assertTrue(keyStore.getKeyPair(2L) == null, "Unexpected key pair");
+                for (int i = 0; i < keyPairs.length; i++) {
+                    KeyPair stored = keyStore.getKeyPair(keyIds[i]);
+                    assertTrue(stored != null, "Key pair not found");
+                    assertTrue(stored.getPublic() instanceof CompactSidhPublicKey, "Public key is not compact");
+                    assertTrue(Arrays.equals(keyPairs[i].getPrivate().getEncoded(), stored.getPrivate().getEncoded()), "Invalid private key");
+                    assertTrue(Arrays.equals(keyPairs[i].getPublic().getEncoded(), stored.getPublic().getEncoded()), "Invalid public key");
+                    EncapsulationResult encapsulationResult = sike.encapsulate(keyPairs[i].getPublic());
+                    byte[] secret = sike.decapsulate(stored.getPrivate(), stored.getPublic(), encapsulationResult.getEncryptedMessage());
+                    assertTrue(Arrays.equals(encapsulationResult.getSecret(), secret), "Shared secrets do not match");
+                }
+            }
+            assertThrows(IOException.class, () -> SikeKeyStore.open(path, new SikeParamP503(ImplementationType.OPTIMIZED)));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testEmptyKeyStore() throws IOException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        Path path = Files.createTempFile("sike", ".keystore");
+        try {
+            new SikeKeyStoreWriter(sikeParam, Party.ALICE).write(path);
+            try (SikeKeyStore keyStore = SikeKeyStore.open(path, sikeParam)) {
+                assertTrue(keyStore.size() == 0, "Keystore is not empty");
+                assertTrue(keyStore.getPublicKey(1L) == null, "Unexpected public key");
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testKeyStoreProtection() throws GeneralSecurityException, IOException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        SikeKeyStoreWriter writer = new SikeKeyStoreWriter(sikeParam, Party.BOB);
+        writer.add(1L, keyPair.getPrivate(), keyPair.getPublic());
+        Path directory = Files.createTempDirectory("sike");
+        Path path = directory.resolve("keys.keystore");
+        try {
+            writer.write(path);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                int count = 0;
+                for (Path ignored : files) {
+                    count++;
+                }
+                assertTrue(count == 1, "Temporary file was not moved");
+            }
+            if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                assertTrue(Files.getPosixFilePermissions(path).equals(PosixFilePermissions.fromString("rw-------")), "Keystore is readable by other users");
+            }
+
+            SikeKeyStore keyStore = SikeKeyStore.open(path, sikeParam);
+            assertTrue(keyStore.contains(1L), "Key pair not found");
+            keyStore.close();
+            assertThrows(IllegalStateException.class, () -> keyStore.getPrivateKey(1L));
+
+            // Corrupt all index entries with a negative record number
+            byte[] data = Files.readAllBytes(path);
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            int indexSlots = buffer.getInt(36);
+            for (int i = 0; i < indexSlots; i++) {
+                buffer.putInt(48 + i * 4, -5);
+            }
+            Files.write(path, data);
+            try (SikeKeyStore corrupted = SikeKeyStore.open(path, sikeParam)) {
+                assertThrows(IllegalStateException.class, () -> corrupted.getKeyPair(1L));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(directory);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.MultiRecipientSidh;
+import com.wultra.security.pqc.sike.crypto.Sidh;
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.model.CompactSidhPublicKey;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.MultiRecipientResult;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPublicKey;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of SIDH key exchange with multiple recipients.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class MultiRecipientSidhTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    private final SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+
+    @Test
+    void testMultiRecipientSidh() throws GeneralSecurityException {
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        Sidh sidh = new Sidh(sikeParam);
+        List<KeyPair> recipientKeyPairs = new ArrayList<>();
+        List<PublicKey> recipients = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            KeyPair keyPair = keyGenerator.generateKeyPair(Party.BOB);
+            recipientKeyPairs.add(keyPair);
+            // Mix decoded and compact public keys
+            recipients.add(i % 2 == 0 ? keyPair.getPublic() : new CompactSidhPublicKey((SidhPublicKey) keyPair.getPublic()));
+        }
+        MultiRecipientSidh multiRecipientSidh = new MultiRecipientSidh(keyGenerator, sidh);
+        long startTime = System.nanoTime();
+        MultiRecipientResult result = multiRecipientSidh.generateSharedSecrets(Party.ALICE, recipients);
+        System.out.println("----------------------------------------");
+        System.out.println("Shared secrets for " + recipients.size() + " recipients computed in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+        assertTrue(result.getSharedSecrets().size() == recipients.size(), "Invalid number of shared secrets");
+        for (int i = 0; i < recipientKeyPairs.size(); i++) {
+            Fp2Element secret = sidh.generateSharedSecret(Party.BOB, recipientKeyPairs.get(i).getPrivate(), result.getEphemeralPublicKey());
+            assertTrue(secret.equals(result.getSharedSecret(i)), "Shared secrets do not match for recipient " + i);
+        }
+        assertTrue(!result.getSharedSecret(0).equals(result.getSharedSecret(1)), "Shared secrets of different recipients match");
+        assertTrue(multiRecipientSidh.generateSharedSecrets(Party.ALICE, Collections.emptyList()).getSharedSecrets().isEmpty(), "Unexpected shared secrets");
+    }
+
+    @Test
+    void testInvalidRecipient() {
+        MultiRecipientSidh multiRecipientSidh = new MultiRecipientSidh(new KeyGenerator(sikeParam), new Sidh(sikeParam));
+        List<PublicKey> recipients = Collections.singletonList(null);
+        assertThrows(InvalidKeyException.class, () -> multiRecipientSidh.generateSharedSecrets(Party.ALICE, recipients));
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.model.MontgomeryCurve;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import com.wultra.security.pqc.sike.util.OperationCounter;
+import com.wultra.security.pqc.sike.util.OperationCounter.Operation;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Security;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of operation counting.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class OperationCounterTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testOperationCounts() throws GeneralSecurityException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        Sike sike = new Sike(sikeParam);
+        OperationCounter.reset();
+        OperationCounter.setEnabled(true);
+        try {
+            for (int i = 0; i < 2; i++) {
+                EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+                sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encapsulationResult.getEncryptedMessage());
+            }
+        } finally {
+            OperationCounter.setEnabled(false);
+        }
+        System.out.println("----------------------------------------");
+        OperationCounter.getCounts().forEach((key, counts) -> System.out.println(key + ": " + counts));
+        OperationCounter.Counts encapsulation = OperationCounter.getCounts(sikeParam, "encapsulate");
+        OperationCounter.Counts decapsulation = OperationCounter.getCounts(sikeParam, "decapsulate");
+        assertTrue(encapsulation.getInvocations() == 2, "Invalid number of encapsulations");
+        assertTrue(decapsulation.getInvocations() == 2, "Invalid number of decapsulations");
+        // Nested operations are counted as part of the top-level operation
+        assertNull(OperationCounter.getCounts(sikeParam, "derivePublicKey"), "Nested operation was counted separately");
+        assertNull(OperationCounter.getCounts(sikeParam, "generateSharedSecret"), "Nested operation was counted separately");
+        assertTrue(encapsulation.getTotal(Operation.FP_MULTIPLICATION) > 0, "Multiplications were not counted");
+        assertTrue(encapsulation.getTotal(Operation.FP_REDUCTION) > 0, "Reductions were not counted");
+        assertTrue(encapsulation.getTotal(Operation.FP2_INVERSION) > 0, "Inversions were not counted");
+        assertTrue(encapsulation.getTotal(Operation.X_DBL_ADD) > 0, "Ladder steps were not counted");
+        assertTrue(encapsulation.getTotal(Operation.EVAL_4_ISO) > 0, "Isogeny evaluations were not counted");
+        assertTrue(decapsulation.getTotal(Operation.EVAL_3_ISO) > 0, "Isogeny evaluations were not counted");
+        // Operation counts are deterministic except for the secret dependent ladder length
+        assertTrue(encapsulation.getTotal(Operation.CURVE_4_ISO) % 2 == 0, "Isogeny counts differ between invocations");
+
+        OperationCounter.reset();
+        sike.encapsulate(keyPair.getPublic());
+        assertTrue(OperationCounter.getCounts().isEmpty(), "Operations were counted while counting was disabled");
+    }
+
+    @Test
+    void testCompositeOperationCounts() {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.REFERENCE);
+        MontgomeryCurve curve = new MontgomeryCurve(sikeParam, sikeParam.getA(), sikeParam.getB());
+        OperationCounter.reset();
+        OperationCounter.setEnabled(true);
+        try {
+            OperationCounter.begin();
+            sikeParam.getMontgomery().xTpl(curve, sikeParam.getPA());
+            OperationCounter.end(sikeParam, "xTpl");
+        } finally {
+            OperationCounter.setEnabled(false);
+        }
+        // Point tripling is counted once, the doubling and addition it is composed of are not counted again
+        OperationCounter.Counts counts = OperationCounter.getCounts(sikeParam, "xTpl");
+        assertTrue(counts.getTotal(Operation.X_TPL) == 1, "Invalid number of triplings");
+        assertTrue(counts.getTotal(Operation.X_DBL) == 0, "Doubling was counted in tripling");
+        assertTrue(counts.getTotal(Operation.X_ADD) == 0, "Addition was counted in tripling");
+        OperationCounter.reset();
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.jfr.Phase;
+import com.wultra.security.pqc.sike.jfr.PhaseEvent;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.EncryptedMessage;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of Java Flight Recorder events for SIKE operation phases.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class PhaseEventTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testPhaseEvents() throws GeneralSecurityException, IOException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        Sike sike = new Sike(sikeParam);
+        Path recordingFile = Files.createTempFile("sike", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PhaseEvent.NAME);
+            recording.start();
+            EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+            EncryptedMessage transported = new EncryptedMessage(sikeParam, encapsulationResult.getEncryptedMessage().getEncoded());
+            sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), transported);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        Set<Phase> phases = EnumSet.noneOf(Phase.class);
+        System.out.println("----------------------------------------");
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+            if (!PhaseEvent.NAME.equals(event.getEventType().getName())) {
+                continue;
+            }
+            assertTrue(sikeParam.getName().equals(event.getString("parameterSet")), "Invalid parameter set");
+            assertTrue("OPTIMIZED".equals(event.getString("implementationType")), "Invalid implementation type");
+            phases.add(Phase.valueOf(event.getString("phase")));
+        }
+        Files.delete(recordingFile);
+        System.out.println("Recorded phases: " + phases);
+        assertTrue(phases.equals(EnumSet.allOf(Phase.class)), "Not all phases were recorded");
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.PreparedKeyCache;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.model.CompactSidhPublicKey;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+import com.wultra.security.pqc.sike.model.SidhPublicKey;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of prepared key cache.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class PreparedKeyCacheTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    private final SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+
+    @Test
+    void testCachedKeys() throws GeneralSecurityException {
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        Sike sike = new Sike(sikeParam);
+        PreparedKeyCache cache = new PreparedKeyCache(10, 10_000);
+        CompactSidhPublicKey compactKey = new CompactSidhPublicKey((SidhPublicKey) keyPair.getPublic());
+        SidhPublicKey publicKey = cache.getPublicKey(compactKey);
+        assertTrue(publicKey == cache.getPublicKey(sikeParam, compactKey.getEncoded()), "Public key is not cached");
+        SidhPrivateKey privateKey = cache.getPrivateKey(sikeParam, Party.BOB, keyPair.getPrivate().getEncoded());
+        SidhPrivateKey cachedKey = cache.getPrivateKey(sikeParam, Party.BOB, keyPair.getPrivate().getEncoded());
+        assertTrue(privateKey != cachedKey && privateKey.equals(cachedKey), "Private key is not returned as a copy");
+        cachedKey.destroy();
+        privateKey = cache.getPrivateKey(sikeParam, Party.BOB, keyPair.getPrivate().getEncoded());
+        assertTrue(!privateKey.isDestroyed(), "Destroyed private key affects the cache");
+        // Alice's private keys are valid Bob's private keys, the party must be a part of the fingerprint
+        byte[] aliceEncoded = new KeyGenerator(sikeParam).generateKeyPair(Party.ALICE).getPrivate().getEncoded();
+        SidhPrivateKey aliceKey = cache.getPrivateKey(sikeParam, Party.ALICE, aliceEncoded);
+        SidhPrivateKey bobKey = cache.getPrivateKey(sikeParam, Party.BOB, aliceEncoded);
+        assertTrue(aliceKey.getParty() == Party.ALICE && bobKey.getParty() == Party.BOB, "Party is not part of fingerprint");
+        System.out.println("----------------------------------------");
+        System.out.println("Hits: " + cache.getHitCount() + ", misses: " + cache.getMissCount());
+        assertTrue(cache.getHitCount() == 3, "Invalid hit count");
+        assertTrue(cache.getMissCount() == 4, "Invalid miss count");
+        assertTrue(cache.size() == 4, "Invalid cache size");
+        EncapsulationResult encapsulationResult = sike.encapsulate(publicKey);
+        byte[] secret = sike.decapsulate(privateKey, publicKey, encapsulationResult.getEncryptedMessage());
+        assertTrue(Arrays.equals(encapsulationResult.getSecret(), secret), "Shared secrets do not match");
+        cache.clear();
+        assertTrue(cache.size() == 0 && cache.getWeight() == 0, "Cache is not empty");
+    }
+
+    @Test
+    void testEviction() throws GeneralSecurityException {
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        int publicKeySize = keyGenerator.generateKeyPair(Party.BOB).getPublic().getEncoded().length;
+        // Size limit allows 3 keys, weight limit allows only 2 keys
+        PreparedKeyCache cache = new PreparedKeyCache(3, 2L * publicKeySize, 1);
+        byte[][] encoded = new byte[4][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = keyGenerator.generateKeyPair(Party.BOB).getPublic().getEncoded();
+        }
+        cache.getPublicKey(sikeParam, encoded[0]);
+        cache.getPublicKey(sikeParam, encoded[1]);
+        // Access key 0 so that key 1 is least recently used
+        cache.getPublicKey(sikeParam, encoded[0]);
+        cache.getPublicKey(sikeParam, encoded[2]);
+        assertTrue(cache.size() == 2, "Invalid cache size");
+        assertTrue(cache.getWeight() == 2L * publicKeySize, "Invalid cache weight");
+        assertTrue(cache.getEvictionCount() == 1, "Invalid eviction count");
+        long misses = cache.getMissCount();
+        cache.getPublicKey(sikeParam, encoded[0]);
+        assertTrue(cache.getMissCount() == misses, "Recently used key was evicted");
+        cache.getPublicKey(sikeParam, encoded[1]);
+        assertTrue(cache.getMissCount() == misses + 1, "Least recently used key was not evicted");
+    }
+
+    @Test
+    void testPrivateKeyEviction() throws GeneralSecurityException {
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+        KeyPair keyPair1 = keyGenerator.generateKeyPair(Party.BOB);
+        KeyPair keyPair2 = keyGenerator.generateKeyPair(Party.BOB);
+        PreparedKeyCache cache = new PreparedKeyCache(1, 10_000, 1);
+        SidhPrivateKey privateKey1 = cache.getPrivateKey(sikeParam, Party.BOB, keyPair1.getPrivate().getEncoded());
+        // Cached copy of the first key is destroyed on eviction, the returned copy must stay usable
+        SidhPrivateKey privateKey2 = cache.getPrivateKey(sikeParam, Party.BOB, keyPair2.getPrivate().getEncoded());
+        assertTrue(cache.getEvictionCount() == 1, "Invalid eviction count");
+        cache.clear();
+        assertTrue(!privateKey1.isDestroyed() && !privateKey2.isDestroyed(), "Returned private key was destroyed");
+        Sike sike = new Sike(sikeParam);
+        EncapsulationResult encapsulationResult = sike.encapsulate(keyPair1.getPublic());
+        byte[] secret = sike.decapsulate(privateKey1, keyPair1.getPublic(), encapsulationResult.getEncryptedMessage());
+        assertTrue(Arrays.equals(encapsulationResult.getSecret(), secret), "Shared secrets do not match");
+    }
+
+}
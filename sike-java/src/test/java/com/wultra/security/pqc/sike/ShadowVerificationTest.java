@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.ShadowMismatch;
+import com.wultra.security.pqc.sike.crypto.ShadowSidh;
+import com.wultra.security.pqc.sike.crypto.ShadowSike;
+import com.wultra.security.pqc.sike.crypto.ShadowVerifier;
+import com.wultra.security.pqc.sike.math.api.Fp2Element;
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of shadow verification of optimized implementation against reference implementation.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class ShadowVerificationTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testShadowVerification() throws GeneralSecurityException, InterruptedException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        List<ShadowMismatch> mismatches = new CopyOnWriteArrayList<>();
+        try (ShadowVerifier verifier = new ShadowVerifier(1.0, 2, 16, mismatches::add)) {
+            KeyGenerator keyGenerator = new KeyGenerator(sikeParam);
+            KeyPair keyPairA = keyGenerator.generateKeyPair(Party.ALICE);
+            KeyPair keyPairB = keyGenerator.generateKeyPair(Party.BOB);
+            ShadowSidh sidh = new ShadowSidh(sikeParam, verifier);
+            PublicKey publicKeyA = sidh.derivePublicKey(Party.ALICE, keyPairA.getPrivate());
+            Fp2Element secretA = sidh.generateSharedSecret(Party.ALICE, keyPairA.getPrivate(), keyPairB.getPublic());
+            Fp2Element secretB = sidh.generateSharedSecret(Party.BOB, keyPairB.getPrivate(), publicKeyA);
+            assertTrue(secretA.equals(secretB), "Shared secrets do not match");
+
+            ShadowSike sike = new ShadowSike(sikeParam, verifier);
+            EncapsulationResult encapsulationResult = sike.encapsulate(keyPairB.getPublic());
+            byte[] secret = sike.decapsulate(keyPairB.getPrivate(), keyPairB.getPublic(), encapsulationResult.getEncryptedMessage());
+            assertTrue(Arrays.equals(encapsulationResult.getSecret(), secret), "Shared secrets do not match");
+
+            long deadline = System.currentTimeMillis() + 60000;
+            while (verifier.getCheckedCount() + verifier.getSkippedCount() < 5 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            System.out.println("----------------------------------------");
+            System.out.println("Checked: " + verifier.getCheckedCount() + ", skipped: " + verifier.getSkippedCount());
+            mismatches.forEach(System.out::println);
+            assertTrue(verifier.getCheckedCount() + verifier.getSkippedCount() == 5, "Not all operations were sampled");
+            assertTrue(mismatches.isEmpty(), "Optimized and reference implementations differ");
+            assertTrue(verifier.getMismatchCount() == 0, "Mismatches were counted");
+        }
+    }
+
+    @Test
+    void testNoSampling() throws GeneralSecurityException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        try (ShadowVerifier verifier = new ShadowVerifier(0.0, 1, 1, mismatch -> { })) {
+            KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+            ShadowSike sike = new ShadowSike(sikeParam, verifier);
+            EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+            sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encapsulationResult.getEncryptedMessage());
+            assertTrue(verifier.getCheckedCount() == 0 && verifier.getQueueDepth() == 0, "Operation was sampled");
+        }
+    }
+
+    @Test
+    void testSecretMismatchIsNotRevealed() {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        byte[] optimized = new byte[16];
+        byte[] reference = new byte[16];
+        Arrays.fill(optimized, (byte) 0x5A);
+        Arrays.fill(reference, (byte) 0xA5);
+        ShadowMismatch mismatch = new ShadowMismatch(MetricsOperation.DECAPSULATION, sikeParam, "secret", true, optimized, reference, null);
+        String description = mismatch.toString();
+        assertTrue(mismatch.isSecret(), "Secret flag is not set");
+        assertTrue(mismatch.getOptimizedValue() == null && mismatch.getReferenceValue() == null, "Secret values are stored");
+        assertTrue(!description.contains("5A5A5A5A") && !description.contains("A5A5A5A5"), "Secret values are printed");
+        assertTrue(mismatch.getOptimizedFingerprint().length == 8, "Invalid fingerprint");
+        assertTrue(!Arrays.equals(mismatch.getOptimizedFingerprint(), mismatch.getReferenceFingerprint()), "Fingerprints do not differ");
+
+        ShadowMismatch publicMismatch = new ShadowMismatch(MetricsOperation.ENCAPSULATION, sikeParam, "c1", optimized, reference, null);
+        assertTrue(Arrays.equals(optimized, publicMismatch.getOptimizedValue()), "Public value is not stored");
+    }
+
+}
@@ -25,6 +25,7 @@ import com.wultra.security.pqc.sike.model.SidhPrivateKey;
 import com.wultra.security.pqc.sike.model.SidhPublicKey;
 import com.wultra.security.pqc.sike.param.SikeParam;
 import com.wultra.security.pqc.sike.param.SikeParamP434;
+import com.wultra.security.pqc.sike.param.SikeParamP610;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.jupiter.api.Test;
 
@@ -192,4 +193,41 @@ class SidhReferenceTest {
         assertTrue(matchOctets, "Secrets do not match");
     }
 
+    @Test
+    void testSidhReferenceVsOptimizedOddExponent() throws GeneralSecurityException {
+        // SIKEp610 uses an odd exponent eA, the first step of the 2-isogeny is computed separately
+        SikeParam sikeParamReference = new SikeParamP610(ImplementationType.REFERENCE);
+        SikeParam sikeParamOptimized = new SikeParamP610(ImplementationType.OPTIMIZED);
+        System.out.println("Prime: " + sikeParamReference.getPrime());
+        KeyGenerator keyGeneratorReference = new KeyGenerator(sikeParamReference);
+        Sidh sidhReference = new Sidh(sikeParamReference);
+        Sidh sidhOptimized = new Sidh(sikeParamOptimized);
+        System.out.println("----------------------------------------");
+        KeyPair keyPairA = keyGeneratorReference.generateKeyPair(Party.ALICE);
+        KeyPair keyPairB = keyGeneratorReference.generateKeyPair(Party.BOB);
+
+        PrivateKey privA = new SidhPrivateKey(sikeParamOptimized, Party.ALICE, keyPairA.getPrivate().getEncoded());
+        PublicKey pubA = new SidhPublicKey(sikeParamOptimized, keyPairA.getPublic().getEncoded());
+        PublicKey pubB = new SidhPublicKey(sikeParamOptimized, keyPairB.getPublic().getEncoded());
+        PublicKey pubAOpti = new KeyGenerator(sikeParamOptimized).derivePublicKey(Party.ALICE, privA);
+        boolean matchPublicKeys = Arrays.equals(pubA.getEncoded(), pubAOpti.getEncoded());
+        System.out.println("Public keys match (reference vs. optimized): " + matchPublicKeys);
+        assertTrue(matchPublicKeys, "Public keys do not match");
+
+        Fp2Element secretARef = sidhReference.generateSharedSecret(Party.ALICE, keyPairA.getPrivate(), keyPairB.getPublic());
+        Fp2Element secretBRef = sidhReference.generateSharedSecret(Party.BOB, keyPairB.getPrivate(), keyPairA.getPublic());
+        Fp2Element secretAOpti = sidhOptimized.generateSharedSecret(Party.ALICE, privA, pubB);
+        System.out.println("Shared secret generated by Alice (reference): " + secretARef);
+        System.out.println("Shared secret generated by Bob (reference):   " + secretBRef);
+        System.out.println("Shared secret generated by Alice (optimized): " + secretAOpti);
+
+        boolean matchRef = Arrays.equals(secretARef.getEncoded(), secretBRef.getEncoded());
+        System.out.println("Secrets match (encoded - reference): " + matchRef);
+        assertTrue(matchRef, "Secrets do not match");
+
+        boolean matchMixed = Arrays.equals(secretARef.getEncoded(), secretAOpti.getEncoded());
+        System.out.println("Secrets match (encoded - mixed): " + matchMixed);
+        assertTrue(matchMixed, "Secrets do not match");
+    }
+
 }
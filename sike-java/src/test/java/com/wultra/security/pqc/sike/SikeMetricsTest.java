@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.RandomGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.metrics.HistogramSikeMetrics;
+import com.wultra.security.pqc.sike.metrics.LatencyHistogram;
+import com.wultra.security.pqc.sike.metrics.MetricsOperation;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.EncryptedMessage;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.Security;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of SIKE metrics.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class SikeMetricsTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testSikeMetrics() throws GeneralSecurityException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        HistogramSikeMetrics metrics = new HistogramSikeMetrics();
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam, new RandomGenerator(), metrics);
+        KeyPair keyPair = keyGenerator.generateKeyPair(Party.BOB);
+        Sike sike = new Sike(sikeParam, null, metrics);
+        for (int i = 0; i < 3; i++) {
+            EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+            sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encapsulationResult.getEncryptedMessage());
+        }
+        // Decapsulation of a ciphertext with a foreign c0 is rejected implicitly
+        EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+        KeyPair foreignKeyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.ALICE);
+        EncryptedMessage tampered = new EncryptedMessage(foreignKeyPair.getPublic(), encapsulationResult.getEncryptedMessage().getC1());
+        sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), tampered);
+        assertThrows(InvalidKeyException.class, () -> sike.encapsulate(null));
+
+        System.out.println("----------------------------------------");
+        metrics.getStatistics().forEach((key, statistics) -> System.out.println(key + ": " + statistics));
+        HistogramSikeMetrics.Statistics keyGeneration = metrics.getStatistics(sikeParam, MetricsOperation.KEY_PAIR_GENERATION);
+        HistogramSikeMetrics.Statistics encapsulation = metrics.getStatistics(sikeParam, MetricsOperation.ENCAPSULATION);
+        HistogramSikeMetrics.Statistics decapsulation = metrics.getStatistics(sikeParam, MetricsOperation.DECAPSULATION);
+        assertTrue(keyGeneration.getSuccessCount() == 1, "Invalid number of key pair generations");
+        assertTrue(encapsulation.getSuccessCount() == 4, "Invalid number of encapsulations");
+        assertTrue(encapsulation.getFailureCount() == 1, "Invalid number of failed encapsulations");
+        assertTrue(decapsulation.getSuccessCount() == 3, "Invalid number of decapsulations");
+        assertTrue(decapsulation.getImplicitRejectionCount() == 1, "Implicit rejection was not recorded");
+        assertTrue(decapsulation.getHistogram().getCount() == 4, "Invalid number of recorded latencies");
+        assertTrue(decapsulation.getHistogram().getValueAtPercentile(50) > 0, "Invalid median latency");
+        assertTrue(decapsulation.getThroughput() > 0, "Invalid throughput");
+        // Nested operations are not recorded
+        assertNull(metrics.getStatistics(sikeParam, MetricsOperation.PUBLIC_KEY_DERIVATION), "Nested operation was recorded");
+        assertNull(metrics.getStatistics(sikeParam, MetricsOperation.DECRYPTION), "Nested operation was recorded");
+    }
+
+    @Test
+    void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000);
+        }
+        System.out.println("----------------------------------------");
+        System.out.println("Histogram: " + histogram);
+        assertTrue(histogram.getCount() == 10000, "Invalid count");
+        assertTrue(histogram.getMin() == 1000, "Invalid minimum");
+        assertTrue(histogram.getMax() == 10000000, "Invalid maximum");
+        assertTrue(Math.abs(histogram.getMean() - 5000500) < 1, "Invalid mean");
+        assertRelativeError(5000000, histogram.getValueAtPercentile(50));
+        assertRelativeError(9900000, histogram.getValueAtPercentile(99));
+        assertRelativeError(9990000, histogram.getValueAtPercentile(99.9));
+        assertTrue(histogram.getValueAtPercentile(100) == 10000000, "Invalid maximum percentile");
+        histogram.reset();
+        assertTrue(histogram.getCount() == 0 && histogram.getValueAtPercentile(99) == 0, "Histogram was not reset");
+        assertTrue(histogram.getMin() == 0, "Minimum was not reset");
+    }
+
+    @Test
+    void testLatencyHistogramMerge() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram merged = new LatencyHistogram();
+        LatencyHistogram other = new LatencyHistogram();
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000);
+            if (i % 2 == 0) {
+                merged.record(i * 1000);
+            } else {
+                other.record(i * 1000);
+            }
+        }
+        merged.merge(other);
+        merged.merge(new LatencyHistogram());
+        System.out.println("----------------------------------------");
+        System.out.println("Merged histogram: " + merged);
+        assertTrue(merged.getCount() == histogram.getCount(), "Invalid merged count");
+        assertTrue(merged.getMin() == 1000, "Invalid merged minimum");
+        assertTrue(merged.getMax() == 10000000, "Invalid merged maximum");
+        assertTrue(Math.abs(merged.getMean() - histogram.getMean()) < 1e-6, "Invalid merged mean");
+        for (double percentile : new double[]{50, 90, 99, 99.9, 100}) {
+            assertTrue(merged.getValueAtPercentile(percentile) == histogram.getValueAtPercentile(percentile), "Invalid merged percentile");
+        }
+        LatencyHistogram small = new LatencyHistogram();
+        small.record(0);
+        small.record(31);
+        small.merge(merged);
+        assertTrue(small.getCount() == 10002, "Invalid merged count");
+        assertTrue(small.getMin() == 0 && small.getValueAtPercentile(0) == 0, "Invalid merged minimum");
+    }
+
+    private void assertRelativeError(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 32, "Invalid percentile value: " + actual);
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.math.optimized.fp.Fp2ElementOpti;
+import com.wultra.security.pqc.sike.math.optimized.fp.FpElementOpti;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import com.wultra.security.pqc.sike.param.SikeParamRegistry;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of shared SIKE parameter instances.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class SikeParamRegistryTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testSharedInstances() {
+        System.out.println("----------------------------------------");
+        for (String name : SikeParamRegistry.getNames()) {
+            for (ImplementationType implementationType : ImplementationType.values()) {
+                SikeParam sikeParam = SikeParamRegistry.getInstance(name, implementationType);
+                System.out.println("Shared parameters: " + sikeParam.getName() + " " + sikeParam.getImplementationType());
+                assertTrue(name.equals(sikeParam.getName()), "Invalid parameter set");
+                assertTrue(implementationType == sikeParam.getImplementationType(), "Invalid implementation type");
+                assertTrue(sikeParam == SikeParamRegistry.getInstance(name, implementationType), "Instance is not shared");
+            }
+        }
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        assertTrue(sikeParam.equals(SikeParamRegistry.getInstance(sikeParam, ImplementationType.OPTIMIZED)), "Invalid shared instance");
+        assertThrows(InvalidParameterException.class, () -> SikeParamRegistry.getInstance("SIKEp999", ImplementationType.OPTIMIZED));
+    }
+
+    @Test
+    void testParametersNotModified() {
+        SikeParam sikeParam = SikeParamRegistry.getInstance("SIKEp434", ImplementationType.OPTIMIZED);
+        FpElementOpti x0 = (FpElementOpti) ((Fp2ElementOpti) sikeParam.getPA().getX()).getX0();
+        long[] value = x0.getValue().clone();
+        x0.getEncoded();
+        assertTrue(Arrays.equals(value, x0.getValue()), "Encoding modified the element");
+        // Strategies are shared and not copied on each isogeny computation
+        assertTrue(sikeParam.getStrategyA() == sikeParam.getStrategyA(), "Strategy was copied");
+        assertTrue(sikeParam.getStrategyB() == new SikeParamP434(ImplementationType.REFERENCE).getStrategyB(), "Strategy was copied");
+        Fp2ElementOpti one = (Fp2ElementOpti) sikeParam.getFp2ElementFactory().one();
+        assertTrue(one.equals(new Fp2ElementOpti(sikeParam, BigInteger.ONE, BigInteger.ZERO)), "Invalid element one");
+        ((FpElementOpti) one.getX0()).getValue()[0] = 0;
+        assertTrue(sikeParam.getFp2ElementFactory().one().equals(new Fp2ElementOpti(sikeParam, BigInteger.ONE, BigInteger.ZERO)), "Element one was modified");
+        assertTrue(sikeParam.getFp2ElementFactory().zero().getX0().getX().signum() == 0, "Invalid element zero");
+    }
+
+    @Test
+    void testPrecomputedConstants() {
+        for (String name : SikeParamRegistry.getNames()) {
+            for (ImplementationType implementationType : ImplementationType.values()) {
+                SikeParam sikeParam = SikeParamRegistry.getInstance(name, implementationType);
+                assertTrue(sikeParam.getA().equals(sikeParam.getFp2ElementFactory().generate(BigInteger.valueOf(6))), "Invalid curve coefficient A for " + name);
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentUse() throws Exception {
+        SikeParam sikeParam = SikeParamRegistry.getInstance("SIKEp434", ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    Sike sike = new Sike(SikeParamRegistry.getInstance("SIKEp434", ImplementationType.OPTIMIZED));
+                    EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+                    byte[] secret = sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encapsulationResult.getEncryptedMessage());
+                    return Arrays.equals(encapsulationResult.getSecret(), secret);
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(), "Shared secrets do not match");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
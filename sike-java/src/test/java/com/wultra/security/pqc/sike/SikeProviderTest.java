@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+import com.wultra.security.pqc.sike.provider.*;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.security.*;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of SIKE JCA provider.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class SikeProviderTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    private final Provider provider = new SikeProvider();
+
+    @Test
+    void testProviderKem() throws GeneralSecurityException {
+        System.out.println("----------------------------------------");
+        for (String algorithm : new String[]{"SIKEp434", "SIKEp503"}) {
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(algorithm, provider);
+            KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+            // Transport keys through their encoding
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm, provider);
+            PublicKey publicKey = keyFactory.generatePublic(new SikePublicKeySpec(keyPair.getPublic().getEncoded()));
+            PrivateKey privateKey = keyFactory.generatePrivate(keyFactory.getKeySpec(keyPair.getPrivate(), SikePrivateKeySpec.class));
+            assertTrue(publicKey.equals(keyPair.getPublic()), "Public keys do not match");
+            assertTrue(privateKey.equals(keyPair.getPrivate()), "Private keys do not match");
+
+            KeyGenerator kem = KeyGenerator.getInstance(algorithm, provider);
+            kem.init(new SikeEncapsulationSpec(publicKey));
+            SecretKeyWithEncapsulation encapsulated = (SecretKeyWithEncapsulation) kem.generateKey();
+            kem.init(new SikeDecapsulationSpec(privateKey, publicKey, encapsulated.getEncapsulation()));
+            SecretKey decapsulated = kem.generateKey();
+            assertTrue("AES".equals(decapsulated.getAlgorithm()), "Invalid key algorithm");
+            assertTrue(Arrays.equals(encapsulated.getEncoded(), decapsulated.getEncoded()), "Shared secrets do not match");
+            System.out.println("Provider key encapsulation verified: " + algorithm);
+        }
+    }
+
+    @Test
+    void testInvalidUsage() throws GeneralSecurityException {
+        KeyPair keyPair = KeyPairGenerator.getInstance("SIKEp434", provider).generateKeyPair();
+        assertTrue(((SidhPrivateKey) keyPair.getPrivate()).getParty() != null, "Missing party");
+        KeyGenerator kem = KeyGenerator.getInstance("SIKEp503", provider);
+        assertThrows(InvalidAlgorithmParameterException.class, () -> kem.init(new SikeEncapsulationSpec(keyPair.getPublic())));
+        assertThrows(InvalidParameterException.class, () -> KeyPairGenerator.getInstance("SIKEp434", provider).initialize(256));
+        assertThrows(InvalidParameterException.class, () -> kem.init(new SecureRandom()));
+        assertThrows(InvalidParameterException.class, () -> kem.init(256));
+    }
+
+}
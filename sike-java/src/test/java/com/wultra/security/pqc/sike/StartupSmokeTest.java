@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamRegistry;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Smoke test measuring time to first encapsulation in a fresh JVM. The main method can also be used
+ * as an entry point of a native image build.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class StartupSmokeTest {
+
+    private static final String RESULT_PREFIX = "Time to first encapsulation: ";
+
+    @Test
+    void testTimeToFirstEncapsulation() throws Exception {
+        runSmokeTest("-Dsike.paramRegistry.preload=false");
+    }
+
+    @Test
+    void testTimeToFirstEncapsulationPreloaded() throws Exception {
+        // Parameters are preloaded in the same way as during native image builds
+        runSmokeTest("-Dsike.paramRegistry.preload=true");
+    }
+
+    /**
+     * Run the smoke test in a fresh JVM.
+     * @param property System property definition passed to the JVM.
+     * @throws Exception Thrown in case the JVM cannot be started.
+     */
+    private void runSmokeTest(String property) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder processBuilder = new ProcessBuilder(java, property, "-cp", System.getProperty("java.class.path"), StartupSmokeTest.class.getName());
+        processBuilder.redirectErrorStream(true);
+        Process process = processBuilder.start();
+        long elapsedMillis = -1;
+        System.out.println("----------------------------------------");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                System.out.println(line);
+                if (line.startsWith(RESULT_PREFIX)) {
+                    elapsedMillis = Long.parseLong(line.substring(RESULT_PREFIX.length(), line.length() - 3));
+                }
+            }
+        }
+        assertTrue(process.waitFor(60, TimeUnit.SECONDS), "Smoke test did not finish");
+        assertTrue(process.exitValue() == 0, "Smoke test failed");
+        assertTrue(elapsedMillis >= 0, "Time to first encapsulation was not measured");
+    }
+
+    /**
+     * Perform the first key generation, encapsulation and decapsulation in this process and print elapsed time.
+     * @param args Optional parameter set name, SIKEp434 is used by default.
+     * @throws Exception Thrown in case cryptography fails.
+     */
+    public static void main(String[] args) throws Exception {
+        long startTime = System.nanoTime();
+        Security.addProvider(new BouncyCastleProvider());
+        String name = args.length > 0 ? args[0] : "SIKEp434";
+        SikeParam sikeParam = SikeParamRegistry.getInstance(name, ImplementationType.OPTIMIZED);
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        Sike sike = new Sike(sikeParam);
+        EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+        long elapsedNanos = System.nanoTime() - startTime;
+        byte[] secret = sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encapsulationResult.getEncryptedMessage());
+        if (!Arrays.equals(encapsulationResult.getSecret(), secret)) {
+            throw new IllegalStateException("Shared secrets do not match");
+        }
+        System.out.println("Parameter set: " + name);
+        System.out.println(RESULT_PREFIX + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms");
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.model.EncapsulationResult;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.model.SidhPrivateKey;
+import com.wultra.security.pqc.sike.param.*;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of isogeny strategy generator.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class StrategyGeneratorTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testBuiltInStrategies() {
+        SikeParam[] params = new SikeParam[]{
+                new SikeParamP434(ImplementationType.OPTIMIZED),
+                new SikeParamP503(ImplementationType.OPTIMIZED),
+                new SikeParamP610(ImplementationType.OPTIMIZED),
+                new SikeParamP751(ImplementationType.OPTIMIZED)
+        };
+        System.out.println("----------------------------------------");
+        for (SikeParam sikeParam : params) {
+            // Some built-in parameters allocate more tree points than the traversal needs
+            assertTrue(StrategyGenerator.getTreePoints(sikeParam.getStrategyA(), sikeParam.getTreeRowsA()) <= sikeParam.getTreePointsA(), "Invalid tree points for strategy A");
+            assertTrue(StrategyGenerator.getTreePoints(sikeParam.getStrategyB(), sikeParam.getTreeRowsB()) <= sikeParam.getTreePointsB(), "Invalid tree points for strategy B");
+            // Generated strategies are never worse than the built-in strategies for the same cost model
+            for (double ratio : new double[]{0.5, 1.0, 1.5, 2.0}) {
+                int[] strategyA = StrategyGenerator.generateStrategy(sikeParam.getTreeRowsA(), ratio, 1.0);
+                double builtInCost = StrategyGenerator.getStrategyCost(sikeParam.getStrategyA(), sikeParam.getTreeRowsA(), ratio, 1.0);
+                double generatedCost = StrategyGenerator.getStrategyCost(strategyA, sikeParam.getTreeRowsA(), ratio, 1.0);
+                assertTrue(generatedCost <= builtInCost, "Generated strategy is not optimal");
+            }
+            System.out.println("Built-in strategies are valid for " + sikeParam.getName());
+        }
+    }
+
+    @Test
+    void testInvalidStrategy() {
+        assertThrows(InvalidParameterException.class, () -> StrategyGenerator.validateStrategy(new int[]{2, 1}, 4));
+        assertThrows(InvalidParameterException.class, () -> StrategyGenerator.validateStrategy(new int[]{4, 1, 1}, 4));
+        assertThrows(InvalidParameterException.class, () -> new SikeParamP434(ImplementationType.OPTIMIZED, new int[]{1}, new int[]{1}));
+        StrategyGenerator.validateStrategy(new int[]{2, 1, 1}, 4);
+        StrategyGenerator.validateStrategy(new int[]{3, 1, 1}, 4);
+        StrategyGenerator.validateStrategy(new int[]{1, 1, 1}, 4);
+    }
+
+    @Test
+    void testCalibratedStrategies() throws GeneralSecurityException {
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        StrategyCosts costs = StrategyGenerator.calibrate(sikeParam);
+        System.out.println("----------------------------------------");
+        System.out.println("Measured costs: " + costs);
+        int[] strategyA = StrategyGenerator.generateStrategyA(sikeParam, costs);
+        int[] strategyB = StrategyGenerator.generateStrategyB(sikeParam, costs);
+        System.out.println("Strategy A: " + Arrays.toString(strategyA));
+        System.out.println("Strategy B: " + Arrays.toString(strategyB));
+        SikeParam sikeParamCustom = new SikeParamP434(ImplementationType.OPTIMIZED, strategyA, strategyB);
+        assertTrue(Arrays.equals(strategyA, sikeParamCustom.getStrategyA()), "Invalid strategy A");
+        assertTrue(Arrays.equals(strategyB, sikeParamCustom.getStrategyB()), "Invalid strategy B");
+
+        // Public keys do not depend on the strategy
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        SidhPrivateKey priv = (SidhPrivateKey) keyPair.getPrivate();
+        SidhPrivateKey privCustom = new SidhPrivateKey(sikeParamCustom, Party.BOB, priv.getEncoded());
+        PublicKey pubCustom = new KeyGenerator(sikeParamCustom).derivePublicKey(Party.BOB, privCustom);
+        assertTrue(Arrays.equals(keyPair.getPublic().getEncoded(), pubCustom.getEncoded()), "Public keys differ");
+
+        KeyPair keyPairCustom = new KeyGenerator(sikeParamCustom).generateKeyPair(Party.BOB);
+        Sike sike = new Sike(sikeParamCustom);
+        EncapsulationResult encapsulationResult = sike.encapsulate(keyPairCustom.getPublic());
+        byte[] secret = sike.decapsulate(keyPairCustom.getPrivate(), keyPairCustom.getPublic(), encapsulationResult.getEncryptedMessage());
+        assertTrue(Arrays.equals(encapsulationResult.getSecret(), secret), "Decapsulation failed");
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike;
+
+import com.wultra.security.pqc.sike.crypto.KeyGenerator;
+import com.wultra.security.pqc.sike.crypto.Sike;
+import com.wultra.security.pqc.sike.crypto.StreamEncryption;
+import com.wultra.security.pqc.sike.model.DemAlgorithm;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.model.Party;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test of chunked stream encryption using SIKE encapsulated keys.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class StreamEncryptionTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    private final SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+
+    @Test
+    void testStreamEncryption() throws GeneralSecurityException, IOException {
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        Random random = new Random(1);
+        System.out.println("----------------------------------------");
+        for (DemAlgorithm algorithm : DemAlgorithm.values()) {
+            StreamEncryption streamEncryption = new StreamEncryption(new Sike(sikeParam), algorithm, 1000);
+            // Cover empty data, partial chunks and data of exact multiple of chunk size
+            for (int size : new int[]{0, 1, 999, 1000, 1001, 5000, 12345}) {
+                byte[] data = new byte[size];
+                random.nextBytes(data);
+                byte[] encrypted = encrypt(streamEncryption, keyPair, data);
+                byte[] decrypted = decrypt(streamEncryption, keyPair, encrypted);
+                assertTrue(Arrays.equals(data, decrypted), "Decrypted data does not match for size " + size);
+            }
+            System.out.println("Stream encryption verified: " + algorithm);
+        }
+    }
+
+    @Test
+    void testTamperedData() throws GeneralSecurityException, IOException {
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        StreamEncryption streamEncryption = new StreamEncryption(new Sike(sikeParam), DemAlgorithm.AES_256_GCM, 1000);
+        byte[] encrypted = encrypt(streamEncryption, keyPair, new byte[3000]);
+        byte[] modified = encrypted.clone();
+        modified[modified.length - 1] ^= 0x01;
+        assertThrows(GeneralSecurityException.class, () -> decrypt(streamEncryption, keyPair, modified));
+        // Truncation at a chunk boundary removes the last chunk
+        byte[] truncated = Arrays.copyOf(encrypted, encrypted.length - 16);
+        assertThrows(GeneralSecurityException.class, () -> decrypt(streamEncryption, keyPair, truncated));
+    }
+
+    @Test
+    void testOversizedChunkSize() throws GeneralSecurityException, IOException {
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        assertThrows(InvalidParameterException.class, () -> new StreamEncryption(new Sike(sikeParam), DemAlgorithm.AES_256_GCM, StreamEncryption.MAX_CHUNK_SIZE + 1));
+        StreamEncryption streamEncryption = new StreamEncryption(new Sike(sikeParam), DemAlgorithm.AES_256_GCM, 1000);
+        byte[] encrypted = encrypt(streamEncryption, keyPair, new byte[10]);
+        // Forge the chunk size in the header, magic and algorithm precede the chunk size
+        ByteBuffer.wrap(encrypted).putInt(9, Integer.MAX_VALUE - 16);
+        assertThrows(GeneralSecurityException.class, () -> decrypt(streamEncryption, keyPair, encrypted));
+        Path encryptedFile = Files.createTempFile("sike", ".enc");
+        Path decryptedFile = Files.createTempFile("sike", ".dec");
+        try {
+            Files.write(encryptedFile, encrypted);
+            try (FileChannel in = FileChannel.open(encryptedFile, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(decryptedFile, StandardOpenOption.WRITE)) {
+                assertThrows(GeneralSecurityException.class, () -> streamEncryption.decryptParallel(keyPair.getPrivate(), keyPair.getPublic(), in, out));
+            }
+        } finally {
+            Files.delete(encryptedFile);
+            Files.delete(decryptedFile);
+        }
+    }
+
+    @Test
+    void testParallelFileDecryption() throws GeneralSecurityException, IOException {
+        KeyPair keyPair = new KeyGenerator(sikeParam).generateKeyPair(Party.BOB);
+        StreamEncryption streamEncryption = new StreamEncryption(new Sike(sikeParam), DemAlgorithm.CHACHA20_POLY1305, 4096);
+        byte[] data = new byte[1_000_000];
+        new Random(2).nextBytes(data);
+        Path encryptedFile = Files.createTempFile("sike", ".enc");
+        Path decryptedFile = Files.createTempFile("sike", ".dec");
+        try {
+            Files.write(encryptedFile, encrypt(streamEncryption, keyPair, data));
+            try (FileChannel in = FileChannel.open(encryptedFile, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(decryptedFile, StandardOpenOption.WRITE)) {
+                streamEncryption.decryptParallel(keyPair.getPrivate(), keyPair.getPublic(), in, out);
+            }
+            assertTrue(Arrays.equals(data, Files.readAllBytes(decryptedFile)), "Decrypted file does not match");
+
+            byte[] modified = Files.readAllBytes(encryptedFile);
+            modified[modified.length / 2] ^= 0x01;
+            Files.write(encryptedFile, modified);
+            try (FileChannel in = FileChannel.open(encryptedFile, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(decryptedFile, StandardOpenOption.WRITE)) {
+                assertThrows(GeneralSecurityException.class, () -> streamEncryption.decryptParallel(keyPair.getPrivate(), keyPair.getPublic(), in, out));
+            }
+            assertTrue(Files.size(decryptedFile) == 0, "Output of failed decryption was not truncated");
+        } finally {
+            Files.delete(encryptedFile);
+            Files.delete(decryptedFile);
+        }
+    }
+
+    private byte[] encrypt(StreamEncryption streamEncryption, KeyPair keyPair, byte[] data) throws GeneralSecurityException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamEncryption.encrypt(keyPair.getPublic(), Channels.newChannel(new ByteArrayInputStream(data)), Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private byte[] decrypt(StreamEncryption streamEncryption, KeyPair keyPair, byte[] encrypted) throws GeneralSecurityException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamEncryption.decrypt(keyPair.getPrivate(), keyPair.getPublic(), Channels.newChannel(new ByteArrayInputStream(encrypted)), Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+}
@@ -22,7 +22,7 @@ import com.wultra.security.pqc.sike.param.SikeParamP434;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.jupiter.api.Test;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.Security;
 
@@ -36,7 +36,7 @@ class KatP434Test {
     }
 
     @Test
-    void testKatP434() throws FileNotFoundException, GeneralSecurityException {
+    void testKatP434() throws IOException, GeneralSecurityException {
         SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
         KatTester.run(sikeParam, "kat/PQCkemKAT_374.rsp");
     }
@@ -22,7 +22,7 @@ import com.wultra.security.pqc.sike.param.SikeParamP503;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.jupiter.api.Test;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.Security;
 
@@ -36,7 +36,7 @@ class KatP503Test {
     }
 
     @Test
-    void testKatP503() throws FileNotFoundException, GeneralSecurityException {
+    void testKatP503() throws IOException, GeneralSecurityException {
         SikeParam sikeParam = new SikeParamP503(ImplementationType.OPTIMIZED);
         KatTester.run(sikeParam, "kat/PQCkemKAT_434.rsp");
     }
@@ -22,7 +22,7 @@ import com.wultra.security.pqc.sike.param.SikeParamP610;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.jupiter.api.Test;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.Security;
 
@@ -36,7 +36,7 @@ class KatP610Test {
     }
 
     @Test
-    void testKatP610() throws FileNotFoundException, GeneralSecurityException {
+    void testKatP610() throws IOException, GeneralSecurityException {
         SikeParam sikeParam = new SikeParamP610(ImplementationType.OPTIMIZED);
         KatTester.run(sikeParam, "kat/PQCkemKAT_524.rsp");
     }
@@ -22,7 +22,7 @@ import com.wultra.security.pqc.sike.param.SikeParamP751;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.jupiter.api.Test;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.Security;
 
@@ -36,7 +36,7 @@ class KatP751Test {
     }
 
     @Test
-    void testKatP710() throws FileNotFoundException, GeneralSecurityException {
+    void testKatP710() throws IOException, GeneralSecurityException {
         SikeParam sikeParam = new SikeParamP751(ImplementationType.OPTIMIZED);
         KatTester.run(sikeParam, "kat/PQCkemKAT_644.rsp");
     }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.kat;
+
+/**
+ * Verification time of a single KAT record.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class KatRecordTiming {
+
+    private final int count;
+    private final long nanos;
+
+    /**
+     * KAT record timing constructor.
+     * @param count KAT record number.
+     * @param nanos Verification time in nanoseconds.
+     */
+    public KatRecordTiming(int count, long nanos) {
+        this.count = count;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Get KAT record number.
+     * @return KAT record number.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get verification time in nanoseconds.
+     * @return Verification time in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.kat;
+
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Report of a parallel KAT run with per-record timing and overall throughput.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class KatRunReport {
+
+    private final SikeParam sikeParam;
+    private final int threads;
+    private final List<KatRecordTiming> timings;
+    private final long wallNanos;
+
+    /**
+     * KAT run report constructor.
+     * @param sikeParam SIKE parameters.
+     * @param threads Number of verification threads.
+     * @param timings Timing of verified records in file order.
+     * @param wallNanos Total elapsed time in nanoseconds.
+     */
+    public KatRunReport(SikeParam sikeParam, int threads, List<KatRecordTiming> timings, long wallNanos) {
+        this.sikeParam = sikeParam;
+        this.threads = threads;
+        this.timings = Collections.unmodifiableList(timings);
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * Get timing of verified records in file order.
+     * @return Timing of verified records.
+     */
+    public List<KatRecordTiming> getTimings() {
+        return timings;
+    }
+
+    /**
+     * Get number of verified records.
+     * @return Number of verified records.
+     */
+    public int getRecordCount() {
+        return timings.size();
+    }
+
+    /**
+     * Get total elapsed time in nanoseconds.
+     * @return Total elapsed time in nanoseconds.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Get throughput of the run.
+     * @return Verified records per second.
+     */
+    public double getThroughput() {
+        return wallNanos == 0 ? 0 : timings.size() * 1e9 / wallNanos;
+    }
+
+    /**
+     * Print the report.
+     * @param out Output stream.
+     */
+    public void print(PrintStream out) {
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (KatRecordTiming timing : timings) {
+            out.printf("Record: %d verified in %.2f ms%n", timing.getCount(), timing.getNanos() / 1e6);
+            total += timing.getNanos();
+            min = Math.min(min, timing.getNanos());
+            max = Math.max(max, timing.getNanos());
+        }
+        if (timings.isEmpty()) {
+            min = 0;
+        }
+        out.printf("%s: %d records on %d threads in %.2f s, %.2f records/s%n", sikeParam.getName(),
+                timings.size(), threads, wallNanos / 1e9, getThroughput());
+        out.printf("Record time: min %.2f ms, avg %.2f ms, max %.2f ms%n", min / 1e6,
+                timings.isEmpty() ? 0 : total / 1e6 / timings.size(), max / 1e6);
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.kat;
+
+import com.wultra.security.pqc.sike.kat.model.KatRspReader;
+import com.wultra.security.pqc.sike.kat.model.KatRspRecord;
+import com.wultra.security.pqc.sike.param.SikeParam;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Parallel KAT runner. Records are parsed incrementally by the calling thread and verified concurrently
+ * on a fixed thread pool, each record uses its own deterministic random generator. The number of records
+ * waiting for verification is bounded, so the whole response file is never held in memory.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class KatRunner {
+
+    private final SikeParam sikeParam;
+    private final int threads;
+
+    /**
+     * KAT runner constructor.
+     * @param sikeParam SIKE parameters.
+     * @param threads Number of verification threads.
+     */
+    public KatRunner(SikeParam sikeParam, int threads) {
+        if (threads < 1) {
+            throw new InvalidParameterException("Invalid number of threads");
+        }
+        this.sikeParam = sikeParam;
+        this.threads = threads;
+    }
+
+    /**
+     * Verify KAT records from a response file.
+     * @param path KAT response file.
+     * @param maxRecords Maximum number of verified records.
+     * @return Report with timing of verified records.
+     * @throws IOException Thrown when file cannot be read.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    public KatRunReport run(Path path, int maxRecords) throws IOException, GeneralSecurityException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<KatRecordTiming>> results = new ArrayList<>();
+        long startTime = System.nanoTime();
+        try (KatRspReader reader = new KatRspReader(path)) {
+            KatRspRecord record;
+            while (results.size() < maxRecords && (record = reader.next()) != null) {
+                inFlight.acquireUninterruptibly();
+                KatRspRecord kat = record;
+                results.add(executor.submit(() -> {
+                    try {
+                        long recordStart = System.nanoTime();
+                        KatTester.verify(sikeParam, kat);
+                        return new KatRecordTiming(kat.getCount(), System.nanoTime() - recordStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            List<KatRecordTiming> timings = new ArrayList<>(results.size());
+            for (Future<KatRecordTiming> result : results) {
+                timings.add(result.get());
+            }
+            return new KatRunReport(sikeParam, threads, timings, System.nanoTime() - startTime);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("KAT verification was interrupted", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            }
+            throw new IllegalStateException("KAT verification failed", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
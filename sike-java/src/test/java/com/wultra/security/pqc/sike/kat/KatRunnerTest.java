@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.kat;
+
+import com.wultra.security.pqc.sike.kat.model.KatRspFile;
+import com.wultra.security.pqc.sike.kat.model.KatRspReader;
+import com.wultra.security.pqc.sike.kat.model.KatRspRecord;
+import com.wultra.security.pqc.sike.model.ImplementationType;
+import com.wultra.security.pqc.sike.param.SikeParam;
+import com.wultra.security.pqc.sike.param.SikeParamP434;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.security.Security;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test of the streaming reader and parallel KAT runner.
+ */
+class KatRunnerTest {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void testReaderMatchesFile() throws IOException {
+        File file = getFile("kat/PQCkemKAT_374.rsp");
+        List<KatRspRecord> expected = new KatRspFile(file).getKatRecords();
+        int count = 0;
+        try (KatRspReader reader = new KatRspReader(file.toPath())) {
+            KatRspRecord record;
+            while ((record = reader.next()) != null) {
+                KatRspRecord kat = expected.get(count++);
+                assertEquals(kat.getCount(), record.getCount());
+                assertEquals(kat.getSeed(), record.getSeed());
+                assertEquals(kat.getPk(), record.getPk());
+                assertEquals(kat.getSk(), record.getSk());
+                assertEquals(kat.getCt(), record.getCt());
+                assertEquals(kat.getSs(), record.getSs());
+            }
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test
+    void testParallelRun() throws IOException, GeneralSecurityException {
+        System.out.println("----------------------------------------");
+        SikeParam sikeParam = new SikeParamP434(ImplementationType.OPTIMIZED);
+        KatRunReport report = new KatRunner(sikeParam, 3).run(getFile("kat/PQCkemKAT_374.rsp").toPath(), 6);
+        report.print(System.out);
+        assertEquals(6, report.getRecordCount());
+        for (int i = 0; i < report.getRecordCount(); i++) {
+            assertEquals(i, report.getTimings().get(i).getCount());
+            assertTrue(report.getTimings().get(i).getNanos() > 0, "Missing record timing");
+        }
+        assertTrue(report.getThroughput() > 0, "Missing throughput");
+    }
+
+    private File getFile(String katFileName) {
+        URL fileName = KatRunnerTest.class.getClassLoader().getResource(katFileName);
+        assertNotNull(fileName);
+        return new File(fileName.getFile());
+    }
+
+}
@@ -19,7 +19,6 @@ package com.wultra.security.pqc.sike.kat;
 import com.wultra.security.pqc.sike.crypto.KeyGenerator;
 import com.wultra.security.pqc.sike.crypto.RandomGenerator;
 import com.wultra.security.pqc.sike.crypto.Sike;
-import com.wultra.security.pqc.sike.kat.model.KatRspFile;
 import com.wultra.security.pqc.sike.kat.model.KatRspRecord;
 import com.wultra.security.pqc.sike.kat.util.CrtDrbgRandom;
 import com.wultra.security.pqc.sike.model.*;
@@ -28,12 +27,11 @@ import com.wultra.security.pqc.sike.util.OctetEncoding;
 import org.bouncycastle.util.encoders.Hex;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.URL;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.util.Arrays;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,7 +40,7 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class KatTester {
 
-    public static void run(SikeParam sikeParam, String katFileName) throws FileNotFoundException, GeneralSecurityException {
+    public static void run(SikeParam sikeParam, String katFileName) throws IOException, GeneralSecurityException {
         String runAllKatTests = System.getProperty("runAllKatTests");
         boolean runAllTests = false;
         if ("true".equals(runAllKatTests)) {
@@ -54,43 +52,46 @@ public class KatTester {
         URL fileName = classLoader.getResource(katFileName);
         assertNotNull(fileName);
         File file = new File(fileName.getFile());
-        KatRspFile katFile = new KatRspFile(file);
-        List<KatRspRecord> katRecords = katFile.getKatRecords();
 
         System.out.println("Prime: " + sikeParam.getPrime());
 
-        for (KatRspRecord kat: katRecords) {
-            if (!runAllTests && kat.getCount() > 9) {
-                System.out.println("Additional tests were skipped, use -DrunAllKatTests=true to run all KAT tests");
-                break;
-            }
-            System.out.println("Record: " + kat.getCount());
-            byte[] seedBytes = Hex.decode(kat.getSeed());
-            CrtDrbgRandom drbgRandom = new CrtDrbgRandom(seedBytes);
-            KeyGenerator keyGenerator = new KeyGenerator(sikeParam, new RandomGenerator(drbgRandom));
-            KeyPair keyPair = keyGenerator.generateKeyPair(Party.BOB);
-            SidhPrivateKey priv = (SidhPrivateKey) keyPair.getPrivate();
-            SidhPublicKey pub = (SidhPublicKey) keyPair.getPublic();
-            assertEquals(kat.getSk(), priv.toOctetString() + pub.toOctetString());
-            assertEquals(kat.getPk(), pub.toOctetString());
+        int threads = Runtime.getRuntime().availableProcessors();
+        KatRunner runner = new KatRunner(sikeParam, threads);
+        KatRunReport report = runner.run(file.toPath(), runAllTests ? Integer.MAX_VALUE : 10);
+        report.print(System.out);
+        if (!runAllTests) {
+            System.out.println("Additional tests were skipped, use -DrunAllKatTests=true to run all KAT tests");
+        }
+    }
 
-            Sike sike = new Sike(sikeParam, drbgRandom);
-            EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
-            EncryptedMessage encrypted = encapsulationResult.getEncryptedMessage();
-            SidhPublicKey c0 = (SidhPublicKey) encrypted.getC0();
-            String ssA = OctetEncoding.toOctetString(encapsulationResult.getSecret(), sikeParam.getMessageBytes());
-            System.out.println("Alice's shared secret: " + ssA);
-            byte[] c1 = encrypted.getC1();
-            assertEquals(kat.getCt(), c0.toOctetString() + OctetEncoding.toOctetString(c1, sikeParam.getMessageBytes()));
+    /**
+     * Verify a single KAT record, the record uses its own deterministic random generator.
+     * @param sikeParam SIKE parameters.
+     * @param kat KAT record.
+     * @throws GeneralSecurityException Thrown in case cryptography fails.
+     */
+    static void verify(SikeParam sikeParam, KatRspRecord kat) throws GeneralSecurityException {
+        byte[] seedBytes = Hex.decode(kat.getSeed());
+        CrtDrbgRandom drbgRandom = new CrtDrbgRandom(seedBytes);
+        KeyGenerator keyGenerator = new KeyGenerator(sikeParam, new RandomGenerator(drbgRandom));
+        KeyPair keyPair = keyGenerator.generateKeyPair(Party.BOB);
+        SidhPrivateKey priv = (SidhPrivateKey) keyPair.getPrivate();
+        SidhPublicKey pub = (SidhPublicKey) keyPair.getPublic();
+        assertEquals(kat.getSk(), priv.toOctetString() + pub.toOctetString(), "Record " + kat.getCount());
+        assertEquals(kat.getPk(), pub.toOctetString(), "Record " + kat.getCount());
 
-            byte[] secretDecaps = sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encrypted);
-            String ssB = OctetEncoding.toOctetString(secretDecaps, sikeParam.getMessageBytes());
-            System.out.println("Bob's shared secret:   " + ssB);
-            assertEquals(kat.getSs(), ssB);
+        Sike sike = new Sike(sikeParam, drbgRandom);
+        EncapsulationResult encapsulationResult = sike.encapsulate(keyPair.getPublic());
+        EncryptedMessage encrypted = encapsulationResult.getEncryptedMessage();
+        SidhPublicKey c0 = (SidhPublicKey) encrypted.getC0();
+        byte[] c1 = encrypted.getC1();
+        assertEquals(kat.getCt(), c0.toOctetString() + OctetEncoding.toOctetString(c1, sikeParam.getMessageBytes()), "Record " + kat.getCount());
 
-            boolean match = Arrays.equals(encapsulationResult.getSecret(), secretDecaps);
-            System.out.println("Shared secrets match: " + match);
-            assertTrue(match, "Decapsulation failed");
-        }
+        byte[] secretDecaps = sike.decapsulate(keyPair.getPrivate(), keyPair.getPublic(), encrypted);
+        String ssB = OctetEncoding.toOctetString(secretDecaps, sikeParam.getMessageBytes());
+        assertEquals(kat.getSs(), ssB, "Record " + kat.getCount());
+
+        boolean match = Arrays.equals(encapsulationResult.getSecret(), secretDecaps);
+        assertTrue(match, "Decapsulation failed for record " + kat.getCount());
     }
 }
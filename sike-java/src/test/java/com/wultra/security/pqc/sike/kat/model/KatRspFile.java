@@ -17,10 +17,9 @@
 package com.wultra.security.pqc.sike.kat.model;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * Class representing a KAT response file.
@@ -34,8 +33,9 @@ public class KatRspFile {
     /**
      * KAT file constructor.
      * @param file File to read.
+     * @throws IOException Thrown when file cannot be read.
      */
-    public KatRspFile(File file) throws FileNotFoundException {
+    public KatRspFile(File file) throws IOException {
         readFile(file);
     }
 
@@ -57,43 +57,13 @@ public class KatRspFile {
 
     /**
      * Read the KAT response file.
-     * @throws FileNotFoundException Thrown when file is not found.
+     * @throws IOException Thrown when file cannot be read.
      */
-    private void readFile(File file) throws FileNotFoundException {
-        Scanner scanner = new Scanner(file);
-        KatRspRecord record = new KatRspRecord();
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine();
-            if (!line.contains(" = ")) {
-                continue;
-            }
-            String[] parts = line.split(" = ");
-            if (parts.length != 2) {
-                continue;
-            }
-            String key = parts[0];
-            String value = parts[1];
-            switch(key) {
-                case "count":
-                    record = new KatRspRecord();
-                    record.setCount(Integer.parseInt(value));
-                    break;
-                case "seed":
-                    record.setSeed(value);
-                    break;
-                case "pk":
-                    record.setPk(value);
-                    break;
-                case "sk":
-                    record.setSk(value);
-                    break;
-                case "ct":
-                    record.setCt(value);
-                    break;
-                case "ss":
-                    record.setSs(value);
-                    add(record);
-                    break;
+    private void readFile(File file) throws IOException {
+        try (KatRspReader reader = new KatRspReader(file.toPath())) {
+            KatRspRecord record;
+            while ((record = reader.next()) != null) {
+                add(record);
             }
         }
     }
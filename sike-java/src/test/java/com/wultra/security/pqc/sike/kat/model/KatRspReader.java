@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.wultra.security.pqc.sike.kat.model;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Incremental reader of KAT response files, records are parsed one by one while the file is read.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class KatRspReader implements Closeable {
+
+    private final BufferedReader reader;
+
+    /**
+     * KAT reader constructor.
+     * @param path File to read.
+     * @throws IOException Thrown when file cannot be opened.
+     */
+    public KatRspReader(Path path) throws IOException {
+        reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Read the next KAT record.
+     * @return Next KAT record or null in case the end of file is reached.
+     * @throws IOException Thrown when reading fails.
+     */
+    public KatRspRecord next() throws IOException {
+        KatRspRecord record = new KatRspRecord();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.contains(" = ")) {
+                continue;
+            }
+            String[] parts = line.split(" = ");
+            if (parts.length != 2) {
+                continue;
+            }
+            String key = parts[0];
+            String value = parts[1];
+            switch(key) {
+                case "count":
+                    record = new KatRspRecord();
+                    record.setCount(Integer.parseInt(value));
+                    break;
+                case "seed":
+                    record.setSeed(value);
+                    break;
+                case "pk":
+                    record.setPk(value);
+                    break;
+                case "sk":
+                    record.setSk(value);
+                    break;
+                case "ct":
+                    record.setCt(value);
+                    break;
+                case "ss":
+                    record.setSs(value);
+                    return record;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -20,12 +20,20 @@ import com.wultra.security.pqc.sike.math.api.Fp2Element;
 import com.wultra.security.pqc.sike.math.api.FpElement;
 import com.wultra.security.pqc.sike.math.optimized.fp.Fp2ElementOpti;
 import com.wultra.security.pqc.sike.math.optimized.fp.FpElementOpti;
+import com.wultra.security.pqc.sike.math.reference.fp.Fp2ElementRef;
 import com.wultra.security.pqc.sike.model.ImplementationType;
 import com.wultra.security.pqc.sike.param.SikeParam;
 import com.wultra.security.pqc.sike.param.SikeParamP434;
+import com.wultra.security.pqc.sike.param.SikeParamP751;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test of Fp2Element mathematics.
@@ -64,5 +72,60 @@ class Fp2MathTest {
         assertEquals(x2, result);
     }
 
+    @Test
+    void testReferenceArithmetic() {
+        SikeParam[] params = new SikeParam[]{new SikeParamP434(ImplementationType.REFERENCE), new SikeParamP751(ImplementationType.REFERENCE)};
+        Random random = new Random(1);
+        for (SikeParam sikeParamRef : params) {
+            BigInteger p = sikeParamRef.getPrime();
+            for (int n = 0; n < 1000; n++) {
+                // Include edge values 0 and p - 1 to cover the reduction corrections
+                BigInteger a0 = n == 0 ? BigInteger.ZERO : new BigInteger(p.bitLength(), random).mod(p);
+                BigInteger a1 = n == 1 ? p.subtract(BigInteger.ONE) : new BigInteger(p.bitLength(), random).mod(p);
+                BigInteger b0 = n == 1 ? p.subtract(BigInteger.ONE) : new BigInteger(p.bitLength(), random).mod(p);
+                BigInteger b1 = n == 0 ? BigInteger.ZERO : new BigInteger(p.bitLength(), random).mod(p);
+                Fp2Element a = new Fp2ElementRef(sikeParamRef, a0, a1);
+                Fp2Element b = new Fp2ElementRef(sikeParamRef, b0, b1);
+                assertEquals(new Fp2ElementRef(sikeParamRef, a0.add(b0), a1.add(b1)), a.add(b));
+                assertEquals(new Fp2ElementRef(sikeParamRef, a0.subtract(b0), a1.subtract(b1)), a.subtract(b));
+                assertEquals(new Fp2ElementRef(sikeParamRef, a0.multiply(b0).subtract(a1.multiply(b1)), a0.multiply(b1).add(a1.multiply(b0))), a.multiply(b));
+                assertEquals(new Fp2ElementRef(sikeParamRef, a0.multiply(a0).subtract(a1.multiply(a1)), a0.multiply(a1).shiftLeft(1)), a.square());
+                assertEquals(new Fp2ElementRef(sikeParamRef, a0.negate(), a1.negate()), a.negate());
+            }
+        }
+    }
+
+    @Test
+    void testCanonicalEquality() {
+        Random random = new Random(1);
+        FpElementOpti p = sikeParam.getP();
+        for (int n = 0; n < 100; n++) {
+            BigInteger x0 = new BigInteger(sikeParam.getPrime().bitLength(), random).mod(sikeParam.getPrime());
+            BigInteger x1 = new BigInteger(sikeParam.getPrime().bitLength(), random).mod(sikeParam.getPrime());
+            FpElementOpti x = new FpElementOpti(sikeParam, x0);
+            x.reduce();
+            // Non-canonical representation x + p of the same element
+            long carry = 0L;
+            long[] value = new long[x.size()];
+            for (int i = 0; i < x.size(); i++) {
+                long sum = x.getValue()[i] + p.getValue()[i] + carry;
+                carry = Long.compareUnsigned(sum, x.getValue()[i]) < 0 || (carry == 1L && sum == x.getValue()[i]) ? 1L : 0L;
+                value[i] = sum;
+            }
+            FpElementOpti y = new FpElementOpti(sikeParam, value);
+            long[] original = y.getValue().clone();
+            assertEquals(x, y);
+            assertEquals(x.hashCode(), y.hashCode());
+            assertEquals(x0, y.getX());
+            assertTrue(Arrays.equals(original, y.getValue()), "Element was modified");
+            Fp2Element a = new Fp2ElementOpti(sikeParam, x, new FpElementOpti(sikeParam, x1));
+            Fp2Element b = new Fp2ElementOpti(sikeParam, y, new FpElementOpti(sikeParam, x1));
+            assertEquals(a, b);
+            assertEquals(a.hashCode(), b.hashCode());
+            assertNotEquals(a, new Fp2ElementOpti(sikeParam, x, new FpElementOpti(sikeParam, x1.add(BigInteger.ONE))));
+        }
+        assertTrue(new FpElementOpti(sikeParam, p.getValue().clone()).isZero(), "Prime is not equal to zero");
+    }
+
     // TODO more Fp2Element math tests
 }